@@ -0,0 +1,128 @@
+package pr_se.gogame.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of stone placement, captures and ko checks on both kinds of boards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    /**
+     * The size of the board
+     */
+    @Param({"9", "19", "25"})
+    public int size;
+
+    /**
+     * The kind of board
+     */
+    @Param({"STANDARD", "BITBOARD"})
+    public GameInterface.BoardType boardType;
+
+    /**
+     * The moves of the generated game
+     */
+    private int[] moves;
+
+    /**
+     * Game after the generated moves, used for the ko checks
+     */
+    private Game finishedGame;
+
+    /**
+     * Prepares the games
+     */
+    @Setup
+    public void setUp() {
+        moves = GameCorpus.generateMoves(size, size);
+        finishedGame = GameCorpus.replay(size, moves, boardType);
+    }
+
+    /**
+     * Plays a complete generated game, including all captures and ko checks, in a new Game
+     * @return the Game after the last move
+     */
+    @Benchmark
+    public Game playGame() {
+        return GameCorpus.replay(size, moves, boardType);
+    }
+
+    /**
+     * Captures a group covering almost the whole board. Every invocation starts from a freshly set up Game, as
+     * replaying the capture in the same Game would only redo the existing HistoryNode.
+     * @param capture the freshly set up Game
+     * @return the number of the move after the capture
+     */
+    @Benchmark
+    public int captureLargeGroup(CaptureState capture) {
+        capture.game.playMove(size - 1, size - 1, StoneColor.BLACK);
+        return capture.game.getCurMoveNumber();
+    }
+
+    /**
+     * Checks the legality, including ko, of every point for both players in the final position of the generated game
+     * @param blackhole consumes the results
+     */
+    @Benchmark
+    public void legalMoves(Blackhole blackhole) {
+        blackhole.consume(finishedGame.legalMoves(StoneColor.BLACK));
+        blackhole.consume(finishedGame.legalMoves(StoneColor.WHITE));
+    }
+
+    /**
+     * Checks the legality, including ko, of a single point, as a user interface does when hovering over the board
+     * @return whether the move is legal
+     */
+    @Benchmark
+    public boolean isLegal() {
+        return finishedGame.isLegal(size / 2, size / 2, finishedGame.getCurColor());
+    }
+
+    /**
+     * Game whose board is mostly covered by a single White group with one liberty in the bottom right corner,
+     * surrounded by Black. It is set up anew before every invocation, which is excluded from the measurement.
+     */
+    @State(Scope.Thread)
+    public static class CaptureState {
+        /**
+         * The freshly set up Game
+         */
+        private Game game;
+
+        /**
+         * Sets up the Game for the size and kind of board of the benchmark
+         * @param benchmark the benchmark state holding the parameters
+         */
+        @Setup(Level.Invocation)
+        public void setUp(BoardBenchmark benchmark) {
+            final int size = benchmark.size;
+
+            // The top row is empty, the second row Black and all other points except the bottom right corner are White.
+            game = new Game();
+            game.newGame(StoneColor.BLACK, size, 0, new JapaneseRuleset(), true, benchmark.boardType);
+            game.setSetupMode(true);
+            for (int y = 1; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (y == 1) {
+                        game.placeSetupStone(x, y, StoneColor.BLACK);
+                    } else if (x != size - 1 || y != size - 1) {
+                        game.placeSetupStone(x, y, StoneColor.WHITE);
+                    }
+                }
+            }
+            game.setSetupMode(false);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package pr_se.gogame.benchmark;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.util.Random;
+
+/**
+ * Generates reproducible random games for the benchmarks. Each game is determined by its board size and seed, so every
+ * run of the benchmarks measures exactly the same moves. Moves are chosen uniformly among the legal moves that don't
+ * fill one of the mover's own eyes, which makes the games end in a position that can sensibly be scored.
+ */
+public final class GameCorpus {
+    /**
+     * Marker for a pass in a generated move sequence
+     */
+    public static final int PASS = -1;
+
+    /**
+     * This class only contains static methods.
+     */
+    private GameCorpus() {
+    }
+
+    /**
+     * Generates a random game on an empty board, starting with Black. The game ends after two consecutive passes, which
+     * are played as soon as a player has no more moves besides filling their own eyes.
+     * @param size the size of the board
+     * @param seed the seed of the random number generator
+     * @return the moves of the game as points (y * size + x), or PASS
+     */
+    public static int[] generateMoves(int size, long seed) {
+        final Game game = new Game();
+        game.newGame(StoneColor.BLACK, size, 0, new JapaneseRuleset());
+
+        final Random random = new Random(seed);
+        final int maxMoves = 3 * size * size;
+        final int[] moves = new int[maxMoves];
+        int count = 0;
+        int passes = 0;
+
+        while (passes < 2 && count < maxMoves) {
+            final int point = pickMove(game, random);
+            if (point == PASS) {
+                game.pass();
+                passes++;
+            } else {
+                game.playMove(point % size, point / size);
+                passes = 0;
+            }
+            moves[count++] = point;
+        }
+
+        final int[] ret = new int[count];
+        System.arraycopy(moves, 0, ret, 0, count);
+        return ret;
+    }
+
+    /**
+     * Creates a new Game and plays the supplied moves in it
+     * @param size the size of the board
+     * @param moves the moves as returned by generateMoves()
+     * @param boardType the kind of board to be used
+     * @return the Game after the last move
+     */
+    public static Game replay(int size, int[] moves, GameInterface.BoardType boardType) {
+        final Game game = new Game();
+        game.newGame(StoneColor.BLACK, size, 0, new JapaneseRuleset(), true, boardType);
+        for (int point : moves) {
+            if (point == PASS) {
+                game.pass();
+            } else {
+                game.playMove(point % size, point / size);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Picks a random legal move for the player to move next that doesn't fill one of their own eyes
+     * @param game the game that the move is to be played in
+     * @param random the random number generator
+     * @return the point of the move, or PASS if there is no such move
+     */
+    private static int pickMove(Game game, Random random) {
+        final StoneColor color = game.getCurColor();
+        final int size = game.getSize();
+        final long[] legal = game.legalMoves(color);
+
+        int candidates = 0;
+        final int[] points = new int[size * size];
+        for (int point = 0; point < size * size; point++) {
+            if ((legal[point / Long.SIZE] & (1L << (point % Long.SIZE))) != 0 && !isOwnEye(game, point % size, point / size, color)) {
+                points[candidates++] = point;
+            }
+        }
+
+        return candidates == 0 ? PASS : points[random.nextInt(candidates)];
+    }
+
+    /**
+     * Checks whether all neighbors of the supplied point are either off the board or stones of the supplied color
+     * @param game the game containing the board
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param color the color of the eye's owner
+     * @return whether the point is an eye of the supplied color
+     */
+    private static boolean isOwnEye(Game game, int x, int y, StoneColor color) {
+        final int size = game.getSize();
+        return (x == 0 || game.getColorAt(x - 1, y) == color)
+            && (x == size - 1 || game.getColorAt(x + 1, y) == color)
+            && (y == 0 || game.getColorAt(x, y - 1) == color)
+            && (y == size - 1 || game.getColorAt(x, y + 1) == color);
+    }
+}
@@ -0,0 +1,54 @@
+package pr_se.gogame.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of navigating the History of a complete generated game
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HistoryBenchmark {
+    /**
+     * The size of the board
+     */
+    @Param({"9", "19", "25"})
+    public int size;
+
+    /**
+     * The kind of board
+     */
+    @Param({"STANDARD", "BITBOARD"})
+    public GameInterface.BoardType boardType;
+
+    /**
+     * Game after the generated moves
+     */
+    private Game game;
+
+    /**
+     * Prepares the game
+     */
+    @Setup
+    public void setUp() {
+        game = GameCorpus.replay(size, GameCorpus.generateMoves(size, size), boardType);
+    }
+
+    /**
+     * Undoes all moves of the game and redoes them again
+     * @return the position hash after redoing all moves
+     */
+    @Benchmark
+    public long goToBeginningAndEnd() {
+        game.getHistory().goToBeginning();
+        game.getHistory().goToEnd();
+        return game.getPositionHash();
+    }
+}
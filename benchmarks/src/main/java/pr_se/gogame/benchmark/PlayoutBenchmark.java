@@ -0,0 +1,64 @@
+package pr_se.gogame.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.player.MonteCarloPlayer;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.util.concurrent.TimeUnit;
+
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+
+/**
+ * Benchmark of the playout throughput of the MonteCarloPlayer. Every operation is one playout (including its share of
+ * the tree search), so the score is the number of playouts per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+    /**
+     * The number of playouts per searched move
+     */
+    private static final int PLAYOUTS = 500;
+
+    /**
+     * The size of the board
+     */
+    @Param({"9", "19"})
+    public int size;
+
+    /**
+     * Game on an empty board, in which Black is to move
+     */
+    private Game game;
+
+    /**
+     * The player that searches the moves
+     */
+    private MonteCarloPlayer player;
+
+    /**
+     * Prepares the game and the player
+     */
+    @Setup
+    public void setUp() {
+        game = new Game();
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        player = new MonteCarloPlayer(PLAYOUTS, 42);
+    }
+
+    /**
+     * Searches a move for the empty board
+     * @return the selected move
+     */
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public Position selectMove() {
+        return player.selectMove(game);
+    }
+}
@@ -0,0 +1,122 @@
+package pr_se.gogame.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+import pr_se.gogame.model.file.BinaryFileHandler;
+import pr_se.gogame.model.file.LoadingGameException;
+import pr_se.gogame.model.file.ReplayResult;
+import pr_se.gogame.model.file.SGFReplayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading and saving generated games as SGF files, compared to loading them from the binary format
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SGFBenchmark {
+    /**
+     * The size of the board
+     */
+    @Param({"9", "19", "25"})
+    public int size;
+
+    /**
+     * Game after the generated moves
+     */
+    private Game game;
+
+    /**
+     * File containing the generated game, which is read by the loading benchmarks
+     */
+    private File loadFile;
+
+    /**
+     * File containing the generated game in the binary format, which is read by the binary loading benchmark
+     */
+    private File binaryLoadFile;
+
+    /**
+     * File that the saving benchmark writes to
+     */
+    private File saveFile;
+
+    /**
+     * Prepares the game and the files
+     * @throws IOException if the files can't be created
+     */
+    @Setup
+    public void setUp() throws IOException {
+        game = GameCorpus.replay(size, GameCorpus.generateMoves(size, size), GameInterface.BoardType.STANDARD);
+        loadFile = Files.createTempFile("benchmark-load", ".sgf").toFile();
+        saveFile = Files.createTempFile("benchmark-save", ".sgf").toFile();
+        binaryLoadFile = Files.createTempFile("benchmark-load", ".gogb").toFile();
+        game.getFileHandler().saveFile(loadFile);
+        new BinaryFileHandler(game).saveFile(binaryLoadFile);
+    }
+
+    /**
+     * Deletes the files
+     */
+    @TearDown
+    public void tearDown() {
+        loadFile.delete();
+        saveFile.delete();
+        binaryLoadFile.delete();
+    }
+
+    /**
+     * Saves the generated game
+     * @return whether saving was successful
+     * @throws IOException if the file can't be written
+     */
+    @Benchmark
+    public boolean save() throws IOException {
+        return game.getFileHandler().saveFile(saveFile);
+    }
+
+    /**
+     * Loads the generated game into a new Game
+     * @return the loaded Game
+     * @throws IOException if the file can't be read
+     * @throws LoadingGameException if the file is invalid
+     */
+    @Benchmark
+    public Game load() throws IOException, LoadingGameException {
+        final Game ret = new Game();
+        ret.getFileHandler().loadFile(loadFile);
+        return ret;
+    }
+
+    /**
+     * Loads the generated game into a new Game from the binary format
+     * @return the loaded Game
+     * @throws IOException if the file can't be read
+     * @throws LoadingGameException if the file is invalid
+     */
+    @Benchmark
+    public Game loadBinary() throws IOException, LoadingGameException {
+        final Game ret = new Game();
+        new BinaryFileHandler(ret).loadFile(binaryLoadFile);
+        return ret;
+    }
+
+    /**
+     * Replays the generated game headlessly, without building a Game
+     * @return the result of the replay
+     * @throws IOException if the file can't be read
+     * @throws LoadingGameException if the file is invalid
+     */
+    @Benchmark
+    public ReplayResult replay() throws IOException, LoadingGameException {
+        return new SGFReplayer().replay(loadFile);
+    }
+}
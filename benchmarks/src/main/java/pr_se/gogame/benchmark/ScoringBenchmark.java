@@ -0,0 +1,51 @@
+package pr_se.gogame.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.UndoableCommand;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the territory scoring of the ruleset
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+    /**
+     * The size of the board
+     */
+    @Param({"9", "19", "25"})
+    public int size;
+
+    /**
+     * Game after the generated moves
+     */
+    private Game game;
+
+    /**
+     * Prepares the game
+     */
+    @Setup
+    public void setUp() {
+        game = GameCorpus.replay(size, GameCorpus.generateMoves(size, size), GameInterface.BoardType.STANDARD);
+    }
+
+    /**
+     * Scores the final position of the generated game and undoes the changes to the GameResult again
+     * @return the score of Black
+     */
+    @Benchmark
+    public double scoreGame() {
+        final UndoableCommand c = game.getRuleset().scoreGame(game);
+        final double ret = game.getGameResult().getScore(StoneColor.BLACK);
+        c.undo();
+        return ret;
+    }
+}
@@ -14,4 +14,6 @@ module pr_se.gogame {
     opens pr_se.gogame.view_controller.observer;
     exports pr_se.gogame.model.helper;
     opens pr_se.gogame.model.helper;
+    exports pr_se.gogame.model.player;
+    opens pr_se.gogame.model.player;
 }
\ No newline at end of file
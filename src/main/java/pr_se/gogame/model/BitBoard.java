@@ -0,0 +1,836 @@
+package pr_se.gogame.model;
+
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.UndoableCommand;
+import pr_se.gogame.model.helper.Symmetry;
+import pr_se.gogame.model.helper.ZobristHash;
+import pr_se.gogame.model.ruleset.GameResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Go Board backed by packed bitboards (one long[] per color plus one for the empty points). Points are addressed by
+ * a single integer index (y * size + x). The primitive methods (play(), remove(), getColorAtPoint(), ...) do not
+ * allocate any objects, which makes this implementation suitable for replaying large numbers of games. The methods
+ * from BoardInterface wrap these primitives into UndoableCommands for use with Game and History.
+ */
+public class BitBoard implements BoardInterface {
+    /**
+     * Returned by play() if the move could not be played (occupied point or forbidden suicide)
+     */
+    public static final int ILLEGAL = -1;
+
+    /**
+     * the Game that this BitBoard belongs to
+     */
+    private final Game game;
+
+    /**
+     * the number of rows and columns of this board
+     */
+    private final int size;
+
+    /**
+     * the number of points on this board (size * size)
+     */
+    private final int points;
+
+    /**
+     * one bit per point, set if a black stone is located there
+     */
+    private final long[] black;
+
+    /**
+     * one bit per point, set if a white stone is located there
+     */
+    private final long[] white;
+
+    /**
+     * one bit per point, set if the point is empty
+     */
+    private final long[] empty;
+
+    /**
+     * Scratch bitboard marking the points that have already been visited by the current chain scan
+     */
+    private final long[] marked;
+
+    /**
+     * Scratch bitboard marking the chains that have already been taken into account by getPositionHashAfterMove()
+     */
+    private final long[] counted;
+
+    /**
+     * Scratch buffer containing the points of the chain found by the last chain scan (also used as its work queue)
+     */
+    private final int[] chain;
+
+    /**
+     * Number of valid entries in chain
+     */
+    private int chainSize;
+
+    /**
+     * Buffer containing the points removed by the last call to play()
+     */
+    private final int[] removed;
+
+    /**
+     * Number of valid entries in removed
+     */
+    private int removedCount;
+
+    /**
+     * Whether the stones removed by the last call to play() were the mover's own (i.e., suicide was committed)
+     */
+    private boolean lastPlayWasSuicide;
+
+    /**
+     * the Zobrist keys of every point for black stones
+     */
+    private final long[] blackKeys;
+
+    /**
+     * the Zobrist keys of every point for white stones
+     */
+    private final long[] whiteKeys;
+
+    /**
+     * Zobrist hash of the current position, updated by place() and remove()
+     */
+    private long positionHash = 0;
+
+    /**
+     * the Zobrist keys of every transformed point for black stones (see ZobristHash.getSymmetryKeyTable())
+     */
+    private final long[] blackSymmetryKeys;
+
+    /**
+     * the Zobrist keys of every transformed point for white stones (see ZobristHash.getSymmetryKeyTable())
+     */
+    private final long[] whiteSymmetryKeys;
+
+    /**
+     * Zobrist hash of the current position transformed by each Symmetry, updated together with positionHash
+     */
+    private final long[] symmetryHashes = new long[Symmetry.COUNT];
+
+    /**
+     * Keeps track of the rows changed since the last snapshot
+     */
+    private final BoardSnapshot.Tracker snapshotTracker;
+
+    /**
+     * Creates a new headless BitBoard that doesn't belong to any Game (e.g., for replaying games in bulk). Only the
+     * primitive operations (play(), place(), remove(), ...) and getters may be used on such a board, as all other
+     * operations need the Game, e.g., to consult its Ruleset.
+     * @param size the size of the board
+     */
+    public BitBoard(int size) {
+        this(null, size);
+    }
+
+    /**
+     * Creates a new BitBoard belonging to the specified Game
+     * @param game the Game that this BitBoard belongs to
+     * @param size the size of the board
+     */
+    public BitBoard(Game game, int size) {
+        this.game = game;
+        this.size = size;
+        this.points = size * size;
+
+        final int words = (points + Long.SIZE - 1) / Long.SIZE;
+        this.black = new long[words];
+        this.white = new long[words];
+        this.empty = new long[words];
+        this.marked = new long[words];
+        this.counted = new long[words];
+        this.chain = new int[points];
+        this.removed = new int[points];
+        this.blackKeys = ZobristHash.getKeyTable(size, StoneColor.BLACK);
+        this.whiteKeys = ZobristHash.getKeyTable(size, StoneColor.WHITE);
+        this.blackSymmetryKeys = ZobristHash.getSymmetryKeyTable(size, StoneColor.BLACK);
+        this.whiteSymmetryKeys = ZobristHash.getSymmetryKeyTable(size, StoneColor.WHITE);
+
+        for (int p = 0; p < points; p++) {
+            setBit(empty, p);
+        }
+
+        this.snapshotTracker = new BoardSnapshot.Tracker(this);
+    }
+
+    @Override
+    public UndoableCommand setStone(final int x, final int y, final StoneColor color, final boolean prepareMode) {
+        checkXYCoordinates(x, y);
+
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        final int point = toPoint(x, y);
+
+        if (!testBit(empty, point)) {
+            return null;
+        }
+
+        boolean permittedSuicide = false;
+        if (!prepareMode && isSuicide(point, color)) {
+            if (!isSuicidePermitted(point, color)) {
+                return null;
+            }
+            permittedSuicide = true;
+        }
+
+        final int removedAmount = play(point, color, prepareMode, permittedSuicide);
+        final int[] removedPoints = Arrays.copyOf(removed, removedAmount);
+        final boolean suicide = lastPlayWasSuicide;
+        final StoneColor removedColor = suicide ? color : StoneColor.getOpposite(color);
+
+        final List<UndoableCommand> subcommands = new ArrayList<>();
+
+        subcommands.add(new UndoableCommand() {
+            @Override
+            public void execute() {
+                place(point, color);
+                for (int p : removedPoints) {
+                    remove(p);
+                }
+            }
+
+            @Override
+            public void undo() {
+                for (int p : removedPoints) {
+                    place(p, removedColor);
+                }
+                remove(point);
+            }
+        });
+
+        if (removedAmount > 0) {
+            GameResult gameResult = game.getGameResult();
+            int oldAmount = gameResult.getScoreComponents(color).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
+            subcommands.add(gameResult.addScoreComponent(color, GameResult.PointType.CAPTURED_STONES, oldAmount + removedAmount));
+        }
+
+        UndoableCommand ret = UndoableCommand.of(subcommands);
+        // No execute() here, as play() has already done the work.
+        for (int p : removedPoints) {
+            game.addStoneEvent(ret, false, getX(p), getY(p), null);
+            if (p != point) {
+                game.addStoneEvent(ret, true, getX(p), getY(p), removedColor);
+            }
+        }
+        if (!suicide) {
+            game.addStoneEvent(ret, false, x, y, color);
+            game.addStoneEvent(ret, true, x, y, null);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public UndoableCommand removeStone(final int x, final int y) {
+        checkXYCoordinates(x, y);
+
+        final int point = toPoint(x, y);
+        final StoneColor previousColor = getColorAtPoint(point);
+
+        UndoableCommand ret = new UndoableCommand() {
+            @Override
+            public void execute() {
+                remove(point);
+            }
+
+            @Override
+            public void undo() {
+                if (previousColor != null) {
+                    place(point, previousColor);
+                }
+            }
+        };
+        ret.execute();
+
+        game.addStoneEvent(ret, false, x, y, null);
+        if (previousColor != null) {
+            game.addStoneEvent(ret, true, x, y, previousColor);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public boolean isLegal(int x, int y, StoneColor color) {
+        checkXYCoordinates(x, y);
+
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        return isLegal(toPoint(x, y), color);
+    }
+
+    @Override
+    public long[] legalMoves(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        final long[] ret = new long[empty.length];
+        for (int p = 0; p < points; p++) {
+            if (isLegal(p, color)) {
+                setBit(ret, p);
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long getPositionHashAfterMove(int x, int y, StoneColor color) {
+        checkXYCoordinates(x, y);
+
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        final int point = toPoint(x, y);
+
+        if (!testBit(empty, point)) {
+            return positionHash;
+        }
+
+        Arrays.fill(counted, 0L);
+
+        /*
+         * A suicidal stone is removed again together with all adjacent own chains, which (like captured chains) have
+         * no liberties apart from the point itself.
+         */
+        final boolean suicide = isSuicide(point, color);
+        final StoneColor removedColor = suicide ? color : StoneColor.getOpposite(color);
+        final long[] stones = stonesOf(removedColor);
+        final long[] keys = removedColor == StoneColor.BLACK ? blackKeys : whiteKeys;
+
+        long hash = suicide ? positionHash : positionHash ^ (color == StoneColor.BLACK ? blackKeys[point] : whiteKeys[point]);
+        final int px = getX(point);
+        if (px > 0) {
+            hash ^= getDeadChainKeys(point - 1, point, stones, keys);
+        }
+        if (px < size - 1) {
+            hash ^= getDeadChainKeys(point + 1, point, stones, keys);
+        }
+        if (point >= size) {
+            hash ^= getDeadChainKeys(point - size, point, stones, keys);
+        }
+        if (point < points - size) {
+            hash ^= getDeadChainKeys(point + size, point, stones, keys);
+        }
+
+        return hash;
+    }
+
+    // Primitive (allocation-free) operations
+
+    /**
+     * Plays a stone at the supplied point, removing any opposing chains left without liberties. Unlike setStone(),
+     * this neither consults the Ruleset nor creates any objects; the removed points can be queried afterwards with
+     * getRemovedCount() and getRemoved().
+     * @param point       index of the point, as returned by toPoint()
+     * @param color       Color of the stone to be placed
+     * @param prepareMode Whether this stone is set before the beginning of the game, in which case neither captures
+     *                    nor suicide are evaluated
+     * @param allowSuicide Whether the stone's own chain is to be removed if it is left without liberties. If false,
+     *                    such a move is rejected.
+     * @return the number of removed stones or ILLEGAL if the point is occupied or the move is a forbidden suicide
+     */
+    public int play(int point, StoneColor color, boolean prepareMode, boolean allowSuicide) {
+        removedCount = 0;
+        lastPlayWasSuicide = false;
+
+        if (!testBit(empty, point)) {
+            return ILLEGAL;
+        }
+
+        place(point, color);
+
+        if (prepareMode) {
+            return 0;
+        }
+
+        final long[] opponent = stonesOf(StoneColor.getOpposite(color));
+        final int x = getX(point);
+
+        if (x > 0) {
+            captureIfDead(point - 1, opponent);
+        }
+        if (x < size - 1) {
+            captureIfDead(point + 1, opponent);
+        }
+        if (point >= size) {
+            captureIfDead(point - size, opponent);
+        }
+        if (point < points - size) {
+            captureIfDead(point + size, opponent);
+        }
+
+        if (removedCount == 0 && !scanChain(point, stonesOf(color), -1, true)) {
+            if (!allowSuicide) {
+                remove(point);
+                return ILLEGAL;
+            }
+
+            // Assertion: chain still contains the complete chain of the suicidal stone.
+            for (int i = 0; i < chainSize; i++) {
+                remove(chain[i]);
+                removed[removedCount++] = chain[i];
+            }
+            lastPlayWasSuicide = true;
+        }
+
+        return removedCount;
+    }
+
+    /**
+     * Checks whether playing the supplied color at the supplied (empty) point would leave the resulting chain without
+     * liberties, without capturing anything. Does not modify the board.
+     * @param point index of the point, as returned by toPoint()
+     * @param color Color of the stone that would be placed
+     * @return whether the move would be a suicide
+     */
+    public boolean isSuicide(int point, StoneColor color) {
+        final int x = getX(point);
+
+        return !(x > 0 && keepsLiberty(point - 1, point, color))
+            && !(x < size - 1 && keepsLiberty(point + 1, point, color))
+            && !(point >= size && keepsLiberty(point - size, point, color))
+            && !(point < points - size && keepsLiberty(point + size, point, color));
+    }
+
+    /**
+     * Places a stone of the supplied color at the supplied point without any further checks
+     * @param point index of the point, as returned by toPoint()
+     * @param color Color of the stone to be placed
+     */
+    public void place(int point, StoneColor color) {
+        remove(point);
+        snapshotTracker.changed(getY(point));
+        positionHash ^= color == StoneColor.BLACK ? blackKeys[point] : whiteKeys[point];
+        ZobristHash.xorSymmetryKeys(symmetryHashes, color == StoneColor.BLACK ? blackSymmetryKeys : whiteSymmetryKeys, point);
+        clearBit(empty, point);
+        clearBit(stonesOf(StoneColor.getOpposite(color)), point);
+        setBit(stonesOf(color), point);
+    }
+
+    /**
+     * Removes any stone from the supplied point without any further checks
+     * @param point index of the point, as returned by toPoint()
+     */
+    public void remove(int point) {
+        if (testBit(black, point)) {
+            positionHash ^= blackKeys[point];
+            ZobristHash.xorSymmetryKeys(symmetryHashes, blackSymmetryKeys, point);
+            snapshotTracker.changed(getY(point));
+        } else if (testBit(white, point)) {
+            positionHash ^= whiteKeys[point];
+            ZobristHash.xorSymmetryKeys(symmetryHashes, whiteSymmetryKeys, point);
+            snapshotTracker.changed(getY(point));
+        }
+        clearBit(black, point);
+        clearBit(white, point);
+        setBit(empty, point);
+    }
+
+    /**
+     * Replaces the position of this board by the position of the supplied board without allocating any objects, e.g.,
+     * for resetting a scratch board before each of many playouts
+     * @param other the board whose position is to be copied
+     * @throws IllegalArgumentException if the boards differ in size
+     */
+    public void copyFrom(BitBoard other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Can't copy a board of size " + other.size + " to a board of size " + size);
+        }
+
+        System.arraycopy(other.black, 0, black, 0, black.length);
+        System.arraycopy(other.white, 0, white, 0, white.length);
+        System.arraycopy(other.empty, 0, empty, 0, empty.length);
+        System.arraycopy(other.symmetryHashes, 0, symmetryHashes, 0, symmetryHashes.length);
+        positionHash = other.positionHash;
+        removedCount = 0;
+        lastPlayWasSuicide = false;
+
+        for (int y = 0; y < size; y++) {
+            snapshotTracker.changed(y);
+        }
+    }
+
+    /**
+     * Returns the stone color at the specified point
+     * @param point index of the point, as returned by toPoint()
+     * @return the stone color at the specified point or null if no stone is set
+     */
+    public StoneColor getColorAtPoint(int point) {
+        if (testBit(black, point)) {
+            return StoneColor.BLACK;
+        }
+        if (testBit(white, point)) {
+            return StoneColor.WHITE;
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of points removed by the last call to play()
+     */
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    /**
+     * @param i index into the list of removed points, from 0 to getRemovedCount()-1
+     * @return the i-th point removed by the last call to play()
+     */
+    public int getRemoved(int i) {
+        return removed[i];
+    }
+
+    /**
+     * @return whether the stones removed by the last call to play() were the mover's own
+     */
+    public boolean wasSuicide() {
+        return lastPlayWasSuicide;
+    }
+
+    /**
+     * Converts a pair of coordinates to a point index
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the index of the point
+     */
+    public int toPoint(int x, int y) {
+        return y * size + x;
+    }
+
+    /**
+     * @param point index of a point
+     * @return the horizontal coordinate of the point, starting on the left
+     */
+    public int getX(int point) {
+        return point % size;
+    }
+
+    /**
+     * @param point index of a point
+     * @return the vertical coordinate of the point, starting on the top
+     */
+    public int getY(int point) {
+        return point / size;
+    }
+
+    // Getters
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public StoneColor getColorAt(int x, int y) {
+        checkXYCoordinates(x, y);
+
+        return getColorAtPoint(toPoint(x, y));
+    }
+
+    @Override
+    public long getPositionHash() {
+        return positionHash;
+    }
+
+    @Override
+    public long getSymmetryHash(Symmetry symmetry) {
+        return symmetryHashes[symmetry.ordinal()];
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return snapshotTracker.snapshot();
+    }
+
+    @Override
+    public void printDebugInfo() {
+        for (int p = 0; p < points; p++) {
+            StoneColor c = getColorAtPoint(p);
+            if (c != null) {
+                scanChain(p, stonesOf(c), -1, false);
+                int anchor = p;
+                for (int i = 0; i < chainSize; i++) {
+                    anchor = Math.min(anchor, chain[i]);
+                }
+                game.fireDebugEvent(getX(p), getY(p), p, anchor);
+            }
+        }
+    }
+
+    // Private methods
+
+    /**
+     * Checks whether a stone of the supplied color may be placed at the supplied point (see isLegal(int, int,
+     * StoneColor))
+     * @param point index of the point
+     * @param color Color of the stone to be placed
+     * @return whether the stone may be placed
+     */
+    private boolean isLegal(int point, StoneColor color) {
+        return testBit(empty, point) && (!isSuicide(point, color) || isSuicidePermitted(point, color));
+    }
+
+    /**
+     * Asks the Ruleset whether a suicidal stone may be placed at the supplied point
+     * @param point index of the (empty) point
+     * @param color Color of the stone to be placed
+     * @return whether the Ruleset permits the suicide
+     */
+    private boolean isSuicidePermitted(int point, StoneColor color) {
+        return game.getRuleset().getSuicide(createStoneGroup(point, color, true), createStoneGroup(point, color, false));
+    }
+
+    /**
+     * Combines the Zobrist keys of the chain at the supplied point if it belongs to the supplied bitboard, would have
+     * no liberties left after a move at the supplied point and has not been counted yet.
+     * @param neighbor index of a point next to the move
+     * @param point index of the move
+     * @param stones the bitboard of the color that would be removed
+     * @param keys the Zobrist keys of that color
+     * @return the XOR of the keys of all stones of the chain, or 0 if it is not removed or has already been counted
+     */
+    private long getDeadChainKeys(int neighbor, int point, long[] stones, long[] keys) {
+        if (!testBit(stones, neighbor) || testBit(counted, neighbor) || scanChain(neighbor, stones, point, true)) {
+            return 0;
+        }
+
+        long ret = 0;
+        for (int i = 0; i < chainSize; i++) {
+            ret ^= keys[chain[i]];
+            setBit(counted, chain[i]);
+        }
+        return ret;
+    }
+
+    /**
+     * Removes the chain at the supplied point if it belongs to the supplied bitboard and has no liberties left,
+     * appending its points to the list of removed points.
+     * @param point index of the point
+     * @param stones the bitboard of the color that may be captured
+     */
+    private void captureIfDead(int point, long[] stones) {
+        if (!testBit(stones, point) || scanChain(point, stones, -1, true)) {
+            return;
+        }
+
+        for (int i = 0; i < chainSize; i++) {
+            remove(chain[i]);
+            removed[removedCount++] = chain[i];
+        }
+    }
+
+    /**
+     * Checks whether the neighbor of a hypothetical move guarantees the moving chain a liberty: either because the
+     * neighbor is empty, belongs to an own chain with another liberty or to an opposing chain that would be captured.
+     * @param neighbor index of the neighboring point
+     * @param point index of the point where the stone would be placed
+     * @param color Color of the stone that would be placed
+     * @return whether the neighbor guarantees a liberty
+     */
+    private boolean keepsLiberty(int neighbor, int point, StoneColor color) {
+        if (testBit(empty, neighbor)) {
+            return true;
+        }
+
+        if (testBit(stonesOf(color), neighbor)) {
+            return scanChain(neighbor, stonesOf(color), point, true);
+        }
+
+        return !scanChain(neighbor, stonesOf(StoneColor.getOpposite(color)), point, true);
+    }
+
+    /**
+     * Collects the chain containing the supplied point into the chain buffer (breadth-first) and checks it for
+     * liberties.
+     * @param start index of a point of the chain
+     * @param stones the bitboard of the chain's color
+     * @param ignoredLiberty a point that is not to be counted as a liberty (-1 for none)
+     * @param stopAtLiberty whether scanning may stop as soon as a liberty has been found (leaving the chain buffer
+     *                      incomplete)
+     * @return whether the chain has at least one liberty
+     */
+    private boolean scanChain(int start, long[] stones, int ignoredLiberty, boolean stopAtLiberty) {
+        Arrays.fill(marked, 0L);
+        setBit(marked, start);
+        chain[0] = start;
+        chainSize = 1;
+
+        boolean hasLiberty = false;
+
+        for (int i = 0; i < chainSize; i++) {
+            final int p = chain[i];
+            final int x = getX(p);
+
+            if (x > 0) {
+                hasLiberty |= visit(p - 1, stones, ignoredLiberty);
+            }
+            if (x < size - 1) {
+                hasLiberty |= visit(p + 1, stones, ignoredLiberty);
+            }
+            if (p >= size) {
+                hasLiberty |= visit(p - size, stones, ignoredLiberty);
+            }
+            if (p < points - size) {
+                hasLiberty |= visit(p + size, stones, ignoredLiberty);
+            }
+
+            if (hasLiberty && stopAtLiberty) {
+                return true;
+            }
+        }
+
+        return hasLiberty;
+    }
+
+    /**
+     * Visits a point during a chain scan, enqueueing it if it belongs to the chain
+     * @param point index of the visited point
+     * @param stones the bitboard of the chain's color
+     * @param ignoredLiberty a point that is not to be counted as a liberty (-1 for none)
+     * @return whether the visited point is a liberty of the chain
+     */
+    private boolean visit(int point, long[] stones, int ignoredLiberty) {
+        if (testBit(empty, point)) {
+            return point != ignoredLiberty;
+        }
+
+        if (testBit(stones, point) && !testBit(marked, point)) {
+            setBit(marked, point);
+            chain[chainSize++] = point;
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates a StoneGroup describing the chain that a suicidal move would belong to. Only used to consult the
+     * Ruleset, which is why allocating here is acceptable.
+     * @param point index of the point where the stone would be placed
+     * @param color Color of the stone that would be placed
+     * @param includeNeighbors whether an adjacent chain of the same color is to be described (if there is none, the
+     *                         added stone itself is described)
+     * @return a StoneGroup describing the chain
+     */
+    private StoneGroup createStoneGroup(int point, StoneColor color, boolean includeNeighbors) {
+        final long[] own = stonesOf(color);
+        final int x = getX(point);
+
+        int start = point;
+        if (includeNeighbors) {
+            if (x > 0 && testBit(own, point - 1)) {
+                start = point - 1;
+            } else if (x < size - 1 && testBit(own, point + 1)) {
+                start = point + 1;
+            } else if (point >= size && testBit(own, point - size)) {
+                start = point - size;
+            } else if (point < points - size && testBit(own, point + size)) {
+                start = point + size;
+            }
+        }
+
+        final List<Position> locations = new LinkedList<>();
+        final Set<Position> liberties = new HashSet<>();
+
+        if (start == point) {
+            locations.add(new Position(x, getY(point)));
+        } else {
+            scanChain(start, own, -1, false);
+            for (int i = 0; i < chainSize; i++) {
+                final int p = chain[i];
+                locations.add(new Position(getX(p), getY(p)));
+                addLibertyPositions(p, liberties);
+            }
+        }
+
+        return new StoneGroup(color, locations, liberties);
+    }
+
+    /**
+     * Adds the empty neighbors of the supplied point to the supplied Set
+     * @param point index of the point
+     * @param liberties the Set that the liberties are to be added to
+     */
+    private void addLibertyPositions(int point, Set<Position> liberties) {
+        final int x = getX(point);
+        final int y = getY(point);
+
+        if (x > 0 && testBit(empty, point - 1)) {
+            liberties.add(new Position(x - 1, y));
+        }
+        if (x < size - 1 && testBit(empty, point + 1)) {
+            liberties.add(new Position(x + 1, y));
+        }
+        if (y > 0 && testBit(empty, point - size)) {
+            liberties.add(new Position(x, y - 1));
+        }
+        if (y < size - 1 && testBit(empty, point + size)) {
+            liberties.add(new Position(x, y + 1));
+        }
+    }
+
+    /**
+     * @param color a StoneColor
+     * @return the bitboard containing the stones of the supplied color
+     */
+    private long[] stonesOf(StoneColor color) {
+        return color == StoneColor.BLACK ? black : white;
+    }
+
+    /**
+     * Tests whether these x and y coordinates are outside the bounds of the playing field
+     * @param x x coordinate starting at the left
+     * @param y y coordinate starting at the top
+     */
+    private void checkXYCoordinates(int x, int y) throws IllegalArgumentException {
+        if(x < 0 || y < 0 || x >= size || y >= size) {
+            throw new IllegalArgumentException("Coordinates X=" + x + ", Y=" + y + " are out of bounds for board.");
+        }
+    }
+
+    /**
+     * @param bits a bitboard
+     * @param point index of a point
+     * @return whether the bit of the supplied point is set
+     */
+    private static boolean testBit(long[] bits, int point) {
+        return (bits[point >>> 6] & (1L << point)) != 0;
+    }
+
+    /**
+     * Sets the bit of the supplied point
+     * @param bits a bitboard
+     * @param point index of a point
+     */
+    private static void setBit(long[] bits, int point) {
+        bits[point >>> 6] |= 1L << point;
+    }
+
+    /**
+     * Clears the bit of the supplied point
+     * @param bits a bitboard
+     * @param point index of a point
+     */
+    private static void clearBit(long[] bits, int point) {
+        bits[point >>> 6] &= ~(1L << point);
+    }
+}
@@ -1,22 +1,62 @@
 package pr_se.gogame.model;
 
-import pr_se.gogame.model.helper.GameCommand;
 import pr_se.gogame.model.helper.Position;
 import pr_se.gogame.model.helper.StoneColor;
 import pr_se.gogame.model.helper.UndoableCommand;
+import pr_se.gogame.model.helper.Symmetry;
+import pr_se.gogame.model.helper.ZobristHash;
 import pr_se.gogame.model.ruleset.GameResult;
-import pr_se.gogame.view_controller.observer.DebugEvent;
-import pr_se.gogame.view_controller.observer.GameEvent;
 
 import java.util.*;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 
 /**
- * Go Board internal logic
+ * Go Board internal logic. Stone groups are tracked in a union-find structure over the board's points (union by size
+ * with path compression), where every root keeps pseudo-liberty counters, allowing captures and suicide to be
+ * detected in O(1) amortized time. Changes are recorded in an undo log, from which the returned UndoableCommands are
+ * built, instead of copying any group data.
  */
 public class Board implements BoardInterface {
+    /**
+     * Value in colors for an empty point
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * Identifies colors in the undo log
+     */
+    private static final int COLORS = 0;
+
+    /**
+     * Identifies parents in the undo log
+     */
+    private static final int PARENTS = 1;
+
+    /**
+     * Identifies groupSizes in the undo log
+     */
+    private static final int GROUP_SIZES = 2;
+
+    /**
+     * Identifies nextStones in the undo log
+     */
+    private static final int NEXT_STONES = 3;
+
+    /**
+     * Identifies libertyCounts in the undo log
+     */
+    private static final int LIBERTY_COUNTS = 4;
+
+    /**
+     * Identifies libertySums in the undo log
+     */
+    private static final int LIBERTY_SUMS = 5;
+
+    /**
+     * Identifies libertySquareSums in the undo log
+     */
+    private static final int LIBERTY_SQUARE_SUMS = 6;
+
     /**
      * the Game that this Board belongs to
      */
@@ -28,9 +68,106 @@ public class Board implements BoardInterface {
     private final int size;
 
     /**
-     * the actual board
+     * the number of points on this board (size * size)
+     */
+    private final int points;
+
+    /**
+     * the actual board; the color code (EMPTY, or the StoneColor's ordinal + 1) of every point
+     */
+    private final int[] colors;
+
+    /**
+     * the union-find parent of every occupied point (roots point to themselves)
+     */
+    private final int[] parents;
+
+    /**
+     * the number of stones in each group (only valid for roots)
+     */
+    private final int[] groupSizes;
+
+    /**
+     * circular list linking all stones of a group, allowing groups to be merged in O(1)
+     */
+    private final int[] nextStones;
+
+    /**
+     * the number of pseudo-liberties (i.e., adjacencies between a stone and an empty point) of each group (only valid
+     * for roots)
+     */
+    private final int[] libertyCounts;
+
+    /**
+     * the sum of the indices of each group's pseudo-liberties (only valid for roots)
+     */
+    private final int[] libertySums;
+
+    /**
+     * the sum of the squared indices of each group's pseudo-liberties (only valid for roots)
+     */
+    private final long[] libertySquareSums;
+
+    /**
+     * Undo log: which array was changed
+     */
+    private int[] logArrays = new int[64];
+
+    /**
+     * Undo log: which index was changed
+     */
+    private int[] logIndices = new int[64];
+
+    /**
+     * Undo log: the values before the changes
+     */
+    private long[] logOldValues = new long[64];
+
+    /**
+     * Undo log: the values after the changes
      */
-    private final StoneGroupPointer[][] boardContents;
+    private long[] logNewValues = new long[64];
+
+    /**
+     * Number of entries in the undo log belonging to the operation in progress
+     */
+    private int logSize = 0;
+
+    /**
+     * Scratch buffer for the points removed by the operation in progress
+     */
+    private final int[] removed;
+
+    /**
+     * Number of valid entries in removed
+     */
+    private int removedCount;
+
+    /**
+     * the Zobrist keys of every point, indexed by [color code - 1][point]
+     */
+    private final long[][] zobristKeys;
+
+    /**
+     * Zobrist hash of the current position, updated whenever a color is assigned (and thus also on undo and redo)
+     */
+    private long positionHash = 0;
+
+    /**
+     * the Zobrist keys of every transformed point, indexed by [color code - 1][point * Symmetry.COUNT + symmetry]
+     * (see ZobristHash.getSymmetryKeyTable())
+     */
+    private final long[][] symmetryKeys;
+
+    /**
+     * Zobrist hash of the current position transformed by each Symmetry, updated together with positionHash
+     */
+    private final long[] symmetryHashes = new long[Symmetry.COUNT];
+
+    /**
+     * Keeps track of the rows changed since the last snapshot
+     */
+    private final BoardSnapshot.Tracker snapshotTracker;
 
     /**
      * Creates a new Board belonging to the specified Game
@@ -40,8 +177,22 @@ public class Board implements BoardInterface {
     public Board(Game game, int size) {
         this.game = game;
         this.size = size;
-        this.boardContents = new StoneGroupPointer[this.size][this.size];
-        StoneGroup.resetDebug();
+        this.points = size * size;
+        this.colors = new int[points];
+        this.parents = new int[points];
+        this.groupSizes = new int[points];
+        this.nextStones = new int[points];
+        this.libertyCounts = new int[points];
+        this.libertySums = new int[points];
+        this.libertySquareSums = new long[points];
+        this.removed = new int[points];
+        this.zobristKeys = new long[StoneColor.values().length][];
+        this.symmetryKeys = new long[StoneColor.values().length][];
+        for (StoneColor c : StoneColor.values()) {
+            this.zobristKeys[c.ordinal()] = ZobristHash.getKeyTable(size, c);
+            this.symmetryKeys[c.ordinal()] = ZobristHash.getSymmetryKeyTable(size, c);
+        }
+        this.snapshotTracker = new BoardSnapshot.Tracker(this);
     }
 
     @Override
@@ -52,217 +203,631 @@ public class Board implements BoardInterface {
             throw new NullPointerException();
         }
 
-        if (boardContents[x][y] != null) {
+        final int point = toPoint(x, y);
+
+        if (colors[point] != EMPTY) {
             return null;
         }
 
-        // Get liberties at these x and y coordinates
-        Set<Position> newStoneLiberties = getSurroundings(x, y, Objects::isNull);
-        StoneGroup newGroup = new StoneGroup(color, x, y, newStoneLiberties);
-
-        // Get neighboring stone(group)s at these x and y coordinates
-        Set<StoneGroup> surroundingSGs = getSurroundings(x, y, Objects::nonNull).stream()
-            .map(p -> boardContents[p.getX()][p.getY()].getStoneGroup()).collect(Collectors.toSet());
-
-        /*
-         * Existing group of the same colour with maximum no. of liberties (which is relevant for the suicide-check)
-         */
-        StoneGroup firstSameColorGroup = surroundingSGs.stream()
-            .filter(sg -> sg.getStoneColor() == color)
-            .max(Comparator.comparingInt(sg -> sg.getLiberties().size()))
-            .orElse(newGroup);
-
-        // Check for suicide
-        boolean permittedSuicide = false;
-        Set<StoneGroup> otherColorGroups = surroundingSGs.stream()
-            .filter(sg -> sg.getStoneColor() != color)
-            .collect(Collectors.toSet());
+        final int ownColor = toColorCode(color);
 
         /*
          * if adding this stone would take away all liberties from the group it's being added to, and
          * if there are no groups of the opposite color with only one liberty, that could thus be captured ...
          */
-        if (!prepareMode && newGroup.getLiberties().isEmpty() && firstSameColorGroup.getLiberties().size() <= 1 &&
-            otherColorGroups.stream().noneMatch(sg -> sg.getLiberties().size() == 1)
-        ) {
-            if (!game.getRuleset().getSuicide(firstSameColorGroup, newGroup)) {
+        boolean permittedSuicide = false;
+        if (!prepareMode && isSuicide(point, ownColor)) {
+            if (!isSuicidePermitted(point, color)) {
                 return null;
             }
             permittedSuicide = true;
         }
 
-        /*
-         * Merge newly connected StoneGroups of the same color and remove the new stone's position from the liberties
-         * of all adjacent groups
-         */
-        Set<StoneGroup> sameColorGroups = new HashSet<>(surroundingSGs);
-        sameColorGroups.removeAll(otherColorGroups);
-        sameColorGroups.remove(firstSameColorGroup);
-
-        final List<UndoableCommand> subcommands = new LinkedList<>();
-
-        final UndoableCommand uc01AddNewToFirst = (firstSameColorGroup != newGroup) ? (firstSameColorGroup.mergeWithStoneGroup(newGroup)) : (null);
-        if(uc01AddNewToFirst != null) {
-            subcommands.add(uc01AddNewToFirst);
-        }
-
-        sameColorGroups.forEach(sg -> subcommands.add(firstSameColorGroup.mergeWithStoneGroup(sg)));
-
-        final UndoableCommand uc02RemoveNewPosFromFirstLiberties = firstSameColorGroup.removeLiberty(new Position(x, y)); // in case any of the now obsolete, "eaten" stone groups contained this liberty
-        subcommands.add(uc02RemoveNewPosFromFirstLiberties);
+        removedCount = 0;
 
-        otherColorGroups.forEach(sg -> subcommands.add(sg.removeLiberty(new Position(x, y))));
+        final int root = placeStone(point, ownColor);
 
-        final UndoableCommand uc03PlacePointer = (permittedSuicide) ? (null) : new UndoableCommand() {
-            @Override
-            public void execute() {
-                boardContents[x][y] =
-                    firstSameColorGroup.getPointers().stream()
-                        .findFirst()
-                        .orElseGet(() -> new StoneGroupPointer(newGroup));
+        if (!prepareMode) {
+            final int opponentColor = toColorCode(StoneColor.getOpposite(color));
+            for (int d = 0; d < 4; d++) {
+                final int n = getNeighbor(point, d);
+                if (n >= 0 && colors[n] == opponentColor) {
+                    final int r = find(n);
+                    if (libertyCounts[r] == 0) {
+                        removeGroup(r);
+                    }
+                }
             }
 
-            @Override
-            public void undo() {
-                boardContents[x][y] = null;
+            if (permittedSuicide) {
+                removeGroup(find(root));
             }
-        };
-        if(uc03PlacePointer != null) {
-            uc03PlacePointer.execute();
-            subcommands.add(uc03PlacePointer);
         }
 
-        UndoableCommand uc04RemoveCapturedStones = (prepareMode) ? (null) : removeGroupsWithoutLiberties(surroundingSGs, color, permittedSuicide);
-        if(uc04RemoveCapturedStones != null) {
-            subcommands.add(uc04RemoveCapturedStones);
+        final List<UndoableCommand> subcommands = new ArrayList<>();
+        subcommands.add(recordChanges());
+
+        final int[] removedPoints = Arrays.copyOf(removed, removedCount);
+        final StoneColor removedColor = permittedSuicide ? color : StoneColor.getOpposite(color);
+
+        if(removedPoints.length > 0) {
+            GameResult gameResult = game.getGameResult();
+            int oldAmount = gameResult.getScoreComponents(color).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
+            subcommands.add(gameResult.addScoreComponent(color, GameResult.PointType.CAPTURED_STONES, oldAmount + removedPoints.length));
         }
 
         UndoableCommand ret = UndoableCommand.of(subcommands);
-        // No execute() this time, as we've already executed the subcommands piecemeal.
-        if(uc04RemoveCapturedStones != null) {
-            ret.getExecuteEvents().addAll(uc04RemoveCapturedStones.getExecuteEvents());
-            ret.getUndoEvents().addAll(uc04RemoveCapturedStones.getUndoEvents());
+        // No execute() this time, as the changes have already been made.
+        for (int p : removedPoints) {
+            game.addStoneEvent(ret, false, getX(p), getY(p), null);
+            if (p != point) {
+                game.addStoneEvent(ret, true, getX(p), getY(p), removedColor);
+            }
         }
         if(!permittedSuicide) {
-            ret.getExecuteEvents().add(new GameEvent(GameCommand.STONE_WAS_SET, x, y, color, game.getCurMoveNumber()));
-            ret.getUndoEvents().add(new GameEvent(GameCommand.STONE_WAS_REMOVED, x, y, null, game.getCurMoveNumber()));
+            game.addStoneEvent(ret, false, x, y, color);
+            game.addStoneEvent(ret, true, x, y, null);
         }
 
-
         return ret;
     }
 
-    /**
-     * Removes any supplied groups that do not have liberties, including the ones of the supplied color if suicide is permitted
-     * @param surroundingSGs The StoneGroups to be evaluated for removal
-     * @param color The current move's player color
-     * @param permittedSuicide Whether suicide, if it occurs, is permitted
-     * @return An UndoableCommand to undo the removal of these groups
-     */
-    private UndoableCommand removeGroupsWithoutLiberties(final Set<StoneGroup> surroundingSGs, final StoneColor color, final boolean permittedSuicide) {
-        final List<UndoableCommand> subCommands = new LinkedList<>();
+    @Override
+    public UndoableCommand removeStone(int x, int y) {
+        checkXYCoordinates(x, y);
 
-        int totalCaptured = 0;
-        int totalSuicide = 0;
+        final int point = toPoint(x, y);
+        final StoneColor previousColor = getColorAt(x, y);
 
-        Set<StoneGroup> deadGroups = surroundingSGs.stream()
-                .filter(sg -> (sg.getStoneColor() != color || permittedSuicide) && sg.getLiberties().isEmpty())
-                .collect(Collectors.toSet());
-        for (StoneGroup sg : deadGroups) {
-            for (Position p : sg.getLocations()) {
-                subCommands.add(removeStone(p.getX(), p.getY()));
-            }
-            if(sg.getStoneColor() != color) {
-                totalCaptured += sg.getLocations().size();
+        if (previousColor != null) {
+            final int root = find(point);
+
+            if (groupSizes[root] == 1) {
+                write(COLORS, point, EMPTY);
+                for (int d = 0; d < 4; d++) {
+                    final int n = getNeighbor(point, d);
+                    if (n >= 0 && colors[n] != EMPTY) {
+                        addLiberty(find(n), point);
+                    }
+                }
             } else {
-                totalSuicide += sg.getLocations().size();
+                /*
+                 * Groups can't be split in a union-find structure, so the group is removed completely and the
+                 * remaining stones are placed again, which reconnects them into one or more groups.
+                 */
+                final int[] remaining = new int[groupSizes[root] - 1];
+                int i = 0;
+                int s = root;
+                do {
+                    if (s != point) {
+                        remaining[i++] = s;
+                    }
+                    s = nextStones[s];
+                } while (s != root);
+
+                removedCount = 0;
+                removeGroup(root);
+
+                for (int p : remaining) {
+                    placeStone(p, toColorCode(previousColor));
+                }
             }
         }
 
-        GameResult gameResult = game.getGameResult();
+        UndoableCommand ret = recordChanges();
 
-        if(totalCaptured > 0) {
-            int oldAmount = gameResult.getScoreComponents(color).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
-            subCommands.add(gameResult.addScoreComponent(color, GameResult.PointType.CAPTURED_STONES, oldAmount + totalCaptured));
+        game.addStoneEvent(ret, false, x, y, null);
+        if(previousColor != null) {
+            game.addStoneEvent(ret, true, x, y, previousColor);
         }
-        if(totalSuicide > 0) {
-            int oldAmount = gameResult.getScoreComponents(color).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
-            subCommands.add(gameResult.addScoreComponent(color, GameResult.PointType.CAPTURED_STONES, oldAmount + totalSuicide));
+
+        return ret;
+    }
+
+    @Override
+    public boolean isLegal(int x, int y, StoneColor color) {
+        checkXYCoordinates(x, y);
+
+        if(color == null) {
+            throw new NullPointerException();
         }
 
-        return UndoableCommand.of(subCommands);
+        return isLegal(toPoint(x, y), color);
     }
 
     @Override
-    public UndoableCommand removeStone(int x, int y) {
+    public long[] legalMoves(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        final long[] ret = new long[(points + Long.SIZE - 1) / Long.SIZE];
+        for (int p = 0; p < points; p++) {
+            if (isLegal(p, color)) {
+                ret[p / Long.SIZE] |= 1L << (p % Long.SIZE);
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long getPositionHashAfterMove(int x, int y, StoneColor color) {
         checkXYCoordinates(x, y);
 
-        final StoneGroupPointer boardAtXyPreviously = boardContents[x][y];
+        if(color == null) {
+            throw new NullPointerException();
+        }
 
-        UndoableCommand ret = new UndoableCommand() {
+        final int point = toPoint(x, y);
 
-            final List<UndoableCommand> addLibertyCommands = new LinkedList<>();
+        if (colors[point] != EMPTY) {
+            return positionHash;
+        }
 
-            @Override
-            public void execute() {
-                boardContents[x][y] = null;
+        final int ownColor = toColorCode(color);
+        final long[] keys = zobristKeys[color.ordinal()];
 
-                Set<StoneGroup> surroundingSGs = getSurroundings(x, y, Objects::nonNull).stream()
-                    .map(p -> boardContents[p.getX()][p.getY()].getStoneGroup()).collect(Collectors.toSet());
-                for (StoneGroup sg : surroundingSGs) {
-                    addLibertyCommands.add(sg.addLiberty(new Position(x, y)));
+        if (isSuicide(point, ownColor)) {
+            // The stone is removed again, together with all adjacent own groups.
+            long hash = positionHash;
+            for (int d = 0; d < 4; d++) {
+                final int n = getNeighbor(point, d);
+                if (n >= 0 && colors[n] == ownColor && !isNeighborOfEarlierDirection(point, d, findRoot(n))) {
+                    hash ^= getGroupKeys(findRoot(n), keys);
                 }
             }
+            return hash;
+        }
 
-            @Override
-            public void undo() {
-                boardContents[x][y] = boardAtXyPreviously;
-
-                for(UndoableCommand c : addLibertyCommands) {
-                    c.undo();
+        long hash = positionHash ^ keys[point];
+        final long[] opponentKeys = zobristKeys[StoneColor.getOpposite(color).ordinal()];
+        for (int d = 0; d < 4; d++) {
+            final int n = getNeighbor(point, d);
+            if (n >= 0 && colors[n] != EMPTY && colors[n] != ownColor) {
+                final int r = findRoot(n);
+                if (isInAtari(r) && !isNeighborOfEarlierDirection(point, d, r)) {
+                    hash ^= getGroupKeys(r, opponentKeys);
                 }
             }
-        };
-        ret.execute();
+        }
+
+        return hash;
+    }
+
+    // Private methods
 
-        ret.getExecuteEvents().add(new GameEvent(GameCommand.STONE_WAS_REMOVED, x, y, null, game.getCurMoveNumber()));
-        if(boardAtXyPreviously != null) {
-            ret.getUndoEvents().add(new GameEvent(GameCommand.STONE_WAS_SET, x, y, boardAtXyPreviously.getStoneGroup().getStoneColor(), game.getCurMoveNumber()));
+    /**
+     * Checks whether a stone of the supplied color may be placed at the supplied point (see isLegal(int, int,
+     * StoneColor))
+     * @param point index of the point
+     * @param color Color of the stone to be placed
+     * @return whether the stone may be placed
+     */
+    private boolean isLegal(int point, StoneColor color) {
+        return colors[point] == EMPTY && (!isSuicide(point, toColorCode(color)) || isSuicidePermitted(point, color));
+    }
+
+    /**
+     * Asks the Ruleset whether a suicidal stone may be placed at the supplied point. Creating the StoneGroups is only
+     * necessary for actual suicides, which keeps all other moves free of allocations.
+     * @param point index of the (empty) point
+     * @param color Color of the stone to be placed
+     * @return whether the Ruleset permits the suicide
+     */
+    private boolean isSuicidePermitted(int point, StoneColor color) {
+        final int ownColor = toColorCode(color);
+        StoneGroup addedStone = new StoneGroup(color, List.of(new Position(getX(point), getY(point))), Set.of());
+        StoneGroup existingGroup = addedStone;
+        for (int d = 0; d < 4; d++) {
+            final int n = getNeighbor(point, d);
+            if (n >= 0 && colors[n] == ownColor) {
+                existingGroup = createStoneGroup(findRoot(n));
+                break;
+            }
+        }
+
+        return game.getRuleset().getSuicide(existingGroup, addedStone);
+    }
+
+    /**
+     * Checks whether the supplied group is also adjacent to the supplied point in one of the directions before the
+     * supplied one, so that each adjacent group is only evaluated once
+     * @param point index of the point
+     * @param direction the direction in which the group was found
+     * @param root the root of the group
+     * @return whether the group has already been found in an earlier direction
+     */
+    private boolean isNeighborOfEarlierDirection(int point, int direction, int root) {
+        for (int d = 0; d < direction; d++) {
+            final int n = getNeighbor(point, d);
+            if (n >= 0 && colors[n] != EMPTY && findRoot(n) == root) {
+                return true;
+            }
         }
+        return false;
+    }
 
+    /**
+     * Combines the Zobrist keys of all stones of a group
+     * @param root the root of the group
+     * @param keys the Zobrist keys of the group's color
+     * @return the XOR of the keys of all stones of the group
+     */
+    private long getGroupKeys(int root, long[] keys) {
+        long ret = 0;
+        int s = root;
+        do {
+            ret ^= keys[s];
+            s = nextStones[s];
+        } while (s != root);
         return ret;
     }
 
-    // Private methods
+    /**
+     * Places a stone, updating the pseudo-liberties of all adjacent groups and merging it with adjacent groups of the
+     * same color. Does not remove any groups.
+     * @param point index of the point
+     * @param color color code of the stone
+     * @return the root of the group that the stone now belongs to
+     */
+    private int placeStone(int point, int color) {
+        write(COLORS, point, color);
+        write(PARENTS, point, point);
+        write(GROUP_SIZES, point, 1);
+        write(NEXT_STONES, point, point);
+        write(LIBERTY_COUNTS, point, 0);
+        write(LIBERTY_SUMS, point, 0);
+        write(LIBERTY_SQUARE_SUMS, point, 0);
+
+        for (int d = 0; d < 4; d++) {
+            final int n = getNeighbor(point, d);
+            if (n >= 0) {
+                if (colors[n] == EMPTY) {
+                    addLiberty(point, n);
+                } else {
+                    removeLiberty(find(n), point);
+                }
+            }
+        }
+
+        int root = point;
+        for (int d = 0; d < 4; d++) {
+            final int n = getNeighbor(point, d);
+            if (n >= 0 && colors[n] == color) {
+                root = union(root, find(n));
+            }
+        }
+
+        return root;
+    }
 
     /**
-     * Checks the space above, below, to the right and left of the one marked by x and y for StoneGroupPointers
-     * fulfilling the predicate check, returning a Set of at most four positions.
-     *
-     * @param x          Horizontal coordinate from 0 to size-1, starting on the left
-     * @param y          Vertical coordinate from 0 to size-1, starting on the top
-     * @param check      the condition that a surrounding tile has to fulfill to be added ot the returned Set
-     * @return a Set of at most four unique elements converted by conversion that are above, below, to the left and right of the provided x and y coordinate and fulfill check
+     * Removes all stones of the supplied group, adding them to the removed points and returning their points as
+     * pseudo-liberties to all adjacent groups.
+     * @param root the root of the group to be removed
      */
-    private Set<Position> getSurroundings(int x, int y, Predicate<StoneGroupPointer> check) {
-        checkXYCoordinates(x, y);
+    private void removeGroup(int root) {
+        int s = root;
+        do {
+            write(COLORS, s, EMPTY);
+            removed[removedCount++] = s;
+            s = nextStones[s];
+        } while (s != root);
+
+        do {
+            for (int d = 0; d < 4; d++) {
+                final int n = getNeighbor(s, d);
+                if (n >= 0 && colors[n] != EMPTY) {
+                    addLiberty(find(n), s);
+                }
+            }
+            s = nextStones[s];
+        } while (s != root);
+    }
+
+    /**
+     * Checks whether placing a stone of the supplied color at the supplied (empty) point would leave its group
+     * without liberties while not capturing anything. Does not modify the board.
+     * @param point index of the point
+     * @param color color code of the stone
+     * @return whether the move would be a suicide
+     */
+    private boolean isSuicide(int point, int color) {
+        for (int d = 0; d < 4; d++) {
+            final int n = getNeighbor(point, d);
+            if (n < 0) {
+                continue;
+            }
+
+            if (colors[n] == EMPTY) {
+                return false;
+            }
+
+            /*
+             * As the point is adjacent to the group, a group in atari has this very point as its last liberty: an own
+             * group would thus die with the stone, whereas an opposing one would be captured.
+             */
+            final boolean inAtari = isInAtari(findRoot(n));
+            if ((colors[n] == color) != inAtari) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A group is in atari if all of its pseudo-liberties are the same point, which is the case exactly if
+     * (sum of liberties)^2 == (sum of squared liberties) * (number of liberties).
+     * @param root the root of the group
+     * @return whether the group has at most one liberty
+     */
+    private boolean isInAtari(int root) {
+        final long sum = libertySums[root];
+        return sum * sum == libertySquareSums[root] * libertyCounts[root];
+    }
+
+    /**
+     * Adds a pseudo-liberty to the supplied group
+     * @param root the root of the group
+     * @param liberty index of the empty point
+     */
+    private void addLiberty(int root, int liberty) {
+        write(LIBERTY_COUNTS, root, libertyCounts[root] + 1L);
+        write(LIBERTY_SUMS, root, libertySums[root] + (long) liberty);
+        write(LIBERTY_SQUARE_SUMS, root, libertySquareSums[root] + (long) liberty * liberty);
+    }
+
+    /**
+     * Removes a pseudo-liberty from the supplied group
+     * @param root the root of the group
+     * @param liberty index of the now occupied point
+     */
+    private void removeLiberty(int root, int liberty) {
+        write(LIBERTY_COUNTS, root, libertyCounts[root] - 1L);
+        write(LIBERTY_SUMS, root, libertySums[root] - (long) liberty);
+        write(LIBERTY_SQUARE_SUMS, root, libertySquareSums[root] - (long) liberty * liberty);
+    }
+
+    /**
+     * Merges two groups (union by size)
+     * @param a the root of the first group
+     * @param b the root of the second group
+     * @return the root of the merged group
+     */
+    private int union(int a, int b) {
+        if (a == b) {
+            return a;
+        }
+
+        if (groupSizes[a] < groupSizes[b]) {
+            final int tmp = a;
+            a = b;
+            b = tmp;
+        }
+
+        write(PARENTS, b, a);
+        write(GROUP_SIZES, a, (long) groupSizes[a] + groupSizes[b]);
+        write(LIBERTY_COUNTS, a, (long) libertyCounts[a] + libertyCounts[b]);
+        write(LIBERTY_SUMS, a, (long) libertySums[a] + libertySums[b]);
+        write(LIBERTY_SQUARE_SUMS, a, libertySquareSums[a] + libertySquareSums[b]);
+
+        // Splice the two circular lists of stones into one
+        final int nextOfA = nextStones[a];
+        write(NEXT_STONES, a, nextStones[b]);
+        write(NEXT_STONES, b, nextOfA);
+
+        return a;
+    }
+
+    /**
+     * Finds the root of the group containing the supplied point, compressing the path along the way (the compression
+     * is recorded in the undo log, so this may only be called while an operation is in progress).
+     * @param point index of an occupied point
+     * @return the root of the group
+     */
+    private int find(int point) {
+        final int root = findRoot(point);
+
+        while (parents[point] != root) {
+            final int next = parents[point];
+            write(PARENTS, point, root);
+            point = next;
+        }
 
-        Set<Position> surroundings = new HashSet<>();
+        return root;
+    }
 
-        if (y > 0 && check.test(boardContents[x][y - 1])) {
-            surroundings.add(new Position(x, y - 1));
+    /**
+     * Finds the root of the group containing the supplied point without modifying anything
+     * @param point index of an occupied point
+     * @return the root of the group
+     */
+    private int findRoot(int point) {
+        while (parents[point] != point) {
+            point = parents[point];
         }
-        if (y < size - 1 && check.test(boardContents[x][y + 1])) {
-            surroundings.add(new Position(x, y + 1));
+
+        return point;
+    }
+
+    /**
+     * Creates a read-only StoneGroup describing the supplied group
+     * @param root the root of the group
+     * @return a StoneGroup describing the group
+     */
+    private StoneGroup createStoneGroup(int root) {
+        final List<Position> locations = new LinkedList<>();
+        final Set<Position> liberties = new HashSet<>();
+
+        int s = root;
+        do {
+            locations.add(new Position(getX(s), getY(s)));
+            for (int d = 0; d < 4; d++) {
+                final int n = getNeighbor(s, d);
+                if (n >= 0 && colors[n] == EMPTY) {
+                    liberties.add(new Position(getX(n), getY(n)));
+                }
+            }
+            s = nextStones[s];
+        } while (s != root);
+
+        return new StoneGroup(StoneColor.values()[colors[root] - 1], locations, liberties);
+    }
+
+    /**
+     * Changes an entry of one of the board's arrays, recording the change in the undo log
+     * @param array which array is to be changed (e.g., COLORS)
+     * @param index the index of the entry
+     * @param value the new value
+     */
+    private void write(int array, int index, long value) {
+        final long oldValue = read(array, index);
+        if (oldValue == value) {
+            return;
         }
-        if (x > 0 && check.test(boardContents[x - 1][y])) {
-            surroundings.add(new Position(x - 1, y));
+
+        if (logSize == logArrays.length) {
+            logArrays = Arrays.copyOf(logArrays, logSize * 2);
+            logIndices = Arrays.copyOf(logIndices, logSize * 2);
+            logOldValues = Arrays.copyOf(logOldValues, logSize * 2);
+            logNewValues = Arrays.copyOf(logNewValues, logSize * 2);
         }
-        if (x < size - 1 && check.test(boardContents[x + 1][y])) {
-            surroundings.add(new Position(x + 1, y));
+
+        logArrays[logSize] = array;
+        logIndices[logSize] = index;
+        logOldValues[logSize] = oldValue;
+        logNewValues[logSize] = value;
+        logSize++;
+
+        assign(array, index, value);
+    }
+
+    /**
+     * @param array which array is to be read (e.g., COLORS)
+     * @param index the index of the entry
+     * @return the value of the entry
+     */
+    private long read(int array, int index) {
+        return switch (array) {
+            case COLORS -> colors[index];
+            case PARENTS -> parents[index];
+            case GROUP_SIZES -> groupSizes[index];
+            case NEXT_STONES -> nextStones[index];
+            case LIBERTY_COUNTS -> libertyCounts[index];
+            case LIBERTY_SUMS -> libertySums[index];
+            case LIBERTY_SQUARE_SUMS -> libertySquareSums[index];
+            default -> throw new IllegalArgumentException("Unknown array " + array);
+        };
+    }
+
+    /**
+     * Changes an entry of one of the board's arrays without recording it
+     * @param array which array is to be changed (e.g., COLORS)
+     * @param index the index of the entry
+     * @param value the new value
+     */
+    private void assign(int array, int index, long value) {
+        switch (array) {
+            case COLORS -> {
+                if (colors[index] != EMPTY) {
+                    positionHash ^= zobristKeys[colors[index] - 1][index];
+                    ZobristHash.xorSymmetryKeys(symmetryHashes, symmetryKeys[colors[index] - 1], index);
+                }
+                colors[index] = (int) value;
+                snapshotTracker.changed(getY(index));
+                if (value != EMPTY) {
+                    positionHash ^= zobristKeys[(int) value - 1][index];
+                    ZobristHash.xorSymmetryKeys(symmetryHashes, symmetryKeys[(int) value - 1], index);
+                }
+            }
+            case PARENTS -> parents[index] = (int) value;
+            case GROUP_SIZES -> groupSizes[index] = (int) value;
+            case NEXT_STONES -> nextStones[index] = (int) value;
+            case LIBERTY_COUNTS -> libertyCounts[index] = (int) value;
+            case LIBERTY_SUMS -> libertySums[index] = (int) value;
+            case LIBERTY_SQUARE_SUMS -> libertySquareSums[index] = value;
+            default -> throw new IllegalArgumentException("Unknown array " + array);
         }
+    }
+
+    /**
+     * Turns the undo log of the operation in progress into an UndoableCommand and clears the log for the next
+     * operation.
+     * @return An UndoableCommand that reverts or re-applies the recorded changes
+     */
+    private UndoableCommand recordChanges() {
+        final int n = logSize;
+        final int[] arrays = Arrays.copyOf(logArrays, n);
+        final int[] indices = Arrays.copyOf(logIndices, n);
+        final long[] oldValues = Arrays.copyOf(logOldValues, n);
+        final long[] newValues = Arrays.copyOf(logNewValues, n);
+        logSize = 0;
+
+        return new UndoableCommand() {
+            @Override
+            public void execute() {
+                for (int i = 0; i < n; i++) {
+                    assign(arrays[i], indices[i], newValues[i]);
+                }
+            }
 
-        return surroundings;
+            @Override
+            public void undo() {
+                for (int i = n - 1; i >= 0; i--) {
+                    assign(arrays[i], indices[i], oldValues[i]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the neighbor of a point in the supplied direction
+     * @param point index of the point
+     * @param direction 0 (above), 1 (below), 2 (left) or 3 (right)
+     * @return the index of the neighbor or -1 if it is outside the board
+     */
+    private int getNeighbor(int point, int direction) {
+        return switch (direction) {
+            case 0 -> point >= size ? point - size : -1;
+            case 1 -> point < points - size ? point + size : -1;
+            case 2 -> point % size > 0 ? point - 1 : -1;
+            default -> point % size < size - 1 ? point + 1 : -1;
+        };
+    }
+
+    /**
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the index of the point
+     */
+    private int toPoint(int x, int y) {
+        return y * size + x;
+    }
+
+    /**
+     * @param point index of a point
+     * @return the horizontal coordinate of the point, starting on the left
+     */
+    private int getX(int point) {
+        return point % size;
+    }
+
+    /**
+     * @param point index of a point
+     * @return the vertical coordinate of the point, starting on the top
+     */
+    private int getY(int point) {
+        return point / size;
+    }
+
+    /**
+     * @param color a StoneColor
+     * @return the color code used in colors
+     */
+    private static int toColorCode(StoneColor color) {
+        return color.ordinal() + 1;
     }
 
     // Getters and Setters
@@ -275,21 +840,35 @@ public class Board implements BoardInterface {
     public StoneColor getColorAt(int x, int y) {
         checkXYCoordinates(x, y);
 
-        if (boardContents[x][y] != null) {
-            return boardContents[x][y].getStoneGroup().getStoneColor();
+        final int color = colors[toPoint(x, y)];
+
+        if (color != EMPTY) {
+            return StoneColor.values()[color - 1];
         } else {
             return null;
         }
     }
 
+    @Override
+    public long getPositionHash() {
+        return positionHash;
+    }
+
+    @Override
+    public long getSymmetryHash(Symmetry symmetry) {
+        return symmetryHashes[symmetry.ordinal()];
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return snapshotTracker.snapshot();
+    }
+
     @Override
     public void printDebugInfo() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (boardContents[i][j] != null) {
-                    DebugEvent e = new DebugEvent(i, j, boardContents[i][j].serialNo, boardContents[i][j].getStoneGroup().serialNo);
-                    game.fireGameEvent(e);
-                }
+        for (int p = 0; p < points; p++) {
+            if (colors[p] != EMPTY) {
+                game.fireDebugEvent(getX(p), getY(p), parents[p], findRoot(p));
             }
         }
 
@@ -305,4 +884,4 @@ public class Board implements BoardInterface {
             throw new IllegalArgumentException("Coordinates X=" + x + ", Y=" + y + " are out of bounds for board.");
         }
     }
-}
\ No newline at end of file
+}
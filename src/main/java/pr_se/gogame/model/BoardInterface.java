@@ -1,6 +1,7 @@
 package pr_se.gogame.model;
 
 import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.Symmetry;
 import pr_se.gogame.model.helper.UndoableCommand;
 
 /**
@@ -24,6 +25,25 @@ public interface BoardInterface {
      */
     UndoableCommand removeStone(int x, int y);
 
+    /**
+     * Checks whether a stone of the supplied color may be placed at the specified location, i.e., whether the point is
+     * empty and placing the stone would not be a suicide prohibited by the Ruleset. Ko is not checked, as it depends on
+     * the Game's history (see GameInterface.isLegal()). Neither the board nor anything else is changed.
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param color Color of the stone to be placed
+     * @return whether the stone may be placed
+     */
+    boolean isLegal(int x, int y, StoneColor color);
+
+    /**
+     * Determines all points where a stone of the supplied color may be placed according to isLegal().
+     * @param color Color of the stone to be placed
+     * @return a bitmask of the legal points, where the point at (x, y) is represented by bit (y * size + x) % 64 of
+     *  the array entry (y * size + x) / 64
+     */
+    long[] legalMoves(StoneColor color);
+
     // Getters
 
     /**
@@ -39,6 +59,71 @@ public interface BoardInterface {
      */
     StoneColor getColorAt(int x, int y);
 
+    /**
+     * Returns the Zobrist hash of the current position, which is kept up to date incrementally as stones are set and
+     * removed (including by undo and redo). Equal positions always have equal hashes, regardless of how they were
+     * reached, and the empty board has the hash 0.
+     * @return the Zobrist hash of the current position
+     */
+    long getPositionHash();
+
+    /**
+     * Returns the Zobrist hash of the current position transformed by the supplied Symmetry (i.e., the hash that
+     * getPositionHash() would return if every stone was moved to its transformed point). The hashes of all symmetries
+     * are kept up to date incrementally like getPositionHash(), so symmetric positions can be compared without
+     * transforming the board.
+     * @param symmetry the Symmetry by which the position is transformed
+     * @return the Zobrist hash of the transformed position, which is getPositionHash() for Symmetry.IDENTITY
+     */
+    long getSymmetryHash(Symmetry symmetry);
+
+    /**
+     * Returns the canonical hash of the current position, which is equal for all eight symmetric variants of a
+     * position (see getCanonicalSymmetry()). Unlike getPositionHash(), it must not be used for detecting repetitions.
+     * @return the smallest of the hashes of all symmetries
+     */
+    default long getCanonicalPositionHash() {
+        return getSymmetryHash(getCanonicalSymmetry());
+    }
+
+    /**
+     * Returns the Symmetry that transforms the current position into its canonical orientation, i.e., the one whose
+     * hash is the smallest (the first one in declaration order if several are equal, e.g., for symmetric positions).
+     * Moves can be transformed by it to compare them across symmetric positions.
+     * @return the Symmetry with the smallest hash
+     */
+    default Symmetry getCanonicalSymmetry() {
+        Symmetry ret = Symmetry.IDENTITY;
+        long min = getSymmetryHash(ret);
+        for (Symmetry s : Symmetry.values()) {
+            final long hash = getSymmetryHash(s);
+            if (hash < min) {
+                min = hash;
+                ret = s;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Calculates the Zobrist hash of the position that would result from placing a stone of the supplied color at the
+     * specified location (including any captured stones or a permitted suicide), without changing anything.
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param color Color of the stone to be placed
+     * @return the Zobrist hash of the resulting position, or that of the current position if the point is occupied
+     */
+    long getPositionHashAfterMove(int x, int y, StoneColor color);
+
+    /**
+     * Returns an immutable snapshot of the current position, which may be read by other threads without locking while
+     * this board continues to change. Consecutive snapshots share the rows that haven't changed in between, so taking
+     * a snapshot after every move only costs about as much as the move itself. This method must be called by the
+     * thread that changes the board.
+     * @return a snapshot of the current position
+     */
+    BoardSnapshot snapshot();
+
     /**
      * Updates the view to display debug info.
      */
@@ -0,0 +1,182 @@
+package pr_se.gogame.model;
+
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.Arrays;
+
+/**
+ * Immutable image of a board's position, as returned by BoardInterface.snapshot(). Since a snapshot never changes, it
+ * may be handed to other threads (e.g., a background analysis or the renderer) and read there without any locking,
+ * while the Game continues to change its board.<br>
+ * The position is stored row by row, and consecutive snapshots share all rows that haven't changed in between. Taking
+ * a snapshot after a move therefore only copies the rows touched by the move (and the array of row references),
+ * instead of the whole board.
+ */
+public final class BoardSnapshot {
+    /**
+     * Color code of empty points; stones are stored as their StoneColor's ordinal + 1
+     */
+    private static final byte EMPTY = 0;
+
+    /**
+     * the number of rows and columns of the board
+     */
+    private final int size;
+
+    /**
+     * The color codes of the points, indexed by [y][x]. Rows are shared with other snapshots and must never be
+     * modified.
+     */
+    private final byte[][] rows;
+
+    /**
+     * the Zobrist hash of the position
+     */
+    private final long positionHash;
+
+    /**
+     * Creates a new BoardSnapshot
+     * @param size the size of the board
+     * @param rows the color codes of the points, which are taken over without copying
+     * @param positionHash the Zobrist hash of the position
+     */
+    private BoardSnapshot(int size, byte[][] rows, long positionHash) {
+        this.size = size;
+        this.rows = rows;
+        this.positionHash = positionHash;
+    }
+
+    /**
+     * Creates a snapshot of the empty board of the supplied size. All rows share the same array.
+     * @param size the size of the board
+     * @return the snapshot of the empty board
+     */
+    static BoardSnapshot empty(int size) {
+        final byte[] emptyRow = new byte[size];
+        final byte[][] rows = new byte[size][];
+        Arrays.fill(rows, emptyRow);
+        return new BoardSnapshot(size, rows, 0);
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the stone color at the specified location
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the stone color at the specified location or null if no stone was set
+     */
+    public StoneColor getColorAt(int x, int y) {
+        if(x < 0 || y < 0 || x >= size || y >= size) {
+            throw new IllegalArgumentException("Coordinates X=" + x + ", Y=" + y + " are out of bounds for board.");
+        }
+
+        final byte color = rows[y][x];
+        return color == EMPTY ? null : StoneColor.values()[color - 1];
+    }
+
+    /**
+     * @return the Zobrist hash of the position (see BoardInterface.getPositionHash())
+     */
+    public long getPositionHash() {
+        return positionHash;
+    }
+
+    /**
+     * Checks whether this snapshot shares the supplied row with another snapshot instead of holding its own copy
+     * @param other another snapshot
+     * @param y the row to be checked
+     * @return whether both snapshots reference the same row
+     */
+    boolean sharesRow(BoardSnapshot other, int y) {
+        return rows[y] == other.rows[y];
+    }
+
+    /**
+     * Keeps track of the rows of a board that have changed since its last snapshot, so that the next snapshot only
+     * needs to copy those. Each board owns one Tracker and notifies it of every change of a point's color; it must
+     * only be used by the thread that changes the board.
+     */
+    static final class Tracker {
+        /**
+         * the board whose rows are tracked
+         */
+        private final BoardInterface board;
+
+        /**
+         * the last snapshot taken (or the empty board)
+         */
+        private BoardSnapshot current;
+
+        /**
+         * whether each row has changed since the last snapshot
+         */
+        private final boolean[] dirty;
+
+        /**
+         * the rows that have changed since the last snapshot
+         */
+        private final int[] dirtyRows;
+
+        /**
+         * Number of valid entries in dirtyRows
+         */
+        private int dirtyCount;
+
+        /**
+         * Creates a new Tracker for an empty board
+         * @param board the board whose rows are to be tracked
+         */
+        Tracker(BoardInterface board) {
+            final int size = board.getSize();
+            this.board = board;
+            this.current = empty(size);
+            this.dirty = new boolean[size];
+            this.dirtyRows = new int[size];
+        }
+
+        /**
+         * Records that the color of a point in the supplied row has changed
+         * @param y the row of the point
+         */
+        void changed(int y) {
+            if (!dirty[y]) {
+                dirty[y] = true;
+                dirtyRows[dirtyCount++] = y;
+            }
+        }
+
+        /**
+         * Returns a snapshot of the board's current position, copying only the rows that have changed since the last
+         * snapshot. If nothing has changed, the last snapshot is returned again.
+         * @return a snapshot of the board's current position
+         */
+        BoardSnapshot snapshot() {
+            if (dirtyCount == 0) {
+                return current;
+            }
+
+            final int size = current.size;
+            final byte[][] rows = current.rows.clone();
+            for (int i = 0; i < dirtyCount; i++) {
+                final int y = dirtyRows[i];
+                final byte[] row = new byte[size];
+                for (int x = 0; x < size; x++) {
+                    final StoneColor c = board.getColorAt(x, y);
+                    row[x] = c == null ? EMPTY : (byte) (c.ordinal() + 1);
+                }
+                rows[y] = row;
+                dirty[y] = false;
+            }
+            dirtyCount = 0;
+
+            current = new BoardSnapshot(size, rows, board.getPositionHash());
+            return current;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package pr_se.gogame.model;
+
+import pr_se.gogame.model.helper.GameCommand;
+import pr_se.gogame.view_controller.observer.BoardDiffEvent;
+import pr_se.gogame.view_controller.observer.GameEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the GameEvents fired while a Game is in batch mode and collapses them into as few events as possible:
+ * The stone-related events are reduced to the net change of each point (set, removed or unchanged) and delivered as
+ * a single BoardDiffEvent, UPDATE and GAME_WON are reduced to the last one of them, and all other events are kept in
+ * order.
+ */
+class EventBatch {
+    /**
+     * The position at the beginning of the batch
+     */
+    private final BoardSnapshot start;
+
+    /**
+     * The last STONE_WAS_SET or STONE_WAS_REMOVED event of each point, or null if the point hasn't been touched
+     */
+    private final GameEvent[] stoneEvents;
+
+    /**
+     * The SETUP_STONE_SET event following the last STONE_WAS_SET event of each point, if any
+     */
+    private final GameEvent[] setupEvents;
+
+    /**
+     * The touched points, in the order in which they were first touched
+     */
+    private final int[] touched;
+
+    /**
+     * Number of valid entries in touched
+     */
+    private int touchedCount;
+
+    /**
+     * All other events, in the order in which they were fired
+     */
+    private final List<GameEvent> otherEvents = new ArrayList<>();
+
+    /**
+     * The last UPDATE or GAME_WON event, if any
+     */
+    private GameEvent stateEvent;
+
+    /**
+     * Creates a new, empty EventBatch
+     * @param start the position at the beginning of the batch
+     */
+    EventBatch(BoardSnapshot start) {
+        if(start == null) {
+            throw new NullPointerException();
+        }
+
+        final int points = start.getSize() * start.getSize();
+        this.start = start;
+        this.stoneEvents = new GameEvent[points];
+        this.setupEvents = new GameEvent[points];
+        this.touched = new int[points];
+    }
+
+    /**
+     * Adds the supplied GameEvent to this batch
+     * @param e the GameEvent to be collected
+     */
+    void add(GameEvent e) {
+        switch (e.getGameCommand()) {
+            case STONE_WAS_SET, STONE_WAS_REMOVED -> {
+                final int point = e.getY() * start.getSize() + e.getX();
+                if (stoneEvents[point] == null) {
+                    touched[touchedCount++] = point;
+                }
+                stoneEvents[point] = e;
+                setupEvents[point] = null;
+            }
+            case SETUP_STONE_SET -> setupEvents[e.getY() * start.getSize() + e.getX()] = e;
+            case UPDATE, GAME_WON -> stateEvent = e;
+            default -> otherEvents.add(e);
+        }
+    }
+
+    /**
+     * Collapses the collected GameEvents. The net change of a point is determined by comparing its color at the
+     * beginning of the batch with the supplied position; a point keeping its color is only listed if a stone was set
+     * on it, as its move number may have changed.
+     * @param end the position at the end of the batch
+     * @return the GameEvents to be delivered: a BoardDiffEvent (if any point changed), the other events in order and
+     * the last UPDATE or GAME_WON event (if any)
+     */
+    List<GameEvent> collapse(BoardSnapshot end) {
+        final List<GameEvent> changes = new ArrayList<>();
+        final int size = start.getSize();
+
+        for (int i = 0; i < touchedCount; i++) {
+            final int point = touched[i];
+            final GameEvent e = stoneEvents[point];
+            final int x = point % size;
+            final int y = point / size;
+
+            if (e.getGameCommand() == GameCommand.STONE_WAS_SET && end.getColorAt(x, y) != null) {
+                changes.add(e);
+                if (setupEvents[point] != null) {
+                    changes.add(setupEvents[point]);
+                }
+            } else if (start.getColorAt(x, y) != null && end.getColorAt(x, y) == null) {
+                changes.add(e.getGameCommand() == GameCommand.STONE_WAS_REMOVED ? e : new GameEvent(GameCommand.STONE_WAS_REMOVED, x, y, null, e.getMoveNumber()));
+            }
+        }
+
+        final List<GameEvent> ret = new ArrayList<>();
+        if (!changes.isEmpty()) {
+            ret.add(new BoardDiffEvent(changes));
+        }
+        ret.addAll(otherEvents);
+        if (stateEvent != null) {
+            ret.add(stateEvent);
+        }
+
+        return ret;
+    }
+}
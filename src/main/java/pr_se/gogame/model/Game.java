@@ -4,14 +4,19 @@ import pr_se.gogame.model.file.FileHandler;
 import pr_se.gogame.model.file.SGFFileHandler;
 import pr_se.gogame.model.helper.GameCommand;
 import pr_se.gogame.model.helper.MarkShape;
+import pr_se.gogame.model.helper.Position;
 import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.Symmetry;
 import pr_se.gogame.model.helper.UndoableCommand;
+import pr_se.gogame.model.player.ComputerPlayer;
 import pr_se.gogame.model.ruleset.GameResult;
 import pr_se.gogame.model.ruleset.JapaneseRuleset;
 import pr_se.gogame.model.ruleset.Ruleset;
+import pr_se.gogame.view_controller.observer.DebugEvent;
 import pr_se.gogame.view_controller.observer.GameEvent;
 import pr_se.gogame.view_controller.observer.GameListener;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -70,6 +75,11 @@ public class Game implements GameInterface {
      */
     private BoardInterface board;
 
+    /**
+     * The kind of board used for new games
+     */
+    private BoardType boardType = BoardType.STANDARD;
+
     /**
      * The current move number
      */
@@ -105,6 +115,16 @@ public class Game implements GameInterface {
      */
     private FileHandler fileHandler;
 
+    /**
+     * How many (nested) event batches are currently open
+     */
+    private int eventBatchDepth;
+
+    /**
+     * Collects the GameEvents while an event batch is open, null otherwise
+     */
+    private EventBatch eventBatch;
+
     /**
      * Instantiates a new Game with some default settings for initializing the view
      */
@@ -133,20 +153,25 @@ public class Game implements GameInterface {
 
     @Override
     public void newGame(StoneColor startingColor, int size, int handicap, Ruleset ruleset, boolean letRulesetPlaceHandicapStones) {
+        newGame(startingColor, size, handicap, ruleset, letRulesetPlaceHandicapStones, boardType);
+    }
+
+    @Override
+    public void newGame(StoneColor startingColor, int size, int handicap, Ruleset ruleset, boolean letRulesetPlaceHandicapStones, BoardType boardType) {
         if(size < MIN_CUSTOM_BOARD_SIZE || handicap < MIN_HANDICAP_AMOUNT || handicap > MAX_HANDICAP_AMOUNT) {
             throw new IllegalArgumentException();
         }
 
-        if(startingColor == null) {
+        if(startingColor == null || boardType == null) {
             throw new NullPointerException();
         }
 
         this.setupMode = false;
         this.gameState = GameState.SETTING_UP;
 
-        this.history = new History(this);
-
         this.curColor = startingColor;
+
+        this.history = new History(this);
         this.handicap = handicap;
         this.ruleset = ruleset;
 
@@ -155,7 +180,11 @@ public class Game implements GameInterface {
         this.gameResult.addScoreComponent(startingColor, GameResult.PointType.HANDICAP, handicap);
         this.gameResult.addScoreComponent(getOpposite(startingColor), GameResult.PointType.KOMI, ruleset.getKomi());
 
-        this.board = new Board(this, size);
+        this.boardType = boardType;
+        this.board = switch (boardType) {
+            case STANDARD -> new Board(this, size);
+            case BITBOARD -> new BitBoard(this, size);
+        };
         this.ruleset.reset();
         fireGameEvent(new GameEvent(GameCommand.NEW_GAME));
 
@@ -246,7 +275,7 @@ public class Game implements GameInterface {
             throw new IllegalArgumentException("AbstractSaveToken " + saveToken + " invalid for endGame() method");
         }
 
-        List<UndoableCommand> subcommands = new LinkedList<>();
+        List<UndoableCommand> subcommands = new ArrayList<>();
 
         subcommands.add(ruleset.scoreGame(this));
         if(saveToken == RESIGN) {
@@ -273,6 +302,11 @@ public class Game implements GameInterface {
         return board.getSize();
     }
 
+    @Override
+    public BoardType getBoardType() {
+        return boardType;
+    }
+
     @Override
     public int getHandicap() {
         return this.handicap;
@@ -299,6 +333,26 @@ public class Game implements GameInterface {
         listeners.remove(l);
     }
 
+    @Override
+    public void beginEventBatch() {
+        if(eventBatchDepth++ == 0) {
+            eventBatch = new EventBatch(board.snapshot());
+        }
+    }
+
+    @Override
+    public void endEventBatch() {
+        if(eventBatchDepth == 0) {
+            throw new IllegalStateException("No event batch has been started!");
+        }
+
+        if(--eventBatchDepth == 0) {
+            final EventBatch batch = eventBatch;
+            eventBatch = null;
+            batch.collapse(board.snapshot()).forEach(this::deliverGameEvent);
+        }
+    }
+
     @Override
     public GameState getGameState() {
         return gameState;
@@ -324,6 +378,26 @@ public class Game implements GameInterface {
         return board.getColorAt(x, y);
     }
 
+    @Override
+    public long getPositionHash() {
+        return board.getPositionHash();
+    }
+
+    @Override
+    public long getCanonicalPositionHash() {
+        return board.getCanonicalPositionHash();
+    }
+
+    @Override
+    public Symmetry getCanonicalSymmetry() {
+        return board.getCanonicalSymmetry();
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return board.snapshot();
+    }
+
     @Override
     public void usePosition(int x, int y) {
         checkCoords(x, y);
@@ -386,6 +460,66 @@ public class Game implements GameInterface {
         return placeStone(x, y, color, MOVE);
     }
 
+    @Override
+    public void playComputerMove(ComputerPlayer player) throws IllegalStateException {
+        if(player == null) {
+            throw new NullPointerException();
+        }
+
+        if(gameState != GameState.RUNNING) {
+            throw new IllegalStateException("Can't let the computer play when game isn't running! Game State was " + gameState);
+        }
+
+        final Position move = player.selectMove(this);
+        if(move == null) {
+            pass();
+        } else if(!playMove(move.getX(), move.getY())) {
+            throw new IllegalStateException("Computer player chose the illegal move X=" + move.getX() + ", Y=" + move.getY());
+        }
+    }
+
+    @Override
+    public boolean isLegal(int x, int y, StoneColor color) {
+        checkCoords(x, y);
+
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        return gameState == GameState.RUNNING
+            && board.isLegal(x, y, color)
+            && !ruleset.isRepetition(this, board.getPositionHashAfterMove(x, y, color), color);
+    }
+
+    @Override
+    public long[] legalMoves(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        final int size = board.getSize();
+        if (gameState != GameState.RUNNING) {
+            return new long[(size * size + Long.SIZE - 1) / Long.SIZE];
+        }
+
+        final long[] ret = board.legalMoves(color);
+
+        for (int i = 0; i < ret.length; i++) {
+            // Only the remaining legal points need to be checked for ko.
+            long bits = ret[i];
+            while (bits != 0) {
+                final int point = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                if (ruleset.isRepetition(this, board.getPositionHashAfterMove(point % size, point / size, color), color)) {
+                    ret[i] &= ~(1L << (point % Long.SIZE));
+                }
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Fires the supplied GameEvent to all listeners
      * @param e the GameEvent to be fired
@@ -395,6 +529,53 @@ public class Game implements GameInterface {
             throw new NullPointerException();
         }
 
+        if(eventBatch == null) {
+            deliverGameEvent(e);
+        } else if(e.getGameCommand() == GameCommand.NEW_GAME) {
+            // The board has been replaced, so the collected events are obsolete, as the listeners start over anyway.
+            deliverGameEvent(e);
+            eventBatch = new EventBatch(board.snapshot());
+        } else if(e.getGameCommand() == GameCommand.INIT) {
+            final EventBatch batch = eventBatch;
+            eventBatch = null;
+            batch.collapse(board.snapshot()).forEach(this::deliverGameEvent);
+            deliverGameEvent(e);
+            eventBatch = new EventBatch(board.snapshot());
+        } else {
+            eventBatch.add(e);
+        }
+    }
+
+    /**
+     * Adds a GameEvent for a stone that is set or removed by the supplied UndoableCommand to its execute or undo
+     * events. Boards use this instead of creating GameEvents themselves, so that they don't depend on the view.
+     * @param command the UndoableCommand that the GameEvent is added to
+     * @param undo whether the GameEvent is fired when the command is undone (rather than executed)
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param color the color of the stone that is set, or null if the stone is removed
+     */
+    void addStoneEvent(UndoableCommand command, boolean undo, int x, int y, StoneColor color) { // package-private by design
+        final GameEvent e = new GameEvent(color == null ? GameCommand.STONE_WAS_REMOVED : GameCommand.STONE_WAS_SET, x, y, color, getCurMoveNumber());
+        (undo ? command.getUndoEvents() : command.getExecuteEvents()).add(e);
+    }
+
+    /**
+     * Fires a DebugEvent with the supplied board internals to all listeners
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param point number identifying the board entry
+     * @param group number identifying the stone group of the board entry
+     */
+    void fireDebugEvent(int x, int y, int point, int group) { // package-private by design
+        fireGameEvent(new DebugEvent(x, y, point, group));
+    }
+
+    /**
+     * Delivers the supplied GameEvent to all listeners immediately
+     * @param e the GameEvent to be delivered
+     */
+    private void deliverGameEvent(GameEvent e) {
         for (GameListener l : listeners) {
             l.gameCommand(e);
         }
@@ -494,7 +675,7 @@ public class Game implements GameInterface {
 
         checkCoords(x, y);
 
-        List<UndoableCommand> subcommands = new LinkedList<>();
+        List<UndoableCommand> subcommands = new ArrayList<>();
 
         if(saveToken == MOVE) {
             subcommands.add(setCurColor(color));
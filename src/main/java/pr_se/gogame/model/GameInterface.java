@@ -3,6 +3,8 @@ package pr_se.gogame.model;
 import pr_se.gogame.model.file.FileHandler;
 import pr_se.gogame.model.helper.MarkShape;
 import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.Symmetry;
+import pr_se.gogame.model.player.ComputerPlayer;
 import pr_se.gogame.model.ruleset.GameResult;
 import pr_se.gogame.model.ruleset.Ruleset;
 import pr_se.gogame.view_controller.observer.GameListener;
@@ -36,6 +38,18 @@ public interface GameInterface {
      */
     void newGame(StoneColor startingColor, int size, int handicap, Ruleset ruleset, boolean letRulesetPlaceHandicapStones);
 
+    /**
+     * Starts a new game.
+     * @param startingColor the StoneColor of the starting player
+     * @param size          the size of the board
+     * @param handicap      how many handicap stones are placed in favor of the beginner
+     * @param ruleset       the Ruleset that this Game uses
+     * @param letRulesetPlaceHandicapStones whether the Game should let the Ruleset place handicap stones (set to false when loading a game from a file)
+     * @param boardType     the BoardInterface implementation to be used by this and all following games (until another
+     *                      one is selected)
+     */
+    void newGame(StoneColor startingColor, int size, int handicap, Ruleset ruleset, boolean letRulesetPlaceHandicapStones, BoardType boardType);
+
     /**
      * Allows the current player to pass. After this, it is the opposite player's turn.
      */
@@ -68,6 +82,32 @@ public interface GameInterface {
      */
     boolean playMove(int x, int y, StoneColor color);
 
+    /**
+     * Lets the supplied ComputerPlayer choose a move for the current player and plays it, or passes if the
+     * ComputerPlayer chooses to pass
+     * @param player the ComputerPlayer choosing the move
+     * @throws IllegalStateException if the game isn't running or the ComputerPlayer chooses an illegal move
+     */
+    void playComputerMove(ComputerPlayer player) throws IllegalStateException;
+
+    /**
+     * Checks whether playMove() would succeed for the supplied player color at the specified coordinates, taking
+     * suicide and ko into account, without playing the move, firing any GameEvents or changing the History.
+     * @param x the x coordinate of the stone, starting at the left
+     * @param y the y coordinate of the stone, starting at the top
+     * @param color the StoneColor of the player
+     * @return whether the move is legal (always false if the game isn't running)
+     */
+    boolean isLegal(int x, int y, StoneColor color);
+
+    /**
+     * Determines all points where isLegal() holds for the supplied player color.
+     * @param color the StoneColor of the player
+     * @return a bitmask of the legal points, where the point at (x, y) is represented by bit (y * size + x) % 64 of
+     *  the array entry (y * size + x) / 64
+     */
+    long[] legalMoves(StoneColor color);
+
     /**
      * This method places a handicap stone or slot down for the beginner player at the specified coordinates.
      * This only works at the beginning of the game.
@@ -117,6 +157,11 @@ public interface GameInterface {
      */
     int getSize();
 
+    /**
+     * @return the kind of board that this Game uses
+     */
+    BoardType getBoardType();
+
     /**
      * @return the current Game's handicap
      */
@@ -135,6 +180,30 @@ public interface GameInterface {
      */
     StoneColor getColorAt(int x, int y);
 
+    /**
+     * @return the Zobrist hash of the board's current position (see BoardInterface.getPositionHash())
+     */
+    long getPositionHash();
+
+    /**
+     * @return the hash of the board's current position that is equal for all symmetric variants of it (see
+     * BoardInterface.getCanonicalPositionHash())
+     */
+    long getCanonicalPositionHash();
+
+    /**
+     * @return the Symmetry that transforms the board's current position into its canonical orientation (see
+     * BoardInterface.getCanonicalSymmetry())
+     */
+    Symmetry getCanonicalSymmetry();
+
+    /**
+     * Takes an immutable snapshot of the board's current position (see BoardInterface.snapshot()), e.g., to hand it to
+     * a background analysis. Must be called by the thread that plays the Game.
+     * @return a snapshot of the board's current position
+     */
+    BoardSnapshot snapshot();
+
     /**
      * @return the current move number
      */
@@ -198,6 +267,23 @@ public interface GameInterface {
      */
     void removeListener(GameListener l);
 
+    /**
+     * Starts collecting the GameEvents fired by this Game instead of delivering them to the listeners one by one, e.g.,
+     * while navigating through the History or loading a file. When the batch is ended, the stone-related events are
+     * collapsed to the net change of each point and delivered as a single BoardDiffEvent, so listeners only do work
+     * proportional to the number of changed points. Batches may be nested; only ending the outermost one delivers the
+     * collected events. An INIT event delivers the events collected so far, while a NEW_GAME event discards them, as
+     * the listeners start over with the new board anyway.
+     */
+    void beginEventBatch();
+
+    /**
+     * Ends the batch started by the matching call to beginEventBatch() and, unless it is nested in another one,
+     * delivers the collapsed GameEvents to the listeners
+     * @throws IllegalStateException if no batch has been started
+     */
+    void endEventBatch();
+
     /**
      * Switches the game's mode for placing setup stones on (if true) or off (if false). Does not work if the game
      * is in Handicap Mode.
@@ -249,5 +335,19 @@ public interface GameInterface {
          */
         GAME_OVER
     }
+
+    /**
+     * Contains the available BoardInterface implementations
+     */
+    enum BoardType {
+        /**
+         * Board, which keeps track of StoneGroups (the default)
+         */
+        STANDARD,
+        /**
+         * BitBoard, which uses packed bitboards and allocation-free primitive operations
+         */
+        BITBOARD
+    }
 }
 
@@ -7,11 +7,19 @@ import java.util.*;
 import java.util.function.Consumer;
 
 import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.HANDICAP;
+import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.RESIGN;
+import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.SCORED_GAME;
 import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.SETUP;
 
 /**
- * Doubly-linked list that keeps track of its current position in the history and discards following nodes on insertion
- *  of a new one
+ * Tree of HistoryNodes that keeps track of its current position in the history. Inserting a new HistoryNode in the
+ * middle of the history doesn't discard the following nodes but starts a new variation next to them.<br>
+ * Every HistoryNode remembers which of its variations is selected, so the tree always has one selected line from the
+ * beginning to a leaf. Navigation (stepBack(), stepForward(), goToMove(), iteration, ...) follows this line, while
+ * goToNode() and selectVariation() switch to another one.<br>
+ * The UndoableCommands are the only complete record of the game state (board, result, ko bookkeeping and the player
+ * to move), so jumping through the history undoes or redoes every HistoryNode in between. What makes long jumps cheap
+ * is that their GameEvents are fired as a single event batch, so the listeners only receive the net changes.
  */
 public class History implements Iterable<History.HistoryNode> {
     /**
@@ -33,6 +41,27 @@ public class History implements Iterable<History.HistoryNode> {
      */
     private HistoryNode current;
 
+    /**
+     * The index of the current HistoryNode, counting from the beginning (which has the index 0)
+     */
+    private int currentIndex = 0;
+
+    /**
+     * The index of the last HistoryNode before the end
+     */
+    private int lastIndex = 0;
+
+    /**
+     * How often each position (by its Zobrist hash) occurs from the beginning up to the current HistoryNode
+     */
+    private final Map<Long, Integer> positionCounts = new HashMap<>();
+
+    /**
+     * How often each situation (i.e., position and player to move, see ZobristHash.getSituationHash()) occurs from the
+     * beginning up to the current HistoryNode
+     */
+    private final Map<Long, Integer> situationCounts = new HashMap<>();
+
     /**
      * Creates a new History for the supplied Game
      * @param game the Game that this History belongs to
@@ -44,20 +73,26 @@ public class History implements Iterable<History.HistoryNode> {
         this.game = game;
         current = beginning;
         current.setNext(end);
+
+        // Every game starts on an empty board, whose hash is 0.
+        if(game.getCurColor() != null) {
+            beginning.setHashes(0, ZobristHash.getSituationHash(0, game.getCurColor()), 0);
+            index(beginning, 1);
+        }
     }
 
     /**
-     * Traverses the history back to the beginning, undoing everything along the way
+     * Traverses the history back to the beginning, undoing everything along the way (see goToMove())
      */
     public void goToBeginning() {
-        while(stepBack());
+        goToMove(0);
     }
 
     /**
-     * Traverses the history to the end, redoing everything along the way
+     * Traverses the history to the end, redoing everything along the way (see goToMove())
      */
     public void goToEnd() {
-        while(stepForward());
+        goToMove(lastIndex);
     }
 
     /**
@@ -67,9 +102,9 @@ public class History implements Iterable<History.HistoryNode> {
     public boolean stepBack() {
         if(!isAtBeginning()) {
             hideAllMarks();
-            current.getCommand().undo();
-            ListIterator<GameEvent> i = current.getCommand().getUndoEvents().listIterator(current.getCommand().getUndoEvents().size());
-            current = current.getPrev();
+            final UndoableCommand command = current.getCommand();
+            undoCurrent();
+            ListIterator<GameEvent> i = command.getUndoEvents().listIterator(command.getUndoEvents().size());
             while(i.hasPrevious()) {
                 game.fireGameEvent(i.previous());
             }
@@ -88,8 +123,7 @@ public class History implements Iterable<History.HistoryNode> {
     public boolean stepForward() {
         if(!isAtEnd()) {
             hideAllMarks();
-            current = current.getNext();
-            current.getCommand().execute();
+            redoNext();
             current.getCommand().getExecuteEvents().forEach(game::fireGameEvent);
             showAllMarks();
 
@@ -99,31 +133,183 @@ public class History implements Iterable<History.HistoryNode> {
         return false;
     }
 
+    /**
+     * Goes directly to the HistoryNode with the supplied index, undoing or redoing everything in between. Unlike
+     * repeated calls to stepBack() or stepForward(), this fires the GameEvents of all HistoryNodes in between as a
+     * single event batch (see GameInterface.beginEventBatch()), so the listeners only receive the net changes of the
+     * board, the marks of the target HistoryNode and a final UPDATE event (or GAME_WON, if the target HistoryNode ends
+     * the game).
+     * @param index the index of the HistoryNode, from 0 (the beginning) to getLastIndex()
+     * @throws IllegalArgumentException if there is no HistoryNode with the supplied index
+     */
+    public void goToMove(int index) {
+        final HistoryNode target = getNode(index);
+        if(target == current) {
+            return;
+        }
+
+        game.beginEventBatch();
+        try {
+            hideAllMarks();
+            while(currentIndex > index) {
+                final UndoableCommand command = current.getCommand();
+                undoCurrent();
+                ListIterator<GameEvent> i = command.getUndoEvents().listIterator(command.getUndoEvents().size());
+                while(i.hasPrevious()) {
+                    game.fireGameEvent(i.previous());
+                }
+            }
+            while(currentIndex < index) {
+                redoNext();
+                current.getCommand().getExecuteEvents().forEach(game::fireGameEvent);
+            }
+            showAllMarks();
+
+            if(current.getSaveToken() == SCORED_GAME || current.getSaveToken() == RESIGN) {
+                game.fireGameEvent(new GameEvent(GameCommand.GAME_WON));
+            } else {
+                game.fireGameEvent(new GameEvent(GameCommand.UPDATE));
+            }
+        } finally {
+            game.endEventBatch();
+        }
+    }
+
+    /**
+     * Returns the HistoryNode with the supplied index on the selected line, starting from whichever of the beginning, the
+     * current HistoryNode and the last one is nearest to it
+     * @param index the index of the HistoryNode, from 0 (the beginning) to getLastIndex()
+     * @return the HistoryNode with the supplied index
+     * @throws IllegalArgumentException if there is no HistoryNode with the supplied index
+     */
+    public HistoryNode getNode(int index) {
+        if(index < 0 || index > lastIndex) {
+            throw new IllegalArgumentException("Index " + index + " is out of bounds for a History with " + (lastIndex + 1) + " HistoryNodes");
+        }
+
+        HistoryNode ret;
+        int i;
+        if(index <= currentIndex) {
+            if(index <= currentIndex - index) {
+                ret = beginning;
+                i = 0;
+            } else {
+                ret = current;
+                i = currentIndex;
+            }
+        } else if(index - currentIndex <= lastIndex - index) {
+            ret = current;
+            i = currentIndex;
+        } else {
+            ret = end.getPrev();
+            i = lastIndex;
+        }
+
+        for(; i < index; i++) {
+            ret = ret.getNext();
+        }
+        for(; i > index; i--) {
+            ret = ret.getPrev();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Goes directly to the supplied HistoryNode, which may be on any variation of this History. The history is traversed
+     * back to the last HistoryNode that the supplied one shares with the selected line, the variations leading to the
+     * supplied HistoryNode are selected and the history is traversed forward to it. Like goToMove(), this fires a single
+     * event batch.
+     * @param node the HistoryNode to go to
+     * @throws IllegalArgumentException if the supplied HistoryNode isn't part of this History
+     */
+    public void goToNode(HistoryNode node) {
+        if(node == null) {
+            throw new NullPointerException();
+        }
+        if(node == current) {
+            return;
+        }
+
+        final List<HistoryNode> path = new ArrayList<>();
+        for(HistoryNode n = node; n != null; n = n.getPrev()) {
+            path.add(n);
+        }
+        Collections.reverse(path);
+        if(path.get(0) != beginning) {
+            throw new IllegalArgumentException("The HistoryNode " + node + " isn't part of this History!");
+        }
+
+        // Find the last HistoryNode on the path that is also on the selected line
+        int branchIndex = 0;
+        HistoryNode branch = beginning;
+        while(branchIndex + 1 < path.size() && branch.getNext() == path.get(branchIndex + 1)) {
+            branch = branch.getNext();
+            branchIndex++;
+        }
+
+        game.beginEventBatch();
+        try {
+            if(branchIndex + 1 < path.size()) {
+                goToMove(Math.min(branchIndex, currentIndex));
+                for(int i = branchIndex; i + 1 < path.size(); i++) {
+                    path.get(i).next = path.get(i + 1);
+                }
+                selectLine(branch, branchIndex);
+            }
+            goToMove(path.size() - 1);
+        } finally {
+            game.endEventBatch();
+        }
+    }
+
+    /**
+     * Selects the variation that follows the current HistoryNode, i.e., the one that stepForward() and goToEnd() will
+     * go to. The board isn't changed.
+     * @param variation the index of the variation in the current HistoryNode's children (see HistoryNode.getChildren())
+     * @throws IllegalArgumentException if the current HistoryNode has no such variation
+     */
+    public void selectVariation(int variation) {
+        final List<HistoryNode> children = current.getChildren();
+        if(variation < 0 || variation >= children.size()) {
+            throw new IllegalArgumentException("Variation " + variation + " is out of bounds for a HistoryNode with " + children.size() + " variations");
+        }
+
+        current.next = children.get(variation);
+        selectLine(current, currentIndex);
+        game.fireGameEvent(new GameEvent(GameCommand.UPDATE));
+    }
+
     /**
      * Goes to the HistoryNode before the first one that contains a normal move or the last one of no first move
      *  exists.
      */
     public void goBeforeFirstMove() {
-        goToFirstMove();
-        if(current.getSaveToken() != SETUP && current.getSaveToken() != HANDICAP) {
-            stepBack();
+        int index = getFirstMoveIndex();
+        final HistoryNode.AbstractSaveToken saveToken = getNode(index).getSaveToken();
+        if(index > 0 && saveToken != SETUP && saveToken != HANDICAP) {
+            index--;
         }
+        goToMove(index);
     }
 
     /**
      * Goes to the first HistoryNode that contains a normal move or the last one if no such node exists.
      */
     public void goToFirstMove() {
-        goToBeginning();
-
-        do {
-            stepForward();
-        } while(!isAtEnd() && (current.getSaveToken() == HANDICAP || current.getSaveToken() == SETUP));
+        goToMove(getFirstMoveIndex());
     }
 
     /**
-     * Adds the supplied HistoryNode at the current position in the history, discarding any following history.
-     * @param addedNode The HistoryNode to be added at the History's current position
+     * Adds the supplied HistoryNode at the current position in the history. If the current HistoryNode already has a
+     * following one, the supplied HistoryNode starts a new variation after the existing ones; either way, the supplied
+     * HistoryNode becomes the selected one and ends the selected line.<br>
+     * If the current HistoryNode already has a child with the same move (i.e., the same AbstractSaveToken, color and
+     * coordinates), no duplicate variation is started, except for scored ends of the game, whose result depends on the
+     * dead stones marked before. Instead, the supplied HistoryNode's command is undone and the
+     * existing child is selected and redone like by stepForward(), keeping the variations that follow it.
+     * @param addedNode The HistoryNode to be added at the History's current position, whose command has already been
+     *                  executed
      */
     public void addNode(HistoryNode addedNode) {
         if(addedNode == null) {
@@ -134,9 +320,48 @@ public class History implements Iterable<History.HistoryNode> {
         }
 
         hideAllMarks();
-        current.setNext(addedNode);
+
+        final HistoryNode existing = addedNode.getSaveToken() == SCORED_GAME ? null : current.findChild(addedNode);
+        if(existing != null) {
+            addedNode.getCommand().undo();
+            current.next = existing;
+            selectLine(current, currentIndex);
+            redoNext();
+            showAllMarks();
+            return;
+        }
+
+        current.addChild(addedNode);
         current = current.getNext();
         current.setNext(end);
+
+        currentIndex++;
+        lastIndex = currentIndex;
+
+        current.setHashes(game.getPositionHash(), ZobristHash.getSituationHash(game.getPositionHash(), game.getCurColor()), game.getCanonicalPositionHash());
+        index(current, 1);
+    }
+
+    /**
+     * Checks in O(1) whether the supplied position occurs anywhere from the beginning of this History up to (and
+     * including) the current HistoryNode, as required for positional superko.
+     * @param positionHash the Zobrist hash of the position (see BoardInterface.getPositionHash())
+     * @return whether the position has already occurred
+     */
+    public boolean containsPosition(long positionHash) {
+        return positionCounts.containsKey(positionHash);
+    }
+
+    /**
+     * Checks in O(1) whether the supplied situation (i.e., the position with the supplied player to move) occurs
+     * anywhere from the beginning of this History up to (and including) the current HistoryNode, as required for
+     * situational superko.
+     * @param positionHash the Zobrist hash of the position (see BoardInterface.getPositionHash())
+     * @param toMove the color of the player to move in this situation
+     * @return whether the situation has already occurred
+     */
+    public boolean containsSituation(long positionHash, StoneColor toMove) {
+        return situationCounts.containsKey(ZobristHash.getSituationHash(positionHash, toMove));
     }
 
     /**
@@ -146,6 +371,21 @@ public class History implements Iterable<History.HistoryNode> {
         return current;
     }
 
+    /**
+     * @return The index of the HistoryNode that this History is currently at, counting from the beginning (which has
+     * the index 0)
+     */
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    /**
+     * @return The index of the last HistoryNode in this History (i.e., the one that goToEnd() goes to)
+     */
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
     /**
      * @return Whether this History is at its end
      */
@@ -239,6 +479,72 @@ public class History implements Iterable<History.HistoryNode> {
 
     // private methods
 
+    /**
+     * @return the index of the first HistoryNode that contains neither handicap nor setup stones, or the last index if
+     * no such HistoryNode exists
+     */
+    private int getFirstMoveIndex() {
+        HistoryNode node = beginning;
+        int index = 0;
+
+        do {
+            if(node.getNext() == end) {
+                break;
+            }
+            node = node.getNext();
+            index++;
+        } while(node.getSaveToken() == HANDICAP || node.getSaveToken() == SETUP);
+
+        return index;
+    }
+
+    /**
+     * Updates the end and the last index after the selected line has been changed behind the supplied HistoryNode
+     * @param from the last HistoryNode whose selected line hasn't changed
+     * @param fromIndex the index of that HistoryNode
+     */
+    private void selectLine(HistoryNode from, int fromIndex) {
+        HistoryNode node = from;
+        int index = fromIndex;
+        while(node.getNext() != end) {
+            node = node.getNext();
+            index++;
+        }
+
+        end.prev = node;
+        lastIndex = index;
+    }
+
+    /**
+     * Undoes the current HistoryNode and makes the one before it the current one, without firing its GameEvents
+     */
+    private void undoCurrent() {
+        index(current, -1);
+        current.getCommand().undo();
+        current = current.getPrev();
+        currentIndex--;
+    }
+
+    /**
+     * Redoes the HistoryNode after the current one and makes it the current one, without firing its GameEvents
+     */
+    private void redoNext() {
+        current = current.getNext();
+        current.getCommand().execute();
+        index(current, 1);
+        currentIndex++;
+    }
+
+    /**
+     * Adds the position and situation of the supplied HistoryNode to the indices or removes them from there
+     * @param node the HistoryNode whose position and situation are to be counted
+     * @param delta 1 for adding them, -1 for removing them
+     */
+    private void index(HistoryNode node, int delta) {
+        positionCounts.merge(node.getPositionHash(), delta, (a, b) -> a + b == 0 ? null : a + b);
+        situationCounts.merge(node.situationHash, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
     /**
      * Tells the Game to hide all marks of the current HistoryNode
      */
@@ -306,15 +612,32 @@ public class History implements Iterable<History.HistoryNode> {
         }
 
         /**
-         * The previous HistoryNode in the History
+         * The previous HistoryNode in the History, i.e., the parent of this HistoryNode
          */
         private HistoryNode prev;
 
         /**
-         * The next HistoryNode in the History
+         * The next HistoryNode in the History, i.e., the selected child of this HistoryNode (or the end of the History if
+         * this HistoryNode has no children)
          */
         private HistoryNode next;
 
+        /**
+         * The first child of this HistoryNode. The children are stored as a singly-linked list through nextSibling, so
+         * a HistoryNode needs no collection of its own, regardless of its number of variations.
+         */
+        private HistoryNode firstChild;
+
+        /**
+         * The last child of this HistoryNode, so that adding a child doesn't need to walk through the existing ones
+         */
+        private HistoryNode lastChild;
+
+        /**
+         * The next child of this HistoryNode's parent
+         */
+        private HistoryNode nextSibling;
+
         /**
          * This HistoryNode's UndoableCommand
          */
@@ -350,6 +673,23 @@ public class History implements Iterable<History.HistoryNode> {
          */
         private final Map<Position, MarkShape> marks = new LinkedHashMap<>();
 
+        /**
+         * The Zobrist hash of the position after this HistoryNode's move, set when the node is added to a History
+         */
+        private long positionHash;
+
+        /**
+         * The hash of the situation (the position and the player to move) after this HistoryNode's move, set when the
+         * node is added to a History
+         */
+        private long situationHash;
+
+        /**
+         * The canonical hash of the position after this HistoryNode's move (see
+         * BoardInterface.getCanonicalPositionHash()), set when the node is added to a History
+         */
+        private long canonicalPositionHash;
+
         /**
          * Creates a new HistoryNode without a position
          * @param command The UndoableCommand for this HistoryNode
@@ -405,7 +745,35 @@ public class History implements Iterable<History.HistoryNode> {
         }
 
         /**
-         * Links the supplied HistoryNode to be the next one in the History after this HistoryNode
+         * @return The children of this HistoryNode, i.e., the first HistoryNodes of all variations following it, in the
+         * order in which they were added
+         */
+        public List<HistoryNode> getChildren() {
+            final List<HistoryNode> ret = new ArrayList<>();
+            for(HistoryNode child = firstChild; child != null; child = child.nextSibling) {
+                ret.add(child);
+            }
+            return ret;
+        }
+
+        /**
+         * @return The first child of this HistoryNode, or null if it has none. Together with getNextSibling(), this
+         * allows iterating over the children without creating a list.
+         */
+        public HistoryNode getFirstChild() {
+            return firstChild;
+        }
+
+        /**
+         * @return The child of this HistoryNode's parent following this HistoryNode, or null if it is the last one
+         */
+        public HistoryNode getNextSibling() {
+            return nextSibling;
+        }
+
+        /**
+         * Links the supplied HistoryNode to be the next one in the History after this HistoryNode, without making it a
+         * child (used for the end of the History)
          * @param next the HistoryNode that is supposed to follow this HistoryNode
          */
         private void setNext(HistoryNode next) {
@@ -413,8 +781,68 @@ public class History implements Iterable<History.HistoryNode> {
             next.prev = this;
         }
 
+        /**
+         * Adds the supplied HistoryNode as the last child of this HistoryNode and selects it as the next one
+         * @param child the HistoryNode to be added
+         * @throws IllegalArgumentException if the supplied HistoryNode is already part of a History
+         */
+        private void addChild(HistoryNode child) {
+            if(child.prev != null || child.firstChild != null) {
+                throw new IllegalArgumentException("The HistoryNode " + child + " is already part of a History!");
+            }
+
+            if(firstChild == null) {
+                firstChild = child;
+            } else {
+                lastChild.nextSibling = child;
+            }
+            lastChild = child;
+            setNext(child);
+        }
+
+        /**
+         * Finds the child of this HistoryNode that contains the same move as the supplied HistoryNode
+         * @param node the HistoryNode whose move is to be found
+         * @return the child with the same AbstractSaveToken, color and coordinates, or null if there is none
+         */
+        private HistoryNode findChild(HistoryNode node) {
+            for(HistoryNode child = firstChild; child != null; child = child.nextSibling) {
+                if(child.saveToken == node.saveToken && child.color == node.color && child.x == node.x && child.y == node.y) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Stores the hashes of the position and situation after this HistoryNode's move
+         * @param positionHash the Zobrist hash of the position
+         * @param situationHash the hash of the situation
+         * @param canonicalPositionHash the canonical hash of the position
+         */
+        private void setHashes(long positionHash, long situationHash, long canonicalPositionHash) {
+            this.positionHash = positionHash;
+            this.situationHash = situationHash;
+            this.canonicalPositionHash = canonicalPositionHash;
+        }
+
         // Game-related info
 
+        /**
+         * @return The Zobrist hash of the position after this HistoryNode's move
+         */
+        public long getPositionHash() {
+            return positionHash;
+        }
+
+        /**
+         * @return The hash of the position after this HistoryNode's move that is equal for all its symmetric variants
+         * (see BoardInterface.getCanonicalPositionHash())
+         */
+        public long getCanonicalPositionHash() {
+            return canonicalPositionHash;
+        }
+
         /**
          * @return This HistoryNode's move's comment
          */
@@ -2,12 +2,14 @@ package pr_se.gogame.model;
 
 import pr_se.gogame.model.helper.Position;
 import pr_se.gogame.model.helper.StoneColor;
-import pr_se.gogame.model.helper.UndoableCommand;
 
-import java.util.*;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Represents a group of stones on the Go Board, containing the stones' positions and the liberties of the group
+ * Read-only description of a group of stones on the Go Board, containing the stones' positions and the liberties of
+ * the group. The boards keep track of their groups in primitive arrays and only create StoneGroups on demand (e.g., to
+ * let the Ruleset decide whether suicide is permitted).
  */
 public class StoneGroup {
     /**
@@ -26,147 +28,22 @@ public class StoneGroup {
     private final Set<Position> liberties;
 
     /**
-     * all the StoneGroupPointers pointing to this StoneGroup
-     */
-    private final Set<StoneGroupPointer> pointers;
-
-    /**
-     * Serial No. of the next instance of this class (used for debugging)
-     */
-    private static int nextSerialNo = 0;
-
-    /**
-     * Serial No. of this instance of the StoneGroup class (used for debugging)
-     */
-    public final int serialNo;
-
-    /**
-     * Creates a StoneGroup of the specified color at the specified coordinates with the specified liberties
+     * Creates a StoneGroup of the specified color at the specified locations with the specified liberties
      * @param stoneColor the color of the StoneGroup
-     * @param x Horizontal coordinate on the Board from 0 to size-1, starting on the left
-     * @param y Vertical coordinate on the Board from 0 to size-1, starting on the top
+     * @param locations List of all Positions where stones of this StoneGroup are located
      * @param liberties Set of all Positions next to this StoneGroup that are free
      */
-    public StoneGroup(StoneColor stoneColor, int x, int y, Set<Position> liberties) {
-        this.stoneColor = stoneColor;
-        this.locations = new LinkedList<>();
-        this.liberties = liberties;
-        this.pointers = new HashSet<>();
-
-        locations.add(new Position(x, y));
-
-        serialNo = nextSerialNo;
-        nextSerialNo++;
-    }
-
-    /**
-     * Adds the locations and liberties of the supplied StoneGroup to this one
-     * @param other StoneGroup that is to be merged with this one
-     */
-    public UndoableCommand mergeWithStoneGroup(final StoneGroup other) {
-        if(other == null) {
-            throw new NullPointerException();
-        }
-
-        if(other.getStoneColor() != stoneColor) {
-            throw new IllegalArgumentException("Stone group must be of the same color!");
-        }
-
-        final List<Position> oldLocations = List.copyOf(locations);
-        final List<Position> newLocations = List.copyOf(other.getLocations());
-        final Set<Position> oldLiberties = Set.copyOf(liberties);
-        final Set<Position> newLiberties = Set.copyOf(other.getLiberties());
-
-        UndoableCommand ret = new UndoableCommand() {
-            @Override
-            public void execute() {
-                locations.addAll(newLocations);
-                liberties.addAll(newLiberties);
-                other.getPointers().forEach(p -> {
-                    p.setStoneGroup(StoneGroup.this);
-                    pointers.add(p);
-                });
-            }
-
-            @Override
-            public void undo() {
-                locations.clear();
-                locations.addAll(oldLocations);
-                liberties.clear();
-                liberties.addAll(oldLiberties);
-                other.getPointers().forEach(p -> {
-                    p.setStoneGroup(other);
-                    pointers.remove(p);
-                });
-            }
-        };
-
-        ret.execute();
-
-        return ret;
-    }
-
-    /**
-     * Adds the supplied liberty to this StoneGroup
-     * @param liberty unoccupied Position to be added to this StoneGroup
-     */
-    public UndoableCommand addLiberty(final Position liberty) {
-        if(liberty == null) {
-            throw new NullPointerException();
-        }
-
-        final boolean wasContained = liberties.contains(liberty);
-
-        UndoableCommand ret = new UndoableCommand() {
-            @Override
-            public void execute() {
-                liberties.add(liberty);
-            }
-
-            @Override
-            public void undo() {
-                if(!wasContained) {
-                    liberties.remove(liberty);
-                }
-            }
-        };
-
-        ret.execute();
-
-        return ret;
-    }
-
-    /**
-     * Removes the supplied liberty from this StoneGroup
-     * @param liberty unoccupied Position to be removed from this StoneGroup
-     */
-    public UndoableCommand removeLiberty(Position liberty) {
-        if(liberty == null) {
+    public StoneGroup(StoneColor stoneColor, List<Position> locations, Set<Position> liberties) {
+        if(stoneColor == null || locations == null || liberties == null) {
             throw new NullPointerException();
         }
 
-        final boolean wasContained = liberties.contains(liberty);
-
-        UndoableCommand ret = new UndoableCommand() {
-            @Override
-            public void execute() {
-                liberties.remove(liberty);
-            }
-
-            @Override
-            public void undo() {
-                if(wasContained) {
-                    liberties.add(liberty);
-                }
-            }
-        };
-
-        ret.execute();
-
-        return ret;
+        this.stoneColor = stoneColor;
+        this.locations = List.copyOf(locations);
+        this.liberties = Set.copyOf(liberties);
     }
 
-    // Getters and Setters
+    // Getters
 
     /**
      * @return this StoneGroup's color
@@ -188,30 +65,4 @@ public class StoneGroup {
     public Set<Position> getLiberties() {
         return this.liberties;
     }
-
-    /**
-     * Adds the supplied pointer to this StoneGroup's list of StoneGroupPointers
-     * @param ptr this StoneGroup's list of StoneGroupPointers
-     */
-    public void addPointer(StoneGroupPointer ptr) {
-        if(ptr == null) {
-            throw new NullPointerException();
-        }
-
-        pointers.add(ptr);
-    }
-
-    /**
-     * @return This StoneGroup's list of StoneGroupPointers
-     */
-    public Set<StoneGroupPointer> getPointers() {
-        return pointers;
-    }
-
-    /**
-     * Used for resetting debug variables
-     */
-    public static void resetDebug() {
-        nextSerialNo = 0;
-    }
 }
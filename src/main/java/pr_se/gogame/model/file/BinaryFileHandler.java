@@ -0,0 +1,517 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.MarkShape;
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+/**
+ * FileHandler that stores a game as a compact binary record instead of SGF text. The record has the following
+ * layout (all numbers big-endian):
+ * <pre>
+ * magic            4 bytes  "GOGB"
+ * version          1 byte   FORMAT_VERSION
+ * size             1 byte
+ * handicap         1 byte
+ * starting color   1 byte   0 = black, 1 = white
+ * ruleset          1 byte   index in RULESETS
+ * komi             2 bytes  signed, in half points
+ * flags            1 byte   bit 0: the beginning of the history has children
+ * string table     varint count, then per string a varint length and its UTF-8 bytes
+ * node stream      varint length in bytes, then the records described below
+ * </pre>
+ * The node stream contains every HistoryNode in pre-order as a 16 bit record: the AbstractSaveToken (3 bits), the
+ * color (1 bit), the point y * size + x (10 bits, NO_POINT for none), whether the node has children (1 bit) and
+ * whether it has a next sibling (1 bit). Each node record is followed by its annotations, which are records of the
+ * kind ANNOTATION containing either a mark (shape and point) or a comment (followed by the varint index of its text in
+ * the string table). The annotations of the beginning of the history precede the first node record.<br>
+ * Loading replays the record through the Game like the SGFFileHandler does, so the resulting History is the same as
+ * if the game had been loaded from an SGF file; variations are restored as well.
+ */
+public class BinaryFileHandler implements FileHandler {
+    /**
+     * The magic bytes at the beginning of every binary game record
+     */
+    static final byte[] MAGIC = {'G', 'O', 'G', 'B'};
+
+    /**
+     * The version of the format that is written, which is the only version that can be read
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The Rulesets that can be stored, in the order of their ids
+     */
+    private static final List<Supplier<Ruleset>> RULESETS = List.of(
+            JapaneseRuleset::new,
+            ChineseRuleset::new,
+            PositionalSuperkoRuleset::new,
+            SituationalSuperkoRuleset::new,
+            NewZealandRuleset::new,
+            AncientChineseRuleset::new);
+
+    /**
+     * Maps the classes of the Rulesets that can be stored to their ids
+     */
+    private static final Map<Class<?>, Integer> RULESET_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < RULESETS.size(); i++) {
+            RULESET_IDS.put(RULESETS.get(i).get().getClass(), i);
+        }
+    }
+
+    // Kinds of records
+    private static final int HANDICAP = 0;
+    private static final int SETUP = 1;
+    private static final int MOVE = 2;
+    private static final int PASS = 3;
+    private static final int RESIGN = 4;
+    private static final int SCORED_GAME = 5;
+    private static final int ANNOTATION = 7;
+
+    /**
+     * The annotation type of a comment. Marks use the ordinal of their MarkShape instead.
+     */
+    private static final int COMMENT = 3;
+
+    /**
+     * The point of records that don't have one
+     */
+    private static final int NO_POINT = 0x3FF;
+
+    /**
+     * Flag marking that the beginning of the history has children
+     */
+    private static final int FLAG_HAS_CHILD = 1;
+
+    /**
+     * The currently loaded file
+     */
+    private File currentFile;
+
+    /**
+     * The game that this BinaryFileHandler belongs to
+     */
+    private final Game game;
+
+    /**
+     * Instantiates a new BinaryFileHandler
+     * @param game The game that this BinaryFileHandler belongs to
+     */
+    public BinaryFileHandler(Game game) {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+
+        this.game = game;
+        this.currentFile = null;
+    }
+
+    @Override
+    public boolean saveFile(File file) throws IOException, IllegalStateException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+
+        // Encode first, so that an unsupported game doesn't leave a truncated file behind
+        final byte[] record = encode(game);
+        currentFile = file;
+        Files.write(file.toPath(), record);
+
+        return true;
+    }
+
+    @Override
+    public boolean loadFile(File file) throws IOException, LoadingGameException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+        if(!file.exists()) {
+            throw new NoSuchFileException("File " + file + " does not exist!");
+        }
+
+        final ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        currentFile = file;
+
+        loadRecord(input);
+
+        return true;
+    }
+
+    /**
+     * Replays a complete binary game record into the Game, batching its GameEvents
+     * @param input the binary game record, positioned at its beginning and limited to its end
+     * @throws LoadingGameException if the record is invalid, truncated or was written in an unsupported version of
+     *  the format
+     */
+    void loadRecord(ByteBuffer input) throws LoadingGameException {
+        // Loading replays every move, so the view only receives the net result instead of every single stone.
+        game.beginEventBatch();
+        try {
+            loadGame(input);
+        } catch (BufferUnderflowException e) {
+            throw new LoadingGameException("Binary game record is truncated!", null);
+        } finally {
+            game.endEventBatch();
+        }
+    }
+
+    /**
+     * Encodes the supplied Game as a binary game record
+     * @param game the Game to be encoded
+     * @return the binary game record
+     * @throws IllegalStateException if the Game's Ruleset or History can't be stored in this format
+     */
+    static byte[] encode(Game game) {
+        final Integer rulesetId = RULESET_IDS.get(game.getRuleset().getClass());
+        if(rulesetId == null) {
+            throw new IllegalStateException("Can't save games with ruleset " + game.getRuleset().getClass().getSimpleName());
+        }
+
+        final History.HistoryNode beginning = game.getHistory().iterator().next();
+        final History.HistoryNode first = beginning.getFirstChild();
+        final StoneColor startingColor = first != null && first.getSaveToken() == History.HistoryNode.AbstractSaveToken.HANDICAP ? first.getColor() : BLACK;
+
+        // The strings are only known after the node stream has been encoded
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+
+        writeAnnotations(nodes, beginning, strings);
+
+        // Pre-order traversal; the explicit stack holds the next siblings that are still to be written.
+        final Deque<History.HistoryNode> pending = new ArrayDeque<>();
+        History.HistoryNode node = first;
+        while(node != null) {
+            writeShort(nodes, toRecord(node, game.getSize()));
+            writeAnnotations(nodes, node, strings);
+
+            if(node.getNextSibling() != null) {
+                pending.push(node.getNextSibling());
+            }
+            node = node.getFirstChild() != null ? node.getFirstChild() : pending.poll();
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(nodes.size() + 64);
+        output.writeBytes(MAGIC);
+        output.write(FORMAT_VERSION);
+        output.write(game.getSize());
+        output.write(game.getHandicap());
+        output.write(startingColor == WHITE ? 1 : 0);
+        output.write(rulesetId);
+        writeShort(output, (int) Math.round(game.getKomi() * 2));
+        output.write(first != null ? FLAG_HAS_CHILD : 0);
+
+        writeVarint(output, strings.size());
+        for (String s : strings.keySet()) {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarint(output, bytes.length);
+            output.writeBytes(bytes);
+        }
+
+        writeVarint(output, nodes.size());
+        output.writeBytes(nodes.toByteArray());
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Replays a binary game record into the Game
+     * @param input the binary game record, positioned at its beginning
+     * @throws LoadingGameException if the record is invalid or was written in an unsupported version of the format
+     * @throws BufferUnderflowException if the record is truncated
+     */
+    void loadGame(ByteBuffer input) throws LoadingGameException {
+        final byte[] magic = new byte[MAGIC.length];
+        input.get(magic);
+        if(!Arrays.equals(magic, MAGIC)) {
+            throw new LoadingGameException("Not a binary game record!", null);
+        }
+
+        final int version = Byte.toUnsignedInt(input.get());
+        if(version != FORMAT_VERSION) {
+            throw new LoadingGameException("Unsupported format version " + version + "! Must be " + FORMAT_VERSION, null);
+        }
+
+        final int size = Byte.toUnsignedInt(input.get());
+        if(size < Game.MIN_CUSTOM_BOARD_SIZE || size > Game.MAX_CUSTOM_BOARD_SIZE) {
+            throw new LoadingGameException("Invalid size '" + size + "' in binary game record!", null);
+        }
+
+        final int handicap = Byte.toUnsignedInt(input.get());
+        if (handicap < Game.MIN_HANDICAP_AMOUNT || handicap > Game.MAX_HANDICAP_AMOUNT) {
+            throw new LoadingGameException("Invalid handicap amount of " + handicap + "!", null);
+        }
+
+        final StoneColor startingColor = input.get() == 0 ? BLACK : WHITE;
+
+        final int rulesetId = Byte.toUnsignedInt(input.get());
+        if(rulesetId >= RULESETS.size()) {
+            throw new LoadingGameException("Unknown ruleset " + rulesetId + "!", null);
+        }
+        final Ruleset ruleset = RULESETS.get(rulesetId).get();
+
+        // Komi is determined by the Ruleset, so a record with a different komi can't be replayed faithfully.
+        final int komi = input.getShort();
+        if(komi != Math.round(ruleset.getKomi() * 2)) {
+            throw new LoadingGameException("Komi of " + komi / 2.0 + " is not supported by " + ruleset.getClass().getSimpleName() + "!", null);
+        }
+
+        final boolean hasNodes = (input.get() & FLAG_HAS_CHILD) != 0;
+
+        final String[] strings = new String[readVarint(input)];
+        for (int i = 0; i < strings.length; i++) {
+            final byte[] bytes = new byte[readVarint(input)];
+            input.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        final int nodeLength = readVarint(input);
+        if(nodeLength != input.remaining()) {
+            throw new LoadingGameException("Node stream has " + input.remaining() + " bytes but should have " + nodeLength + "!", null);
+        }
+
+        game.newGame(startingColor, size, handicap, ruleset, false); // This is to ensure that default handicap positions are still displayed, without stones being set yet.
+
+        readAnnotations(input, size, strings);
+
+        // The HistoryNodes that the pending next siblings branch off from
+        final Deque<History.HistoryNode> branches = new ArrayDeque<>();
+        boolean hasNext = hasNodes;
+
+        while(hasNext) {
+            final int record = Short.toUnsignedInt(input.getShort());
+            final int kind = record >>> 13;
+            final StoneColor color = (record & 0x1000) == 0 ? BLACK : WHITE;
+            final int point = record >>> 2 & NO_POINT;
+
+            if((record & 1) != 0) {
+                branches.push(game.getHistory().getCurrentNode());
+            }
+
+            switch (kind) {
+                case HANDICAP -> {
+                    final Position p = toPosition(point, size);
+                    game.placeHandicapPosition(p.getX(), p.getY(), true, color);
+                }
+                case SETUP -> {
+                    final Position p = toPosition(point, size);
+                    game.setSetupMode(true);
+                    game.placeSetupStone(p.getX(), p.getY(), color);
+                }
+                case MOVE -> {
+                    final Position p = toPosition(point, size);
+                    game.setSetupMode(false);
+                    game.playMove(p.getX(), p.getY(), color);
+                }
+                case PASS -> {
+                    game.setSetupMode(false);
+                    game.pass();
+                }
+                case RESIGN -> {
+                    game.setSetupMode(false);
+                    game.resign();
+                }
+                case SCORED_GAME -> {
+                    game.setSetupMode(false);
+                    game.scoreGame();
+                }
+                default -> throw new LoadingGameException("Unexpected record kind " + kind + " at offset " + (input.position() - 2), null);
+            }
+
+            readAnnotations(input, size, strings);
+
+            if((record & 2) != 0) {
+                continue;
+            }
+
+            // This node is a leaf, so continue with the innermost pending sibling
+            hasNext = !branches.isEmpty();
+            if(hasNext) {
+                game.getHistory().goToNode(branches.pop());
+            }
+        }
+
+        if(input.hasRemaining()) {
+            throw new LoadingGameException("Unexpected data at the end of the node stream!", null);
+        }
+
+        // Like a file without variations, the game ends up at the end of its main line (i.e., the first variations).
+        History.HistoryNode mainLine = game.getHistory().iterator().next();
+        while(mainLine.getFirstChild() != null) {
+            mainLine = mainLine.getFirstChild();
+        }
+        game.getHistory().goToNode(mainLine);
+    }
+
+    /**
+     * Encodes the supplied HistoryNode as a node record
+     * @param node the HistoryNode to be encoded
+     * @param size the size of the board
+     * @return the 16 bit record
+     * @throws IllegalStateException if the HistoryNode can't be stored in this format
+     */
+    private static int toRecord(History.HistoryNode node, int size) {
+        final int kind;
+        boolean hasPoint = true;
+
+        switch (node.getSaveToken()) {
+            case HANDICAP -> kind = HANDICAP;
+            case SETUP -> kind = SETUP;
+            case MOVE -> kind = MOVE;
+            case PASS -> {
+                kind = PASS;
+                hasPoint = false;
+            }
+            case RESIGN -> {
+                kind = RESIGN;
+                hasPoint = false;
+            }
+            case SCORED_GAME -> {
+                kind = SCORED_GAME;
+                hasPoint = false;
+            }
+            default -> throw new IllegalStateException(node.getSaveToken() + " not supported!");
+        }
+
+        if(node.getColor() == null) {
+            throw new IllegalStateException(node.getSaveToken() + " without color not supported!");
+        }
+
+        return kind << 13
+                | (node.getColor() == WHITE ? 0x1000 : 0)
+                | (hasPoint ? node.getY() * size + node.getX() : NO_POINT) << 2
+                | (node.getFirstChild() != null ? 2 : 0)
+                | (node.getNextSibling() != null ? 1 : 0);
+    }
+
+    /**
+     * Writes the Marks and the Comment of the supplied HistoryNode as annotation records
+     * @param output the node stream
+     * @param node the HistoryNode whose Marks and Comment are to be written
+     * @param strings the string table, which the Comment is added to if necessary
+     */
+    private static void writeAnnotations(ByteArrayOutputStream output, History.HistoryNode node, Map<String, Integer> strings) {
+        for (Map.Entry<Position, MarkShape> e : node.getMarks().entrySet()) {
+            writeShort(output, ANNOTATION << 13 | e.getValue().ordinal() << 11 | e.getKey().getY() * Game.MAX_CUSTOM_BOARD_SIZE + e.getKey().getX());
+        }
+
+        if(!node.getComment().isEmpty()) {
+            writeShort(output, ANNOTATION << 13 | COMMENT << 11);
+            writeVarint(output, strings.computeIfAbsent(node.getComment(), s -> strings.size()));
+        }
+    }
+
+    /**
+     * Reads the annotation records following the current position of the input and applies them to the current
+     * HistoryNode
+     * @param input the node stream
+     * @param size the size of the board
+     * @param strings the string table
+     * @throws LoadingGameException if an annotation is invalid
+     */
+    private void readAnnotations(ByteBuffer input, int size, String[] strings) throws LoadingGameException {
+        while(input.remaining() >= 2 && Short.toUnsignedInt(input.getShort(input.position())) >>> 13 == ANNOTATION) {
+            final int record = Short.toUnsignedInt(input.getShort());
+            final int type = record >>> 11 & 3;
+
+            if(type == COMMENT) {
+                final int index = readVarint(input);
+                if(index >= strings.length) {
+                    throw new LoadingGameException("Invalid string index " + index + "!", null);
+                }
+                game.setComment(strings[index]);
+            } else {
+                final int point = record & 0x7FF;
+                final int x = point % Game.MAX_CUSTOM_BOARD_SIZE;
+                final int y = point / Game.MAX_CUSTOM_BOARD_SIZE;
+                if(x >= size || y >= size) {
+                    throw new LoadingGameException("Invalid mark at " + x + ", " + y + "!", null);
+                }
+                game.mark(x, y, MarkShape.values()[type]);
+            }
+        }
+    }
+
+    /**
+     * Decodes the point of a node record
+     * @param point the point y * size + x
+     * @param size the size of the board
+     * @return the Position denoted by the point
+     * @throws LoadingGameException if the point isn't on the board
+     */
+    private static Position toPosition(int point, int size) throws LoadingGameException {
+        if(point >= size * size) {
+            throw new LoadingGameException("Invalid point " + point + " on a board of size " + size + "!", null);
+        }
+        return new Position(point % size, point / size);
+    }
+
+    /**
+     * Writes the lowest 16 bits of the supplied value
+     * @param output the stream to write to
+     * @param value the value to be written
+     */
+    private static void writeShort(ByteArrayOutputStream output, int value) {
+        output.write(value >>> 8);
+        output.write(value);
+    }
+
+    /**
+     * Writes the supplied non-negative value as an unsigned LEB128 varint, i.e., 7 bits per byte, starting with the
+     * lowest ones, with the highest bit marking that more bytes follow
+     * @param output the stream to write to
+     * @param value the value to be written
+     */
+    private static void writeVarint(ByteArrayOutputStream output, int value) {
+        while((value & ~0x7F) != 0) {
+            output.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint (see writeVarint())
+     * @param input the buffer to read from
+     * @return the value that was read
+     * @throws LoadingGameException if the varint doesn't fit into a non-negative int
+     */
+    private static int readVarint(ByteBuffer input) throws LoadingGameException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = input.get();
+            if(shift == 28 && (b & 0xF8) != 0) {
+                break; // more than 31 bits
+            }
+            value |= (b & 0x7F) << shift;
+            if(b >= 0) {
+                return value;
+            }
+        }
+        throw new LoadingGameException("Invalid number in binary game record!", null);
+    }
+
+    // Getters and setters
+
+    @Override
+    public File getCurrentFile() {
+        return currentFile;
+    }
+}
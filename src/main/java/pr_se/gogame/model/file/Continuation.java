@@ -0,0 +1,141 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.Objects;
+
+/**
+ * Move that was played in the games of an OpeningBook from a certain position, together with how often it was played
+ * and how these games ended
+ */
+public class Continuation {
+    /**
+     * Horizontal coordinate of the move, starting on the left
+     */
+    private final int x;
+
+    /**
+     * Vertical coordinate of the move, starting on the top
+     */
+    private final int y;
+
+    /**
+     * The color of the player who played the move
+     */
+    private final StoneColor color;
+
+    /**
+     * The number of games in which the move was played
+     */
+    private final int count;
+
+    /**
+     * The number of those games that were won by Black
+     */
+    private final int blackWins;
+
+    /**
+     * The number of those games that were won by White
+     */
+    private final int whiteWins;
+
+    /**
+     * Creates a new Continuation
+     * @param x Horizontal coordinate of the move, starting on the left
+     * @param y Vertical coordinate of the move, starting on the top
+     * @param color the color of the player who played the move
+     * @param count the number of games in which the move was played
+     * @param blackWins the number of those games that were won by Black
+     * @param whiteWins the number of those games that were won by White
+     * @throws IllegalArgumentException if a coordinate or a number is negative, or if there are more wins than games
+     */
+    public Continuation(int x, int y, StoneColor color, int count, int blackWins, int whiteWins) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+        if(x < 0 || y < 0 || count < 0 || blackWins < 0 || whiteWins < 0 || (long) blackWins + whiteWins > count) {
+            throw new IllegalArgumentException();
+        }
+
+        this.x = x;
+        this.y = y;
+        this.color = color;
+        this.count = count;
+        this.blackWins = blackWins;
+        this.whiteWins = whiteWins;
+    }
+
+    /**
+     * @return the horizontal coordinate of the move, starting on the left
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return the vertical coordinate of the move, starting on the top
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return the color of the player who played the move
+     */
+    public StoneColor getColor() {
+        return color;
+    }
+
+    /**
+     * @return the number of games in which the move was played
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of games in which the move was played and which were won by Black
+     */
+    public int getBlackWins() {
+        return blackWins;
+    }
+
+    /**
+     * @return the number of games in which the move was played and which were won by White
+     */
+    public int getWhiteWins() {
+        return whiteWins;
+    }
+
+    /**
+     * Returns the share of the games won by the player who played the move, counting only the games with a known
+     * winner
+     * @return the win rate from 0 to 1, or NaN if none of the games has a known winner
+     */
+    public double getWinRate() {
+        final int decided = blackWins + whiteWins;
+        if(decided == 0) {
+            return Double.NaN;
+        }
+        return (double) (color == StoneColor.BLACK ? blackWins : whiteWins) / decided;
+    }
+
+    // Object's methods
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Continuation that = (Continuation) o;
+        return x == that.x && y == that.y && color == that.color && count == that.count && blackWins == that.blackWins && whiteWins == that.whiteWins;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, color, count, blackWins, whiteWins);
+    }
+
+    @Override
+    public String toString() {
+        return "Continuation " + color + " at " + x + "," + y + ": " + count + " games, " + blackWins + " won by Black, " + whiteWins + " won by White";
+    }
+}
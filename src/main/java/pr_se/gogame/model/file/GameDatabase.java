@@ -0,0 +1,146 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Read-only store of many games in a single file, which is written by the GameDatabaseWriter. The file is memory-mapped
+ * as a whole, so a game is looked up by its id through the offset index without any system calls, and the whole corpus
+ * can be iterated without opening and closing a file per game:
+ * <pre>
+ * try (GameDatabase database = new GameDatabase(file)) {
+ *     for (int id = 0; id < database.getCount(); id++) {
+ *         database.load(id, game);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * The file has the following layout (all numbers big-endian):
+ * <pre>
+ * magic            4 bytes  "GOGD"
+ * version          4 bytes  FORMAT_VERSION
+ * count            4 bytes  number of games
+ * index offset     8 bytes  offset of the index, which is also the end of the last record
+ * records          one binary game record (see BinaryFileHandler) per game
+ * index            8 bytes per game, the offset of its record
+ * </pre>
+ */
+public class GameDatabase implements Closeable {
+    /**
+     * The magic bytes at the beginning of every game database
+     */
+    static final byte[] MAGIC = {'G', 'O', 'G', 'D'};
+
+    /**
+     * The version of the format that is written, which is the only version that can be read
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 20;
+
+    /**
+     * The mapped file, or null if the database has been closed
+     */
+    private ByteBuffer data;
+
+    /**
+     * The number of games in the database
+     */
+    private final int count;
+
+    /**
+     * The offset of the index within the file
+     */
+    private final int indexOffset;
+
+    /**
+     * Opens the supplied game database
+     * @param file the file containing the game database
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be read or is too large to be mapped
+     * @throws LoadingGameException If the file isn't a game database or was written in an unsupported version of
+     *  the format
+     */
+    public GameDatabase(File file) throws IOException, LoadingGameException {
+        data = MappedFiles.mapAndCheck(file, MAGIC, FORMAT_VERSION, HEADER_SIZE, "game database");
+
+        count = data.getInt(MAGIC.length + Integer.BYTES);
+        final long index = data.getLong(MAGIC.length + 2 * Integer.BYTES);
+        if(count < 0 || index < HEADER_SIZE || index + (long) count * Long.BYTES != data.capacity()) {
+            throw new LoadingGameException("Game database " + file + " has an invalid index!", null);
+        }
+        indexOffset = (int) index;
+    }
+
+    /**
+     * @return The number of games in the database, whose ids are 0 to getCount() - 1
+     */
+    public int getCount() {
+        checkOpen();
+        return count;
+    }
+
+    /**
+     * Returns the binary game record of the game with the supplied id, without copying it
+     * @param id the id of the game
+     * @return a read-only buffer containing exactly the binary game record
+     * @throws IndexOutOfBoundsException if there is no game with the supplied id
+     * @throws LoadingGameException if the index entry of the game is invalid
+     */
+    public ByteBuffer getRecord(int id) throws LoadingGameException {
+        checkOpen();
+        if(id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Invalid game id " + id + " for a database of " + count + " games");
+        }
+
+        final long start = data.getLong(indexOffset + id * Long.BYTES);
+        final long end = id + 1 < count ? data.getLong(indexOffset + (id + 1) * Long.BYTES) : indexOffset;
+        if(start < HEADER_SIZE || start > end || end > indexOffset) {
+            throw new LoadingGameException("Invalid index entry for game id " + id + "!", null);
+        }
+
+        return data.slice((int) start, (int) (end - start)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Loads the game with the supplied id into the supplied Game, replaying it like the BinaryFileHandler does
+     * @param id the id of the game
+     * @param game the Game that the game is loaded into
+     * @throws IndexOutOfBoundsException if there is no game with the supplied id
+     * @throws LoadingGameException if the binary game record is invalid
+     */
+    public void load(int id, Game game) throws LoadingGameException {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+
+        new BinaryFileHandler(game).loadRecord(getRecord(id));
+    }
+
+    /**
+     * Closes the database. The mapping itself is released by the garbage collector once it is no longer referenced,
+     * including by buffers returned from getRecord().
+     */
+    @Override
+    public void close() {
+        data = null;
+    }
+
+    /**
+     * Checks whether the database is still open
+     * @throws IllegalStateException if the database has been closed
+     */
+    private void checkOpen() {
+        if(data == null) {
+            throw new IllegalStateException("Game database has been closed!");
+        }
+    }
+}
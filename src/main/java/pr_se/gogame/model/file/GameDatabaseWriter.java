@@ -0,0 +1,151 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Packs many Games into a single GameDatabase file. Each Game is encoded as a binary game record (see
+ * BinaryFileHandler) and appended to the file; the offset index is written when the writer is closed. Usage:
+ * <pre>
+ * try (GameDatabaseWriter writer = new GameDatabaseWriter(file)) {
+ *     for (...) {
+ *         int id = writer.add(game);
+ *     }
+ * }
+ * </pre>
+ */
+public class GameDatabaseWriter implements Closeable {
+    /**
+     * The size of the output buffer in bytes
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The channel that the database is written to
+     */
+    private final FileChannel channel;
+
+    /**
+     * The output buffer
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * The offset of each record that has been added so far
+     */
+    private long[] offsets = new long[1024];
+
+    /**
+     * The number of records that have been added so far
+     */
+    private int count;
+
+    /**
+     * The offset in the file at which the next record will be written
+     */
+    private long position = GameDatabase.HEADER_SIZE;
+
+    /**
+     * Creates a new GameDatabaseWriter, replacing the supplied file if it exists
+     * @param file the file that the database is written to
+     * @throws IOException if the file can't be opened for writing
+     */
+    public GameDatabaseWriter(File file) throws IOException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.channel.position(GameDatabase.HEADER_SIZE);
+    }
+
+    /**
+     * Adds the supplied Game to the database
+     * @param game the Game to be added
+     * @return the id of the Game in the database
+     * @throws IOException if the file cannot be written to
+     * @throws IllegalStateException if the Game can't be stored as a binary game record
+     */
+    public int add(Game game) throws IOException {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+
+        final byte[] record = BinaryFileHandler.encode(game);
+
+        if(count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count] = position;
+        position += record.length;
+
+        if(buffer.remaining() < record.length) {
+            flush();
+        }
+        if(record.length > buffer.capacity()) {
+            write(ByteBuffer.wrap(record));
+        } else {
+            buffer.put(record);
+        }
+
+        return count++;
+    }
+
+    /**
+     * @return The number of Games that have been added so far
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Writes the offset index and the header and closes the file
+     * @throws IOException if the file cannot be written to
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            for (int i = 0; i < count; i++) {
+                if(buffer.remaining() < Long.BYTES) {
+                    flush();
+                }
+                buffer.putLong(offsets[i]);
+            }
+            flush();
+
+            // The header is written last, so that an incompletely written database can't be opened
+            final ByteBuffer header = ByteBuffer.allocate(GameDatabase.HEADER_SIZE);
+            header.put(GameDatabase.MAGIC).putInt(GameDatabase.FORMAT_VERSION).putInt(count).putLong(position).flip();
+            channel.position(0);
+            write(header);
+        }
+    }
+
+    /**
+     * Writes the content of the output buffer to the file
+     * @throws IOException if the file cannot be written to
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes the remaining content of the supplied buffer to the file
+     * @param source the buffer to be written
+     * @throws IOException if the file cannot be written to
+     */
+    private void write(ByteBuffer source) throws IOException {
+        while(source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of loading and scoring a single SGF file with the SGFIngestionService
+ */
+public class IngestionResult {
+    /**
+     * The ingested file
+     */
+    private final Path file;
+
+    /**
+     * Why the file couldn't be ingested, or null if it was ingested successfully
+     */
+    private final String error;
+
+    /**
+     * The number of moves (including passes) in the file
+     */
+    private final int moveCount;
+
+    /**
+     * The winner according to the scoring, or null if the file couldn't be ingested
+     */
+    private final StoneColor winner;
+
+    /**
+     * Black's score
+     */
+    private final double scoreBlack;
+
+    /**
+     * White's score
+     */
+    private final double scoreWhite;
+
+    /**
+     * Creates a new IngestionResult for a successfully ingested file
+     * @param file the ingested file
+     * @param moveCount the number of moves (including passes) in the file
+     * @param winner the winner according to the scoring
+     * @param scoreBlack Black's score
+     * @param scoreWhite White's score
+     */
+    public IngestionResult(Path file, int moveCount, StoneColor winner, double scoreBlack, double scoreWhite) {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+
+        this.file = file;
+        this.error = null;
+        this.moveCount = moveCount;
+        this.winner = winner;
+        this.scoreBlack = scoreBlack;
+        this.scoreWhite = scoreWhite;
+    }
+
+    /**
+     * Creates a new IngestionResult for a file that couldn't be ingested
+     * @param file the file
+     * @param error why the file couldn't be ingested
+     */
+    public IngestionResult(Path file, String error) {
+        if(file == null || error == null) {
+            throw new NullPointerException();
+        }
+
+        this.file = file;
+        this.error = error;
+        this.moveCount = 0;
+        this.winner = null;
+        this.scoreBlack = 0;
+        this.scoreWhite = 0;
+    }
+
+    /**
+     * @return the ingested file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return whether the file was ingested successfully
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * @return why the file couldn't be ingested, or null if it was ingested successfully
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return the number of moves (including passes) in the file
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return the winner according to the scoring, or null if the file couldn't be ingested
+     */
+    public StoneColor getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the score of the supplied player
+     * @param color the player
+     * @return the score of the supplied player
+     */
+    public double getScore(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? scoreBlack : scoreWhite;
+    }
+
+    @Override
+    public String toString() {
+        if(!isValid()) {
+            return file + ": " + error;
+        }
+        return file + ": " + moveCount + " moves, B " + scoreBlack + " : W " + scoreWhite + ", " + winner + " won";
+    }
+}
@@ -0,0 +1,69 @@
+package pr_se.gogame.model.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Opens the memory-mapped binary files of this package (GameDatabase, PositionIndex and OpeningBook), which all start
+ * with a magic number followed by the version of their format
+ */
+final class MappedFiles {
+    /**
+     * Not to be instantiated
+     */
+    private MappedFiles() {
+    }
+
+    /**
+     * Maps the whole supplied file read-only and checks its magic number and format version
+     * @param file the file to be mapped
+     * @param magic the magic number at the beginning of the file
+     * @param version the format version following the magic number
+     * @param headerSize the size of the header in bytes, which the file must at least have
+     * @param what the kind of file, used in the messages of the exceptions (e.g., "game database")
+     * @return a read-only buffer containing the whole file
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be read or is too large to be mapped
+     * @throws LoadingGameException If the file is too short, has the wrong magic number or was written in another
+     *  version of the format
+     */
+    static ByteBuffer mapAndCheck(File file, byte[] magic, int version, int headerSize, String what) throws IOException, LoadingGameException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+        if(!file.exists()) {
+            throw new NoSuchFileException("File " + file + " does not exist!");
+        }
+
+        final ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The " + what + " " + file + " is too large to be mapped!");
+            }
+            // The mapping stays valid after the channel has been closed.
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if(data.capacity() < headerSize) {
+            throw new LoadingGameException(file + " is not a valid " + what + "!", null);
+        }
+
+        final byte[] actualMagic = new byte[magic.length];
+        data.get(0, actualMagic);
+        if(!Arrays.equals(actualMagic, magic)) {
+            throw new LoadingGameException(file + " is not a valid " + what + "!", null);
+        }
+
+        final int actualVersion = data.getInt(magic.length);
+        if(actualVersion != version) {
+            throw new LoadingGameException("Unsupported format version " + actualVersion + "! Must be " + version, null);
+        }
+
+        return data;
+    }
+}
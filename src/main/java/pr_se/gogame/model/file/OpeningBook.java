@@ -0,0 +1,292 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.Symmetry;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.*;
+
+/**
+ * Read-only tree of the openings played in the games of a corpus, which is written by the OpeningBookBuilder. It
+ * answers which moves were played from the current position of a Game (reached by the same sequence of moves, up to
+ * symmetry), how often, and how these games ended, e.g., for showing the popular continuations. The file is
+ * memory-mapped, and a query only follows the moves of the Game from the root of the tree, so it doesn't depend on
+ * the size of the corpus.<br>
+ * The file has the following layout (all numbers big-endian):
+ * <pre>
+ * magic            4 bytes  "GOGO"
+ * version          4 bytes  FORMAT_VERSION
+ * root count       4 bytes  number of starting positions
+ * node count       4 bytes  number of nodes, including the roots
+ * directory        per starting position: board size (4 bytes); the roots are the first nodes, in the same order
+ * nodes            canonical position hash (8 bytes), number of games (4 bytes), games won by Black (4 bytes), games
+ *                  won by White (4 bytes), index of the first child (4 bytes), number of children (2 bytes) and move
+ *                  (2 bytes: y * 25 + x in the canonical orientation of the position before it, 0x8000 set if played
+ *                  by White, NO_POINT for roots); the children of a node are adjacent, the most popular first
+ * </pre>
+ */
+public class OpeningBook implements Closeable {
+    /**
+     * The magic bytes at the beginning of every opening book
+     */
+    static final byte[] MAGIC = {'G', 'O', 'G', 'O'};
+
+    /**
+     * The version of the format that is written, which is the only version that can be read
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * The size of an entry of the directory in bytes
+     */
+    static final int DIRECTORY_ENTRY_SIZE = 4;
+
+    /**
+     * The size of a node in bytes
+     */
+    static final int NODE_SIZE = 28;
+
+    /**
+     * The encoded move of the roots, which aren't reached by a move
+     */
+    static final int NO_POINT = 0x3FF;
+
+    /**
+     * Bit of an encoded move that is set if it was played by White
+     */
+    private static final int WHITE = 0x8000;
+
+    /**
+     * The mapped file, or null if the book has been closed
+     */
+    private ByteBuffer data;
+
+    /**
+     * The board size of each root
+     */
+    private final int[] sizes;
+
+    /**
+     * The number of nodes
+     */
+    private final int nodeCount;
+
+    /**
+     * The offset of the first node
+     */
+    private final int nodeOffset;
+
+    /**
+     * Opens the supplied opening book
+     * @param file the file containing the opening book
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be read or is too large to be mapped
+     * @throws LoadingGameException If the file isn't an opening book or was written in an unsupported version of the
+     *  format
+     */
+    public OpeningBook(File file) throws IOException, LoadingGameException {
+        data = MappedFiles.mapAndCheck(file, MAGIC, FORMAT_VERSION, HEADER_SIZE, "opening book");
+
+        final int rootCount = data.getInt(MAGIC.length + Integer.BYTES);
+        nodeCount = data.getInt(MAGIC.length + 2 * Integer.BYTES);
+        final long length = HEADER_SIZE + (long) rootCount * DIRECTORY_ENTRY_SIZE + (long) nodeCount * NODE_SIZE;
+        if(rootCount < 0 || nodeCount < rootCount || length != data.capacity()) {
+            throw new LoadingGameException("Opening book " + file + " has an invalid length!", null);
+        }
+
+        sizes = new int[rootCount];
+        for (int i = 0; i < rootCount; i++) {
+            sizes[i] = data.getInt(HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE);
+        }
+        nodeOffset = HEADER_SIZE + rootCount * DIRECTORY_ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the moves that were played from the current position of the supplied Game in the games of this book,
+     * i.e., in the games whose openings match the moves leading to the current position, up to symmetry. The moves
+     * are transformed into the orientation of the Game.
+     * @param game the Game whose current position is looked up
+     * @return the continuations in descending order of their count, or an empty list if the position isn't in this
+     *  book (e.g., because it was reached by a pass, or the opening is too rare or too long)
+     * @throws LoadingGameException if the book is corrupt
+     */
+    public List<Continuation> getContinuations(Game game) throws LoadingGameException {
+        final int node = findNode(game);
+        if(node < 0) {
+            return List.of();
+        }
+
+        final int size = game.getSize();
+        final Symmetry back = game.getCanonicalSymmetry().inverse();
+        final int first = getFirstChild(node);
+        final int count = getChildCount(node);
+
+        final List<Continuation> ret = new ArrayList<>(count);
+        for (int child = first; child < first + count; child++) {
+            final int offset = offset(child);
+            final int move = data.getShort(offset + 26) & 0xFFFF;
+            final int point = move & NO_POINT;
+            final int x = point % Game.MAX_CUSTOM_BOARD_SIZE;
+            final int y = point / Game.MAX_CUSTOM_BOARD_SIZE;
+            if(point == NO_POINT || x >= size || y >= size) {
+                throw new LoadingGameException("Opening book has an invalid move at node " + child + "!", null);
+            }
+
+            ret.add(new Continuation(back.getX(x, y, size), back.getY(x, y, size), (move & WHITE) != 0 ? StoneColor.WHITE : StoneColor.BLACK,
+                data.getInt(offset + 8), data.getInt(offset + 12), data.getInt(offset + 16)));
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the number of games of this book that reached the current position of the supplied Game by the same
+     * moves, up to symmetry
+     * @param game the Game whose current position is looked up
+     * @return the number of games, 0 if the position isn't in this book
+     * @throws LoadingGameException if the book is corrupt
+     */
+    public int getGameCount(Game game) throws LoadingGameException {
+        final int node = findNode(game);
+        return node < 0 ? 0 : data.getInt(offset(node) + 8);
+    }
+
+    /**
+     * @return the number of nodes (i.e., of distinct positions including the starting positions) in this book
+     */
+    public int getNodeCount() {
+        checkOpen();
+        return nodeCount;
+    }
+
+    /**
+     * Closes the book. The mapping itself is released by the garbage collector once it is no longer referenced.
+     */
+    @Override
+    public void close() {
+        data = null;
+    }
+
+    /**
+     * Encodes a move as it is stored in a node
+     * @param x Horizontal coordinate of the move, starting on the left
+     * @param y Vertical coordinate of the move, starting on the top
+     * @param color the color of the player who played the move
+     * @return the encoded move
+     */
+    static int encodeMove(int x, int y, StoneColor color) {
+        return (y * Game.MAX_CUSTOM_BOARD_SIZE + x) | (color == StoneColor.WHITE ? WHITE : 0);
+    }
+
+    /**
+     * Follows the moves leading to the current position of the supplied Game from the root of its starting position
+     * @param game the Game whose current position is looked up
+     * @return the index of the node of the current position, -1 if it isn't in this book
+     * @throws LoadingGameException if the book is corrupt
+     */
+    private int findNode(Game game) throws LoadingGameException {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+        checkOpen();
+
+        final Deque<History.HistoryNode> path = new ArrayDeque<>();
+        for (History.HistoryNode n = game.getHistory().getCurrentNode(); n != null && n.getSaveToken() != BEGINNING_OF_HISTORY; n = n.getPrev()) {
+            path.push(n);
+        }
+
+        // The starting position is the one after the handicap and setup stones, which is the empty board without any.
+        long start = 0;
+        while(!path.isEmpty() && (path.peek().getSaveToken() == HANDICAP || path.peek().getSaveToken() == SETUP)) {
+            start = path.pop().getCanonicalPositionHash();
+        }
+
+        int node = -1;
+        for (int i = 0; i < sizes.length && node < 0; i++) {
+            if(sizes[i] == game.getSize() && data.getLong(offset(i)) == start) {
+                node = i;
+            }
+        }
+
+        while(node >= 0 && !path.isEmpty()) {
+            final History.HistoryNode n = path.pop();
+            node = n.getSaveToken() == MOVE ? findChild(node, n.getCanonicalPositionHash()) : -1;
+        }
+
+        return node;
+    }
+
+    /**
+     * Finds the child of a node with the supplied hash
+     * @param node the index of the node
+     * @param hash the canonical hash of the position after the move
+     * @return the index of the child, -1 if there is none
+     * @throws LoadingGameException if the book is corrupt
+     */
+    private int findChild(int node, long hash) throws LoadingGameException {
+        final int first = getFirstChild(node);
+        final int count = getChildCount(node);
+
+        for (int child = first; child < first + count; child++) {
+            if(data.getLong(offset(child)) == hash) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first child of a node, checking that all its children are in the book
+     * @param node the index of the node
+     * @return the index of the first child
+     * @throws LoadingGameException if the children of the node aren't within the book
+     */
+    private int getFirstChild(int node) throws LoadingGameException {
+        final int first = data.getInt(offset(node) + 20);
+        if(first <= node || (long) first + getChildCount(node) > nodeCount) {
+            throw new LoadingGameException("Opening book has invalid children at node " + node + "!", null);
+        }
+        return first;
+    }
+
+    /**
+     * @param node the index of the node
+     * @return the number of children of the node
+     */
+    private int getChildCount(int node) {
+        return data.getShort(offset(node) + 24) & 0xFFFF;
+    }
+
+    /**
+     * @param node the index of the node
+     * @return the offset of the node within the file
+     */
+    private int offset(int node) {
+        return nodeOffset + node * NODE_SIZE;
+    }
+
+    /**
+     * Checks whether the book is still open
+     * @throws IllegalStateException if the book has been closed
+     */
+    private void checkOpen() {
+        if(data == null) {
+            throw new IllegalStateException("Opening book has been closed!");
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.Symmetry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.*;
+
+/**
+ * Merges the openings of the games of a corpus into a tree of moves and writes it as an OpeningBook. The main line
+ * of every game (the moves following its handicap and setup stones, up to the first pass or the maximum depth) is
+ * added to the tree of its board size and starting position, counting how often each continuation was played and how
+ * often Black and White won these games.<br>
+ * The tree is normalized by symmetry: the children of a node are identified by the canonical hash of the position
+ * after the move (see BoardInterface.getCanonicalPositionHash()), so that rotated and mirrored openings are merged,
+ * and the moves are stored as seen in the canonical orientation of the position before them. To obtain these
+ * orientations, the opening of every game is replayed on a headless BitBoard.
+ */
+public class OpeningBookBuilder {
+    /**
+     * The number of moves that are added per game, unless specified otherwise
+     */
+    public static final int DEFAULT_MAX_DEPTH = 50;
+
+    /**
+     * The roots of the trees, per board size and canonical hash of the starting position
+     */
+    private final Map<Integer, Map<Long, Node>> roots = new TreeMap<>();
+
+    /**
+     * The maximum number of moves that are added per game
+     */
+    private final int maxDepth;
+
+    /**
+     * The number of games in which a continuation must have been played to be written
+     */
+    private final int minCount;
+
+    /**
+     * The number of games that have been added so far
+     */
+    private int gameCount;
+
+    /**
+     * The number of game trees that addAll() has skipped so far
+     */
+    private int skippedCount;
+
+    /**
+     * Creates a new OpeningBookBuilder that adds up to DEFAULT_MAX_DEPTH moves per game and writes every continuation
+     */
+    public OpeningBookBuilder() {
+        this(DEFAULT_MAX_DEPTH, 1);
+    }
+
+    /**
+     * Creates a new OpeningBookBuilder
+     * @param maxDepth the maximum number of moves that are added per game
+     * @param minCount the number of games in which a continuation must have been played to be written (rarer
+     *  continuations and everything following them are left out to keep the book small)
+     * @throws IllegalArgumentException if maxDepth is negative or minCount is less than 1
+     */
+    public OpeningBookBuilder(int maxDepth, int minCount) {
+        if(maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative but was " + maxDepth);
+        }
+        if(minCount < 1) {
+            throw new IllegalArgumentException("minCount must be at least 1 but was " + minCount);
+        }
+
+        this.maxDepth = maxDepth;
+        this.minCount = minCount;
+    }
+
+    /**
+     * Adds the opening of the main line (i.e., the currently selected line) of the supplied Game. Its result counts if
+     * the Game has a winner, i.e., if it was won by resignation or by score, or if it was loaded from an SGF file whose
+     * result (RE) names a winner.
+     * @param game the Game whose opening is to be added
+     */
+    public void add(Game game) {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+
+        final int size = game.getSize();
+        final StoneColor winner = game.getGameResult().getWinner();
+        final BitBoard board = new BitBoard(size);
+
+        Node node = null;
+        int depth = 0;
+
+        for (History.HistoryNode n : game.getHistory()) {
+            final History.HistoryNode.AbstractSaveToken token = n.getSaveToken();
+
+            if(node == null && (token == HANDICAP || token == SETUP)) {
+                board.place(board.toPoint(n.getX(), n.getY()), n.getColor());
+                continue;
+            }
+            if(node == null && token == BEGINNING_OF_HISTORY) {
+                continue;
+            }
+
+            if(node == null) {
+                node = roots.computeIfAbsent(size, s -> new HashMap<>())
+                    .computeIfAbsent(board.getCanonicalPositionHash(), h -> new Node(h, OpeningBook.NO_POINT));
+                node.record(winner);
+            }
+
+            if(token != MOVE || depth == maxDepth) {
+                break;
+            }
+
+            // The move is stored as seen in the canonical orientation of the position before it.
+            final Symmetry symmetry = board.getCanonicalSymmetry();
+            final int move = OpeningBook.encodeMove(symmetry.getX(n.getX(), n.getY(), size), symmetry.getY(n.getX(), n.getY(), size), n.getColor());
+            board.play(board.toPoint(n.getX(), n.getY()), n.getColor(), false, true);
+
+            node = node.getChild(board.getCanonicalPositionHash(), move);
+            node.record(winner);
+            depth++;
+        }
+
+        gameCount++;
+    }
+
+    /**
+     * Adds the openings of all remaining games of the supplied SGFCollectionReader (see add()). Game trees that can't
+     * be loaded (because they are invalid or contain unsupported SGF features) are skipped and counted (see
+     * getSkippedCount()).
+     * @param reader the SGFCollectionReader whose games are to be added
+     * @return the number of games that were added
+     * @throws IOException if the input of the reader can't be read
+     */
+    public int addAll(SGFCollectionReader reader) throws IOException {
+        if(reader == null) {
+            throw new NullPointerException();
+        }
+
+        int added = 0;
+        while(true) {
+            try {
+                if(!reader.hasNext()) {
+                    return added;
+                }
+                add(reader.nextGame());
+                added++;
+            } catch (LoadingGameException | SGFScanner.SyntaxException e) {
+                // The reader skips the rest of the invalid game tree on the next call of hasNext().
+                skippedCount++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of games that have been added so far
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * @return the number of game trees that addAll() has skipped so far because they couldn't be loaded
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Writes the collected tree as an OpeningBook (see there for the format). The children of every node are written
+     * in descending order of their count, so that the most popular continuations come first.
+     * @param file the file that the OpeningBook is written to, which is replaced if it exists
+     * @throws IOException if the file cannot be written to
+     */
+    public void write(File file) throws IOException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+
+        final Comparator<Node> byPopularity = Comparator.comparingInt((Node n) -> n.count).reversed().thenComparingLong(n -> n.hash);
+
+        // Breadth-first numbering, so that the children of every node are adjacent.
+        final List<Node> nodes = new ArrayList<>();
+        final List<Integer> sizes = new ArrayList<>();
+        for (Map.Entry<Integer, Map<Long, Node>> e : roots.entrySet()) {
+            e.getValue().values().stream().sorted(byPopularity).forEach(n -> {
+                nodes.add(n);
+                sizes.add(e.getKey());
+            });
+        }
+
+        for (int i = 0; i < nodes.size(); i++) {
+            final Node n = nodes.get(i);
+            n.firstChild = nodes.size();
+            if(n.children != null) {
+                n.children.values().stream().filter(c -> c.count >= minCount).sorted(byPopularity).forEach(nodes::add);
+            }
+            n.childCount = nodes.size() - n.firstChild;
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), 1 << 16))) {
+            output.write(OpeningBook.MAGIC);
+            output.writeInt(OpeningBook.FORMAT_VERSION);
+            output.writeInt(sizes.size());
+            output.writeInt(nodes.size());
+
+            for (int size : sizes) {
+                output.writeInt(size);
+            }
+
+            for (Node n : nodes) {
+                output.writeLong(n.hash);
+                output.writeInt(n.count);
+                output.writeInt(n.blackWins);
+                output.writeInt(n.whiteWins);
+                output.writeInt(n.firstChild);
+                output.writeShort(n.childCount);
+                output.writeShort(n.move);
+            }
+        }
+    }
+
+    /**
+     * Node of the tree, i.e., a position reached by a sequence of moves from a starting position
+     */
+    private static class Node {
+        /**
+         * The canonical hash of the position
+         */
+        private final long hash;
+
+        /**
+         * The move leading to the position, as encoded by OpeningBook.encodeMove(), or NO_POINT for starting positions
+         */
+        private final int move;
+
+        /**
+         * The number of games that reached the position
+         */
+        private int count;
+
+        /**
+         * The number of those games that were won by Black
+         */
+        private int blackWins;
+
+        /**
+         * The number of those games that were won by White
+         */
+        private int whiteWins;
+
+        /**
+         * The children, identified by their canonical hash, or null if there are none yet
+         */
+        private Map<Long, Node> children;
+
+        /**
+         * The index of the first child in the file, assigned when writing
+         */
+        private int firstChild;
+
+        /**
+         * The number of children in the file, assigned when writing
+         */
+        private int childCount;
+
+        /**
+         * Creates a new Node
+         * @param hash the canonical hash of the position
+         * @param move the move leading to the position
+         */
+        Node(long hash, int move) {
+            this.hash = hash;
+            this.move = move;
+        }
+
+        /**
+         * Counts a game that reached the position
+         * @param winner the winner of the game, or null if it is unknown
+         */
+        void record(StoneColor winner) {
+            count++;
+            if(winner == StoneColor.BLACK) {
+                blackWins++;
+            } else if(winner == StoneColor.WHITE) {
+                whiteWins++;
+            }
+        }
+
+        /**
+         * Returns the child with the supplied hash, creating it if necessary
+         * @param hash the canonical hash of the position after the move
+         * @param move the encoded move, which is only used if the child is created
+         * @return the child
+         */
+        Node getChild(long hash, int move) {
+            if(children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(hash, h -> new Node(h, move));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only index of the positions that occurred in the games of a corpus, which is written by the
+ * PositionIndexBuilder. It answers which games reached a position (identified by its Zobrist hash, see
+ * BoardInterface.getPositionHash()) and at which move numbers. The file is memory-mapped, and a query only probes the
+ * open-addressing hash table of the board size in question, so it doesn't depend on the size of the corpus.<br>
+ * A symmetric index contains canonical hashes (see BoardInterface.getCanonicalPositionHash()) instead, so that it also
+ * finds the rotated and mirrored variants of a position.<br>
+ * The file has the following layout (all numbers big-endian):
+ * <pre>
+ * magic            4 bytes  "GOGP"
+ * version          4 bytes  FORMAT_VERSION
+ * flags            4 bytes  bit 0: the index is symmetric
+ * section count    4 bytes  number of board sizes
+ * directory        per board size: size (4 bytes), capacity (4 bytes, a power of two), offset of its hash table
+ *                  (8 bytes) and offset of its postings (8 bytes)
+ * hash tables      per board size, capacity slots of: position hash (8 bytes), index of its first posting (4 bytes)
+ *                  and number of postings (4 bytes, 0 for empty slots); collisions are resolved by linear probing
+ * postings         per board size, game id (4 bytes) and move number (4 bytes) of each occurrence
+ * </pre>
+ */
+public class PositionIndex implements Closeable {
+    /**
+     * The magic bytes at the beginning of every position index
+     */
+    static final byte[] MAGIC = {'G', 'O', 'G', 'P'};
+
+    /**
+     * The version of the format that is written, which is the only version that can be read
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Flag marking that an index contains canonical hashes
+     */
+    static final int FLAG_SYMMETRIC = 1;
+
+    /**
+     * The size of an entry of the directory in bytes
+     */
+    static final int DIRECTORY_ENTRY_SIZE = 24;
+
+    /**
+     * The size of a slot of a hash table in bytes
+     */
+    static final int SLOT_SIZE = 16;
+
+    /**
+     * The size of a posting in bytes
+     */
+    static final int POSTING_SIZE = 8;
+
+    /**
+     * The mapped file, or null if the index has been closed
+     */
+    private ByteBuffer data;
+
+    /**
+     * Whether this index contains canonical hashes
+     */
+    private final boolean symmetric;
+
+    /**
+     * The board size of each section
+     */
+    private final int[] sizes;
+
+    /**
+     * The capacity of the hash table of each section
+     */
+    private final int[] capacities;
+
+    /**
+     * The offset of the hash table of each section
+     */
+    private final int[] tableOffsets;
+
+    /**
+     * The offset of the postings of each section
+     */
+    private final int[] postingOffsets;
+
+    /**
+     * Opens the supplied position index
+     * @param file the file containing the position index
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be read or is too large to be mapped
+     * @throws LoadingGameException If the file isn't a position index or was written in an unsupported version of
+     *  the format
+     */
+    public PositionIndex(File file) throws IOException, LoadingGameException {
+        data = MappedFiles.mapAndCheck(file, MAGIC, FORMAT_VERSION, HEADER_SIZE, "position index");
+
+        symmetric = (data.getInt(MAGIC.length + Integer.BYTES) & FLAG_SYMMETRIC) != 0;
+
+        final int sectionCount = data.getInt(MAGIC.length + 2 * Integer.BYTES);
+        if(sectionCount < 0 || HEADER_SIZE + (long) sectionCount * DIRECTORY_ENTRY_SIZE > data.capacity()) {
+            throw new LoadingGameException("Position index " + file + " has an invalid directory!", null);
+        }
+
+        sizes = new int[sectionCount];
+        capacities = new int[sectionCount];
+        tableOffsets = new int[sectionCount];
+        postingOffsets = new int[sectionCount];
+
+        for (int i = 0; i < sectionCount; i++) {
+            final int entry = HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE;
+            sizes[i] = data.getInt(entry);
+            capacities[i] = data.getInt(entry + 4);
+            final long tableOffset = data.getLong(entry + 8);
+            final long postingOffset = data.getLong(entry + 16);
+
+            if(Integer.bitCount(capacities[i]) != 1 || tableOffset < 0 || tableOffset + (long) capacities[i] * SLOT_SIZE != postingOffset || postingOffset > data.capacity()) {
+                throw new LoadingGameException("Position index " + file + " has an invalid directory entry for size " + sizes[i] + "!", null);
+            }
+            tableOffsets[i] = (int) tableOffset;
+            postingOffsets[i] = (int) postingOffset;
+        }
+    }
+
+    /**
+     * Finds all occurrences of the current position of the supplied Game (or, if this index is symmetric, of any of
+     * its symmetric variants)
+     * @param game the Game whose current position is searched for
+     * @return the games and move numbers at which the position occurred, ordered by game id and move number
+     * @throws LoadingGameException if the index is corrupt
+     */
+    public List<PositionMatch> find(Game game) throws LoadingGameException {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+
+        return find(game.getSize(), symmetric ? game.getCanonicalPositionHash() : game.getPositionHash());
+    }
+
+    /**
+     * Finds all occurrences of the supplied position
+     * @param size the board size of the position
+     * @param positionHash the Zobrist hash of the position (see BoardInterface.getPositionHash()), which has to be the
+     *  canonical hash (see BoardInterface.getCanonicalPositionHash()) if this index is symmetric
+     * @return the games and move numbers at which the position occurred, ordered by game id and move number
+     * @throws LoadingGameException if the index is corrupt
+     */
+    public List<PositionMatch> find(int size, long positionHash) throws LoadingGameException {
+        checkOpen();
+
+        final int section = indexOf(size);
+        if(section < 0) {
+            return List.of();
+        }
+
+        final int mask = capacities[section] - 1;
+        int slot = slot(positionHash, capacities[section]);
+
+        for (int probes = 0; probes <= mask; probes++) {
+            final int offset = tableOffsets[section] + slot * SLOT_SIZE;
+            final int count = data.getInt(offset + 12);
+
+            if(count == 0) {
+                return List.of();
+            }
+
+            if(data.getLong(offset) == positionHash) {
+                final long start = postingOffsets[section] + (long) data.getInt(offset + 8) * POSTING_SIZE;
+                if(count < 0 || start < postingOffsets[section] || start + (long) count * POSTING_SIZE > data.capacity()) {
+                    throw new LoadingGameException("Position index has an invalid slot " + slot + " for size " + size + "!", null);
+                }
+
+                final List<PositionMatch> ret = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    final int posting = (int) start + i * POSTING_SIZE;
+                    ret.add(new PositionMatch(data.getInt(posting), data.getInt(posting + 4)));
+                }
+                return ret;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return List.of();
+    }
+
+    /**
+     * @return whether this index contains canonical hashes, i.e., finds the symmetric variants of positions as well
+     */
+    public boolean isSymmetric() {
+        checkOpen();
+        return symmetric;
+    }
+
+    /**
+     * @return the board sizes of the positions in this index, in ascending order
+     */
+    public int[] getSizes() {
+        checkOpen();
+        return sizes.clone();
+    }
+
+    /**
+     * Closes the index. The mapping itself is released by the garbage collector once it is no longer referenced.
+     */
+    @Override
+    public void close() {
+        data = null;
+    }
+
+    /**
+     * Computes the slot at which probing for the supplied hash starts
+     * @param hash the position hash
+     * @param capacity the capacity of the hash table, a power of two
+     * @return the index of the first slot to be probed
+     */
+    static int slot(long hash, int capacity) {
+        return (int) (hash ^ hash >>> 32) & (capacity - 1);
+    }
+
+    /**
+     * Returns the section of the supplied board size
+     * @param size the board size
+     * @return the index of the section, -1 if there are no positions of that size
+     */
+    private int indexOf(int size) {
+        for (int i = 0; i < sizes.length; i++) {
+            if(sizes[i] == size) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the index is still open
+     * @throws IllegalStateException if the index has been closed
+     */
+    private void checkOpen() {
+        if(data == null) {
+            throw new IllegalStateException("Position index has been closed!");
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the positions of the games of a corpus and writes them as a PositionIndex. Every HistoryNode of a game
+ * (including its variations, but excluding the empty board at the beginning of its History) contributes its Zobrist
+ * position hash (or, for a symmetric index, its canonical hash) together with the id of the game and its move number.
+ */
+public class PositionIndexBuilder {
+    /**
+     * The collected positions, per board size
+     */
+    private final Map<Integer, Positions> positions = new TreeMap<>();
+
+    /**
+     * Whether canonical hashes are collected, so that symmetric positions are merged
+     */
+    private final boolean symmetric;
+
+    /**
+     * Creates a new PositionIndexBuilder for an index that distinguishes symmetric positions
+     */
+    public PositionIndexBuilder() {
+        this(false);
+    }
+
+    /**
+     * Creates a new PositionIndexBuilder
+     * @param symmetric whether the index merges the symmetric variants of positions by collecting their canonical
+     *  hashes (see BoardInterface.getCanonicalPositionHash())
+     */
+    public PositionIndexBuilder(boolean symmetric) {
+        this.symmetric = symmetric;
+    }
+
+    /**
+     * Adds all positions of the supplied Game
+     * @param gameId the id of the Game within the corpus (e.g., its id in a GameDatabase)
+     * @param game the Game whose positions are to be added
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public void add(int gameId, Game game) {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+        if(gameId < 0) {
+            throw new IllegalArgumentException("Invalid game id " + gameId);
+        }
+
+        final Positions p = positions.computeIfAbsent(game.getSize(), size -> new Positions());
+
+        // Depth-first traversal of the tree of HistoryNodes; the depth of a node is its move number.
+        final Deque<History.HistoryNode> nodes = new ArrayDeque<>();
+        final Deque<Integer> depths = new ArrayDeque<>();
+        final History.HistoryNode first = game.getHistory().iterator().next().getFirstChild();
+        if(first != null) {
+            nodes.push(first);
+            depths.push(1);
+        }
+
+        while(!nodes.isEmpty()) {
+            final History.HistoryNode node = nodes.pop();
+            final int depth = depths.pop();
+            p.add(symmetric ? node.getCanonicalPositionHash() : node.getPositionHash(), gameId, depth);
+
+            if(node.getNextSibling() != null) {
+                nodes.push(node.getNextSibling());
+                depths.push(depth);
+            }
+            if(node.getFirstChild() != null) {
+                nodes.push(node.getFirstChild());
+                depths.push(depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Adds all positions of all games of the supplied GameDatabase, using their ids within the database
+     * @param database the GameDatabase whose games are to be added
+     * @throws LoadingGameException if a game of the database can't be loaded
+     */
+    public void addAll(GameDatabase database) throws LoadingGameException {
+        if(database == null) {
+            throw new NullPointerException();
+        }
+
+        final Game game = new Game();
+        for (int id = 0; id < database.getCount(); id++) {
+            database.load(id, game);
+            add(id, game);
+        }
+    }
+
+    /**
+     * @return the number of positions that have been added so far
+     */
+    public long getPositionCount() {
+        return positions.values().stream().mapToLong(p -> p.count).sum();
+    }
+
+    /**
+     * Writes the collected positions as a PositionIndex (see there for the format)
+     * @param file the file that the PositionIndex is written to, which is replaced if it exists
+     * @throws IOException if the file cannot be written to
+     */
+    public void write(File file) throws IOException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+
+        final Section[] sections = positions.entrySet().stream().map(e -> new Section(e.getKey(), e.getValue())).toArray(Section[]::new);
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), 1 << 16))) {
+            output.write(PositionIndex.MAGIC);
+            output.writeInt(PositionIndex.FORMAT_VERSION);
+            output.writeInt(symmetric ? PositionIndex.FLAG_SYMMETRIC : 0);
+            output.writeInt(sections.length);
+
+            long offset = PositionIndex.HEADER_SIZE + (long) sections.length * PositionIndex.DIRECTORY_ENTRY_SIZE;
+            for (Section s : sections) {
+                output.writeInt(s.size);
+                output.writeInt(s.keys.length);
+                output.writeLong(offset);
+                offset += (long) s.keys.length * PositionIndex.SLOT_SIZE;
+                output.writeLong(offset);
+                offset += (long) s.postings.length * PositionIndex.POSTING_SIZE;
+            }
+
+            for (Section s : sections) {
+                for (int slot = 0; slot < s.keys.length; slot++) {
+                    output.writeLong(s.keys[slot]);
+                    output.writeInt(s.starts[slot]);
+                    output.writeInt(s.counts[slot]);
+                }
+                for (long posting : s.postings) {
+                    output.writeLong(posting);
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable list of the positions of one board size
+     */
+    private static class Positions {
+        /**
+         * The Zobrist hash of each position
+         */
+        private long[] hashes = new long[1024];
+
+        /**
+         * The game id (upper 32 bits) and move number (lower 32 bits) of each position
+         */
+        private long[] postings = new long[1024];
+
+        /**
+         * The number of positions
+         */
+        private int count;
+
+        /**
+         * Adds a position
+         * @param hash the Zobrist hash of the position
+         * @param gameId the id of the game in which the position occurred
+         * @param moveNumber the move number at which the position occurred
+         */
+        void add(long hash, int gameId, int moveNumber) {
+            if(count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+                postings = Arrays.copyOf(postings, count * 2);
+            }
+            hashes[count] = hash;
+            postings[count] = (long) gameId << 32 | moveNumber;
+            count++;
+        }
+    }
+
+    /**
+     * The open-addressing hash table and the postings of one board size, as they are written to the file
+     */
+    private static class Section {
+        /**
+         * The board size
+         */
+        private final int size;
+
+        /**
+         * The position hash of each slot
+         */
+        private final long[] keys;
+
+        /**
+         * The index of the first posting of each slot
+         */
+        private final int[] starts;
+
+        /**
+         * The number of postings of each slot, 0 for empty slots
+         */
+        private final int[] counts;
+
+        /**
+         * The postings, grouped by slot
+         */
+        private final long[] postings;
+
+        /**
+         * Builds the hash table for the supplied positions
+         * @param size the board size
+         * @param p the positions of that board size
+         */
+        Section(int size, Positions p) {
+            this.size = size;
+
+            // Sorting a copy of the hashes yields the distinct positions and the number of postings of each.
+            final long[] sorted = Arrays.copyOf(p.hashes, p.count);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if(i == 0 || sorted[i] != sorted[i - 1]) {
+                    distinct++;
+                }
+            }
+
+            // At most half of the slots are used, so that probing stays short.
+            final int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, distinct) * 2 - 1) << 1);
+            keys = new long[capacity];
+            starts = new int[capacity];
+            counts = new int[capacity];
+
+            for (int i = 0, run; i < sorted.length; i += run) {
+                run = 1;
+                while(i + run < sorted.length && sorted[i + run] == sorted[i]) {
+                    run++;
+                }
+                final int slot = find(sorted[i]);
+                keys[slot] = sorted[i];
+                counts[slot] = run;
+            }
+
+            for (int slot = 0, start = 0; slot < capacity; slot++) {
+                starts[slot] = start;
+                start += counts[slot];
+            }
+
+            postings = new long[p.count];
+            final int[] filled = new int[capacity];
+            for (int i = 0; i < p.count; i++) {
+                final int slot = find(p.hashes[i]);
+                postings[starts[slot] + filled[slot]++] = p.postings[i];
+            }
+        }
+
+        /**
+         * Finds the slot containing the supplied hash, or the empty slot where it is to be inserted
+         * @param hash the position hash
+         * @return the index of the slot
+         */
+        private int find(long hash) {
+            final int mask = keys.length - 1;
+            int slot = PositionIndex.slot(hash, keys.length);
+            while(counts[slot] != 0 && keys[slot] != hash) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
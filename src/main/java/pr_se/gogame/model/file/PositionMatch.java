@@ -0,0 +1,66 @@
+package pr_se.gogame.model.file;
+
+import java.util.Objects;
+
+/**
+ * Occurrence of a position in a game of a corpus, as found by the PositionIndex
+ */
+public class PositionMatch {
+    /**
+     * The id of the game in which the position occurred
+     */
+    private final int gameId;
+
+    /**
+     * The move number at which the position occurred, i.e., the index of its HistoryNode (see
+     * History.getCurrentIndex())
+     */
+    private final int moveNumber;
+
+    /**
+     * Creates a new PositionMatch
+     * @param gameId the id of the game in which the position occurred
+     * @param moveNumber the move number at which the position occurred
+     */
+    public PositionMatch(int gameId, int moveNumber) {
+        if(gameId < 0 || moveNumber < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.gameId = gameId;
+        this.moveNumber = moveNumber;
+    }
+
+    /**
+     * @return the id of the game in which the position occurred
+     */
+    public int getGameId() {
+        return gameId;
+    }
+
+    /**
+     * @return the move number at which the position occurred, i.e., the index of its HistoryNode
+     */
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    // Object's methods
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PositionMatch that = (PositionMatch) o;
+        return gameId == that.gameId && moveNumber == that.moveNumber;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(gameId, moveNumber);
+    }
+
+    @Override
+    public String toString() {
+        return "PositionMatch game " + gameId + ", move " + moveNumber;
+    }
+}
@@ -0,0 +1,175 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.TerritoryScanner;
+
+/**
+ * Outcome of replaying an SGF file with the SGFReplayer. Besides the final position, it contains the score of that
+ * position as determined by the TerritoryScanner: All stones on the board are treated as alive (the SGFReplayer
+ * doesn't analyze life and death), and komi isn't included, as it is left to the caller.
+ */
+public class ReplayResult {
+    /**
+     * The board containing the final position of the replayed game
+     */
+    private final BitBoard board;
+
+    /**
+     * The handicap of the replayed game
+     */
+    private final int handicap;
+
+    /**
+     * The number of moves (including passes) of the replayed game
+     */
+    private final int moveCount;
+
+    /**
+     * The number of stones captured by Black
+     */
+    private final int capturedByBlack;
+
+    /**
+     * The number of stones captured by White
+     */
+    private final int capturedByWhite;
+
+    /**
+     * The territory points of Black in the final position
+     */
+    private final int territoryBlack;
+
+    /**
+     * The territory points of White in the final position
+     */
+    private final int territoryWhite;
+
+    /**
+     * The number of black stones in the final position
+     */
+    private final int stonesBlack;
+
+    /**
+     * The number of white stones in the final position
+     */
+    private final int stonesWhite;
+
+    /**
+     * Creates a new ReplayResult
+     * @param board the board containing the final position of the replayed game
+     * @param handicap the handicap of the replayed game
+     * @param moveCount the number of moves (including passes) of the replayed game
+     * @param capturedByBlack the number of stones captured by Black
+     * @param capturedByWhite the number of stones captured by White
+     * @param scanner the TerritoryScanner that has just scanned the final position
+     */
+    public ReplayResult(BitBoard board, int handicap, int moveCount, int capturedByBlack, int capturedByWhite, TerritoryScanner scanner) {
+        if(board == null || scanner == null) {
+            throw new NullPointerException();
+        }
+
+        this.board = board;
+        this.handicap = handicap;
+        this.moveCount = moveCount;
+        this.capturedByBlack = capturedByBlack;
+        this.capturedByWhite = capturedByWhite;
+        this.territoryBlack = scanner.getTerritory(StoneColor.BLACK);
+        this.territoryWhite = scanner.getTerritory(StoneColor.WHITE);
+        this.stonesBlack = scanner.getStones(StoneColor.BLACK);
+        this.stonesWhite = scanner.getStones(StoneColor.WHITE);
+    }
+
+    /**
+     * @return the board containing the final position of the replayed game
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * @return the size of the replayed game's board
+     */
+    public int getSize() {
+        return board.getSize();
+    }
+
+    /**
+     * @return the handicap of the replayed game
+     */
+    public int getHandicap() {
+        return handicap;
+    }
+
+    /**
+     * @return the number of moves (including passes) of the replayed game
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the number of stones that the supplied player has captured
+     * @param color the capturing player
+     * @return the number of stones that the supplied player has captured
+     */
+    public int getCapturedStones(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? capturedByBlack : capturedByWhite;
+    }
+
+    /**
+     * Returns the territory points of the supplied player in the final position, i.e., the empty points that are
+     * bordered by stones of that player only
+     * @param color the player whose territory points are to be returned
+     * @return how many territory points the supplied player has
+     */
+    public int getTerritory(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? territoryBlack : territoryWhite;
+    }
+
+    /**
+     * Returns the number of stones of the supplied player in the final position
+     * @param color the player whose stones are to be counted
+     * @return how many stones the supplied player has on the board
+     */
+    public int getStones(StoneColor color) {
+        if(color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? stonesBlack : stonesWhite;
+    }
+
+    /**
+     * Returns the score of the supplied player by area scoring (as in the ChineseRuleset), without komi
+     * @param color the player whose score is to be returned
+     * @return the stones plus the territory points of the supplied player
+     */
+    public int getAreaScore(StoneColor color) {
+        return getStones(color) + getTerritory(color);
+    }
+
+    /**
+     * Returns the score of the supplied player by territory scoring (as in the JapaneseRuleset), without komi
+     * @param color the player whose score is to be returned
+     * @return the territory points of the supplied player plus the stones captured by them
+     */
+    public int getTerritoryScore(StoneColor color) {
+        return getTerritory(color) + getCapturedStones(color);
+    }
+
+    /**
+     * @return the Zobrist hash of the final position
+     */
+    public long getPositionHash() {
+        return board.getPositionHash();
+    }
+}
@@ -0,0 +1,80 @@
+package pr_se.gogame.model.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Command line entry point that replays all SGF files in a directory (including subdirectories) with the SGFReplayer
+ * and reports how many of them are valid as well as the achieved throughput. With the option --score, the files are
+ * instead loaded into complete Games and scored in parallel by the SGFIngestionService. Usage:
+ * <pre>java -cp GoGame.jar pr_se.gogame.model.file.SGFBatchReplay [--score] &lt;directory&gt;</pre>
+ */
+public class SGFBatchReplay {
+    /**
+     * This class only contains the entry point.
+     */
+    private SGFBatchReplay() {
+    }
+
+    /**
+     * Replays all SGF files in the supplied directory and prints a summary
+     * @param args the optional --score flag, followed by the directory containing the SGF files
+     * @throws IOException if the directory can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        final boolean score = args.length == 2 && args[0].equals("--score");
+        if(args.length != 1 && !score) {
+            System.err.println("Usage: SGFBatchReplay [--score] <directory>");
+            System.exit(1);
+        }
+
+        List<Path> files = findSGFFiles(Path.of(args[args.length - 1]));
+
+        int valid = 0;
+        long moves = 0;
+
+        final long start = System.nanoTime();
+        if (score) {
+            for (IngestionResult r : new SGFIngestionService().ingest(files)) {
+                if (r.isValid()) {
+                    moves += r.getMoveCount();
+                    valid++;
+                }
+                System.out.println(r);
+            }
+        } else {
+            SGFReplayer replayer = new SGFReplayer();
+            for (Path p : files) {
+                try {
+                    moves += replayer.replay(p.toFile()).getMoveCount();
+                    valid++;
+                } catch (LoadingGameException | IOException e) {
+                    System.err.println(p + ": " + e.getMessage());
+                }
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Replayed %d files (%d valid, %d invalid) with %d moves in %.3f s%n", files.size(), valid, files.size() - valid, moves, seconds);
+        System.out.printf("Throughput: %.1f games/s, %.1f moves/s%n", files.size() / seconds, moves / seconds);
+    }
+
+    /**
+     * Collects all SGF files in the supplied directory and its subdirectories
+     * @param directory the directory to be searched
+     * @return the SGF files, sorted by path
+     * @throws IOException if the directory can't be read
+     */
+    static List<Path> findSGFFiles(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".sgf"))
+                .sorted()
+                .toList();
+        }
+    }
+}
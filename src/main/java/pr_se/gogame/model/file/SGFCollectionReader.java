@@ -0,0 +1,253 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.NoSuchFileException;
+import java.util.NoSuchElementException;
+
+import static pr_se.gogame.model.file.SGFToken.*;
+
+/**
+ * Reads the game trees of an SGF collection (i.e., any number of "(;...)" game trees following each other) one at a
+ * time. Each game tree is only scanned when it is requested, either into a fresh Game (nextGame()) or headlessly with
+ * the SGFReplayer (nextReplay()), and the reader keeps no reference to it afterwards, so the memory required doesn't
+ * depend on the size of the collection.<br>
+ * If a game tree is invalid, the LoadingGameException is passed on, and the rest of that game tree is skipped on the
+ * next call of hasNext(), so the following game trees can still be read. Likewise, if hasNext() encounters anything
+ * but a game tree, it skips the input up to the next game tree before throwing. Usage:
+ * <pre>
+ * try (SGFCollectionReader reader = new SGFCollectionReader(file)) {
+ *     while (reader.hasNext()) {
+ *         Game game = reader.nextGame();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class SGFCollectionReader implements Closeable {
+    /**
+     * The input containing the collection
+     */
+    private final Reader input;
+
+    /**
+     * The scanner reading the input, which keeps track of the parentheses
+     */
+    private final NestingScanner scanner;
+
+    /**
+     * The SGFReplayer used by nextReplay()
+     */
+    private final SGFReplayer replayer = new SGFReplayer();
+
+    /**
+     * The first token of the next game tree, if it has already been read by hasNext()
+     */
+    private ScannedToken lookahead;
+
+    /**
+     * The number of game trees that have been requested so far
+     */
+    private int gameCount;
+
+    /**
+     * Creates a new SGFCollectionReader for the supplied file
+     * @param file the file containing the SGF collection
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be opened
+     */
+    public SGFCollectionReader(File file) throws IOException {
+        this(openFile(file));
+    }
+
+    /**
+     * Creates a new SGFCollectionReader for the supplied input, which is closed together with the reader
+     * @param input any form of textual input containing an SGF collection
+     */
+    public SGFCollectionReader(Reader input) {
+        if(input == null) {
+            throw new NullPointerException();
+        }
+
+        this.input = input;
+        this.scanner = new NestingScanner(input);
+    }
+
+    /**
+     * Checks whether the collection contains another game tree. If the last game tree wasn't read completely (because
+     * it was invalid), its remainder is skipped first.
+     * @return whether there is another game tree
+     * @throws IOException If the input can't be read
+     * @throws SGFScanner.SyntaxException If there is invalid text before the next game tree, which is skipped, so
+     * that the next call can continue with the following game tree
+     * @throws LoadingGameException If there are tokens other than game trees before the next game tree, which are
+     * skipped like invalid text
+     */
+    public boolean hasNext() throws IOException, LoadingGameException {
+        if(lookahead == null) {
+            skipRemainder();
+            try {
+                lookahead = scanner.next();
+            } catch (SGFScanner.SyntaxException e) {
+                lookahead = skipToGameTree();
+                throw e;
+            }
+        }
+
+        if(lookahead.getToken() == EOF) {
+            return false;
+        }
+        if(lookahead.getToken() != LPAR) {
+            final ScannedToken stray = lookahead;
+            lookahead = skipToGameTree();
+            throw new LoadingGameException("Expected " + LPAR.getValue() + " but parsed " + stray, stray);
+        }
+
+        return true;
+    }
+
+    /**
+     * Loads the next game tree into a fresh Game
+     * @return the Game containing the next game tree
+     * @throws NoSuchElementException If there are no more game trees
+     * @throws IOException If the input can't be read
+     * @throws LoadingGameException If the game tree is invalid or contains unsupported SGF features
+     */
+    public Game nextGame() throws IOException, LoadingGameException {
+        final ScannedToken first = takeLookahead();
+        final Game game = new Game();
+        new SGFFileHandler(game).loadGame(scanner, first);
+
+        return game;
+    }
+
+    /**
+     * Replays the next game tree headlessly with the SGFReplayer
+     * @return the ReplayResult containing the final position of the next game tree
+     * @throws NoSuchElementException If there are no more game trees
+     * @throws IOException If the input can't be read
+     * @throws LoadingGameException If the game tree is invalid or contains unsupported SGF features or illegal moves
+     */
+    public ReplayResult nextReplay() throws IOException, LoadingGameException {
+        return replayer.replayGame(scanner, takeLookahead());
+    }
+
+    /**
+     * @return The number of game trees that have been requested so far, including invalid ones. This is also the
+     * (1-based) number of the last requested game tree within the collection.
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Returns the first token of the next game tree and counts the game tree as requested
+     * @return the opening parenthesis of the next game tree
+     * @throws NoSuchElementException If there are no more game trees
+     * @throws IOException If the input can't be read
+     * @throws LoadingGameException If the input contains anything but game trees
+     */
+    private ScannedToken takeLookahead() throws IOException, LoadingGameException {
+        if(!hasNext()) {
+            throw new NoSuchElementException("No more game trees in the SGF collection!");
+        }
+
+        final ScannedToken ret = lookahead;
+        lookahead = null;
+        gameCount++;
+
+        return ret;
+    }
+
+    /**
+     * Skips the remainder of an incompletely read game tree, up to its closing parenthesis. Syntax errors are skipped
+     * as well, since unsupported SGF properties are the most common reason for an invalid game tree.
+     * @throws IOException If the input can't be read
+     */
+    private void skipRemainder() throws IOException {
+        while(scanner.depth > 0) {
+            try {
+                if(scanner.next().getToken() == EOF) {
+                    return;
+                }
+            } catch (SGFScanner.SyntaxException e) {
+                // The scanner continues after the offending character.
+            }
+        }
+    }
+
+    /**
+     * Skips the input up to the beginning of the next game tree, including any syntax errors
+     * @return the opening parenthesis of the next game tree, or EOF if there is none
+     * @throws IOException If the input can't be read
+     */
+    private ScannedToken skipToGameTree() throws IOException {
+        for(;;) {
+            try {
+                final ScannedToken t = scanner.next();
+                if(t.getToken() == LPAR || t.getToken() == EOF) {
+                    return t;
+                }
+            } catch (SGFScanner.SyntaxException e) {
+                // The scanner continues after the offending character.
+            }
+        }
+    }
+
+    /**
+     * Opens the supplied file for reading
+     * @param file the file to be opened
+     * @return a Reader for the file
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be opened
+     */
+    private static Reader openFile(File file) throws IOException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+        if(!file.exists()) {
+            throw new NoSuchFileException("File " + file + " does not exist!");
+        }
+
+        return new FileReader(file);
+    }
+
+    /**
+     * SGFScanner that keeps track of how deeply the current token is nested in parentheses
+     */
+    private static class NestingScanner extends SGFScanner {
+        /**
+         * The number of currently open parentheses
+         */
+        private int depth;
+
+        /**
+         * Instantiates a new NestingScanner
+         * @param input any form of textual input
+         */
+        NestingScanner(Reader input) {
+            super(input);
+        }
+
+        @Override
+        public ScannedToken next() throws IOException {
+            final ScannedToken t = super.next();
+            if(t.getToken() == LPAR) {
+                depth++;
+            } else if(t.getToken() == RPAR && depth > 0) {
+                depth--;
+            }
+            return t;
+        }
+    }
+}
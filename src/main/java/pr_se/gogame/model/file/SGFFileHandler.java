@@ -9,11 +9,14 @@ import pr_se.gogame.model.ruleset.JapaneseRuleset;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.NoSuchFileException;
-import java.util.Iterator;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static pr_se.gogame.model.file.SGFToken.*;
@@ -63,325 +66,276 @@ public class SGFFileHandler implements FileHandler {
             throw new NullPointerException();
         }
 
-        final String terminatorString = "\n\n)";
-
         currentFile = file;
 
-        Iterator<History.HistoryNode> iter = game.getHistory().iterator();
-
-        try (FileWriter output = new FileWriter(file)) {
-            // Write file header
-
-            output.write(LPAR.getValue() + SEMICOLON.getValue());
-            output.write(String.format(FF.getValue(), 4));
-            output.write(String.format(GM.getValue(), 1));
-            output.write(String.format(SZ.getValue(), game.getSize()));
-            output.write( "\n\n");
-            output.write(String.format(HA.getValue(), game.getHandicap()));
-
-            /*
-             * NOTE: The reason why iter.hasNext() is never checked here is that History is guaranteed to always have at
-             * least its starting and terminating node (the latter ending the save process).
-             */
-
-            // Get first node in history and save its metadata
-            History.HistoryNode node =  iter.next();
-            output.write(getNodeMetaDataString(node));
-
-            // Write handicap positions (if any)
-            node = iter.next();
-            SGFToken t;
-
-            if(game.getHandicap() > 0) {
-                if(node.getSaveToken() == History.HistoryNode.AbstractSaveToken.HANDICAP) {
-                    t = SGFToken.ofHistoryNode(node);
-
-                    if(t == null) {
-                        throw new IllegalStateException("Can't get SGF token for node " + node);
-                    }
-                    output.write(String.format(t.getValue(), getStringFromCoords(node.getX(), node.getY())));
-                    node = iter.next();
-
-                    node = writeAttributeSequence(output, iter, node);
-
-                    output.write(getNodeMetaDataString(node.getPrev()));
-                    /*
-                     * Assertion: node is the first node after the attributeSequence.
-                     */
-                } else if(game.getHandicap() > 1) {
-                    throw new IllegalStateException("Handicap move expected but not found!");
-                }
-            }
-
-            output.write("\n");
-
-            String coords;
+        try (SGFWriter output = new SGFWriter(FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            output.write(game);
+        }
 
-            // Write game contents
-            while(node.getSaveToken() != History.HistoryNode.AbstractSaveToken.END_OF_HISTORY) {
+        return true;
+    }
 
-                if(node.getSaveToken() == History.HistoryNode.AbstractSaveToken.RESIGN || node.getSaveToken() == History.HistoryNode.AbstractSaveToken.SCORED_GAME) {
-                    node = iter.next();
-                    if(node.getSaveToken() != History.HistoryNode.AbstractSaveToken.END_OF_HISTORY) {
-                        throw new IllegalStateException("Game can't continue after resigning!");
-                    }
-                    break;
-                }
+    @Override
+    public boolean loadFile(File file) throws IOException, LoadingGameException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+        if(!file.exists()) {
+            throw new NoSuchFileException("File " + file + " does not exist!");
+        }
 
-                if(node.getSaveToken() == History.HistoryNode.AbstractSaveToken.HANDICAP) {
-                    throw new IllegalStateException("Can't save handicap after game has commenced!");
-                }
+        currentFile = file;
 
-                t = SGFToken.ofHistoryNode(node);
-                if (t == AE || t == null) {
-                    throw new IllegalStateException(node.getSaveToken() + " with color " + node.getColor() + " not supported!");
-                }
-                coords = node.getSaveToken() == History.HistoryNode.AbstractSaveToken.PASS ? "" : getStringFromCoords(node.getX(), node.getY());
+        // Loading replays every move, so the view only receives the net result instead of every single stone.
+        game.beginEventBatch();
+        try (FileReader input = new FileReader(file)) {
+            SGFScanner scanner = new SGFScanner(input);
 
-                output.write("\n" + SEMICOLON.getValue());
-                output.write(String.format(t.getValue(), coords));
+            loadGame(scanner, scanner.next());
 
-                node = iter.next();
-                if (t == SGFToken.ofHistoryNode(node) && t.hasMultiAttribs()) {
-                    node = writeAttributeSequence(output, iter, node);
-                }
+            ScannedToken t = scanner.next(); // Do this one last time so that we can check if we're at EOF.
 
-                output.write(getNodeMetaDataString(node.getPrev()));
+            if(t.getToken() != EOF) {
+                unexpected(EOF.getValue(), t);
             }
 
-
-            output.write(terminatorString);
-
+        } finally {
+            game.endEventBatch();
         }
 
         return true;
     }
 
     /**
-     * Returns a string consisting of the Marks and Comments for the current HistoryNode
-     * @param node the current node in the History
-     * @return a string consisting of the Marks and Comments for the current HistoryNode
+     * Loads a single game tree, from its opening to its closing parenthesis, into the Game. Any input following the
+     * game tree (e.g., further game trees of an SGF collection) is left to the caller.
+     * @param scanner the SGFScanner that the game tree is read from
+     * @param first the first ScannedToken of the game tree, which has already been read from the scanner
+     * @throws IOException if the input can't be read
+     * @throws LoadingGameException if the game tree is invalid or contains unsupported SGF features
      */
-    private String getNodeMetaDataString(History.HistoryNode node) {
-        StringBuilder sb = new StringBuilder();
+    void loadGame(SGFScanner scanner, ScannedToken first) throws IOException, LoadingGameException {
+        ScannedToken t = first;
 
-        for (Map.Entry<Position, MarkShape> e : node.getMarks().entrySet()) {
-            SGFToken t = switch (e.getValue()) {
-                case CIRCLE -> CR;
-                case SQUARE -> SQ;
-                case TRIANGLE -> TR;
-            };
-
-            sb.append(String.format(t.getValue(), getStringFromCoords(e.getKey().getX(), e.getKey().getY())));
+        if(t.getToken() != LPAR) {
+            unexpected(LPAR.getValue(), t);
         }
 
-        if (!node.getComment().isEmpty()) {
-            String reformattedComment = node.getComment().replace("\\", "\\\\").replace("]", "\\]").replace(":", "\\:");
-            sb.append(String.format(C.getValue(), reformattedComment));
-        }
-
-        return sb.toString();
-    }
-
-    /**
-     * @param output     the FileWriter that is to be written to
-     * @param iter       the Iterator over the History
-     * @param parentNode the parent Node of this attribute sequence
-     * @return the first node of a different AbstractSaveToken or color.
-     * @throws IOException if the FileWriter cannot be written to
-     */
-    private History.HistoryNode writeAttributeSequence(FileWriter output, Iterator<History.HistoryNode> iter, History.HistoryNode parentNode) throws IOException {
-        History.HistoryNode n = parentNode;
-
-        do {
-            output.write(String.format(LONE_ATTRIBUTE.getValue(), getStringFromCoords(n.getX(), n.getY())));
-            n = iter.next();
-        } while(n.getSaveToken() == parentNode.getSaveToken() && n.getColor() == parentNode.getColor());
+        t = scanner.next();
 
-        return n;
-    }
-
-    @Override
-    public boolean loadFile(File file) throws IOException, LoadingGameException {
-        if(file == null) {
-            throw new NullPointerException();
-        }
-        if(!file.exists()) {
-            throw new NoSuchFileException("File " + file + " does not exist!");
+        if(t.getToken() != SEMICOLON) {
+            unexpected(SEMICOLON.getValue(), t);
         }
 
-        currentFile = file;
+        int size = -1;
+        StoneColor winner = null;
 
-        try (FileReader input = new FileReader(file)) {
-            SGFScanner scanner = new SGFScanner(input);
-
-            ScannedToken t = scanner.next();
+        loop:
+        for(;;) {
+            t = scanner.next();
 
-            if(t.getToken() != LPAR) {
-                unexpected(LPAR.getValue(), t);
-            }
+            switch (t.getToken()) {
+                case FF:
+                    if (Integer.parseInt(t.getAttributeValue()) != 4) {
+                        throw new LoadingGameException("Illegal SGF version! Must be 4 but was '" + t.getAttributeValue() + "'", t);
+                    }
+                    break;
 
-            t = scanner.next();
+                case GM:
+                    if (Integer.parseInt(t.getAttributeValue()) != 1) {
+                        throw new LoadingGameException("SGF file is for wrong game! Must be 1 but is '" + t.getAttributeValue() + "'", t);
+                    }
+                    break;
 
-            if(t.getToken() != SEMICOLON) {
-                unexpected(SEMICOLON.getValue(), t);
-            }
+                case SZ:
+                    size = Integer.parseInt(t.getAttributeValue());
+                    if(size < Game.MIN_CUSTOM_BOARD_SIZE || size > Game.MAX_CUSTOM_BOARD_SIZE) {
+                        throw new LoadingGameException("Invalid size '" + size + "' in SGF file!", t);
+                    }
+                    break;
 
-            int size = -1;
+                case RE:
+                    winner = parseWinner(t.getAttributeValue());
+                    break;
 
-            loop:
-            for(;;) {
-                t = scanner.next();
+                case PB, PW, KM, GAME_INFO:
+                    // Other game info (player names, date, ...) has no influence on the game and is skipped.
+                    break;
 
-                switch (t.getToken()) {
-                    case FF:
-                        if (Integer.parseInt(t.getAttributeValue()) != 4) {
-                            throw new LoadingGameException("Illegal SGF version! Must be 4 but was '" + t.getAttributeValue() + "'", t);
-                        }
-                        break;
+                case LPAR:
+                    throw new LoadingGameException("Line " + t.getLine() + ", col " + t.getCol() + ": This SGF file has variations of its game info, a feature currently unsupported by this program.", t);
 
-                    case GM:
-                        if (Integer.parseInt(t.getAttributeValue()) != 1) {
-                            throw new LoadingGameException("SGF file is for wrong game! Must be 1 but is '" + t.getAttributeValue() + "'", t);
-                        }
-                        break;
+                case HA, SEMICOLON, RPAR:
+                    break loop;
 
-                    case SZ:
-                        size = Integer.parseInt(t.getAttributeValue());
-                        if(size < Game.MIN_CUSTOM_BOARD_SIZE || size > Game.MAX_CUSTOM_BOARD_SIZE) {
-                            throw new LoadingGameException("Invalid size '" + size + "' in SGF file!", t);
-                        }
-                        break;
+                default:
+                    unexpected("Game info tokens", t);
+            }
+        }
 
-                    case LPAR:
-                        throw new LoadingGameException("Line " + t.getLine() + ", col " + t.getCol() + ": This SGF file has multiple branches, a feature currently unsupported by this program.", t);
+        Position decodedCoords;
+        String currentComment = null;
+        int handicap = 0;
 
-                    case HA, SEMICOLON, RPAR:
-                        break loop;
+        if(t.getToken() == HA) {
+            handicap = Integer.parseInt(t.getAttributeValue());
+            if (handicap < Game.MIN_HANDICAP_AMOUNT || handicap > Game.MAX_HANDICAP_AMOUNT) {
+                throw new LoadingGameException("Invalid handicap amount of " + handicap + "!", t);
+            }
+            t = scanner.next();
 
-                    default:
-                        unexpected("Game info tokens", t);
+            // Game info following the handicap comes before its stones.
+            for(; isGameInfo(t.getToken()); t = scanner.next()) {
+                if(t.getToken() == RE) {
+                    winner = parseWinner(t.getAttributeValue());
                 }
             }
+        }
 
-            Position decodedCoords;
-            String currentComment = null;
-            int handicap = 0;
+        if(handicap > 0) {
+            StoneColor handicapColor;
 
-            if(t.getToken() == HA) {
-                handicap = Integer.parseInt(t.getAttributeValue());
-                if (handicap < Game.MIN_HANDICAP_AMOUNT || handicap > Game.MAX_HANDICAP_AMOUNT) {
-                    throw new LoadingGameException("Invalid handicap amount of " + handicap + "!", t);
-                }
-                t = scanner.next();
-            }
+            if(t.getToken() == AB || t.getToken() == AW) {
+                handicapColor = correspondingColors.get(t.getToken());
+                game.newGame(handicapColor, size, handicap, new JapaneseRuleset(), false); // This is to ensure that default handicap positions are still displayed, without stones being set yet.
+                do {
+                    decodedCoords = getCoordsFromString(t);
+                    game.placeHandicapPosition(decodedCoords.getX(), decodedCoords.getY(), true, handicapColor);
 
-            if(handicap > 0) {
-                StoneColor handicapColor;
-
-                if(t.getToken() == AB || t.getToken() == AW) {
-                    handicapColor = correspondingColors.get(t.getToken());
-                    game.newGame(handicapColor, size, handicap, new JapaneseRuleset(), false); // This is to ensure that default handicap positions are still displayed, without stones being set yet.
-                    do {
-                        decodedCoords = getCoordsFromString(t.getAttributeValue());
-                        game.placeHandicapPosition(decodedCoords.getX(), decodedCoords.getY(), true, handicapColor);
-
-                        t = scanner.next();
-                    } while (t.getToken() == LONE_ATTRIBUTE);
-                } else if(handicap == 1) {
-                    game.newGame(BLACK, size, handicap, new JapaneseRuleset(), false); // This is to ensure that default handicap positions are still displayed, without stones being set yet.
-                } else {
-                    unexpected(AB.getValue() + " or " + AW.getValue(), t);
-                }
-            } else {
+                    t = scanner.next();
+                } while (t.getToken() == LONE_ATTRIBUTE);
+            } else if(handicap == 1) {
                 game.newGame(BLACK, size, handicap, new JapaneseRuleset(), false); // This is to ensure that default handicap positions are still displayed, without stones being set yet.
+            } else {
+                unexpected(AB.getValue() + " or " + AW.getValue(), t);
             }
+        } else {
+            game.newGame(BLACK, size, handicap, new JapaneseRuleset(), false); // This is to ensure that default handicap positions are still displayed, without stones being set yet.
+        }
 
-            Map<Position, MarkShape> marks = new LinkedHashMap<>();
+        Map<Position, MarkShape> marks = new LinkedHashMap<>();
 
-            if(t.getToken() != RPAR) {
-                StoneColor addStoneColor = null;
+        // The HistoryNodes at which the currently open variations branch off
+        final Deque<History.HistoryNode> branches = new ArrayDeque<>();
 
-                loop2:
-                for (;;) {
-                    switch (t.getToken()) {
-                        case SEMICOLON, RPAR:
-                            if(currentComment != null) {
-                                game.setComment(currentComment);
-                            }
-                            currentComment = null;
-                            marks.forEach((key, value) -> game.mark(key.getX(), key.getY(), value));
-                            marks = new LinkedHashMap<>();
-                            if(t.getToken() == RPAR) {
+        if(t.getToken() != RPAR) {
+            StoneColor addStoneColor = null;
+
+            loop2:
+            for (;;) {
+                switch (t.getToken()) {
+                    case SEMICOLON, LPAR, RPAR:
+                        if(currentComment != null) {
+                            game.setComment(currentComment);
+                        }
+                        currentComment = null;
+                        marks.forEach((key, value) -> game.mark(key.getX(), key.getY(), value));
+                        marks = new LinkedHashMap<>();
+                        if(t.getToken() == LPAR) {
+                            branches.push(game.getHistory().getCurrentNode());
+                        } else if(t.getToken() == RPAR) {
+                            if(branches.isEmpty()) {
                                 break loop2;
                             }
-                            break;
-
-                        case AB, AW:
-                            addStoneColor = correspondingColors.get(t.getToken());
-                            decodedCoords = getCoordsFromString(t.getAttributeValue());
-                            game.setSetupMode(true);
-                            game.placeSetupStone(decodedCoords.getX(), decodedCoords.getY(), addStoneColor);
-                            break;
-
-                        case LONE_ATTRIBUTE:
-                            if (addStoneColor == null) {
-                                throw new LoadingGameException("Stray lone attribute encountered at line " + t.getLine() + ", col " + t.getCol(), t);
-                            }
-                            decodedCoords = getCoordsFromString(t.getAttributeValue());
-                            game.placeSetupStone(decodedCoords.getX(), decodedCoords.getY(), addStoneColor);
-                            break;
-
-                        case B, W:
-                            StoneColor c = correspondingColors.get(t.getToken());
-                            game.setSetupMode(false);
-                            if (t.getAttributeValue().isEmpty()) {
-                                game.pass();
-                            } else {
-                                decodedCoords = getCoordsFromString(t.getAttributeValue());
-                                game.playMove(decodedCoords.getX(), decodedCoords.getY(), c);
-                            }
-                            break;
+                            // Go back to where the variation branched off, so that the next one starts there
+                            game.getHistory().goToNode(branches.pop());
+                        }
+                        break;
+
+                    case AB, AW:
+                        addStoneColor = correspondingColors.get(t.getToken());
+                        decodedCoords = getCoordsFromString(t);
+                        game.setSetupMode(true);
+                        game.placeSetupStone(decodedCoords.getX(), decodedCoords.getY(), addStoneColor);
+                        break;
+
+                    case LONE_ATTRIBUTE:
+                        if (addStoneColor == null) {
+                            throw new LoadingGameException("Stray lone attribute encountered at line " + t.getLine() + ", col " + t.getCol(), t);
+                        }
+                        decodedCoords = getCoordsFromString(t);
+                        game.placeSetupStone(decodedCoords.getX(), decodedCoords.getY(), addStoneColor);
+                        break;
 
-                        case C:
-                            currentComment = t.getAttributeValue();
-                            break;
+                    case B, W:
+                        StoneColor c = correspondingColors.get(t.getToken());
+                        game.setSetupMode(false);
+                        if (t.getAttributeValue().isEmpty()) {
+                            game.pass();
+                        } else {
+                            decodedCoords = getCoordsFromString(t);
+                            game.playMove(decodedCoords.getX(), decodedCoords.getY(), c);
+                        }
+                        break;
 
-                        case CR:
-                            decodedCoords = getCoordsFromString(t.getAttributeValue());
-                            marks.put(new Position(decodedCoords.getX(), decodedCoords.getY()), MarkShape.CIRCLE);
-                            break;
+                    case C:
+                        currentComment = t.getAttributeValue();
+                        break;
 
-                        case SQ:
-                            decodedCoords = getCoordsFromString(t.getAttributeValue());
-                            marks.put(new Position(decodedCoords.getX(), decodedCoords.getY()), MarkShape.SQUARE);
-                            break;
+                    case RE:
+                        winner = parseWinner(t.getAttributeValue());
+                        break;
 
-                        case TR:
-                            decodedCoords = getCoordsFromString(t.getAttributeValue());
-                            marks.put(new Position(decodedCoords.getX(), decodedCoords.getY()), MarkShape.TRIANGLE);
-                            break;
+                    case PB, PW, KM, GAME_INFO:
+                        break;
 
-                        case LPAR:
-                            throw new LoadingGameException("Line " + t.getLine() + ", col " + t.getCol() + ": This SGF file has multiple branches, a feature currently unsupported by this program.", t);
+                    case CR:
+                        decodedCoords = getCoordsFromString(t);
+                        marks.put(new Position(decodedCoords.getX(), decodedCoords.getY()), MarkShape.CIRCLE);
+                        break;
 
-                        default:
-                            throw new LoadingGameException("Unsupported " + t, t);
-                    }
+                    case SQ:
+                        decodedCoords = getCoordsFromString(t);
+                        marks.put(new Position(decodedCoords.getX(), decodedCoords.getY()), MarkShape.SQUARE);
+                        break;
 
-                    t = scanner.next();
-                }
-            }
+                    case TR:
+                        decodedCoords = getCoordsFromString(t);
+                        marks.put(new Position(decodedCoords.getX(), decodedCoords.getY()), MarkShape.TRIANGLE);
+                        break;
 
-            t = scanner.next(); // Do this one last time so that we can check if we're at EOF.
+                    default:
+                        throw new LoadingGameException("Unsupported " + t, t);
+                }
 
-            if(t.getToken() != EOF) {
-                unexpected(EOF.getValue(), t);
+                t = scanner.next();
             }
+        }
 
+        // Like a file without variations, the game ends up at the end of its main line (i.e., the first variations).
+        History.HistoryNode mainLine = game.getHistory().iterator().next();
+        while(!mainLine.getChildren().isEmpty()) {
+            mainLine = mainLine.getChildren().get(0);
         }
+        game.getHistory().goToNode(mainLine);
 
-        return true;
+        // The result of the game is kept even though the game hasn't been ended in the History.
+        if(winner != null) {
+            game.getGameResult().setWinner(winner);
+        }
+    }
+
+    /**
+     * Checks whether the supplied SGFToken is a game info property without influence on the game
+     * @param token the SGFToken to be checked
+     * @return whether the token is PB, PW, KM, RE or another game info property
+     */
+    static boolean isGameInfo(SGFToken token) {
+        return token == PB || token == PW || token == KM || token == RE || token == GAME_INFO;
+    }
+
+    /**
+     * Determines the winner from the value of an RE property (e.g., "B+R" or "W+2.5")
+     * @param result the value of the RE property
+     * @return the winner, or null if the game was a draw, void or its result is unknown
+     */
+    static StoneColor parseWinner(String result) {
+        if(result.startsWith("B+")) {
+            return BLACK;
+        } else if(result.startsWith("W+")) {
+            return WHITE;
+        }
+        return null;
     }
 
     /**
@@ -396,21 +350,16 @@ public class SGFFileHandler implements FileHandler {
     }
 
     /**
-     * Calculates the coordinates for the SGF File
-     * @param x column of Stone
-     * @param y row of Stone
-     * @return The x and y-axis in letter format
-     */
-    private static String getStringFromCoords(int x, int y) {
-        return "" + (char) (x + 97) + (char) (97 + y);
-    }
-
-    /**
-     * Parses the supplied SGF coordinate letters and returns the corresponding Position
-     * @param s SGF coordinate letters to be parsed
+     * Parses the SGF coordinate letters of the supplied ScannedToken and returns the corresponding Position
+     * @param t the ScannedToken whose attribute value contains the SGF coordinate letters to be parsed
      * @return the Position denoted by the supplied letters
+     * @throws LoadingGameException if the attribute value doesn't consist of two lowercase letters
      */
-    private static Position getCoordsFromString(String s) {
+    private static Position getCoordsFromString(ScannedToken t) throws LoadingGameException {
+        final String s = t.getAttributeValue();
+        if(s.length() != 2 || s.charAt(0) < 'a' || s.charAt(0) > 'z' || s.charAt(1) < 'a' || s.charAt(1) > 'z') {
+            throw new LoadingGameException("Line " + t.getLine() + ", col " + t.getCol() + ": Invalid coordinates '" + s + "'", t);
+        }
         return new Position(s.charAt(0) - 97, s.charAt(1) - 97);
     }
 
@@ -0,0 +1,113 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.MOVE;
+import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.PASS;
+
+/**
+ * Loads and scores many SGF files in parallel. Every file is loaded into its own Game (with its own Board, History and
+ * Ruleset), as the model keeps no shared mutable state, so the files can be processed on a ForkJoinPool without any
+ * further synchronization. The results are returned in the order of the supplied files, regardless of the order in
+ * which they were finished.
+ */
+public class SGFIngestionService {
+    /**
+     * The number of threads used for ingesting
+     */
+    private final int parallelism;
+
+    /**
+     * Creates a new SGFIngestionService that uses all available processors
+     */
+    public SGFIngestionService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new SGFIngestionService that uses the supplied number of threads
+     * @param parallelism the number of threads used for ingesting
+     */
+    public SGFIngestionService(int parallelism) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1 but was " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads and scores all SGF files in the supplied directory and its subdirectories
+     * @param directory the directory containing the SGF files
+     * @return one IngestionResult per file, sorted by path
+     * @throws IOException if the directory can't be read
+     */
+    public List<IngestionResult> ingest(Path directory) throws IOException {
+        if(directory == null) {
+            throw new NullPointerException();
+        }
+
+        return ingest(SGFBatchReplay.findSGFFiles(directory));
+    }
+
+    /**
+     * Loads and scores the supplied SGF files
+     * @param files the SGF files
+     * @return one IngestionResult per file, in the same order as the files
+     */
+    public List<IngestionResult> ingest(List<Path> files) {
+        if(files == null) {
+            throw new NullPointerException();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<IngestionResult>> tasks = files.stream()
+                .map(f -> pool.submit(() -> ingestFile(f)))
+                .toList();
+
+            return tasks.stream()
+                .map(ForkJoinTask::join)
+                .toList();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Loads the supplied SGF file into a new Game and scores it (unless the game has already ended)
+     * @param file the SGF file
+     * @return the IngestionResult for the file
+     */
+    static IngestionResult ingestFile(Path file) {
+        Game game = new Game();
+
+        try {
+            game.getFileHandler().loadFile(file.toFile());
+        } catch (IOException | LoadingGameException | RuntimeException e) {
+            return new IngestionResult(file, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        if(game.getGameState() == GameInterface.GameState.RUNNING) {
+            game.scoreGame();
+        }
+
+        int moveCount = 0;
+        for (History.HistoryNode n : game.getHistory()) {
+            if (n.getSaveToken() == MOVE || n.getSaveToken() == PASS) {
+                moveCount++;
+            }
+        }
+
+        return new IngestionResult(file, moveCount, game.getGameResult().getWinner(), game.getGameResult().getScore(StoneColor.BLACK), game.getGameResult().getScore(StoneColor.WHITE));
+    }
+}
@@ -0,0 +1,266 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.TerritoryScanner;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.NoSuchFileException;
+
+import static pr_se.gogame.model.file.SGFToken.*;
+
+/**
+ * Headless replay of SGF files: Reads the same subset of SGF as the SGFFileHandler, but plays the moves directly on a
+ * BitBoard instead of a Game, so neither UndoableCommands nor a History are built and no GameEvents are fired. Of the
+ * variations, only the main line (i.e., the first variation at every branch) is replayed, and the others are skipped.
+ * This makes it suitable for validating large archives of games. Moves are validated according to the JapaneseRuleset
+ * (no suicide, no immediate ko recapture); an illegal move makes the whole file invalid. The final position is scored
+ * by a TerritoryScanner, which is reused for all games replayed by the same instance, so instances are not thread-safe.
+ */
+public class SGFReplayer {
+    /**
+     * Scores the final positions of the replayed games
+     */
+    private final TerritoryScanner territoryScanner = new TerritoryScanner();
+
+    /**
+     * Replays the supplied SGF file
+     * @param file the SGF file to be replayed
+     * @return the ReplayResult containing the final position
+     * @throws NoSuchFileException If the file does not exist
+     * @throws IOException If the file can't be read
+     * @throws LoadingGameException If the file is invalid or contains unsupported SGF features or illegal moves
+     */
+    public ReplayResult replay(File file) throws IOException, LoadingGameException {
+        if(file == null) {
+            throw new NullPointerException();
+        }
+        if(!file.exists()) {
+            throw new NoSuchFileException("File " + file + " does not exist!");
+        }
+
+        try (FileReader input = new FileReader(file)) {
+            return replay(input);
+        }
+    }
+
+    /**
+     * Replays an SGF game from the supplied input
+     * @param input any form of textual input containing an SGF game
+     * @return the ReplayResult containing the final position
+     * @throws IOException If the input can't be read
+     * @throws LoadingGameException If the input is invalid or contains unsupported SGF features or illegal moves
+     */
+    public ReplayResult replay(Reader input) throws IOException, LoadingGameException {
+        SGFScanner scanner = new SGFScanner(input);
+
+        final ReplayResult ret = replayGame(scanner, scanner.next());
+        expect(EOF, scanner.next());
+
+        return ret;
+    }
+
+    /**
+     * Replays a single game tree, from its opening to its closing parenthesis. Any input following the game tree (e.g.,
+     * further game trees of an SGF collection) is left to the caller.
+     * @param scanner the SGFScanner that the game tree is read from
+     * @param first the first ScannedToken of the game tree, which has already been read from the scanner
+     * @return the ReplayResult containing the final position
+     * @throws IOException If the input can't be read
+     * @throws LoadingGameException If the game tree is invalid or contains unsupported SGF features or illegal moves
+     */
+    ReplayResult replayGame(SGFScanner scanner, ScannedToken first) throws IOException, LoadingGameException {
+        ScannedToken t = first;
+        expect(LPAR, t);
+        t = scanner.next();
+        expect(SEMICOLON, t);
+
+        int size = -1;
+
+        loop:
+        for(;;) {
+            t = scanner.next();
+
+            switch (t.getToken()) {
+                case FF -> {
+                    if (parseNumber(t) != 4) {
+                        throw new LoadingGameException("Illegal SGF version! Must be 4 but was '" + t.getAttributeValue() + "'", t);
+                    }
+                }
+                case GM -> {
+                    if (parseNumber(t) != 1) {
+                        throw new LoadingGameException("SGF file is for wrong game! Must be 1 but is '" + t.getAttributeValue() + "'", t);
+                    }
+                }
+                case SZ -> {
+                    size = parseNumber(t);
+                    if(size < Game.MIN_CUSTOM_BOARD_SIZE || size > Game.MAX_CUSTOM_BOARD_SIZE) {
+                        throw new LoadingGameException("Invalid size '" + size + "' in SGF file!", t);
+                    }
+                }
+                case PB, PW, KM, RE, GAME_INFO -> {
+                    // Other game info has no influence on the position.
+                }
+                case HA, SEMICOLON, RPAR -> {
+                    break loop;
+                }
+                default -> throw new LoadingGameException("Expected game info tokens but parsed " + t, t);
+            }
+        }
+
+        if(size < 0) {
+            throw new LoadingGameException("Missing board size in SGF file!", t);
+        }
+
+        final BitBoard board = new BitBoard(size);
+
+        int handicap = 0;
+        if(t.getToken() == HA) {
+            handicap = parseNumber(t);
+            if (handicap < Game.MIN_HANDICAP_AMOUNT || handicap > Game.MAX_HANDICAP_AMOUNT) {
+                throw new LoadingGameException("Invalid handicap amount of " + handicap + "!", t);
+            }
+            do {
+                t = scanner.next();
+            } while(SGFFileHandler.isGameInfo(t.getToken()));
+
+            if(handicap > 1 && t.getToken() != AB && t.getToken() != AW) {
+                throw new LoadingGameException("Expected " + AB.getValue() + " or " + AW.getValue() + " but parsed " + t, t);
+            }
+        }
+
+        int moveCount = 0;
+        int capturedByBlack = 0;
+        int capturedByWhite = 0;
+
+        // Same bookkeeping as the JapaneseRuleset: The hashes of the positions after the last two moves.
+        long olderHash = 0;
+        long lastHash = 0;
+
+        StoneColor addStoneColor = null;
+
+        // The number of variations that the main line has entered
+        int depth = 0;
+
+        while(t.getToken() != RPAR) {
+            switch (t.getToken()) {
+                case SEMICOLON, C, CR, SQ, TR, PB, PW, KM, RE, GAME_INFO -> {
+                    // Neither node boundaries nor comments, marks and game info have any influence on the position.
+                }
+                case AB, AW -> {
+                    addStoneColor = t.getToken() == AB ? StoneColor.BLACK : StoneColor.WHITE;
+                    board.play(getPoint(board, t), addStoneColor, true, false);
+                }
+                case LONE_ATTRIBUTE -> {
+                    if (addStoneColor == null) {
+                        throw new LoadingGameException("Stray lone attribute encountered at line " + t.getLine() + ", col " + t.getCol(), t);
+                    }
+                    board.play(getPoint(board, t), addStoneColor, true, false);
+                }
+                case B, W -> {
+                    addStoneColor = null;
+                    moveCount++;
+                    if (!isPass(board, t)) {
+                        final StoneColor c = t.getToken() == B ? StoneColor.BLACK : StoneColor.WHITE;
+                        final int captured = board.play(getPoint(board, t), c, false, false);
+
+                        if (captured == BitBoard.ILLEGAL || board.getPositionHash() == olderHash) {
+                            throw new LoadingGameException("Illegal move " + t, t);
+                        }
+
+                        if (c == StoneColor.BLACK) {
+                            capturedByBlack += captured;
+                        } else {
+                            capturedByWhite += captured;
+                        }
+                        olderHash = lastHash;
+                        lastHash = board.getPositionHash();
+                    }
+                }
+                case LPAR -> depth++;
+                default -> throw new LoadingGameException("Unsupported " + t, t);
+            }
+
+            t = scanner.next();
+        }
+
+        // The main line ends with the first closing parenthesis. The other variations and the parentheses enclosing
+        // the main line are skipped up to the end of the game tree.
+        while(depth > 0) {
+            t = scanner.next();
+            if(t.getToken() == LPAR) {
+                depth++;
+            } else if(t.getToken() == RPAR) {
+                depth--;
+            } else if(t.getToken() == EOF) {
+                expect(RPAR, t);
+            }
+        }
+
+        territoryScanner.scan(board);
+        return new ReplayResult(board, handicap, moveCount, capturedByBlack, capturedByWhite, territoryScanner);
+    }
+
+    /**
+     * Checks whether the supplied move token denotes a pass, which is either an empty attribute or, on boards of up to
+     * 19x19, the coordinates "tt" (as per the SGF specification)
+     * @param board the board that the move refers to
+     * @param t the ScannedToken containing the move
+     * @return whether the move is a pass
+     */
+    private static boolean isPass(BitBoard board, ScannedToken t) {
+        return t.getAttributeValue().isEmpty() || (board.getSize() <= 19 && t.getAttributeValue().equals("tt"));
+    }
+
+    /**
+     * Converts the SGF coordinate letters of the supplied ScannedToken to a point on the supplied board
+     * @param board the board that the coordinates refer to
+     * @param t the ScannedToken containing the coordinates
+     * @return the index of the point denoted by the coordinates
+     * @throws LoadingGameException if the coordinates are malformed or outside the board
+     */
+    private static int getPoint(BitBoard board, ScannedToken t) throws LoadingGameException {
+        final String s = t.getAttributeValue();
+        if (s.length() != 2) {
+            throw new LoadingGameException("Invalid coordinates in " + t, t);
+        }
+
+        final int x = s.charAt(0) - 'a';
+        final int y = s.charAt(1) - 'a';
+        if (x < 0 || y < 0 || x >= board.getSize() || y >= board.getSize()) {
+            throw new LoadingGameException("Coordinates out of bounds in " + t, t);
+        }
+
+        return board.toPoint(x, y);
+    }
+
+    /**
+     * Parses the attribute of the supplied ScannedToken as a number
+     * @param t the ScannedToken containing the number
+     * @return the parsed number
+     * @throws LoadingGameException if the attribute is not a number
+     */
+    private static int parseNumber(ScannedToken t) throws LoadingGameException {
+        try {
+            return Integer.parseInt(t.getAttributeValue().trim());
+        } catch (NumberFormatException e) {
+            throw new LoadingGameException("Expected a number but parsed " + t, t);
+        }
+    }
+
+    /**
+     * Throws a LoadingGameException if the supplied ScannedToken doesn't contain the expected SGFToken
+     * @param expected the SGFToken that is expected
+     * @param actual the ScannedToken that was actually read
+     * @throws LoadingGameException if the tokens differ
+     */
+    private static void expect(SGFToken expected, ScannedToken actual) throws LoadingGameException {
+        if(actual.getToken() != expected) {
+            throw new LoadingGameException("Expected " + expected.getValue() + " but parsed " + actual, actual);
+        }
+    }
+}
@@ -57,116 +57,56 @@ public class SGFScanner {
             getNextChar();
         } while(Character.isWhitespace(ch));
 
-        SGFToken t = null;
+        SGFToken t;
         String attribute = "";
 
-        boolean hasAttribute = true;
-
         switch (ch) {
             case '[' -> {
                 t = LONE_ATTRIBUTE;
                 attribute = getAttribute();
-                hasAttribute = false;
-            }
-            case ';' -> {
-                t = SEMICOLON;
-                hasAttribute = false;
-            }
-            case '(' -> {
-                t = LPAR;
-                hasAttribute = false;
-            }
-            case ')' -> {
-                t = RPAR;
-                hasAttribute = false;
-            }
-            case 'A' -> {
-                getNextChar();
-                if (ch == 'B') {
-                    t = AB;
-                } else if (ch == 'W') {
-                    t = AW;
-                } else if (ch == 'E') {
-                    t = AE;
-                } else {
-                    unexpected('B', 'W', 'E');
-                }
             }
-            case 'B' -> t = B;
-            case 'W' -> t = W;
-            case 'C' -> {
-                t = C;
-                getNextChar();
-                if (ch == 'R') {
-                    t = CR;
-                    getNextChar();
-                }
+            case ';' -> t = SEMICOLON;
+            case '(' -> t = LPAR;
+            case ')' -> t = RPAR;
+            case (char) -1 -> t = SGFToken.EOF;
+            default -> {
+                t = scanProperty();
                 attribute = getAttribute();
-                hasAttribute = false;
-            }
-            case 'F' -> {
-                getNextChar();
-                expect('F');
-                t = FF;
-            }
-            case 'G' -> {
-                getNextChar();
-                expect('M');
-                t = GM;
-            }
-            case 'H' -> {
-                getNextChar();
-                expect('A');
-                t = HA;
-            }
-            case 'K' -> {
-                getNextChar();
-                expect('M');
-                t = KM;
-            }
-            case 'M' -> {
-                getNextChar();
-                expect('A');
-                t = MA;
-            }
-            case 'P' -> {
-                getNextChar();
-                if (ch == 'B') {
-                    t = PB;
-                } else if (ch == 'W') {
-                    t = PW;
-                } else {
-                    unexpected('B', 'W');
-                }
             }
-            case 'S' -> {
-                getNextChar();
-                if (ch == 'Z') {
-                    t = SZ;
-                } else if (ch == 'Q') {
-                    t = SQ;
-                } else {
-                    unexpected('Q', 'Z');
-                }
-            }
-            case 'T' -> {
-                getNextChar();
-                expect('R');
-                t = TR;
-            }
-            case (char) -1 -> {
-                t = SGFToken.EOF;
-                hasAttribute = false;
-            }
-            default -> throw new IOException("Invalid token '" + ch + "'!");
         }
 
-        if(hasAttribute) {
+        return new ScannedToken(t, attribute, line, col);
+    }
+
+    /**
+     * Scans the identifier of a property, which consists of one or two uppercase letters, starting with the current
+     * character
+     * @return the SGFToken of the property
+     * @throws IOException if the identifier is invalid or belongs to an unknown property. An unknown property is
+     * skipped together with its (first) value, so that scanning can continue after it.
+     */
+    private SGFToken scanProperty() throws IOException {
+        final char first = ch;
+        if(first < 'A' || first > 'Z') {
+            throw new SyntaxException("Invalid token '" + first + "' on line " + line + ", col " + col);
+        }
+
+        getNextChar();
+        char second = 0;
+        if(ch >= 'A' && ch <= 'Z') {
+            second = ch;
             getNextChar();
-            attribute = getAttribute();
         }
 
-        return new ScannedToken(t, attribute, line, col);
+        final SGFToken ret = SGFToken.ofProperty(first, second);
+        if(ret == null) {
+            final String message = "Invalid token '" + first + (second == 0 ? "" : "" + second) + "' on line " + line + ", col " + col;
+            if(ch == '[') {
+                getAttribute();
+            }
+            throw new SyntaxException(message);
+        }
+        return ret;
     }
 
     /**
@@ -190,7 +130,7 @@ public class SGFScanner {
         for(int i = 1; i < expected.length; i++) {
             sb.append("or '").append(expected[i]).append("'");
         }
-        throw new IOException("Expected " + sb + " but scanned '" + ch + "' on line " + line + ", col " + col);
+        throw new SyntaxException("Expected " + sb + " but scanned '" + ch + "' on line " + line + ", col " + col);
     }
 
     /**
@@ -235,4 +175,18 @@ public class SGFScanner {
             line++;
         }
     }
+
+    /**
+     * IOException thrown if the input could be read but contains an unexpected character. Scanning may be continued
+     * after the offending character.
+     */
+    static class SyntaxException extends IOException {
+        /**
+         * Creates a new SyntaxException
+         * @param message Message for the exception
+         */
+        SyntaxException(String message) {
+            super(message);
+        }
+    }
 }
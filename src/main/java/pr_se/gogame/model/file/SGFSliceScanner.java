@@ -0,0 +1,484 @@
+package pr_se.gogame.model.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import static pr_se.gogame.model.file.SGFToken.*;
+
+/**
+ * Streaming scanner for bulk SGF input, recognizing the same tokens as the SGFScanner. Instead of creating a
+ * ScannedToken with a String attribute for every token, it works like a cursor: next() advances to the next token, and
+ * the token's attribute is exposed as a slice (offset and length) of the input, which can be inspected byte by byte
+ * (e.g., coordinates via getAttributeX() and getAttributeY(), numbers via getAttributeInt()) without any allocation.
+ * Only getAttributeValue() and toScannedToken() create Strings, e.g., for comments or error messages.<br>
+ * The input is read as bytes from a ByteBuffer or from a FileChannel, which is memory-mapped in windows of
+ * WINDOW_SIZE bytes, so files larger than 2 GiB can be scanned as well. Attribute slices are only valid until the next
+ * call of next(), and a single token must not be longer than a window. Attributes are decoded as UTF-8; since SGF's
+ * special characters are all ASCII, they can never be part of a multibyte character.
+ */
+public class SGFSliceScanner {
+    /**
+     * Default size of the windows in which a FileChannel is memory-mapped
+     */
+    public static final int WINDOW_SIZE = 1 << 28;
+
+    /**
+     * Convenience-variable for detecting the end of input
+     */
+    private static final int EOF_CHAR = -1;
+
+    /**
+     * The mapped file, or null if a ByteBuffer is scanned
+     */
+    private final FileChannel channel;
+
+    /**
+     * The total length of the input in bytes
+     */
+    private final long length;
+
+    /**
+     * The size of the windows in which the channel is mapped
+     */
+    private final int windowSize;
+
+    /**
+     * The currently mapped part of the input (or the whole ByteBuffer)
+     */
+    private ByteBuffer window;
+
+    /**
+     * The offset of the window within the input
+     */
+    private long windowStart;
+
+    /**
+     * The offset of the next character to be read
+     */
+    private long pos;
+
+    /**
+     * The offset at which the current token starts, which must stay within the window while the token is scanned
+     */
+    private long tokenStart;
+
+    /**
+     * The currently read character, or EOF_CHAR
+     */
+    private int ch;
+
+    /**
+     * The current column in the scanned input
+     */
+    private int col = 0;
+
+    /**
+     * The current line in the scanned input
+     */
+    private int line = 1;
+
+    /**
+     * The last scanned SGFToken
+     */
+    private SGFToken token;
+
+    /**
+     * The offset of the last scanned token's attribute (inside the [] brackets) within the input
+     */
+    private long attributeOffset;
+
+    /**
+     * The length of the last scanned token's attribute in bytes, without any conversions
+     */
+    private int attributeLength;
+
+    /**
+     * The line that the last scanned token started on
+     */
+    private int tokenLine;
+
+    /**
+     * The column that the last scanned token started on
+     */
+    private int tokenCol;
+
+    /**
+     * Instantiates a new SGFSliceScanner for the remaining bytes of the supplied ByteBuffer. The ByteBuffer's position
+     * isn't changed.
+     * @param input the SGF input, e.g., a MappedByteBuffer
+     */
+    public SGFSliceScanner(ByteBuffer input) {
+        if(input == null) {
+            throw new NullPointerException();
+        }
+
+        this.channel = null;
+        this.window = input.slice();
+        this.length = window.limit();
+        this.windowSize = window.limit();
+    }
+
+    /**
+     * Instantiates a new SGFSliceScanner for the whole file of the supplied FileChannel, which is memory-mapped in
+     * windows of WINDOW_SIZE bytes
+     * @param channel the channel of the SGF file, opened for reading
+     * @throws IOException if the channel can't be mapped
+     */
+    public SGFSliceScanner(FileChannel channel) throws IOException {
+        this(channel, WINDOW_SIZE);
+    }
+
+    /**
+     * Instantiates a new SGFSliceScanner for the whole file of the supplied FileChannel, which is memory-mapped in
+     * windows of the supplied size
+     * @param channel the channel of the SGF file, opened for reading
+     * @param windowSize the size of the mapped windows in bytes, which limits the length of a token
+     * @throws IOException if the channel can't be mapped
+     */
+    SGFSliceScanner(FileChannel channel, int windowSize) throws IOException {
+        if(channel == null) {
+            throw new NullPointerException();
+        }
+        if(windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive but was " + windowSize);
+        }
+
+        this.channel = channel;
+        this.length = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    /**
+     * Scans the next token from the input
+     * @return the next SGFToken in the input, or SGFToken.EOF at the end of the input
+     * @throws IOException if an IO error occurs with the input or an unexpected character is read
+     */
+    public SGFToken next() throws IOException {
+        tokenStart = -1;
+        do {
+            getNextChar();
+        } while(isWhitespace(ch));
+
+        tokenStart = pos - 1;
+        tokenLine = line;
+        tokenCol = col;
+        attributeOffset = pos;
+        attributeLength = 0;
+
+        SGFToken t;
+
+        switch (ch) {
+            case '[' -> {
+                t = LONE_ATTRIBUTE;
+                scanAttribute();
+            }
+            case ';' -> t = SEMICOLON;
+            case '(' -> t = LPAR;
+            case ')' -> t = RPAR;
+            case EOF_CHAR -> t = SGFToken.EOF;
+            default -> {
+                t = scanProperty();
+                scanAttribute();
+            }
+        }
+
+        token = t;
+        return t;
+    }
+
+    /**
+     * @return the last scanned SGFToken, or null if next() hasn't been called yet
+     */
+    public SGFToken getToken() {
+        return token;
+    }
+
+    /**
+     * @return the offset of the last scanned token's attribute (inside the [] brackets) within the input
+     */
+    public long getAttributeOffset() {
+        return attributeOffset;
+    }
+
+    /**
+     * @return the length of the last scanned token's attribute in bytes, as it appears in the input (i.e., without
+     * resolving escapes)
+     */
+    public int getAttributeLength() {
+        return attributeLength;
+    }
+
+    /**
+     * Returns a single byte of the last scanned token's attribute, as it appears in the input
+     * @param index the index of the byte within the attribute, from 0 to getAttributeLength() - 1
+     * @return the byte at the supplied index
+     * @throws IndexOutOfBoundsException if the index is outside the attribute
+     */
+    public byte getAttributeByte(int index) {
+        if(index < 0 || index >= attributeLength) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for an attribute of length " + attributeLength);
+        }
+
+        return window.get((int) (attributeOffset - windowStart) + index);
+    }
+
+    /**
+     * @return whether the last scanned token's attribute is a point, i.e., consists of two lowercase letters
+     */
+    public boolean isAttributePoint() {
+        return attributeLength == 2 && isLowerCaseLetter(getAttributeByte(0)) && isLowerCaseLetter(getAttributeByte(1));
+    }
+
+    /**
+     * @return the X coordinate (starting at the left) of the point in the last scanned token's attribute
+     * @throws IllegalStateException if the attribute isn't a point
+     */
+    public int getAttributeX() {
+        if(!isAttributePoint()) {
+            throw new IllegalStateException("Attribute on line " + tokenLine + ", col " + tokenCol + " is no point!");
+        }
+
+        return getAttributeByte(0) - 'a';
+    }
+
+    /**
+     * @return the Y coordinate (starting at the top) of the point in the last scanned token's attribute
+     * @throws IllegalStateException if the attribute isn't a point
+     */
+    public int getAttributeY() {
+        if(!isAttributePoint()) {
+            throw new IllegalStateException("Attribute on line " + tokenLine + ", col " + tokenCol + " is no point!");
+        }
+
+        return getAttributeByte(1) - 'a';
+    }
+
+    /**
+     * Parses the last scanned token's attribute as a decimal integer, like Integer.parseInt() but without creating a
+     * String
+     * @return the integer value of the attribute
+     * @throws NumberFormatException if the attribute isn't a valid integer
+     */
+    public int getAttributeInt() {
+        int i = 0;
+        boolean negative = false;
+        if(attributeLength > 0 && (getAttributeByte(0) == '-' || getAttributeByte(0) == '+')) {
+            negative = getAttributeByte(0) == '-';
+            i++;
+        }
+        if(i == attributeLength) {
+            throw new NumberFormatException("Attribute on line " + tokenLine + ", col " + tokenCol + " is no number!");
+        }
+
+        long value = 0;
+        for(; i < attributeLength; i++) {
+            final int digit = getAttributeByte(i) - '0';
+            if(digit < 0 || digit > 9) {
+                throw new NumberFormatException("Attribute on line " + tokenLine + ", col " + tokenCol + " is no number!");
+            }
+            value = value * 10 + digit;
+            if(value > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException("Attribute on line " + tokenLine + ", col " + tokenCol + " is out of range!");
+            }
+        }
+
+        value = negative ? -value : value;
+        if(value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Attribute on line " + tokenLine + ", col " + tokenCol + " is out of range!");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decodes the last scanned token's attribute while doing the same pre-conversions as the SGFScanner (as per the
+     * most permissive value type "Text"). See <a href="https://www.red-bean.com/sgf/sgf4.html#text">...</a> for more
+     * information.
+     * @return A pre-formatted attribute string
+     */
+    public String getAttributeValue() {
+        if(attributeLength == 0) {
+            return "";
+        }
+
+        final byte[] bytes = new byte[attributeLength];
+        window.get((int) (attributeOffset - windowStart), bytes);
+        final String raw = new String(bytes, StandardCharsets.UTF_8);
+
+        final StringBuilder attributeSB = new StringBuilder(raw.length());
+        for(int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if(c == '\r') {
+                continue;
+            }
+            if(c == '\\') {
+                i++;
+                while(i < raw.length() && raw.charAt(i) == '\r') {
+                    i++;
+                }
+                if(i == raw.length()) {
+                    break;
+                }
+                c = raw.charAt(i);
+                if(c == '\n') {
+                    continue;
+                }
+            }
+            if(Character.isWhitespace(c) && c != '\n') {
+                c = ' ';
+            }
+            attributeSB.append(c);
+        }
+
+        return attributeSB.toString();
+    }
+
+    /**
+     * @return the line that the last scanned token started on
+     */
+    public int getLine() {
+        return tokenLine;
+    }
+
+    /**
+     * @return the column that the last scanned token started on
+     */
+    public int getCol() {
+        return tokenCol;
+    }
+
+    /**
+     * Creates a ScannedToken for the last scanned token, e.g., for a LoadingGameException
+     * @return a ScannedToken containing the last scanned SGFToken and its decoded attribute
+     */
+    public ScannedToken toScannedToken() {
+        return new ScannedToken(token, getAttributeValue(), tokenLine, tokenCol);
+    }
+
+    /**
+     * Scans the identifier of a property, which consists of one or two uppercase letters, starting with the current
+     * character
+     * @return the SGFToken of the property
+     * @throws IOException if the identifier is invalid or belongs to an unknown property
+     */
+    private SGFToken scanProperty() throws IOException {
+        final int first = ch;
+        if(first < 'A' || first > 'Z') {
+            throw new IOException("Invalid token '" + (char) first + "' on line " + tokenLine + ", col " + tokenCol);
+        }
+
+        getNextChar();
+        int second = 0;
+        if(ch >= 'A' && ch <= 'Z') {
+            second = ch;
+            getNextChar();
+        }
+
+        final SGFToken ret = SGFToken.ofProperty(first, second);
+        if(ret == null) {
+            throw new IOException("Invalid token '" + (char) first + (second == 0 ? "" : "" + (char) second) + "' on line " + tokenLine + ", col " + tokenCol);
+        }
+        return ret;
+    }
+
+    /**
+     * Checks if the current character is the expected one.
+     * @param expected The expected character at this position in the SGF input
+     * @throws IOException If the current character differs from the expected one
+     */
+    private void expect(char expected) throws IOException {
+        if(ch != expected) {
+            unexpected(expected);
+        }
+    }
+
+    /**
+     * Method for throwing an Exception if an unexpected character was scanned. Reduces code duplication
+     * @param expected The character(s) that would have been expected here
+     * @throws IOException always
+     */
+    private void unexpected(char ... expected) throws IOException {
+        StringBuilder sb = new StringBuilder("'" + expected[0] + "'");
+        for(int i = 1; i < expected.length; i++) {
+            sb.append("or '").append(expected[i]).append("'");
+        }
+        throw new IOException("Expected " + sb + " but scanned '" + (ch == EOF_CHAR ? "EOF" : (char) ch) + "' on line " + line + ", col " + col);
+    }
+
+    /**
+     * Scans the attribute in [] brackets starting at the current character and records its slice. Escaped characters
+     * are skipped, so an escaped ']' doesn't end the attribute.
+     * @throws IOException if reading from the input fails or an unexpected character is read
+     */
+    private void scanAttribute() throws IOException {
+        expect('[');
+        attributeOffset = pos;
+        getNextChar();
+        while(ch != ']' && ch != EOF_CHAR) {
+            if(ch == '\\') {
+                getNextChar();
+            }
+            getNextChar();
+        }
+        expect(']');
+        attributeLength = (int) (pos - 1 - attributeOffset);
+    }
+
+    /**
+     * Fetches the next character from the input and updates the member variables of this Scanner accordingly.
+     * @throws IOException if the next window of the input can't be mapped
+     */
+    private void getNextChar() throws IOException {
+        if(pos >= length) {
+            ch = EOF_CHAR;
+            pos = length + 1;
+            return;
+        }
+
+        if(pos >= windowStart + window.limit()) {
+            // Map the next window such that it still contains the whole current token
+            final long start = tokenStart < 0 ? pos : tokenStart;
+            if(channel == null || pos - start >= windowSize) {
+                throw new IOException("Token on line " + tokenLine + ", col " + tokenCol + " is longer than " + windowSize + " bytes!");
+            }
+            map(start);
+        }
+
+        ch = window.get((int) (pos - windowStart)) & 0xFF;
+        pos++;
+        col++;
+        if(ch == '\n') {
+            col = 0;
+            line++;
+        }
+    }
+
+    /**
+     * Maps the window of the input starting at the supplied offset
+     * @param start the offset of the new window within the input
+     * @throws IOException if the channel can't be mapped
+     */
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, length - start));
+    }
+
+    /**
+     * Checks whether the supplied character is whitespace, as far as the SGF syntax is concerned
+     * @param c the character to be checked
+     * @return whether the character is whitespace
+     */
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0x0B;
+    }
+
+    /**
+     * @param b the byte to be checked
+     * @return whether the supplied byte is a lowercase ASCII letter
+     */
+    private static boolean isLowerCaseLetter(byte b) {
+        return b >= 'a' && b <= 'z';
+    }
+}
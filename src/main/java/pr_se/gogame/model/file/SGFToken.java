@@ -48,6 +48,17 @@ public enum SGFToken {
      */
     KM("KM[%s]", false),
 
+    /**
+     * Result of the game, like "B+R" or "W+2.5"
+     */
+    RE("RE[%s]", false),
+
+    /**
+     * Any other game info or root property that is merely skipped when loading, like the date (DT), the event (EV) or
+     * the character set (CA); see GAME_INFO_PROPERTIES for all of them
+     */
+    GAME_INFO("DT[%s]", false),
+
     /**
      * Textual comment
      */
@@ -118,6 +129,28 @@ public enum SGFToken {
      */
     EOF("EOF", false);
 
+    /**
+     * The identifiers of the properties that are scanned as GAME_INFO
+     */
+    private static final String[] GAME_INFO_PROPERTIES = {"AN", "AP", "BR", "BT", "CA", "CP", "DT", "EV", "GC", "GN", "ON", "OT", "PC", "RO", "RU", "SO", "ST", "TM", "US", "WR", "WT"};
+
+    /**
+     * The SGFToken of each property identifier of one or two uppercase letters, indexed by getPropertyIndex()
+     */
+    private static final SGFToken[] PROPERTIES = new SGFToken[27 * 27];
+
+    static {
+        for (SGFToken t : values()) {
+            final int bracket = t.value.indexOf('[');
+            if (bracket > 0) {
+                PROPERTIES[getPropertyIndex(t.value.charAt(0), bracket > 1 ? t.value.charAt(1) : 0)] = t;
+            }
+        }
+        for (String p : GAME_INFO_PROPERTIES) {
+            PROPERTIES[getPropertyIndex(p.charAt(0), p.charAt(1))] = GAME_INFO;
+        }
+    }
+
     /**
      * The value for the enum
      */
@@ -151,6 +184,32 @@ public enum SGFToken {
         return hasMultiAttribs;
     }
 
+    /**
+     * Returns the SGFToken of the property with the supplied identifier, without creating a String for it (as needed
+     * by the scanners)
+     * @param first the first letter of the identifier
+     * @param second the second letter of the identifier, or 0 if it only has one
+     * @return the corresponding SGFToken, or null if the property is unknown or the identifier isn't made of uppercase
+     * letters
+     */
+    public static SGFToken ofProperty(int first, int second) {
+        if (first < 'A' || first > 'Z' || (second != 0 && (second < 'A' || second > 'Z'))) {
+            return null;
+        }
+
+        return PROPERTIES[getPropertyIndex(first, second)];
+    }
+
+    /**
+     * Computes the index of a property identifier in PROPERTIES
+     * @param first the first letter of the identifier, from 'A' to 'Z'
+     * @param second the second letter of the identifier, from 'A' to 'Z', or 0 if it only has one
+     * @return the index of the identifier
+     */
+    private static int getPropertyIndex(int first, int second) {
+        return (first - 'A') * 27 + (second == 0 ? 26 : second - 'A');
+    }
+
     /**
      * Converts a HistoryNode to an SGFToken based on its SaveToken and Color
      * @param node The HistoryNode to be converted
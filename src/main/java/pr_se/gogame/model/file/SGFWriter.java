@@ -0,0 +1,411 @@
+package pr_se.gogame.model.file;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.MarkShape;
+import pr_se.gogame.model.helper.Position;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static pr_se.gogame.model.file.SGFToken.*;
+
+/**
+ * Writes Games as SGF game trees (in the same format as the SGFFileHandler saves them) into a WritableByteChannel or
+ * an OutputStream, e.g., a file, a socket or a GZIPOutputStream. Several Games may be written one after another to
+ * create an SGF collection.<br>
+ * The output is collected in a buffer of BUFFER_SIZE bytes, which is only handed to the channel when it is full (or
+ * when flushing). Property names and point attributes are precomputed byte sequences, so writing a move only copies
+ * a few bytes, without formatting any Strings; comments are encoded as UTF-8 while escaping them.
+ */
+public class SGFWriter implements Flushable, Closeable {
+    /**
+     * The size of the output buffer in bytes
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The name of each SGFToken (e.g., "AB" or "("), indexed by its ordinal
+     */
+    private static final byte[][] TOKEN_NAMES = new byte[SGFToken.values().length][];
+
+    /**
+     * The attribute of each point including the brackets (e.g., "[dp]"), indexed by y * Game.MAX_CUSTOM_BOARD_SIZE + x
+     */
+    private static final byte[][] POINT_ATTRIBUTES = new byte[Game.MAX_CUSTOM_BOARD_SIZE * Game.MAX_CUSTOM_BOARD_SIZE][];
+
+    /**
+     * The attribute of a pass
+     */
+    private static final byte[] PASS_ATTRIBUTE = {'[', ']'};
+
+    static {
+        for (SGFToken t : SGFToken.values()) {
+            final int bracket = t.getValue().indexOf('[');
+            TOKEN_NAMES[t.ordinal()] = (bracket < 0 ? t.getValue() : t.getValue().substring(0, bracket)).getBytes(StandardCharsets.US_ASCII);
+        }
+
+        for (int y = 0; y < Game.MAX_CUSTOM_BOARD_SIZE; y++) {
+            for (int x = 0; x < Game.MAX_CUSTOM_BOARD_SIZE; x++) {
+                POINT_ATTRIBUTES[y * Game.MAX_CUSTOM_BOARD_SIZE + x] = new byte[] {'[', (byte) ('a' + x), (byte) ('a' + y), ']'};
+            }
+        }
+    }
+
+    /**
+     * The channel that the output is written to
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The output buffer
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Creates a new SGFWriter for the supplied channel, which is closed together with the writer
+     * @param channel the channel that the output is written to
+     */
+    public SGFWriter(WritableByteChannel channel) {
+        if(channel == null) {
+            throw new NullPointerException();
+        }
+
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a new SGFWriter for the supplied OutputStream, which is closed together with the writer
+     * @param output the OutputStream that the output is written to
+     */
+    public SGFWriter(OutputStream output) {
+        this(Channels.newChannel(output));
+    }
+
+    /**
+     * Writes the supplied Game as an SGF game tree. The output isn't flushed, so that many Games can be written
+     * efficiently.
+     * @param game the Game to be written
+     * @throws IOException if the output cannot be written to
+     * @throws IllegalStateException if the Game's History contains HistoryNodes that can't be saved as SGF
+     */
+    public void write(Game game) throws IOException {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+
+        // Write file header
+
+        writeToken(LPAR);
+        writeToken(SEMICOLON);
+        writeToken(FF);
+        writeNumber(4);
+        writeToken(GM);
+        writeNumber(1);
+        writeToken(SZ);
+        writeNumber(game.getSize());
+        writeByte('\n');
+        writeByte('\n');
+        writeToken(HA);
+        writeNumber(game.getHandicap());
+
+        /*
+         * NOTE: History is guaranteed to always have at least its starting node, which is the root of its tree of
+         * HistoryNodes.
+         */
+
+        // Get first node in history and save its metadata
+        History.HistoryNode node = game.getHistory().iterator().next();
+        writeNodeMetaData(node);
+
+        // Write handicap positions (if any)
+        if(game.getHandicap() > 0) {
+            final History.HistoryNode child = node.getFirstChild();
+
+            if(child != null && child.getNextSibling() == null && child.getSaveToken() == History.HistoryNode.AbstractSaveToken.HANDICAP) {
+                node = child;
+                SGFToken t = SGFToken.ofHistoryNode(node);
+
+                if(t == null) {
+                    throw new IllegalStateException("Can't get SGF token for node " + node);
+                }
+                writeToken(t);
+                writePoint(node.getX(), node.getY());
+
+                node = writeAttributeSequence(node);
+
+                writeNodeMetaData(node);
+                /*
+                 * Assertion: node is the last node of the attributeSequence.
+                 */
+            } else if(game.getHandicap() > 1) {
+                throw new IllegalStateException("Handicap move expected but not found!");
+            }
+        }
+
+        writeByte('\n');
+
+        // Write game contents
+        writeVariations(node);
+
+        writeByte('\n');
+        writeByte('\n');
+        writeToken(RPAR);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the variations following the supplied HistoryNode. A single variation simply continues the current
+     * sequence, while multiple variations are written as separate game trees, each enclosed in parentheses. Variations
+     * that consist of nothing but the end of the game aren't written (and don't count), since an empty game tree is
+     * invalid.
+     * @param parentNode the HistoryNode whose children are to be written
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeVariations(History.HistoryNode parentNode) throws IOException {
+        History.HistoryNode first = null;
+        int count = 0;
+        for(History.HistoryNode child = parentNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if(isWritten(child)) {
+                if(first == null) {
+                    first = child;
+                }
+                count++;
+            }
+        }
+
+        if(count == 1) {
+            writeSequence(first);
+        } else {
+            for(History.HistoryNode child = first; child != null; child = child.getNextSibling()) {
+                if(isWritten(child)) {
+                    writeByte('\n');
+                    writeToken(LPAR);
+                    writeSequence(child);
+                    writeToken(RPAR);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the supplied HistoryNode is written as an SGF node. Resignations and scored ends of the game are
+     * not, since they aren't part of the SGF game tree.
+     * @param node the HistoryNode to be checked
+     * @return whether the node is written
+     * @throws IllegalStateException if the game continues after a resignation or scored end of the game
+     */
+    private static boolean isWritten(History.HistoryNode node) {
+        if(node.getSaveToken() == History.HistoryNode.AbstractSaveToken.RESIGN || node.getSaveToken() == History.HistoryNode.AbstractSaveToken.SCORED_GAME) {
+            if(node.getFirstChild() != null) {
+                throw new IllegalStateException("Game can't continue after resigning!");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the supplied HistoryNode, all HistoryNodes following it up to the next branch and (recursively) all
+     * variations after that branch
+     * @param firstNode the first HistoryNode of the sequence
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeSequence(History.HistoryNode firstNode) throws IOException {
+        History.HistoryNode node = firstNode;
+        SGFToken t;
+
+        for(;;) {
+            if(!isWritten(node)) {
+                return;
+            }
+
+            if(node.getSaveToken() == History.HistoryNode.AbstractSaveToken.HANDICAP) {
+                throw new IllegalStateException("Can't save handicap after game has commenced!");
+            }
+
+            t = SGFToken.ofHistoryNode(node);
+            if (t == AE || t == null) {
+                throw new IllegalStateException(node.getSaveToken() + " with color " + node.getColor() + " not supported!");
+            }
+
+            writeByte('\n');
+            writeToken(SEMICOLON);
+            writeToken(t);
+            if(node.getSaveToken() == History.HistoryNode.AbstractSaveToken.PASS) {
+                writeBytes(PASS_ATTRIBUTE);
+            } else {
+                writePoint(node.getX(), node.getY());
+            }
+
+            if (t.hasMultiAttribs()) {
+                node = writeAttributeSequence(node);
+            }
+
+            writeNodeMetaData(node);
+
+            final History.HistoryNode child = node.getFirstChild();
+            if(child == null || child.getNextSibling() != null) {
+                writeVariations(node);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Writes the HistoryNodes following the supplied one as lone attributes, as long as they have the same
+     * AbstractSaveToken and color and don't start a variation
+     * @param parentNode the first node of this attribute sequence, which has already been written
+     * @return the last node of the attribute sequence
+     * @throws IOException if the output cannot be written to
+     */
+    private History.HistoryNode writeAttributeSequence(History.HistoryNode parentNode) throws IOException {
+        History.HistoryNode n = parentNode;
+        History.HistoryNode child = n.getFirstChild();
+
+        while(child != null && child.getNextSibling() == null && child.getSaveToken() == parentNode.getSaveToken() && child.getColor() == parentNode.getColor()) {
+            n = child;
+            writePoint(n.getX(), n.getY());
+            child = n.getFirstChild();
+        }
+
+        return n;
+    }
+
+    /**
+     * Writes the Marks and the Comment of the supplied HistoryNode
+     * @param node the HistoryNode whose Marks and Comment are to be written
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeNodeMetaData(History.HistoryNode node) throws IOException {
+        for (Map.Entry<Position, MarkShape> e : node.getMarks().entrySet()) {
+            SGFToken t = switch (e.getValue()) {
+                case CIRCLE -> CR;
+                case SQUARE -> SQ;
+                case TRIANGLE -> TR;
+            };
+
+            writeToken(t);
+            writePoint(e.getKey().getX(), e.getKey().getY());
+        }
+
+        if (!node.getComment().isEmpty()) {
+            writeToken(C);
+            writeByte('[');
+            writeText(node.getComment());
+            writeByte(']');
+        }
+    }
+
+    /**
+     * Writes the name of the supplied SGFToken
+     * @param t the SGFToken to be written
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeToken(SGFToken t) throws IOException {
+        writeBytes(TOKEN_NAMES[t.ordinal()]);
+    }
+
+    /**
+     * Writes the attribute of the supplied point, including the brackets
+     * @param x X coordinate starting at the left
+     * @param y Y coordinate starting at the top
+     * @throws IOException if the output cannot be written to
+     */
+    private void writePoint(int x, int y) throws IOException {
+        writeBytes(POINT_ATTRIBUTES[y * Game.MAX_CUSTOM_BOARD_SIZE + x]);
+    }
+
+    /**
+     * Writes the supplied non-negative number as an attribute, including the brackets
+     * @param number the number to be written
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeNumber(int number) throws IOException {
+        writeByte('[');
+        writeBytes(Integer.toString(number).getBytes(StandardCharsets.US_ASCII));
+        writeByte(']');
+    }
+
+    /**
+     * Writes the supplied text as UTF-8, escaping the characters that have a special meaning in SGF text attributes
+     * @param text the text to be written
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeText(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+
+            if (c < 0x80) {
+                if (c == '\\' || c == ']' || c == ':') {
+                    writeByte('\\');
+                }
+                writeByte(c);
+            } else if (c < 0x800) {
+                writeByte(0xC0 | c >> 6);
+                writeByte(0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                writeByte(0xF0 | codePoint >> 18);
+                writeByte(0x80 | codePoint >> 12 & 0x3F);
+                writeByte(0x80 | codePoint >> 6 & 0x3F);
+                writeByte(0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                writeByte('?');
+            } else {
+                writeByte(0xE0 | c >> 12);
+                writeByte(0x80 | c >> 6 & 0x3F);
+                writeByte(0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    /**
+     * Writes the supplied bytes into the buffer, flushing it if it is full
+     * @param bytes the bytes to be written
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (buffer.remaining() < bytes.length) {
+            flush();
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes a single byte into the buffer, flushing it if it is full
+     * @param b the byte to be written (only the lowest 8 bits are used)
+     * @throws IOException if the output cannot be written to
+     */
+    private void writeByte(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) b);
+    }
+}
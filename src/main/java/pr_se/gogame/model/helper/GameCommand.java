@@ -50,6 +50,11 @@ public enum GameCommand {
      */
     STONE_WAS_REMOVED,
 
+    /**
+     * Used to deliver the net changes of the board collected by an event batch (see BoardDiffEvent)
+     */
+    BOARD_DIFF,
+
     /**
      * Used to mark a certain position with a circle
      */
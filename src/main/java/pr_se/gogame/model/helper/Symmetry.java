@@ -0,0 +1,67 @@
+package pr_se.gogame.model.helper;
+
+/**
+ * Contains the eight symmetries of a square Go board (the dihedral group: four rotations, each with or without
+ * mirroring). Positions that are transformed into each other by a symmetry are equivalent, e.g., for opening
+ * statistics. Rotations are clockwise, as seen on the screen.
+ */
+public enum Symmetry {
+    IDENTITY,
+    ROTATE_90,
+    ROTATE_180,
+    ROTATE_270,
+    MIRROR_HORIZONTAL,
+    MIRROR_VERTICAL,
+    TRANSPOSE,
+    ANTI_TRANSPOSE;
+
+    /**
+     * The number of symmetries
+     */
+    public static final int COUNT = values().length;
+
+    /**
+     * Calculates the horizontal coordinate of the supplied point after transforming it by this Symmetry
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param size the size of the board
+     * @return the transformed horizontal coordinate
+     */
+    public int getX(int x, int y, int size) {
+        final int m = size - 1;
+        return switch (this) {
+            case IDENTITY, MIRROR_VERTICAL -> x;
+            case ROTATE_90, ANTI_TRANSPOSE -> m - y;
+            case ROTATE_180, MIRROR_HORIZONTAL -> m - x;
+            case ROTATE_270, TRANSPOSE -> y;
+        };
+    }
+
+    /**
+     * Calculates the vertical coordinate of the supplied point after transforming it by this Symmetry
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param size the size of the board
+     * @return the transformed vertical coordinate
+     */
+    public int getY(int x, int y, int size) {
+        final int m = size - 1;
+        return switch (this) {
+            case IDENTITY, MIRROR_HORIZONTAL -> y;
+            case ROTATE_90, TRANSPOSE -> x;
+            case ROTATE_180, MIRROR_VERTICAL -> m - y;
+            case ROTATE_270, ANTI_TRANSPOSE -> m - x;
+        };
+    }
+
+    /**
+     * @return the Symmetry that undoes this Symmetry
+     */
+    public Symmetry inverse() {
+        return switch (this) {
+            case ROTATE_90 -> ROTATE_270;
+            case ROTATE_270 -> ROTATE_90;
+            default -> this;
+        };
+    }
+}
@@ -2,7 +2,7 @@ package pr_se.gogame.model.helper;
 
 import pr_se.gogame.view_controller.observer.GameEvent;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.function.Consumer;
@@ -13,14 +13,15 @@ import java.util.function.Consumer;
 public abstract class UndoableCommand {
 
     /**
-     * The GameEvents that are to be fired on (re-)execution of this UndoableCommand
+     * The GameEvents that are to be fired on (re-)execution of this UndoableCommand, or null until the first one is
+     * added
      */
-    private final List<GameEvent> executeEvents = new LinkedList<>();
+    private List<GameEvent> executeEvents;
 
     /**
-     * The GameEvents that are to be fired on undoing this UndoableCommand
+     * The GameEvents that are to be fired on undoing this UndoableCommand, or null until the first one is added
      */
-    private final List<GameEvent> undoEvents = new LinkedList<>();
+    private List<GameEvent> undoEvents;
 
     /**
      * Executes this UndoableCommand
@@ -37,6 +38,9 @@ public abstract class UndoableCommand {
      * @return the list of GameEvents that are to be fired on (re-)execution of this UndoableCommand
      */
     public List<GameEvent> getExecuteEvents() {
+        if(executeEvents == null) {
+            executeEvents = new ArrayList<>();
+        }
         return executeEvents;
     }
 
@@ -45,6 +49,9 @@ public abstract class UndoableCommand {
      * @return the list of GameEvents that are to be fired on undoing this UndoableCommand
      */
     public List<GameEvent> getUndoEvents() {
+        if(undoEvents == null) {
+            undoEvents = new ArrayList<>();
+        }
         return undoEvents;
     }
 
@@ -77,10 +84,15 @@ public abstract class UndoableCommand {
             }
         };
 
-        finalSubcommands.forEach(c -> {
-            ret.getExecuteEvents().addAll(c.getExecuteEvents());
-            ret.getUndoEvents().addAll(c.getUndoEvents());
-        });
+        // Most subcommands don't have any events, so their lists aren't created just for copying them.
+        for (UndoableCommand c : finalSubcommands) {
+            if(c.executeEvents != null && !c.executeEvents.isEmpty()) {
+                ret.getExecuteEvents().addAll(c.executeEvents);
+            }
+            if(c.undoEvents != null && !c.undoEvents.isEmpty()) {
+                ret.getUndoEvents().addAll(c.undoEvents);
+            }
+        }
 
         return ret;
     }
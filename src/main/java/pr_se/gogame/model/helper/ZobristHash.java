@@ -0,0 +1,180 @@
+package pr_se.gogame.model.helper;
+
+import pr_se.gogame.model.Game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Contains the random keys for <a href="https://en.wikipedia.org/wiki/Zobrist_hashing">Zobrist hashing</a> of board
+ * positions. The hash of a position is the XOR of the keys of all stones on the board, so it can be updated in O(1)
+ * whenever a stone is set or removed, and the empty board always hashes to 0.<br>
+ * For each Symmetry, the hash of the position transformed by it can be maintained the same way, using the keys of the
+ * transformed points (see createSymmetryKeyTable()). The smallest of these eight hashes identifies the position
+ * regardless of its orientation.
+ */
+public final class ZobristHash {
+    /**
+     * Seed for generating the keys, fixed so that hashes are reproducible across runs (e.g., for stored indices)
+     */
+    private static final long SEED = 0x5EED_600DL;
+
+    /**
+     * One key per color and point of the largest possible board, indexed by [color ordinal][y * max size + x]
+     */
+    private static final long[][] KEYS = new long[StoneColor.values().length][Game.MAX_CUSTOM_BOARD_SIZE * Game.MAX_CUSTOM_BOARD_SIZE];
+
+    /**
+     * Key that is XORed into a position's hash if White is to move, turning it into the hash of a situation
+     */
+    private static final long WHITE_TO_MOVE_KEY;
+
+    /**
+     * The tables created by getKeyTable() so far, indexed by [size][color ordinal]
+     */
+    private static final long[][][] KEY_TABLES = new long[Game.MAX_CUSTOM_BOARD_SIZE + 1][StoneColor.values().length][];
+
+    /**
+     * The tables created by getSymmetryKeyTable() so far, indexed by [size][color ordinal]
+     */
+    private static final long[][][] SYMMETRY_KEY_TABLES = new long[Game.MAX_CUSTOM_BOARD_SIZE + 1][StoneColor.values().length][];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] colorKeys : KEYS) {
+            for (int i = 0; i < colorKeys.length; i++) {
+                colorKeys[i] = random.nextLong();
+            }
+        }
+        WHITE_TO_MOVE_KEY = random.nextLong();
+    }
+
+    /**
+     * This class only contains static methods.
+     */
+    private ZobristHash() {
+    }
+
+    /**
+     * Returns the key of a stone of the supplied color at the supplied coordinates, which is to be XORed into the hash
+     * when the stone is set or removed.
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @param color Color of the stone
+     * @return the key of the stone
+     */
+    public static long getKey(int x, int y, StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        return KEYS[color.ordinal()][y * Game.MAX_CUSTOM_BOARD_SIZE + x];
+    }
+
+    /**
+     * Returns the hash of a situation, i.e., of a position together with the player who is to move next. Two
+     * situations are only equal if both their positions and the players to move are equal.
+     * @param positionHash the Zobrist hash of the position
+     * @param toMove the color of the player who is to move next
+     * @return the hash of the situation
+     */
+    public static long getSituationHash(long positionHash, StoneColor toMove) {
+        if (toMove == null) {
+            throw new NullPointerException();
+        }
+
+        return toMove == StoneColor.WHITE ? positionHash ^ WHITE_TO_MOVE_KEY : positionHash;
+    }
+
+    /**
+     * Returns the table of the keys for a board of the supplied size, indexed by the board's own point indices
+     * (y * size + x), so that boards can look up keys without any further calculation. The table is created once per
+     * size and color and shared by all boards, so it must not be modified.
+     * @param size the size of the board
+     * @param color Color of the stones
+     * @return the keys of all points of the board for the supplied color
+     */
+    public static synchronized long[] getKeyTable(int size, StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        long[] table = KEY_TABLES[size][color.ordinal()];
+        if (table == null) {
+            table = createKeyTable(size, color);
+            KEY_TABLES[size][color.ordinal()] = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the table of the keys of the transformed points for a board of the supplied size (see
+     * createSymmetryKeyTable()). The table is created once per size and color and shared by all boards, so it must not
+     * be modified.
+     * @param size the size of the board
+     * @param color Color of the stones
+     * @return the keys of all transformed points of the board for the supplied color
+     */
+    public static synchronized long[] getSymmetryKeyTable(int size, StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        long[] table = SYMMETRY_KEY_TABLES[size][color.ordinal()];
+        if (table == null) {
+            table = createSymmetryKeyTable(size, color);
+            SYMMETRY_KEY_TABLES[size][color.ordinal()] = table;
+        }
+        return table;
+    }
+
+    /**
+     * Creates a table of the keys for a board of the supplied size, indexed by the board's own point indices
+     * (y * size + x), so that boards can look up keys without any further calculation.
+     * @param size the size of the board
+     * @param color Color of the stones
+     * @return the keys of all points of the board for the supplied color
+     */
+    private static long[] createKeyTable(int size, StoneColor color) {
+        long[] table = new long[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                table[y * size + x] = getKey(x, y, color);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Creates a table of the keys of the transformed points for a board of the supplied size: the entry at index
+     * point * Symmetry.COUNT + symmetry.ordinal() is the key of the point (with its index y * size + x) after
+     * transforming it by the symmetry. The keys of all symmetries of a point are adjacent, so they can be applied
+     * together by xorSymmetryKeys().
+     * @param size the size of the board
+     * @param color Color of the stones
+     * @return the keys of all transformed points of the board for the supplied color
+     */
+    private static long[] createSymmetryKeyTable(int size, StoneColor color) {
+        long[] table = new long[size * size * Symmetry.COUNT];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                for (Symmetry s : Symmetry.values()) {
+                    table[(y * size + x) * Symmetry.COUNT + s.ordinal()] = getKey(s.getX(x, y, size), s.getY(x, y, size), color);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Updates the hashes of all symmetries for a stone that is set or removed
+     * @param symmetryHashes the hash of the position transformed by each Symmetry, indexed by its ordinal
+     * @param symmetryKeys the table of the stone's color, as returned by getSymmetryKeyTable()
+     * @param point the index of the point, y * size + x
+     */
+    public static void xorSymmetryKeys(long[] symmetryHashes, long[] symmetryKeys, int point) {
+        final int base = point * Symmetry.COUNT;
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            symmetryHashes[s] ^= symmetryKeys[base + s];
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package pr_se.gogame.model.player;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.Position;
+
+/**
+ * Player whose moves are chosen by the computer. Game.playComputerMove() asks it for a move for the current player
+ * and plays it.
+ */
+public interface ComputerPlayer {
+    /**
+     * Chooses a move for the current player of the supplied Game, without changing the Game
+     * @param game the running Game
+     * @return the Position of the chosen move, which must be legal, or null to pass
+     */
+    Position selectMove(Game game);
+}
@@ -0,0 +1,287 @@
+package pr_se.gogame.model.player;
+
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * ComputerPlayer based on Monte Carlo tree search (UCT). For every move, it runs a fixed number of iterations, each of
+ * which descends the search tree by the UCB1 formula, adds one new node and finishes the game by random moves (a
+ * playout). The move whose node was visited most often is chosen.<br>
+ * Playouts run on a headless BitBoard that is reset by copying the current position, so neither UndoableCommands nor
+ * the History are involved. Random moves never fill the player's own eyes, and a playout ends after two passes; it is
+ * then scored by area with the Game's komi, regardless of the Ruleset. The moves at the root are the ones permitted by
+ * the Game (including its ko and superko rules), whereas only simple ko is enforced below. The player passes if all
+ * legal moves would fill its own eyes.
+ */
+public class MonteCarloPlayer implements ComputerPlayer {
+    /**
+     * The exploration constant of the UCB1 formula
+     */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * The number of playouts per move
+     */
+    private final int playouts;
+
+    /**
+     * The source of randomness for the playouts
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The number of playouts per second achieved by the last search, or 0 if there hasn't been one yet
+     */
+    private double playoutsPerSecond;
+
+    /**
+     * Creates a new MonteCarloPlayer with a random seed
+     * @param playouts the number of playouts per move
+     * @throws IllegalArgumentException if playouts is less than 1
+     */
+    public MonteCarloPlayer(int playouts) {
+        this(playouts, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a new MonteCarloPlayer whose moves are reproducible
+     * @param playouts the number of playouts per move
+     * @param seed the seed for the random playouts
+     * @throws IllegalArgumentException if playouts is less than 1
+     */
+    public MonteCarloPlayer(int playouts, long seed) {
+        if(playouts < 1) {
+            throw new IllegalArgumentException("playouts must be at least 1 but was " + playouts);
+        }
+
+        this.playouts = playouts;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Position selectMove(Game game) {
+        if(game == null) {
+            throw new NullPointerException();
+        }
+        if(game.getGameState() != GameInterface.GameState.RUNNING) {
+            throw new IllegalStateException("Can't select a move if game isn't running! gameState was " + game.getGameState());
+        }
+
+        final int size = game.getSize();
+        final StoneColor color = game.getCurColor();
+        final double komi = game.getKomi();
+
+        final BitBoard position = new BitBoard(size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if(game.getColorAt(x, y) != null) {
+                    position.place(position.toPoint(x, y), game.getColorAt(x, y));
+                }
+            }
+        }
+
+        final Playout playout = new Playout(size);
+        playout.reset(position);
+
+        // The moves at the root are checked by the Game, so that its ko and superko rules apply.
+        final long[] legal = game.legalMoves(color);
+        final int[] candidates = new int[size * size];
+        int candidateCount = 0;
+        for (int p = 0; p < size * size; p++) {
+            if((legal[p >>> 6] & 1L << p) != 0 && !playout.isEye(p, color)) {
+                candidates[candidateCount++] = p;
+            }
+        }
+        if(candidateCount == 0) {
+            return null;
+        }
+
+        final Node root = new Node(Playout.PASS, StoneColor.getOpposite(color), null, candidates, candidateCount);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < playouts; i++) {
+            playout.reset(position);
+            Node node = root;
+
+            // Selection
+            while(node.untriedCount == 0 && !node.children.isEmpty()) {
+                node = node.select();
+                playout.play(node.move, node.color);
+            }
+
+            // Expansion
+            final StoneColor toMove = StoneColor.getOpposite(node.color);
+            while(node.untriedCount > 0) {
+                final int move = node.takeUntried(random);
+                if(playout.play(move, toMove)) {
+                    node = node.addChild(move, toMove, playout);
+                    break;
+                }
+            }
+
+            // Simulation
+            StoneColor current = StoneColor.getOpposite(node.color);
+            int passes = 0;
+            for (int moves = 0; passes < 2 && moves < 3 * size * size; moves++) {
+                passes = playout.playRandom(current, random) == Playout.PASS ? passes + 1 : 0;
+                current = StoneColor.getOpposite(current);
+            }
+
+            // Backpropagation
+            final StoneColor winner = playout.getWinner(komi);
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if(n.color == winner) {
+                    n.wins++;
+                }
+            }
+        }
+        playoutsPerSecond = playouts / ((System.nanoTime() - start) / 1e9);
+
+        Node best = null;
+        for (Node child : root.children) {
+            if(best == null || child.visits > best.visits) {
+                best = child;
+            }
+        }
+
+        // If no candidate was playable, the Game would have rejected it as well.
+        return best == null ? null : new Position(position.getX(best.move), position.getY(best.move));
+    }
+
+    /**
+     * @return the number of playouts per move
+     */
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * @return the number of playouts per second achieved by the last call of selectMove(), or 0 if there hasn't been
+     * one yet (or it passed without searching)
+     */
+    public double getPlayoutsPerSecond() {
+        return playoutsPerSecond;
+    }
+
+    /**
+     * Node of the search tree, i.e., a position reached by a sequence of moves from the root
+     */
+    private static class Node {
+        /**
+         * The point of the move leading to this Node, PASS for the root
+         */
+        private final int move;
+
+        /**
+         * The color of the player who played the move leading to this Node
+         */
+        private final StoneColor color;
+
+        /**
+         * The Node before this one, or null for the root
+         */
+        private final Node parent;
+
+        /**
+         * The Nodes that have been added after this one
+         */
+        private final List<Node> children = new ArrayList<>();
+
+        /**
+         * The moves that haven't been tried yet; the first untriedCount entries are valid
+         */
+        private final int[] untried;
+
+        /**
+         * Number of valid entries in untried
+         */
+        private int untriedCount;
+
+        /**
+         * The number of playouts that passed through this Node
+         */
+        private int visits;
+
+        /**
+         * The number of those playouts that were won by the player who played the move leading to this Node
+         */
+        private int wins;
+
+        /**
+         * Creates a new Node
+         * @param move the point of the move leading to this Node
+         * @param color the color of the player who played that move
+         * @param parent the Node before this one, or null for the root
+         * @param untried the moves to be tried after this Node, which is taken over without copying
+         * @param untriedCount the number of valid entries in untried
+         */
+        Node(int move, StoneColor color, Node parent, int[] untried, int untriedCount) {
+            this.move = move;
+            this.color = color;
+            this.parent = parent;
+            this.untried = untried;
+            this.untriedCount = untriedCount;
+        }
+
+        /**
+         * Removes a random move from the untried moves
+         * @param random the source of randomness
+         * @return the point of the move
+         */
+        int takeUntried(SplittableRandom random) {
+            final int i = random.nextInt(untriedCount);
+            final int ret = untried[i];
+            untried[i] = untried[--untriedCount];
+            return ret;
+        }
+
+        /**
+         * Adds a child for a move that has just been played on the supplied Playout
+         * @param move the point of the move
+         * @param color the color of the player who played the move
+         * @param playout the Playout after the move, whose empty points that aren't eyes of the next player become
+         *  the untried moves of the child
+         * @return the child
+         */
+        Node addChild(int move, StoneColor color, Playout playout) {
+            final StoneColor next = StoneColor.getOpposite(color);
+            final int[] moves = new int[playout.getEmptyCount()];
+            int count = 0;
+            for (int i = 0; i < playout.getEmptyCount(); i++) {
+                if(!playout.isEye(playout.getEmpty(i), next)) {
+                    moves[count++] = playout.getEmpty(i);
+                }
+            }
+
+            final Node child = new Node(move, color, this, moves, count);
+            children.add(child);
+            return child;
+        }
+
+        /**
+         * Selects the child with the highest UCB1 value
+         * @return the selected child
+         */
+        Node select() {
+            final double logVisits = Math.log(visits);
+            Node ret = null;
+            double max = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                final double value = (double) child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if(value > max) {
+                    max = value;
+                    ret = child;
+                }
+            }
+            return ret;
+        }
+    }
+}
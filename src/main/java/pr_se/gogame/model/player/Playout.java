@@ -0,0 +1,253 @@
+package pr_se.gogame.model.player;
+
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.SplittableRandom;
+
+/**
+ * Scratch board for the random playouts of the MonteCarloPlayer. It wraps a headless BitBoard, keeps a list of its
+ * empty points for choosing random moves, and enforces simple ko (superko is ignored, as it hardly matters for random
+ * games). No objects are allocated after construction.
+ */
+final class Playout {
+    /**
+     * Returned by playRandom() if no move is left and the player has to pass
+     */
+    static final int PASS = -1;
+
+    /**
+     * The board that the moves are played on
+     */
+    private final BitBoard board;
+
+    /**
+     * the number of rows and columns of the board
+     */
+    private final int size;
+
+    /**
+     * the number of points on the board (size * size)
+     */
+    private final int points;
+
+    /**
+     * The empty points of the board, in no particular order
+     */
+    private final int[] empties;
+
+    /**
+     * The index of each empty point in empties
+     */
+    private final int[] indexOf;
+
+    /**
+     * Number of valid entries in empties
+     */
+    private int emptyCount;
+
+    /**
+     * The point that can't be played because it would retake a ko, or -1 if there is none
+     */
+    private int ko = -1;
+
+    /**
+     * Creates a new Playout for boards of the supplied size
+     * @param size the size of the board
+     */
+    Playout(int size) {
+        this.board = new BitBoard(size);
+        this.size = size;
+        this.points = size * size;
+        this.empties = new int[points];
+        this.indexOf = new int[points];
+    }
+
+    /**
+     * Replaces the position by the supplied one, without any ko
+     * @param position the board whose position is to be copied
+     */
+    void reset(BitBoard position) {
+        board.copyFrom(position);
+        ko = -1;
+        emptyCount = 0;
+        for (int p = 0; p < points; p++) {
+            if (board.getColorAtPoint(p) == null) {
+                indexOf[p] = emptyCount;
+                empties[emptyCount++] = p;
+            }
+        }
+    }
+
+    /**
+     * Plays a stone at the supplied point, unless it is occupied, retakes a ko or is a suicide
+     * @param point index of the point
+     * @param color Color of the stone to be played
+     * @return whether the move was played
+     */
+    boolean play(int point, StoneColor color) {
+        if (point == ko) {
+            return false;
+        }
+
+        final int removed = board.play(point, color, false, false);
+        if (removed == BitBoard.ILLEGAL) {
+            return false;
+        }
+
+        removeEmpty(point);
+        for (int i = 0; i < removed; i++) {
+            addEmpty(board.getRemoved(i));
+        }
+
+        ko = removed == 1 && isSurroundedBy(point, StoneColor.getOpposite(color), board.getRemoved(0)) ? board.getRemoved(0) : -1;
+        return true;
+    }
+
+    /**
+     * Clears the ko, e.g., after a pass
+     */
+    void pass() {
+        ko = -1;
+    }
+
+    /**
+     * Plays a random legal move that doesn't fill one of the player's own eyes
+     * @param color Color of the stone to be played
+     * @param random the source of randomness
+     * @return the point of the move, or PASS if there is no such move
+     */
+    int playRandom(StoneColor color, SplittableRandom random) {
+        // Candidates that turn out to be unplayable are moved behind the first n entries.
+        for (int n = emptyCount; n > 0; n--) {
+            final int i = random.nextInt(n);
+            final int point = empties[i];
+            if (!isEye(point, color) && play(point, color)) {
+                return point;
+            }
+            swap(i, n - 1);
+        }
+
+        pass();
+        return PASS;
+    }
+
+    /**
+     * Checks whether the supplied empty point is an eye of the supplied color: all its neighbors are own stones, and
+     * at most one diagonal neighbor (none at the edge) is an opposing stone, so that filling it would be pointless
+     * @param point index of the empty point
+     * @param color the color of the player
+     * @return whether the point is an eye of the player
+     */
+    boolean isEye(int point, StoneColor color) {
+        if (!isSurroundedBy(point, color, -1)) {
+            return false;
+        }
+
+        final int x = board.getX(point);
+        final int y = board.getY(point);
+        final StoneColor opponent = StoneColor.getOpposite(color);
+        int opposing = x == 0 || y == 0 || x == size - 1 || y == size - 1 ? 1 : 0;
+        for (int dy = -1; dy <= 1; dy += 2) {
+            for (int dx = -1; dx <= 1; dx += 2) {
+                if (x + dx >= 0 && x + dx < size && y + dy >= 0 && y + dy < size && board.getColorAtPoint(point + dy * size + dx) == opponent) {
+                    opposing++;
+                }
+            }
+        }
+        return opposing < 2;
+    }
+
+    /**
+     * Scores the position by area: stones plus empty points whose neighbors all belong to one color. This is exact for
+     * the positions at the end of a playout, where only single-point eyes remain.
+     * @param komi the points added to White's score
+     * @return the winner
+     */
+    StoneColor getWinner(double komi) {
+        double score = -komi;
+        for (int p = 0; p < points; p++) {
+            final StoneColor color = board.getColorAtPoint(p);
+            if (color == null) {
+                if (isSurroundedBy(p, StoneColor.BLACK, -1)) {
+                    score++;
+                } else if (isSurroundedBy(p, StoneColor.WHITE, -1)) {
+                    score--;
+                }
+            } else {
+                score += color == StoneColor.BLACK ? 1 : -1;
+            }
+        }
+        return score > 0 ? StoneColor.BLACK : StoneColor.WHITE;
+    }
+
+    /**
+     * @return the number of empty points
+     */
+    int getEmptyCount() {
+        return emptyCount;
+    }
+
+    /**
+     * @param i index into the list of empty points, from 0 to getEmptyCount()-1
+     * @return the i-th empty point
+     */
+    int getEmpty(int i) {
+        return empties[i];
+    }
+
+    /**
+     * @return the board that the moves are played on
+     */
+    BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Checks whether all neighbors of the supplied point are stones of the supplied color
+     * @param point index of the point
+     * @param color the color of the stones
+     * @param ignored a neighbor that is not checked (-1 for none)
+     * @return whether the point is surrounded
+     */
+    private boolean isSurroundedBy(int point, StoneColor color, int ignored) {
+        final int x = board.getX(point);
+
+        return (x == 0 || point - 1 == ignored || board.getColorAtPoint(point - 1) == color)
+            && (x == size - 1 || point + 1 == ignored || board.getColorAtPoint(point + 1) == color)
+            && (point < size || point - size == ignored || board.getColorAtPoint(point - size) == color)
+            && (point >= points - size || point + size == ignored || board.getColorAtPoint(point + size) == color);
+    }
+
+    /**
+     * Removes a point from the list of empty points
+     * @param point index of the point
+     */
+    private void removeEmpty(int point) {
+        swap(indexOf[point], emptyCount - 1);
+        emptyCount--;
+    }
+
+    /**
+     * Adds a point to the list of empty points
+     * @param point index of the point
+     */
+    private void addEmpty(int point) {
+        indexOf[point] = emptyCount;
+        empties[emptyCount++] = point;
+    }
+
+    /**
+     * Swaps two entries of the list of empty points
+     * @param i index of the first entry
+     * @param j index of the second entry
+     */
+    private void swap(int i, int j) {
+        final int a = empties[i];
+        final int b = empties[j];
+        empties[i] = b;
+        empties[j] = a;
+        indexOf[b] = i;
+        indexOf[a] = j;
+    }
+}
@@ -5,7 +5,6 @@ import pr_se.gogame.model.Game;
 import pr_se.gogame.model.helper.StoneColor;
 import pr_se.gogame.model.helper.UndoableCommand;
 
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -13,22 +12,17 @@ import java.util.List;
  * Incomplete implementation of the Ancient Chinese Ruleset. Useful for placing alternate automatic handicap placement.
  */
 public class AncientChineseRuleset implements Ruleset {
-    private int lastBoardHash;
+    /**
+     * Zobrist hash of the board after the previous move
+     */
+    private long lastBoardHash;
 
     @Override
     public UndoableCommand isKo(Game game) {
-        StoneColor[][] boardColor = new StoneColor[game.getSize()][game.getSize()];
+        final long oldBoardHash = lastBoardHash;
+        final long newBoardHash = game.getPositionHash();
 
-        for(int i = 0; i < game.getSize(); i++) {
-            for(int j = 0; j < game.getSize(); j++) {
-                boardColor[i][j] = game.getColorAt(i, j);
-            }
-        }
-
-        final int oldBoardHash = lastBoardHash;
-        final int newBoardHash = Arrays.deepHashCode(boardColor);
-
-        if(newBoardHash == oldBoardHash) {
+        if(isRepetition(game, newBoardHash, game.getCurColor())) {
             return null;
         }
 
@@ -38,6 +32,11 @@ public class AncientChineseRuleset implements Ruleset {
         return ret;
     }
 
+    @Override
+    public boolean isRepetition(Game game, long positionHash, StoneColor color) {
+        return positionHash == lastBoardHash;
+    }
+
     @Override
     public UndoableCommand scoreGame(Game game) {
 
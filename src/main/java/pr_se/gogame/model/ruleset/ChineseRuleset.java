@@ -0,0 +1,77 @@
+package pr_se.gogame.model.ruleset;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.UndoableCommand;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Ruleset based on the modern Chinese rules, which use
+ * <a href="https://senseis.xmp.net/?AreaScoring">area scoring</a>: Each player scores their stones on the board plus
+ * the empty points surrounded by them, while captured stones don't count. Repeating an earlier position is prohibited
+ * (positional superko), and the komi is 7.5.
+ */
+public class ChineseRuleset extends PositionalSuperkoRuleset {
+    /**
+     * Counts the stones and territory of both players; kept across calls so that its buffers can be reused.
+     */
+    private final TerritoryScanner territoryScanner = new TerritoryScanner();
+
+    /**
+     * Calculates the score of the game based on area scoring: The stones and surrounded empty points of both players
+     * are counted in a single pass by the TerritoryScanner. Dead stones, as determined by the LifeAndDeath analysis,
+     * are removed first, so their points count for the opponent. Captured stones are removed from the GameResult, as
+     * they don't count under area scoring.
+     * Handicap is added to Black's score count.
+     * Komi is added to White's score count.
+     *
+     * @param game Game to be scored
+     * @return An UndoableCommand to undo the updating of the GameResult
+     */
+    @Override
+    public UndoableCommand scoreGame(Game game) {
+        if (game == null) {
+            throw new NullPointerException();
+        }
+
+        final LifeAndDeath lifeAndDeath = getLifeAndDeath();
+        if (!lifeAndDeath.isAnalyzed(game)) {
+            lifeAndDeath.analyze(game);
+        }
+        territoryScanner.scan(game, lifeAndDeath);
+
+        int stonesBlack = territoryScanner.getStones(StoneColor.BLACK);
+        int territoryScoreBlack = territoryScanner.getTerritory(StoneColor.BLACK);
+
+        int stonesWhite = territoryScanner.getStones(StoneColor.WHITE);
+        int territoryScoreWhite = territoryScanner.getTerritory(StoneColor.WHITE);
+
+        double scoreBlack = stonesBlack + territoryScoreBlack + game.getHandicap();
+        double scoreWhite = stonesWhite + territoryScoreWhite + getKomi();
+
+        StoneColor winner = scoreBlack > scoreWhite ? StoneColor.BLACK : StoneColor.WHITE;
+
+        List<UndoableCommand> subcommands = new LinkedList<>();
+
+        GameResult ret = game.getGameResult();
+
+        subcommands.add(ret.setWinner(winner));
+        subcommands.add(ret.setDescription(winner, winner + " won!"));
+        subcommands.add(ret.setDescription(StoneColor.getOpposite(winner), StoneColor.getOpposite(winner) + " lost!"));
+        subcommands.add(ret.removeScoreComponent(StoneColor.BLACK, GameResult.PointType.CAPTURED_STONES));
+        subcommands.add(ret.removeScoreComponent(StoneColor.WHITE, GameResult.PointType.CAPTURED_STONES));
+        subcommands.add(ret.addScoreComponent(StoneColor.BLACK, GameResult.PointType.STONES_ON_BOARD, stonesBlack));
+        subcommands.add(ret.addScoreComponent(StoneColor.WHITE, GameResult.PointType.STONES_ON_BOARD, stonesWhite));
+        subcommands.add(ret.addScoreComponent(StoneColor.BLACK, GameResult.PointType.TERRITORY, territoryScoreBlack));
+        subcommands.add(ret.addScoreComponent(StoneColor.WHITE, GameResult.PointType.TERRITORY, territoryScoreWhite));
+
+        return UndoableCommand.of(subcommands);
+    }
+
+    @Override
+    public double getKomi() {
+        return 7.5;
+    }
+}
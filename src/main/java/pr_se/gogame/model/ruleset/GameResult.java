@@ -78,6 +78,36 @@ public class GameResult {
         return ret;
     }
 
+    /**
+     * Removes a score component from the GameResult, e.g., when a ruleset doesn't count it
+     * @param c The StoneColor to whom this component applies
+     * @param type The PointType of the score component to be removed
+     * @return An UndoableCommand to undo this method's effects
+     */
+    public UndoableCommand removeScoreComponent(final StoneColor c, final PointType type) {
+        if(c == null || type == null) {
+            throw new NullPointerException();
+        }
+
+        final Number oldValue = scoreComponents.get(c).get(type);
+
+        UndoableCommand ret = new UndoableCommand() {
+            @Override
+            public void execute() {
+                scoreComponents.get(c).remove(type);
+            }
+
+            @Override
+            public void undo() {
+                if(oldValue != null) {
+                    scoreComponents.get(c).put(type, oldValue);
+                }
+            }
+        };
+        ret.execute();
+        return ret;
+    }
+
     /**
      * Returns the total score of the supplied StoneColor
      * @param color the player color whose score is to be returned
@@ -177,6 +207,7 @@ public class GameResult {
         HANDICAP("Handicap"),
         KOMI("Komi"),
         CAPTURED_STONES("Captured stones"),
+        DEAD_STONES("Dead stones"),
         TERRITORY("Territory points"),
         STONES_ON_BOARD("Stones on board");
 
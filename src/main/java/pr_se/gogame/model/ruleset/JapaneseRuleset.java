@@ -1,7 +1,6 @@
 package pr_se.gogame.model.ruleset;
 
 import pr_se.gogame.model.Game;
-import pr_se.gogame.model.helper.Position;
 import pr_se.gogame.model.helper.StoneColor;
 import pr_se.gogame.model.helper.UndoableCommand;
 
@@ -13,21 +12,21 @@ import java.util.*;
 public class JapaneseRuleset implements Ruleset {
 
     /**
-     * This helps to determine if a position has already been visited by the flood fill algorithm.
+     * Finds the territory of both players; kept across calls so that its buffers can be reused.
      */
-    private boolean[][] visited;
+    private final TerritoryScanner territoryScanner = new TerritoryScanner();
 
     /**
-     * This is a temporary list of positions of a territory. The number of positions in this list will be added to
-     * the score of the player if the territory is not surrounded by a different color.
+     * Determines the dead stones that are removed before counting territory. It is kept across calls so that players
+     * can review and toggle the dead stones of the final position before the game is scored.
      */
-    private List<Position> territory;
+    private final LifeAndDeath lifeAndDeath = new LifeAndDeath();
 
     /**
      * This keeps track of the state of the board across multiple moves, ensuring that KO (a repetition of previous
-     * board states) does not happen
+     * board states) does not happen. The entries are the boards' Zobrist hashes, the oldest one coming first.
      */
-    private final int [] boardHashes = new int [getKoAmount()];
+    private final long [] boardHashes = new long [getKoAmount()];
 
     @Override
     public void reset() {
@@ -36,18 +35,10 @@ public class JapaneseRuleset implements Ruleset {
 
     @Override
     public UndoableCommand isKo(Game game) {
-        StoneColor[][] boardColor = new StoneColor[game.getSize()][game.getSize()];
+        final long LAST_BOARD_HASH = boardHashes[0];
+        final long NEW_BOARD_HASH = game.getPositionHash();
 
-        for(int i = 0; i < game.getSize(); i++) {
-            for(int j = 0; j < game.getSize(); j++) {
-                boardColor[i][j] = game.getColorAt(i, j);
-            }
-        }
-
-        final int LAST_BOARD_HASH = boardHashes[0];
-        final int NEW_BOARD_HASH = Arrays.deepHashCode(boardColor);
-
-        if(NEW_BOARD_HASH == LAST_BOARD_HASH) {
+        if(isRepetition(game, NEW_BOARD_HASH, game.getCurColor())) {
             return null;
         }
 
@@ -73,9 +64,26 @@ public class JapaneseRuleset implements Ruleset {
         return ret;
     }
 
+    @Override
+    public boolean isRepetition(Game game, long positionHash, StoneColor color) {
+        return positionHash == boardHashes[0];
+    }
+
+    /**
+     * Returns the life-and-death analysis used by scoreGame(). If it has already been run on the final position (e.g.,
+     * for letting the players toggle dead stones), scoreGame() uses its result as it is; otherwise, scoreGame() runs
+     * it first.
+     * @return the life-and-death analysis of this ruleset
+     */
+    public LifeAndDeath getLifeAndDeath() {
+        return lifeAndDeath;
+    }
+
     /**
      * Calculates the score of the game based on the Japanese ruleset. This is done by calculating the territory of each player.
-     * The player with the most territory wins. Territory is calculated by using the flood fill algorithm.
+     * The player with the most territory wins. Territory is calculated for both players at once by the TerritoryScanner.
+     * Dead stones, as determined by the LifeAndDeath analysis, count as prisoners for the opponent and their points as
+     * the opponent's territory.
      * Handicap is added to Black's score count.
      * Komi is added to White's score count.
      *
@@ -91,14 +99,22 @@ public class JapaneseRuleset implements Ruleset {
         double komi = getKomi();
         double handicap = game.getHandicap();
 
+        if (!lifeAndDeath.isAnalyzed(game)) {
+            lifeAndDeath.analyze(game);
+        }
+        territoryScanner.scan(game, lifeAndDeath);
+
+        int deadStonesBlack = lifeAndDeath.getDeadStones(StoneColor.WHITE);
+        int deadStonesWhite = lifeAndDeath.getDeadStones(StoneColor.BLACK);
+
         int capturedStonesBlack = game.getGameResult().getScoreComponents(StoneColor.BLACK).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
-        int territoryScoreBlack = calculateTerritoryPoints(StoneColor.BLACK, game);
+        int territoryScoreBlack = territoryScanner.getTerritory(StoneColor.BLACK);
 
         int capturedStonesWhite = game.getGameResult().getScoreComponents(StoneColor.WHITE).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
-        int territoryScoreWhite = calculateTerritoryPoints(StoneColor.WHITE, game);
+        int territoryScoreWhite = territoryScanner.getTerritory(StoneColor.WHITE);
 
-        double scoreBlack = capturedStonesBlack + territoryScoreBlack + handicap;
-        double scoreWhite = capturedStonesWhite + territoryScoreWhite + komi;
+        double scoreBlack = capturedStonesBlack + deadStonesBlack + territoryScoreBlack + handicap;
+        double scoreWhite = capturedStonesWhite + deadStonesWhite + territoryScoreWhite + komi;
 
         StoneColor winner = scoreBlack > scoreWhite ? StoneColor.BLACK : StoneColor.WHITE;
 
@@ -109,89 +125,18 @@ public class JapaneseRuleset implements Ruleset {
         subcommands.add(ret.setWinner(winner));
         subcommands.add(ret.setDescription(winner, winner + " won!"));
         subcommands.add(ret.setDescription(StoneColor.getOpposite(winner), StoneColor.getOpposite(winner) + " lost!"));
+        if(deadStonesBlack > 0) {
+            subcommands.add(ret.addScoreComponent(StoneColor.BLACK, GameResult.PointType.DEAD_STONES, deadStonesBlack));
+        }
+        if(deadStonesWhite > 0) {
+            subcommands.add(ret.addScoreComponent(StoneColor.WHITE, GameResult.PointType.DEAD_STONES, deadStonesWhite));
+        }
         subcommands.add(ret.addScoreComponent(StoneColor.BLACK, GameResult.PointType.TERRITORY, territoryScoreBlack));
         subcommands.add(ret.addScoreComponent(StoneColor.WHITE, GameResult.PointType.TERRITORY, territoryScoreWhite));
 
         return UndoableCommand.of(subcommands);
     }
 
-    // FloodFill Algorithm, source: ALGO assignment
-    /**
-     * The algorithm starts at the border of the board. In the first step, all empty positions will be located.
-     * In the next and final step for every empty position all neighbouring positions will be checked if a different
-     *  color than the passed one is present.
-     * If this is the case the territory will be added to the score of the player. If the territory is surrounded by at
-     *  least one different color it will be ignored.
-     * If on the board only one color is present, this player will get all points. If the board is empty, both players
-     *  will get all points.
-     * @param color which color's territory points are to be calculated
-     * @param game the Game to be used for calculating the territory points
-     * @return how many territory points the given player has on the given board.
-     */
-    private int calculateTerritoryPoints(StoneColor color, Game game) {
-        final int boardSize = game.getSize();
-        visited = new boolean[boardSize][boardSize];
-
-        int territoryPoints = 0;
-        for (int x = 0; x < boardSize; x++) {
-            for (int y = 0; y < boardSize; y++) {
-                if (game.getColorAt(x, y) == null && !visited[x][y]) {
-                    territory = new LinkedList<>();
-                    if(floodFill(game, color, x, y)) {
-                        territoryPoints += territory.size();
-                    }
-                }
-            }
-        }
-
-        return territoryPoints;
-    }
-
-
-    /**
-     * Starts at the given location and recursively checks all neighboring positions.
-     * @param game the Game to be evaluated
-     * @param color the color whose territory score is to be calculated
-     * @param x the x-coordinate of the search's origin, starting at the left
-     * @param y the y-coordinate of the search's origin, starting at the top
-     * @return true if an empty area without any bordering stones of the opposite of color was found, false if any stone
-     *  of the opposite color was found next to an empty position
-     */
-    private boolean floodFill(Game game, StoneColor color, int x, int y) {
-        if (x < 0 || y < 0 || x >= game.getSize() || y >= game.getSize()) {
-            return true;
-        }
-
-        // Assertion: The coordinates are valid.
-
-        if(game.getColorAt(x, y) == StoneColor.getOpposite(color)) {
-            return false;
-        }
-
-        // Assertion: The board at this position is either empty or of the same color.
-
-        if(visited[x][y]) {
-            return true;
-        }
-
-        visited[x][y] = true;
-
-        if(game.getColorAt(x, y) != null) {
-            return true;
-        }
-
-        territory.add(new Position(x, y));
-        boolean ret = floodFill(game, color, x, y + 1); // bottom
-
-        ret &= floodFill(game, color, x + 1, y); // right           // The singular & is important, as we need to disable short-circuit evaluation.
-
-        ret &= floodFill(game, color, x, y - 1); // top
-
-        ret &= floodFill(game, color, x - 1, y); // left
-
-        return ret; // SonarQube didn't like the singular & in the return value.
-    }
-
     @Override
     public double getKomi() {
         return 6.5;
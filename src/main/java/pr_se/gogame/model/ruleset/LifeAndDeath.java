@@ -0,0 +1,609 @@
+package pr_se.gogame.model.ruleset;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Life-and-death analysis of a position, used for scoring. The analysis has two stages:
+ * <ol>
+ *     <li><a href="https://senseis.xmp.net/?BensonsAlgorithm">Benson's algorithm</a> finds the chains that are
+ *     unconditionally alive, i.e., that can't be captured even if their owner keeps passing.</li>
+ *     <li>A heuristic marks stones as dead if they are enclosed by the opponent without room for two eyes of their
+ *     own, while the enclosing opponent's stones have room for two eyes or are unconditionally alive.</li>
+ * </ol>
+ * Both stages are based on the regions enclosed by each color, i.e., the connected sets of points not occupied by that
+ * color. Every round of Benson's algorithm takes time linear in the number of points and there are at most as many
+ * rounds as chains, so the analysis runs in bounded time even on 25x25 boards. Stones in seki inside the opponent's
+ * enclosed regions are considered dead; such mistakes can be corrected by toggling the chains in question after the
+ * analysis. The result stays valid until the position of the analyzed Game changes.
+ */
+public class LifeAndDeath {
+    /**
+     * Color code of black stones; also the border mask bit of regions adjacent to black stones
+     */
+    private static final int BLACK = 1;
+
+    /**
+     * Color code of white stones; also the border mask bit of regions adjacent to white stones
+     */
+    private static final int WHITE = 2;
+
+    /**
+     * Minimum number of points of a region that is big enough to form two eyes
+     */
+    private static final int TWO_EYE_SPACE = 7;
+
+    /**
+     * Label of points that don't belong to a chain or region
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The size of the analyzed board
+     */
+    private int size;
+
+    /**
+     * Whether analyze() has been called
+     */
+    private boolean analyzed;
+
+    /**
+     * The position hash of the analyzed Game at the time of the analysis
+     */
+    private long positionHash;
+
+    /**
+     * The color code of each point (0 = empty, BLACK or WHITE), indexed by y * size + x
+     */
+    private byte[] colors = new byte[0];
+
+    /**
+     * The chain label of each point, or NONE if the point is empty
+     */
+    private int[] chains = new int[0];
+
+    /**
+     * The number of chains
+     */
+    private int chainCount;
+
+    /**
+     * The color code of each chain
+     */
+    private byte[] chainColors = new byte[0];
+
+    /**
+     * The number of stones of each chain
+     */
+    private int[] chainSizes = new int[0];
+
+    /**
+     * Whether each chain is unconditionally alive
+     */
+    private boolean[] alive = new boolean[0];
+
+    /**
+     * Whether each chain is (considered) dead
+     */
+    private boolean[] dead = new boolean[0];
+
+    /**
+     * The label of the empty region containing each point, or NONE if the point is occupied
+     */
+    private int[] emptyRegions = new int[0];
+
+    /**
+     * The number of empty regions
+     */
+    private int emptyCount;
+
+    /**
+     * The first point of each empty region
+     */
+    private int[] emptyStarts = new int[0];
+
+    /**
+     * The number of points of each empty region
+     */
+    private int[] emptySizes = new int[0];
+
+    /**
+     * The border mask (BLACK | WHITE) of each empty region
+     */
+    private int[] emptyBorders = new int[0];
+
+    /**
+     * The work list of the flood fills
+     */
+    private int[] stack = new int[0];
+
+    /**
+     * The border mask of the points visited by the last flood fill
+     */
+    private int fillBorder;
+
+    /**
+     * Analyzes the current position of the supplied Game
+     * @param game the Game to be analyzed
+     */
+    public void analyze(Game game) {
+        if (game == null) {
+            throw new NullPointerException();
+        }
+
+        prepare(game.getSize());
+        positionHash = game.getPositionHash();
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                final StoneColor c = game.getColorAt(x, y);
+                colors[y * size + x] = (byte) (c == null ? 0 : c == StoneColor.BLACK ? BLACK : WHITE);
+            }
+        }
+
+        Arrays.fill(chains, NONE);
+        Arrays.fill(emptyRegions, NONE);
+        chainCount = 0;
+        emptyCount = 0;
+        for (int point = 0; point < colors.length; point++) {
+            if (colors[point] != 0 && chains[point] == NONE) {
+                chainColors[chainCount] = colors[point];
+                chainSizes[chainCount] = fill(point, chains, chainCount, colors[point], colors[point]);
+                chainCount++;
+            } else if (colors[point] == 0 && emptyRegions[point] == NONE) {
+                emptyStarts[emptyCount] = point;
+                emptySizes[emptyCount] = fill(point, emptyRegions, emptyCount, 0, 0);
+                emptyBorders[emptyCount] = fillBorder;
+                emptyCount++;
+            }
+        }
+
+        alive = new boolean[chainCount];
+        dead = new boolean[chainCount];
+
+        final EnclosedRegions enclosedByBlack = new EnclosedRegions(BLACK);
+        final EnclosedRegions enclosedByWhite = new EnclosedRegions(WHITE);
+        enclosedByBlack.findUnconditionallyAlive();
+        enclosedByWhite.findUnconditionallyAlive();
+        enclosedByBlack.markDeadStones();
+        enclosedByWhite.markDeadStones();
+
+        analyzed = true;
+    }
+
+    /**
+     * Checks whether the analysis is still valid for the supplied Game, i.e., whether the Game's position hasn't
+     * changed since the analysis
+     * @param game the Game to be checked
+     * @return whether the Game's current position is the analyzed one
+     */
+    public boolean isAnalyzed(Game game) {
+        if (game == null) {
+            throw new NullPointerException();
+        }
+
+        return analyzed && game.getSize() == size && game.getPositionHash() == positionHash;
+    }
+
+    /**
+     * Returns whether the stone at the supplied coordinates belongs to an unconditionally alive chain
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return whether there is an unconditionally alive stone at the supplied coordinates
+     */
+    public boolean isUnconditionallyAlive(int x, int y) {
+        final int chain = getChain(x, y);
+        return chain != NONE && alive[chain];
+    }
+
+    /**
+     * Returns whether the stone at the supplied coordinates is considered dead
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return whether there is a dead stone at the supplied coordinates
+     */
+    public boolean isDead(int x, int y) {
+        final int chain = getChain(x, y);
+        return chain != NONE && dead[chain];
+    }
+
+    /**
+     * Returns the number of dead stones of the supplied color
+     * @param color the color of the stones
+     * @return the number of dead stones of the supplied color
+     */
+    public int getDeadStones(StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        final int code = color == StoneColor.BLACK ? BLACK : WHITE;
+        int ret = 0;
+        for (int chain = 0; chain < chainCount; chain++) {
+            if (dead[chain] && chainColors[chain] == code) {
+                ret += chainSizes[chain];
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Toggles the dead state of the chain at the supplied coordinates, e.g., when a player corrects the analysis
+     * during scoring
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the positions of all stones of the toggled chain
+     * @throws IllegalStateException if no position has been analyzed yet
+     * @throws IllegalArgumentException if there is no stone at the supplied coordinates
+     */
+    public List<Position> toggle(int x, int y) {
+        if (!analyzed) {
+            throw new IllegalStateException("Can't toggle dead stones before analyzing a position!");
+        }
+
+        final int chain = getChain(x, y);
+        if (chain == NONE) {
+            throw new IllegalArgumentException("There is no stone at X=" + x + ", Y=" + y);
+        }
+
+        dead[chain] = !dead[chain];
+
+        final List<Position> ret = new ArrayList<>(chainSizes[chain]);
+        for (int point = 0; point < chains.length; point++) {
+            if (chains[point] == chain) {
+                ret.add(new Position(point % size, point / size));
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the chain label of the supplied coordinates
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the chain label, or NONE if the point is empty or no position has been analyzed yet
+     */
+    private int getChain(int x, int y) {
+        if (x < 0 || y < 0 || (analyzed && (x >= size || y >= size))) {
+            throw new IllegalArgumentException("Coordinates X=" + x + ", Y=" + y + " are out of bounds for board");
+        }
+
+        return analyzed ? chains[y * size + x] : NONE;
+    }
+
+    /**
+     * (Re)allocates the buffers if the board size has changed since the last analysis
+     * @param boardSize the size of the board to be analyzed
+     */
+    private void prepare(int boardSize) {
+        if (boardSize != size) {
+            size = boardSize;
+            colors = new byte[size * size];
+            chains = new int[size * size];
+            chainColors = new byte[size * size];
+            chainSizes = new int[size * size];
+            emptyRegions = new int[size * size];
+            emptyStarts = new int[size * size];
+            emptySizes = new int[size * size];
+            emptyBorders = new int[size * size];
+            stack = new int[size * size];
+        }
+    }
+
+    /**
+     * Labels all points connected to the start point whose color code is either of the supplied ones, and stores the
+     * border mask of the labelled points in fillBorder
+     * @param start the first point
+     * @param target the labels to be set, which must be NONE for all points that haven't been labelled yet
+     * @param label the label to be set
+     * @param color one color code that may be visited
+     * @param otherColor another color code that may be visited
+     * @return the number of labelled points
+     */
+    private int fill(int start, int[] target, int label, int color, int otherColor) {
+        int count = 0;
+        int top = 0;
+        fillBorder = 0;
+        target[start] = label;
+        stack[top++] = start;
+
+        while (top > 0) {
+            final int point = stack[--top];
+            count++;
+
+            for (int direction = 0; direction < 4; direction++) {
+                final int neighbor = TerritoryScanner.getNeighbor(point, direction, size, colors.length);
+                if (neighbor < 0) {
+                    continue;
+                }
+
+                if (colors[neighbor] != color && colors[neighbor] != otherColor) {
+                    fillBorder |= colors[neighbor];
+                } else if (target[neighbor] == NONE) {
+                    target[neighbor] = label;
+                    stack[top++] = neighbor;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * The regions enclosed by one color, i.e., the connected sets of points that are either empty or occupied by the
+     * opponent, together with the chains of the enclosing color bordering them
+     */
+    private class EnclosedRegions {
+        /**
+         * The color code of the enclosing color
+         */
+        private final int color;
+
+        /**
+         * The color code of the opponent
+         */
+        private final int opponent;
+
+        /**
+         * The region label of each point, or NONE for points of the enclosing color
+         */
+        private final int[] regions = new int[colors.length];
+
+        /**
+         * The number of regions
+         */
+        private int regionCount;
+
+        /**
+         * The number of points of each region
+         */
+        private final int[] regionSizes = new int[colors.length];
+
+        /**
+         * The number of empty points of each region
+         */
+        private final int[] emptyCounts = new int[colors.length];
+
+        /**
+         * The bordering chains of each region as pairs {chain, number of the chain's liberties in the region}
+         */
+        private final List<List<int[]>> borders = new ArrayList<>();
+
+        /**
+         * Labels the regions enclosed by the supplied color and collects their bordering chains
+         * @param color the color code of the enclosing color
+         */
+        EnclosedRegions(int color) {
+            this.color = color;
+            this.opponent = BLACK + WHITE - color;
+
+            Arrays.fill(regions, NONE);
+            for (int point = 0; point < colors.length; point++) {
+                if (colors[point] != color && regions[point] == NONE) {
+                    regionSizes[regionCount] = fill(point, regions, regionCount, 0, opponent);
+                    borders.add(new ArrayList<>(2));
+                    regionCount++;
+                }
+            }
+
+            final int[] adjacent = new int[4];
+            for (int point = 0; point < colors.length; point++) {
+                if (colors[point] == color) {
+                    continue;
+                }
+
+                int adjacentCount = 0;
+                for (int direction = 0; direction < 4; direction++) {
+                    final int neighbor = TerritoryScanner.getNeighbor(point, direction, size, colors.length);
+                    if (neighbor >= 0 && colors[neighbor] == color && !contains(adjacent, adjacentCount, chains[neighbor])) {
+                        adjacent[adjacentCount++] = chains[neighbor];
+                    }
+                }
+
+                if (colors[point] == 0) {
+                    emptyCounts[regions[point]]++;
+                }
+                for (int i = 0; i < adjacentCount; i++) {
+                    addBorder(borders.get(regions[point]), adjacent[i], colors[point] == 0);
+                }
+            }
+        }
+
+        /**
+         * Runs Benson's algorithm and marks the unconditionally alive chains of the enclosing color. A region is vital
+         * to a bordering chain if all of its empty points are liberties of the chain. Chains with less than two vital
+         * regions are removed, then all regions bordering a removed chain, until nothing changes; the remaining chains
+         * are unconditionally alive.
+         */
+        void findUnconditionallyAlive() {
+            final boolean[] chainRemaining = new boolean[chainCount];
+            for (int chain = 0; chain < chainCount; chain++) {
+                chainRemaining[chain] = chainColors[chain] == color;
+            }
+            final boolean[] regionRemaining = new boolean[regionCount];
+            Arrays.fill(regionRemaining, true);
+
+            final int[] vitalCounts = new int[chainCount];
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+
+                Arrays.fill(vitalCounts, 0);
+                for (int region = 0; region < regionCount; region++) {
+                    if (regionRemaining[region]) {
+                        for (int[] border : borders.get(region)) {
+                            if (border[1] == emptyCounts[region]) {
+                                vitalCounts[border[0]]++;
+                            }
+                        }
+                    }
+                }
+                for (int chain = 0; chain < chainCount; chain++) {
+                    if (chainRemaining[chain] && vitalCounts[chain] < 2) {
+                        chainRemaining[chain] = false;
+                        changed = true;
+                    }
+                }
+
+                for (int region = 0; region < regionCount; region++) {
+                    if (regionRemaining[region] && bordersRemovedChain(region, chainRemaining)) {
+                        regionRemaining[region] = false;
+                        changed = true;
+                    }
+                }
+            }
+
+            for (int chain = 0; chain < chainCount; chain++) {
+                alive[chain] |= chainRemaining[chain];
+            }
+        }
+
+        /**
+         * Marks the opponent's stones as dead that are inside an eye space of a strong group of the enclosing color.
+         * A region is an eye space if the opponent has neither an unconditionally alive chain nor two eyes inside it,
+         * and if it covers at most half of the board (otherwise the opponent has enough room to still live in it); it
+         * is worth two eyes if it is big enough, otherwise one. Chains sharing an eye space form a group,
+         * which is strong if it has at least two eyes or an unconditionally alive chain.
+         */
+        void markDeadStones() {
+            // The opponent's eyes are the empty regions bordered only by the opponent, which are inside our regions.
+            final int[] opponentEyes = new int[regionCount];
+            final boolean[] opponentAlive = new boolean[regionCount];
+            for (int emptyRegion = 0; emptyRegion < emptyCount; emptyRegion++) {
+                if (emptyBorders[emptyRegion] == opponent) {
+                    opponentEyes[regions[emptyStarts[emptyRegion]]] += getEyes(emptySizes[emptyRegion]);
+                }
+            }
+            for (int point = 0; point < colors.length; point++) {
+                if (colors[point] == opponent && alive[chains[point]]) {
+                    opponentAlive[regions[point]] = true;
+                }
+            }
+
+            final int[] groups = new int[chainCount];
+            for (int chain = 0; chain < chainCount; chain++) {
+                groups[chain] = chain;
+            }
+
+            final int[] eyes = new int[regionCount];
+            for (int region = 0; region < regionCount; region++) {
+                if (!opponentAlive[region] && opponentEyes[region] < 2 && regionSizes[region] * 2 <= colors.length && !borders.get(region).isEmpty()) {
+                    eyes[region] = getEyes(regionSizes[region]);
+                    for (int[] border : borders.get(region)) {
+                        union(groups, border[0], borders.get(region).get(0)[0]);
+                    }
+                }
+            }
+
+            final int[] groupEyes = new int[chainCount];
+            final boolean[] groupStrong = new boolean[chainCount];
+            for (int region = 0; region < regionCount; region++) {
+                if (eyes[region] > 0) {
+                    groupEyes[find(groups, borders.get(region).get(0)[0])] += eyes[region];
+                }
+            }
+            for (int chain = 0; chain < chainCount; chain++) {
+                if (chainColors[chain] == color && (alive[chain] || groupEyes[find(groups, chain)] >= 2)) {
+                    groupStrong[find(groups, chain)] = true;
+                }
+            }
+
+            for (int point = 0; point < colors.length; point++) {
+                if (colors[point] == opponent) {
+                    final int region = regions[point];
+                    if (eyes[region] > 0 && groupStrong[find(groups, borders.get(region).get(0)[0])]) {
+                        dead[chains[point]] = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks whether a region borders a chain that has been removed by Benson's algorithm
+         * @param region the region to be checked
+         * @param chainRemaining whether each chain is still remaining
+         * @return whether the region borders a removed chain
+         */
+        private boolean bordersRemovedChain(int region, boolean[] chainRemaining) {
+            for (int[] border : borders.get(region)) {
+                if (!chainRemaining[border[0]]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of eyes that a region of the supplied size can form
+     * @param regionSize the number of points of the region
+     * @return 2 if the region is big enough for two eyes, otherwise 1
+     */
+    private static int getEyes(int regionSize) {
+        return regionSize >= TWO_EYE_SPACE ? 2 : 1;
+    }
+
+    /**
+     * Counts a bordering chain of a region, adding it to the region's border list if necessary
+     * @param border the border list of the region
+     * @param chain the bordering chain
+     * @param liberty whether the point of the region next to the chain is empty, i.e., a liberty of the chain
+     */
+    private static void addBorder(List<int[]> border, int chain, boolean liberty) {
+        for (int[] entry : border) {
+            if (entry[0] == chain) {
+                if (liberty) {
+                    entry[1]++;
+                }
+                return;
+            }
+        }
+        border.add(new int[] {chain, liberty ? 1 : 0});
+    }
+
+    /**
+     * Checks whether the first elements of an array contain a value
+     * @param array the array to be searched
+     * @param length the number of elements to be searched
+     * @param value the value to be searched for
+     * @return whether the value was found
+     */
+    private static boolean contains(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the representative of an element of a union-find structure, compressing the path on the way
+     * @param parents the parent of each element
+     * @param element the element
+     * @return the representative of the element's set
+     */
+    private static int find(int[] parents, int element) {
+        while (parents[element] != element) {
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets of two elements of a union-find structure
+     * @param parents the parent of each element
+     * @param a the first element
+     * @param b the second element
+     */
+    private static void union(int[] parents, int a, int b) {
+        parents[find(parents, a)] = find(parents, b);
+    }
+}
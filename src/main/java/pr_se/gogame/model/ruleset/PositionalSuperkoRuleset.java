@@ -0,0 +1,37 @@
+package pr_se.gogame.model.ruleset;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.UndoableCommand;
+
+/**
+ * Variant of the JapaneseRuleset with <a href="https://senseis.xmp.net/?PositionalSuperko">positional superko</a>:
+ * A move may not recreate any position that has occurred earlier in the game, regardless of whose turn it was. The
+ * check is done in O(1) via the position index of the Game's History, so this ruleset keeps no bookkeeping of its own.
+ */
+public class PositionalSuperkoRuleset extends JapaneseRuleset {
+
+    @Override
+    public UndoableCommand isKo(Game game) {
+        if(isRepetition(game, game.getPositionHash(), game.getCurColor())) {
+            return null;
+        }
+
+        return new UndoableCommand() {
+            @Override
+            public void execute() {
+                // The History keeps track of all positions, so there is nothing to do here.
+            }
+
+            @Override
+            public void undo() {
+                // The History keeps track of all positions, so there is nothing to do here.
+            }
+        };
+    }
+
+    @Override
+    public boolean isRepetition(Game game, long positionHash, StoneColor color) {
+        return game.getHistory().containsPosition(positionHash);
+    }
+}
@@ -38,6 +38,18 @@ public interface Ruleset {
      */
     UndoableCommand isKo(Game game);
 
+    /**
+     * Checks whether a move resulting in the supplied position would violate this ruleset's ko rule, without changing
+     * any bookkeeping. This allows checking the legality of moves without playing them.
+     * @param game The Game that the move would be played in
+     * @param positionHash The Zobrist hash of the position after the move (see BoardInterface.getPositionHashAfterMove())
+     * @param color The color of the player making the move
+     * @return whether the move would be prohibited by ko
+     */
+    default boolean isRepetition(Game game, long positionHash, StoneColor color) {
+        return false;
+    }
+
     /**
      * This method calculates the score of the game for both players.
      * @return an UndoableCommand to undo the side effects of the score calculation
@@ -0,0 +1,465 @@
+package pr_se.gogame.model.ruleset;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.view_controller.observer.BoardDiffEvent;
+import pr_se.gogame.view_controller.observer.GameEvent;
+import pr_se.gogame.view_controller.observer.GameListener;
+
+/**
+ * Keeps a continuously updated estimate of the score while a Game is being played. The estimator listens to the
+ * Game's GameEvents and maintains the same empty regions as the TerritoryScanner, but instead of rescanning the whole
+ * board after every move, it only relabels the regions touched by a stone that was set or removed: Setting a stone
+ * may split the region it was set in, while removing a stone merges all regions around it.<br>
+ * Territory is counted like the TerritoryScanner does. For scoring the final position, a LifeAndDeath analysis can be
+ * supplied, whose dead stones are then treated like empty points. Toggling dead stones through the estimator only
+ * relabels the regions around the toggled chain, so the score can be updated interactively. Once the position changes,
+ * the analysis is dropped again.
+ */
+public class ScoreEstimator implements GameListener {
+    /**
+     * Border mask bit of a region that is adjacent to at least one black stone; also the color code of black stones
+     */
+    private static final int BLACK_BORDER = 1;
+
+    /**
+     * Border mask bit of a region that is adjacent to at least one white stone; also the color code of white stones
+     */
+    private static final int WHITE_BORDER = 2;
+
+    /**
+     * Label of points that are occupied by a stone
+     */
+    private static final int STONE = -1;
+
+    /**
+     * The Game whose score is estimated
+     */
+    private final Game game;
+
+    /**
+     * The size of the Game's board
+     */
+    private int size;
+
+    /**
+     * The color code of each point as known to the estimator (0 = empty, BLACK_BORDER or WHITE_BORDER), indexed by
+     * y * size + x
+     */
+    private byte[] colors;
+
+    /**
+     * The region label of each point, or STONE
+     */
+    private int[] regions;
+
+    /**
+     * Marks the points that have already been relabelled by the current update
+     */
+    private int[] pointStamps;
+
+    /**
+     * Marks the regions whose labels have already been released by the current update
+     */
+    private int[] regionStamps;
+
+    /**
+     * The stamp of the current update
+     */
+    private int stamp;
+
+    /**
+     * The work list of the flood fill
+     */
+    private int[] stack;
+
+    /**
+     * The number of points of each region
+     */
+    private int[] regionSizes;
+
+    /**
+     * The border mask (BLACK_BORDER | WHITE_BORDER) of each region
+     */
+    private int[] regionBorders;
+
+    /**
+     * Region labels that are currently unused
+     */
+    private int[] freeLabels;
+
+    /**
+     * The number of entries in freeLabels
+     */
+    private int freeLabelCount;
+
+    /**
+     * The territory points of Black
+     */
+    private int territoryBlack;
+
+    /**
+     * The territory points of White
+     */
+    private int territoryWhite;
+
+    /**
+     * The analysis determining the dead stones of the current position, or null if all stones are treated as alive
+     */
+    private LifeAndDeath lifeAndDeath;
+
+    /**
+     * The number of black stones on the board
+     */
+    private int stonesBlack;
+
+    /**
+     * The number of white stones on the board
+     */
+    private int stonesWhite;
+
+    /**
+     * Creates a new ScoreEstimator for the supplied Game and registers it as the Game's listener
+     * @param game the Game whose score is to be estimated
+     */
+    public ScoreEstimator(Game game) {
+        if (game == null) {
+            throw new NullPointerException();
+        }
+
+        this.game = game;
+        rescan();
+        game.addListener(this);
+    }
+
+    /**
+     * Unregisters this estimator from its Game, so that it no longer receives updates
+     */
+    public void dispose() {
+        game.removeListener(this);
+    }
+
+    @Override
+    public void gameCommand(GameEvent e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        if (lifeAndDeath != null && !lifeAndDeath.isAnalyzed(game)) {
+            lifeAndDeath = null;
+            rescan();
+        }
+
+        switch (e.getGameCommand()) {
+            case INIT, NEW_GAME -> rescan();
+            case STONE_WAS_SET, STONE_WAS_REMOVED -> {
+                // Handicap stones of a new game are set before NEW_GAME is fired, possibly on a board of another size.
+                if (game.getSize() != size) {
+                    rescan();
+                } else {
+                    update(e.getY() * size + e.getX());
+                }
+            }
+            case BOARD_DIFF -> {
+                if (game.getSize() != size) {
+                    rescan();
+                } else {
+                    for (GameEvent change : ((BoardDiffEvent) e).getChanges()) {
+                        update(change.getY() * size + change.getX());
+                    }
+                }
+            }
+            default -> {
+                // Nothing else changes the position.
+            }
+        }
+    }
+
+    /**
+     * Sets the analysis that determines which stones are dead. Its dead stones are treated like empty points until the
+     * position changes.
+     * @param lifeAndDeath the analysis of the Game's current position, or null if all stones are to be treated as alive
+     * @throws IllegalStateException if the analysis doesn't match the Game's current position
+     */
+    public void setLifeAndDeath(LifeAndDeath lifeAndDeath) {
+        if (lifeAndDeath != null && !lifeAndDeath.isAnalyzed(game)) {
+            throw new IllegalStateException("The life-and-death analysis doesn't match the game's current position!");
+        }
+
+        this.lifeAndDeath = lifeAndDeath;
+        rescan();
+    }
+
+    /**
+     * Toggles the dead state of the chain at the supplied coordinates in the analysis set by setLifeAndDeath() and
+     * updates the estimate accordingly
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @throws IllegalStateException if no analysis has been set
+     * @throws IllegalArgumentException if there is no stone at the supplied coordinates
+     */
+    public void toggleDeadStones(int x, int y) {
+        if (lifeAndDeath == null) {
+            throw new IllegalStateException("Can't toggle dead stones without a life-and-death analysis!");
+        }
+
+        for (Position p : lifeAndDeath.toggle(x, y)) {
+            update(p.getY() * size + p.getX());
+        }
+    }
+
+    /**
+     * Returns the current territory points of the supplied player
+     * @param color the player whose territory points are to be returned
+     * @return how many empty points are surrounded only by the supplied player's stones
+     */
+    public int getTerritory(StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? territoryBlack : territoryWhite;
+    }
+
+    /**
+     * Returns the current area of the supplied player, i.e., their territory plus the number of their stones
+     * @param color the player whose area is to be returned
+     * @return the area of the supplied player
+     */
+    public int getArea(StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        return getTerritory(color) + (color == StoneColor.BLACK ? stonesBlack : stonesWhite);
+    }
+
+    /**
+     * Returns the score that the supplied player would get if the game was scored now, calculated like the
+     * JapaneseRuleset does: territory, captured stones and dead stones of the opponent, plus the handicap for Black and
+     * the komi for White
+     * @param color the player whose score is to be returned
+     * @return the estimated score of the supplied player
+     */
+    public double getScore(StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        final double captured = game.getGameResult().getScoreComponents(color).getOrDefault(GameResult.PointType.CAPTURED_STONES, 0).intValue();
+        final double bonus = color == StoneColor.BLACK ? game.getHandicap() : game.getKomi();
+        final int dead = lifeAndDeath != null ? lifeAndDeath.getDeadStones(StoneColor.getOpposite(color)) : 0;
+
+        return getTerritory(color) + captured + dead + bonus;
+    }
+
+    /**
+     * Returns the current owner of the supplied point
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the player whose territory the point is part of, or null if the point is occupied, neutral or belongs to
+     * both players (on an empty board)
+     */
+    public StoneColor getOwner(int x, int y) {
+        if (x < 0 || y < 0 || x >= size || y >= size) {
+            throw new IllegalArgumentException("Coordinates X=" + x + ", Y=" + y + " are out of bounds for board");
+        }
+
+        final int region = regions[y * size + x];
+        if (region == STONE) {
+            return null;
+        }
+
+        return switch (regionBorders[region]) {
+            case BLACK_BORDER -> StoneColor.BLACK;
+            case WHITE_BORDER -> StoneColor.WHITE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Reads the whole board again and labels all regions from scratch, e.g., after a new game has been started
+     */
+    private void rescan() {
+        size = game.getSize();
+        final int points = size * size;
+
+        colors = new byte[points];
+        regions = new int[points];
+        pointStamps = new int[points];
+        regionStamps = new int[points];
+        stack = new int[points];
+        regionSizes = new int[points];
+        regionBorders = new int[points];
+        freeLabels = new int[points];
+        stamp = 0;
+        territoryBlack = 0;
+        territoryWhite = 0;
+        stonesBlack = 0;
+        stonesWhite = 0;
+
+        // Labels are taken from the end, so the first region gets label 0.
+        freeLabelCount = points;
+        for (int i = 0; i < points; i++) {
+            freeLabels[i] = points - 1 - i;
+        }
+
+        for (int point = 0; point < points; point++) {
+            colors[point] = readColor(point);
+            regions[point] = STONE;
+            countStone(colors[point], 1);
+        }
+
+        stamp++;
+        for (int point = 0; point < points; point++) {
+            if (colors[point] == 0 && pointStamps[point] != stamp) {
+                fillRegion(point);
+            }
+        }
+    }
+
+    /**
+     * Brings the supplied point in line with the Game's board and relabels the regions touched by the change
+     * @param point the point whose stone was set or removed
+     */
+    private void update(int point) {
+        final byte newColor = readColor(point);
+        final byte oldColor = colors[point];
+        if (newColor == oldColor) {
+            return;
+        }
+
+        stamp++;
+
+        if (oldColor == 0) {
+            // All empty neighbors belong to the region that the stone was set in, which may now fall apart.
+            releaseRegion(regions[point]);
+            colors[point] = newColor;
+            regions[point] = STONE;
+        } else {
+            colors[point] = newColor;
+            regions[point] = STONE;
+            // A changed stone color changes the borders of all regions around it.
+            for (int direction = 0; direction < 4; direction++) {
+                final int neighbor = TerritoryScanner.getNeighbor(point, direction, size, colors.length);
+                if (neighbor >= 0 && colors[neighbor] == 0) {
+                    releaseRegion(regions[neighbor]);
+                }
+            }
+        }
+
+        countStone(oldColor, -1);
+        countStone(newColor, 1);
+
+        if (newColor == 0) {
+            // The empty point joins all regions around it.
+            fillRegion(point);
+        } else {
+            for (int direction = 0; direction < 4; direction++) {
+                final int neighbor = TerritoryScanner.getNeighbor(point, direction, size, colors.length);
+                if (neighbor >= 0 && colors[neighbor] == 0 && pointStamps[neighbor] != stamp) {
+                    fillRegion(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Labels the empty region containing the supplied point with a free label, records its size and border mask and
+     * adds it to the territory. Labels of previous regions that are encountered are released on the way.
+     * @param start an empty point of the region that hasn't been relabelled by the current update yet
+     */
+    private void fillRegion(int start) {
+        final int label = freeLabels[--freeLabelCount];
+        int regionSize = 0;
+        int border = 0;
+        int top = 0;
+
+        pointStamps[start] = stamp;
+        stack[top++] = start;
+
+        while (top > 0) {
+            final int point = stack[--top];
+            if (regions[point] != STONE && regions[point] != label) {
+                releaseRegion(regions[point]);
+            }
+            regions[point] = label;
+            regionSize++;
+
+            for (int direction = 0; direction < 4; direction++) {
+                final int neighbor = TerritoryScanner.getNeighbor(point, direction, size, colors.length);
+                if (neighbor < 0) {
+                    continue;
+                }
+
+                if (colors[neighbor] != 0) {
+                    border |= colors[neighbor];
+                } else if (pointStamps[neighbor] != stamp) {
+                    pointStamps[neighbor] = stamp;
+                    stack[top++] = neighbor;
+                }
+            }
+        }
+
+        regionSizes[label] = regionSize;
+        regionBorders[label] = border;
+        addTerritory(label, 1);
+    }
+
+    /**
+     * Removes a region from the territory and returns its label to the free labels, unless this has already been done
+     * by the current update
+     * @param label the label of the region
+     */
+    private void releaseRegion(int label) {
+        if (regionStamps[label] == stamp) {
+            return;
+        }
+
+        regionStamps[label] = stamp;
+        addTerritory(label, -1);
+        freeLabels[freeLabelCount++] = label;
+    }
+
+    /**
+     * Adds the size of a region to the territory of the players it belongs to
+     * @param label the label of the region
+     * @param sign 1 to add the region, -1 to subtract it
+     */
+    private void addTerritory(int label, int sign) {
+        if ((regionBorders[label] & WHITE_BORDER) == 0) {
+            territoryBlack += sign * regionSizes[label];
+        }
+        if ((regionBorders[label] & BLACK_BORDER) == 0) {
+            territoryWhite += sign * regionSizes[label];
+        }
+    }
+
+    /**
+     * Adds to the number of stones of the supplied color code
+     * @param color the color code (0 is ignored)
+     * @param amount the amount to be added
+     */
+    private void countStone(byte color, int amount) {
+        if (color == BLACK_BORDER) {
+            stonesBlack += amount;
+        } else if (color == WHITE_BORDER) {
+            stonesWhite += amount;
+        }
+    }
+
+    /**
+     * Reads the color of the supplied point from the Game's board
+     * @param point the point to be read
+     * @return the color code of the point, which is 0 for dead stones
+     */
+    private byte readColor(int point) {
+        if (lifeAndDeath != null && lifeAndDeath.isDead(point % size, point / size)) {
+            return 0;
+        }
+
+        final StoneColor c = game.getColorAt(point % size, point / size);
+        return (byte) (c == null ? 0 : c == StoneColor.BLACK ? BLACK_BORDER : WHITE_BORDER);
+    }
+}
@@ -0,0 +1,18 @@
+package pr_se.gogame.model.ruleset;
+
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+
+/**
+ * Variant of the JapaneseRuleset with <a href="https://senseis.xmp.net/?SituationalSuperko">situational superko</a>:
+ * A move may not recreate any earlier position in which the same player was to move next. Unlike positional superko,
+ * this still allows a move to recreate a position that previously arose from a move of the opponent.
+ */
+public class SituationalSuperkoRuleset extends PositionalSuperkoRuleset {
+
+    @Override
+    public boolean isRepetition(Game game, long positionHash, StoneColor color) {
+        // After the move, it's the opponent's turn.
+        return game.getHistory().containsSituation(positionHash, StoneColor.getOpposite(color));
+    }
+}
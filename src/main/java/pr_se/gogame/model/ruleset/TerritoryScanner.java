@@ -0,0 +1,311 @@
+package pr_se.gogame.model.ruleset;
+
+import pr_se.gogame.model.BoardInterface;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+
+/**
+ * Finds the territory and the stones of both players in a single pass over the board. Every empty region is labelled by an iterative
+ * flood fill that records the region's size and the colors of the stones bordering it. A region belongs to a player if
+ * it borders only that player's stones; a region without any bordering stones (i.e., on an empty board) belongs to
+ * both players, while a region bordering both colors is neutral.<br>
+ * The buffers are reused for all scans on boards of the same size, so a scanner should be kept per Game (e.g., in its
+ * Ruleset) rather than created for each scan. Instances are not thread-safe.
+ */
+public class TerritoryScanner {
+    /**
+     * Border mask bit of a region that is adjacent to at least one black stone
+     */
+    private static final int BLACK_BORDER = 1;
+
+    /**
+     * Border mask bit of a region that is adjacent to at least one white stone
+     */
+    private static final int WHITE_BORDER = 2;
+
+    /**
+     * Label of points that are occupied by a stone
+     */
+    private static final int STONE = -1;
+
+    /**
+     * Label of empty points that haven't been reached by the flood fill yet
+     */
+    private static final int UNLABELLED = -2;
+
+    /**
+     * The size of the board of the last scan
+     */
+    private int size;
+
+    /**
+     * The color of each point (0 = empty, BLACK_BORDER or WHITE_BORDER), indexed by y * size + x, so that the flood
+     * fill can combine the colors of bordering stones into a region's border mask directly
+     */
+    private byte[] colors = new byte[0];
+
+    /**
+     * The region label of each point, or STONE
+     */
+    private int[] regions = new int[0];
+
+    /**
+     * The work list of the flood fill, which replaces the recursion
+     */
+    private int[] stack = new int[0];
+
+    /**
+     * The number of points of each region
+     */
+    private int[] regionSizes = new int[0];
+
+    /**
+     * The border mask (BLACK_BORDER | WHITE_BORDER) of each region
+     */
+    private int[] regionBorders = new int[0];
+
+    /**
+     * The number of regions found by the last scan
+     */
+    private int regionCount;
+
+    /**
+     * The territory points of Black found by the last scan
+     */
+    private int territoryBlack;
+
+    /**
+     * The territory points of White found by the last scan
+     */
+    private int territoryWhite;
+
+    /**
+     * The number of (living) black stones found by the last scan
+     */
+    private int stonesBlack;
+
+    /**
+     * The number of (living) white stones found by the last scan
+     */
+    private int stonesWhite;
+
+    /**
+     * Scans the current position of the supplied Game and determines the territory of both players
+     * @param game the Game to be scanned
+     */
+    public void scan(Game game) {
+        scan(game, null);
+    }
+
+    /**
+     * Scans the current position of the supplied Game and determines the territory of both players. Dead stones are
+     * treated like empty points, so their points count as territory of the player who surrounds them.
+     * @param game the Game to be scanned
+     * @param lifeAndDeath the analysis of the Game's current position determining the dead stones, or null if all
+     *                     stones are to be treated as alive
+     * @throws IllegalStateException if the analysis doesn't match the Game's current position
+     */
+    public void scan(Game game, LifeAndDeath lifeAndDeath) {
+        if (game == null) {
+            throw new NullPointerException();
+        }
+
+        if (lifeAndDeath != null && !lifeAndDeath.isAnalyzed(game)) {
+            throw new IllegalStateException("The life-and-death analysis doesn't match the game's current position!");
+        }
+
+        prepare(game.getSize());
+        stonesBlack = 0;
+        stonesWhite = 0;
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                setPoint(y * size + x, lifeAndDeath != null && lifeAndDeath.isDead(x, y) ? null : game.getColorAt(x, y));
+            }
+        }
+
+        labelRegions();
+    }
+
+    /**
+     * Scans the position of the supplied board and determines the territory of both players, treating all stones as
+     * alive. Unlike scan(Game), this also works for headless boards that don't belong to any Game.
+     * @param board the board to be scanned
+     */
+    public void scan(BoardInterface board) {
+        if (board == null) {
+            throw new NullPointerException();
+        }
+
+        prepare(board.getSize());
+        stonesBlack = 0;
+        stonesWhite = 0;
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                setPoint(y * size + x, board.getColorAt(x, y));
+            }
+        }
+
+        labelRegions();
+    }
+
+    /**
+     * Returns the territory points of the supplied player, as found by the last scan
+     * @param color the player whose territory points are to be returned
+     * @return how many territory points the supplied player has
+     */
+    public int getTerritory(StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? territoryBlack : territoryWhite;
+    }
+
+    /**
+     * Returns the number of stones of the supplied player, as found by the last scan. Dead stones aren't counted.
+     * @param color the player whose stones are to be counted
+     * @return how many stones the supplied player has on the board
+     */
+    public int getStones(StoneColor color) {
+        if (color == null) {
+            throw new NullPointerException();
+        }
+
+        return color == StoneColor.BLACK ? stonesBlack : stonesWhite;
+    }
+
+    /**
+     * Returns the owner of the supplied point, as found by the last scan
+     * @param x Horizontal coordinate from 0 to size-1, starting on the left
+     * @param y Vertical coordinate from 0 to size-1, starting on the top
+     * @return the player whose territory the point is part of, or null if the point is occupied, neutral or belongs to
+     * both players (on an empty board)
+     */
+    public StoneColor getOwner(int x, int y) {
+        if (x < 0 || y < 0 || x >= size || y >= size) {
+            throw new IllegalArgumentException("Coordinates X=" + x + ", Y=" + y + " are out of bounds for board");
+        }
+
+        final int region = regions[y * size + x];
+        if (region == STONE) {
+            return null;
+        }
+
+        return switch (regionBorders[region]) {
+            case BLACK_BORDER -> StoneColor.BLACK;
+            case WHITE_BORDER -> StoneColor.WHITE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Records the color of a point before the regions are labelled and counts its stone
+     * @param point index of the point (y * size + x)
+     * @param c the color of the stone on the point, or null if it is empty (or its stone is dead)
+     */
+    private void setPoint(int point, StoneColor c) {
+        colors[point] = (byte) (c == null ? 0 : c == StoneColor.BLACK ? BLACK_BORDER : WHITE_BORDER);
+        regions[point] = c == null ? UNLABELLED : STONE;
+        if (c == StoneColor.BLACK) {
+            stonesBlack++;
+        } else if (c == StoneColor.WHITE) {
+            stonesWhite++;
+        }
+    }
+
+    /**
+     * Labels all empty regions once the colors of all points have been recorded and sums up the territory of both
+     * players
+     */
+    private void labelRegions() {
+        regionCount = 0;
+        territoryBlack = 0;
+        territoryWhite = 0;
+
+        for (int point = 0; point < colors.length; point++) {
+            if (regions[point] == UNLABELLED) {
+                fillRegion(point);
+
+                final int border = regionBorders[regionCount];
+                if ((border & WHITE_BORDER) == 0) {
+                    territoryBlack += regionSizes[regionCount];
+                }
+                if ((border & BLACK_BORDER) == 0) {
+                    territoryWhite += regionSizes[regionCount];
+                }
+                regionCount++;
+            }
+        }
+    }
+
+    /**
+     * (Re)allocates the buffers if the board size has changed since the last scan
+     * @param boardSize the size of the board to be scanned
+     */
+    private void prepare(int boardSize) {
+        if (boardSize != size) {
+            size = boardSize;
+            colors = new byte[size * size];
+            regions = new int[size * size];
+            stack = new int[size * size];
+            regionSizes = new int[size * size];
+            regionBorders = new int[size * size];
+        }
+    }
+
+    /**
+     * Labels the empty region containing the supplied point with the next region label (regionCount) and records its
+     * size and border mask. Every point is pushed onto the stack at most once, because it is labelled when pushed.
+     * @param start an unlabelled empty point of the region
+     */
+    private void fillRegion(int start) {
+        final int label = regionCount;
+        int regionSize = 0;
+        int border = 0;
+        int top = 0;
+
+        regions[start] = label;
+        stack[top++] = start;
+
+        while (top > 0) {
+            final int point = stack[--top];
+            regionSize++;
+
+            for (int direction = 0; direction < 4; direction++) {
+                final int neighbor = getNeighbor(point, direction, size, colors.length);
+                if (neighbor < 0) {
+                    continue;
+                }
+
+                if (colors[neighbor] != 0) {
+                    border |= colors[neighbor];
+                } else if (regions[neighbor] == UNLABELLED) {
+                    regions[neighbor] = label;
+                    stack[top++] = neighbor;
+                }
+            }
+        }
+
+        regionSizes[label] = regionSize;
+        regionBorders[label] = border;
+    }
+
+    /**
+     * Returns the neighbor of a point in the supplied direction. Shared by the point-indexed scans of this package.
+     * @param point the point whose neighbor is to be returned
+     * @param direction 0 = bottom, 1 = right, 2 = top, 3 = left
+     * @param size the size of the board
+     * @param points the number of points on the board (size * size)
+     * @return the neighbor, or -1 if it would be outside the board
+     */
+    static int getNeighbor(int point, int direction, int size, int points) {
+        return switch (direction) {
+            case 0 -> point < points - size ? point + size : -1;
+            case 1 -> point % size < size - 1 ? point + 1 : -1;
+            case 2 -> point >= size ? point - size : -1;
+            default -> point % size > 0 ? point - 1 : -1;
+        };
+    }
+}
@@ -14,8 +14,10 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 import pr_se.gogame.model.GameInterface;
 import pr_se.gogame.model.helper.MarkShape;
+import pr_se.gogame.view_controller.observer.BoardDiffEvent;
 import pr_se.gogame.view_controller.dialog.CustomExceptionDialog;
 import pr_se.gogame.view_controller.observer.DebugEvent;
+import pr_se.gogame.view_controller.observer.GameEvent;
 import pr_se.gogame.view_controller.observer.ViewListener;
 
 import java.io.IOException;
@@ -181,20 +183,12 @@ public class BoardPane extends GridPane {
             PlayableBoardCell destinationPBC;
 
             switch(e.getGameCommand()) {
-                case STONE_WAS_SET:
-                    destinationPBC = getPlayableCell(e.getX(), e.getY());
-                    destinationPBC.getLabel().setText("" + e.getMoveNumber());
-
-                    if (e.getColor() == BLACK) {
-                        destinationPBC.setBlack();
-                    } else if(e.getColor() == WHITE) {
-                        destinationPBC.setWhite();
-                    }
-
+                case STONE_WAS_SET, STONE_WAS_REMOVED, SETUP_STONE_SET:
+                    showStoneEvent(e);
                     break;
 
-                case STONE_WAS_REMOVED:
-                    getPlayableCell(e.getX(), e.getY()).unset();
+                case BOARD_DIFF:
+                    ((BoardDiffEvent) e).getChanges().forEach(this::showStoneEvent);
                     break;
 
                 case HANDICAP_SET:
@@ -212,13 +206,6 @@ public class BoardPane extends GridPane {
 
                     break;
 
-                case SETUP_STONE_SET:
-                    destinationPBC = getPlayableCell(e.getX(), e.getY());
-
-                    destinationPBC.getLabel().setVisible(false);
-
-                    break;
-
                 case UNMARK, MARK_CIRCLE, MARK_SQUARE, MARK_TRIANGLE:
                     destinationPBC = getPlayableCell(e.getX(), e.getY());
 
@@ -511,6 +498,31 @@ public class BoardPane extends GridPane {
     }
 
     // private methods
+
+    /**
+     * Displays the effect of a stone-related GameEvent (STONE_WAS_SET, STONE_WAS_REMOVED or SETUP_STONE_SET) on the
+     * corresponding PlayableBoardCell
+     * @param e the GameEvent to be displayed
+     */
+    private void showStoneEvent(GameEvent e) {
+        final PlayableBoardCell destinationPBC = getPlayableCell(e.getX(), e.getY());
+
+        switch (e.getGameCommand()) {
+            case STONE_WAS_SET -> {
+                destinationPBC.getLabel().setText("" + e.getMoveNumber());
+
+                if (e.getColor() == BLACK) {
+                    destinationPBC.setBlack();
+                } else if(e.getColor() == WHITE) {
+                    destinationPBC.setWhite();
+                }
+            }
+            case STONE_WAS_REMOVED -> destinationPBC.unset();
+            case SETUP_STONE_SET -> destinationPBC.getLabel().setVisible(false);
+            default -> throw new IllegalArgumentException("Unsupported GameCommand " + e.getGameCommand());
+        }
+    }
+
     /**
      * loads the image files from the specified graphics pack into memory
      * @param graphicsPath path of the graphics pack to be loaded
@@ -152,7 +152,7 @@ public class HeaderPane extends VBox {
 
         game.addListener(e -> {
             switch (e.getGameCommand()) {
-                case STONE_WAS_SET -> {
+                case STONE_WAS_SET, BOARD_DIFF -> {
                     exportFileItem.setDisable(false);
                     exportFileItemAs.setDisable(false);
                 }
@@ -0,0 +1,38 @@
+package pr_se.gogame.view_controller.observer;
+
+import pr_se.gogame.model.helper.GameCommand;
+
+import java.util.List;
+
+/**
+ * GameEvent summarizing the net changes of the board caused by a batch of GameEvents (see
+ * GameInterface.beginEventBatch()). Each changed point is listed only once, with the STONE_WAS_SET or
+ * STONE_WAS_REMOVED event describing its final state (followed by a SETUP_STONE_SET event for setup stones); points
+ * that ended up as they started are left out.
+ */
+public class BoardDiffEvent extends GameEvent {
+    /**
+     * The stone-related GameEvents describing the net changes
+     */
+    private final List<GameEvent> changes;
+
+    /**
+     * Creates a new BoardDiffEvent
+     * @param changes the stone-related GameEvents describing the net changes
+     */
+    public BoardDiffEvent(List<GameEvent> changes) {
+        super(GameCommand.BOARD_DIFF);
+        if(changes == null) {
+            throw new NullPointerException();
+        }
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * @return the stone-related GameEvents describing the net changes, in the order in which the points were first
+     * changed
+     */
+    public List<GameEvent> getChanges() {
+        return changes;
+    }
+}
@@ -7,12 +7,12 @@ import pr_se.gogame.model.helper.GameCommand;
  */
 public class DebugEvent extends GameEvent {
     /**
-     * The serial number of the StoneGroup that this DebugEvent pertains to
+     * The number identifying the stone group that this DebugEvent pertains to (e.g., the index of its root point)
      */
     private final int groupNo;
 
     /**
-     * The serial number of the StoneGroupPointer that this DebugEvent pertains to
+     * The number identifying the board entry that this DebugEvent pertains to (e.g., the index of its parent point)
      */
     private final int ptrNo;
 
@@ -21,8 +21,8 @@ public class DebugEvent extends GameEvent {
      * Creates a new DebugEvent
      * @param col X coordinate, starting at the left
      * @param row Y coordinate, starting at the top
-     * @param ptrNo serial number of the StoneGroupPointer that this Event pertains to
-     * @param groupNo serial number of the StoneGroup that this Event pertains to
+     * @param ptrNo number identifying the board entry that this Event pertains to
+     * @param groupNo number identifying the stone group that this Event pertains to
      */
     public DebugEvent(int col, int row, int ptrNo, int groupNo) {
         super(GameCommand.DEBUG_INFO, col, row, 0);
@@ -31,14 +31,14 @@ public class DebugEvent extends GameEvent {
     }
 
     /**
-     * @return the serial number of the StoneGroup that this DebugEvent pertains to
+     * @return the number identifying the stone group that this DebugEvent pertains to
      */
     public int getGroupNo() {
         return groupNo;
     }
 
     /**
-     * @return the serial number of the StoneGroupPointer that this DebugEvent pertains to
+     * @return the number identifying the board entry that this DebugEvent pertains to
      */
     public int getPtrNo() {
         return ptrNo;
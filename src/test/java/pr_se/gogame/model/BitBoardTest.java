@@ -0,0 +1,259 @@
+package pr_se.gogame.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.helper.Symmetry;
+import pr_se.gogame.model.helper.UndoableCommand;
+import pr_se.gogame.model.ruleset.GameResult;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+import pr_se.gogame.model.ruleset.NewZealandRuleset;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.GameInterface.BoardType.BITBOARD;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class BitBoardTest {
+    Game game;
+    BitBoard board;
+
+    static final String TESTFILE_FOLDER = "./testFiles/";
+
+    /*
+     * This variable is mostly meant for AssertThrows()-calls, as SonarQube (rightly) points out that nested method
+     * calls might create ambiguity as to which method has thrown an expected (or unexpected) exception.
+     */
+    int maxCoord;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.newGame(BLACK, 19, 0, new JapaneseRuleset(), true, BITBOARD);
+        board = new BitBoard(game, game.getSize());
+        maxCoord = board.getSize() - 1;
+    }
+
+    // argument checking
+    @Test
+    void setStoneArguments() {
+        assertThrows(IllegalArgumentException.class, () -> board.setStone(-1, 0, BLACK, false));
+        assertThrows(IllegalArgumentException.class, () -> board.setStone(maxCoord + 1, 0, BLACK, false));
+        assertThrows(IllegalArgumentException.class, () -> board.setStone(0, -1, BLACK, false));
+        assertThrows(IllegalArgumentException.class, () -> board.setStone(0, maxCoord + 1, BLACK, false));
+        assertThrows(NullPointerException.class, () -> board.setStone(0, 0, null, false));
+    }
+
+    @Test
+    void getColorAtArguments() {
+        assertThrows(IllegalArgumentException.class, () -> board.getColorAt(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.getColorAt(0, maxCoord + 1));
+    }
+
+    // other tests
+    @Test
+    void symmetryHashes() {
+        BitBoard headless = new BitBoard(9);
+        BitBoard[] transformed = new BitBoard[Symmetry.COUNT];
+        for (Symmetry s : Symmetry.values()) {
+            transformed[s.ordinal()] = new BitBoard(9);
+        }
+
+        int[][] stones = {{2, 3}, {6, 6}, {0, 8}, {4, 4}, {8, 1}};
+        for (int i = 0; i < stones.length; i++) {
+            headless.place(headless.toPoint(stones[i][0], stones[i][1]), i % 2 == 0 ? BLACK : WHITE);
+            for (Symmetry s : Symmetry.values()) {
+                BitBoard t = transformed[s.ordinal()];
+                t.place(t.toPoint(s.getX(stones[i][0], stones[i][1], 9), s.getY(stones[i][0], stones[i][1], 9)), i % 2 == 0 ? BLACK : WHITE);
+            }
+        }
+        headless.remove(headless.toPoint(6, 6));
+        for (Symmetry s : Symmetry.values()) {
+            BitBoard t = transformed[s.ordinal()];
+            t.remove(t.toPoint(s.getX(6, 6, 9), s.getY(6, 6, 9)));
+        }
+
+        assertEquals(headless.getPositionHash(), headless.getSymmetryHash(Symmetry.IDENTITY));
+        for (Symmetry s : Symmetry.values()) {
+            assertEquals(transformed[s.ordinal()].getPositionHash(), headless.getSymmetryHash(s), s.toString());
+            assertEquals(headless.getCanonicalPositionHash(), transformed[s.ordinal()].getCanonicalPositionHash(), s.toString());
+        }
+    }
+
+    @Test
+    void copyFrom() {
+        BitBoard original = new BitBoard(9);
+        original.place(original.toPoint(2, 3), BLACK);
+        original.place(original.toPoint(6, 6), WHITE);
+
+        BitBoard copy = new BitBoard(9);
+        copy.place(copy.toPoint(0, 0), WHITE);
+        copy.copyFrom(original);
+        assertNull(copy.getColorAt(0, 0));
+        assertEquals(BLACK, copy.getColorAt(2, 3));
+        assertEquals(WHITE, copy.getColorAt(6, 6));
+        assertEquals(original.getPositionHash(), copy.getPositionHash());
+        assertEquals(original.getCanonicalPositionHash(), copy.getCanonicalPositionHash());
+        assertEquals(WHITE, copy.snapshot().getColorAt(6, 6));
+
+        // Both boards change independently afterwards
+        assertEquals(0, copy.play(copy.toPoint(4, 4), BLACK, false, false));
+        assertNull(original.getColorAt(4, 4));
+        copy.remove(copy.toPoint(4, 4));
+        assertEquals(original.getPositionHash(), copy.getPositionHash());
+
+        assertThrows(IllegalArgumentException.class, () -> copy.copyFrom(new BitBoard(13)));
+    }
+
+    @Test
+    void boardTypeSelection() {
+        assertEquals(BITBOARD, game.getBoardType());
+        game.newGame(BLACK, 9, 0, new JapaneseRuleset());
+        assertEquals(BITBOARD, game.getBoardType()); // the selection is kept for following games
+    }
+
+    @Test
+    void noSetStoneOnSameSpace() {
+        assertNotNull(board.setStone(0, 0, BLACK, false));
+        assertNull(board.setStone(0, 0, BLACK, false));
+        assertEquals(BitBoard.ILLEGAL, board.play(board.toPoint(0, 0), WHITE, false, false));
+    }
+
+    @Test
+    void groupMergingAndCapture() {
+        assertNotNull(board.setStone(10, 9, BLACK, false));
+        assertNotNull(board.setStone(10, 11, BLACK, false));
+        assertNotNull(board.setStone(10, 10, BLACK, false));
+
+        assertNotNull(board.setStone(9, 9, WHITE, false));
+        assertNotNull(board.setStone(9, 10, WHITE, false));
+        assertNotNull(board.setStone(9, 11, WHITE, false));
+        assertNotNull(board.setStone(11, 9, WHITE, false));
+        assertNotNull(board.setStone(11, 10, WHITE, false));
+        assertNotNull(board.setStone(11, 11, WHITE, false));
+        assertNotNull(board.setStone(10, 8, WHITE, false));
+
+        assertEquals(BLACK, board.getColorAt(10, 11));
+
+        assertNotNull(board.setStone(10, 12, WHITE, false));
+
+        assertNull(board.getColorAt(10, 9));
+        assertNull(board.getColorAt(10, 10));
+        assertNull(board.getColorAt(10, 11));
+        assertEquals(3, game.getGameResult().getScoreComponents(WHITE).get(GameResult.PointType.CAPTURED_STONES));
+    }
+
+    @Test
+    void primitivePlayReportsRemovedStones() {
+        board.play(board.toPoint(0, 1), BLACK, false, false);
+        board.play(board.toPoint(0, 0), WHITE, false, false);
+
+        assertEquals(1, board.play(board.toPoint(1, 0), BLACK, false, false));
+        assertEquals(board.toPoint(0, 0), board.getRemoved(0));
+        assertFalse(board.wasSuicide());
+        assertNull(board.getColorAtPoint(board.toPoint(0, 0)));
+    }
+
+    @Test
+    void setStoneSuicidePreventionIfNotAllowed() {
+        assertNotNull(board.setStone(9, 1, BLACK, false));
+        assertNotNull(board.setStone(9, 3, BLACK, false));
+        assertNotNull(board.setStone(8, 2, BLACK, false));
+        assertNotNull(board.setStone(10, 2, BLACK, false));
+
+        assertTrue(board.isSuicide(board.toPoint(9, 2), WHITE));
+        assertNull(board.setStone(9, 2, WHITE, false));
+        assertNull(board.getColorAt(9, 2));
+        assertNotNull(board.setStone(9, 2, BLACK, false));
+    }
+
+    @Test
+    void setStoneSuicideAllowed() {
+        game.newGame(BLACK, 19, 0, new NewZealandRuleset());
+
+        assertNotNull(board.setStone(9, 1, BLACK, false));
+        assertNotNull(board.setStone(10, 1, BLACK, false));
+        assertNotNull(board.setStone(9, 3, BLACK, false));
+        assertNotNull(board.setStone(10, 3, BLACK, false));
+        assertNotNull(board.setStone(8, 2, BLACK, false));
+        assertNotNull(board.setStone(11, 2, BLACK, false));
+
+        assertNotNull(board.setStone(9, 2, WHITE, false));
+        assertNotNull(board.setStone(10, 2, WHITE, false));
+
+        assertNull(board.getColorAt(9, 2));
+        assertNull(board.getColorAt(10, 2));
+    }
+
+    @Test
+    void captureIsNoSuicide() {
+        board.setStone(1, 0, BLACK, false);
+        board.setStone(0, 1, BLACK, false);
+        board.setStone(2, 0, WHITE, false);
+        board.setStone(1, 1, WHITE, false);
+        board.setStone(0, 2, WHITE, false);
+
+        assertFalse(board.isSuicide(board.toPoint(0, 0), WHITE));
+        assertNotNull(board.setStone(0, 0, WHITE, false));
+        assertNull(board.getColorAt(1, 0));
+        assertNull(board.getColorAt(0, 1));
+    }
+
+    @Test
+    void undoAndRedoCapture() {
+        board.setStone(1, 0, BLACK, false);
+        board.setStone(1, 2, BLACK, false);
+        board.setStone(0, 1, BLACK, false);
+        board.setStone(1, 1, WHITE, false);
+
+        UndoableCommand c = board.setStone(2, 1, BLACK, false);
+        assertNull(board.getColorAt(1, 1));
+        assertEquals(BLACK, board.getColorAt(2, 1));
+
+        c.undo();
+        assertEquals(WHITE, board.getColorAt(1, 1));
+        assertNull(board.getColorAt(2, 1));
+
+        c.execute();
+        assertNull(board.getColorAt(1, 1));
+        assertEquals(BLACK, board.getColorAt(2, 1));
+    }
+
+    @Test
+    void removeStone() {
+        assertNotNull(board.setStone(0, 0, BLACK, false));
+
+        UndoableCommand c = board.removeStone(0, 0);
+        assertNull(board.getColorAt(0, 0));
+
+        c.undo();
+        assertEquals(BLACK, board.getColorAt(0, 0));
+    }
+
+    @Test
+    void printDebugInfo() {
+        assertNotNull(board.setStone(0, 0, BLACK, false));
+        assertNotNull(board.setStone(0, 1, BLACK, false));
+        assertDoesNotThrow(() -> board.printDebugInfo());
+    }
+
+    @Test
+    void playMoveKoPrevention() {
+        try {
+            game.getFileHandler().loadFile(new File(TESTFILE_FOLDER + "KoSituation.sgf"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+
+        assertEquals(BITBOARD, game.getBoardType());
+        assertTrue(game.playMove(2, 1));
+        assertNull(game.getColorAt(1, 1));
+        assertFalse(game.playMove(1, 1));
+
+        game.getHistory().stepBack();
+        assertEquals(WHITE, game.getColorAt(1, 1));
+        assertNull(game.getColorAt(2, 1));
+    }
+}
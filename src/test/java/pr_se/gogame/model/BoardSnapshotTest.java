@@ -0,0 +1,101 @@
+package pr_se.gogame.model;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class BoardSnapshotTest {
+
+    @Test
+    void arguments() {
+        BoardSnapshot snapshot = createGame(GameInterface.BoardType.STANDARD).snapshot();
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getColorAt(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getColorAt(0, 9));
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterMoves() {
+        for (GameInterface.BoardType type : GameInterface.BoardType.values()) {
+            Game game = createGame(type);
+            BoardSnapshot empty = game.snapshot();
+            assertEquals(9, empty.getSize());
+            assertEquals(0, empty.getPositionHash());
+            assertSame(empty, game.snapshot());
+
+            game.playMove(2, 3);
+            BoardSnapshot first = game.snapshot();
+            assertEquals(BLACK, first.getColorAt(2, 3));
+            assertEquals(game.getPositionHash(), first.getPositionHash());
+            assertNull(empty.getColorAt(2, 3));
+
+            // Only the changed row is copied, all other rows are shared with the previous snapshot.
+            assertFalse(first.sharesRow(empty, 3));
+            assertTrue(first.sharesRow(empty, 4));
+
+            game.getHistory().stepBack();
+            BoardSnapshot undone = game.snapshot();
+            assertNull(undone.getColorAt(2, 3));
+            assertEquals(0, undone.getPositionHash());
+            assertEquals(BLACK, first.getColorAt(2, 3));
+        }
+    }
+
+    @Test
+    void capturesUpdateAllTouchedRows() {
+        for (GameInterface.BoardType type : GameInterface.BoardType.values()) {
+            Game game = createGame(type);
+            game.setSetupMode(true);
+            game.placeSetupStone(1, 1, WHITE);
+            game.placeSetupStone(1, 0, BLACK);
+            game.placeSetupStone(0, 1, BLACK);
+            game.placeSetupStone(2, 1, BLACK);
+            game.setSetupMode(false);
+
+            BoardSnapshot before = game.snapshot();
+            assertEquals(WHITE, before.getColorAt(1, 1));
+
+            game.playMove(1, 2, BLACK);
+            BoardSnapshot after = game.snapshot();
+            assertNull(after.getColorAt(1, 1));
+            assertEquals(BLACK, after.getColorAt(1, 2));
+            assertEquals(WHITE, before.getColorAt(1, 1));
+            assertTrue(after.sharesRow(before, 0));
+        }
+    }
+
+    @Test
+    void matchesBoardInRandomGames() {
+        for (GameInterface.BoardType type : GameInterface.BoardType.values()) {
+            Random random = new Random(13);
+            Game game = createGame(type);
+            for (int i = 0; i < 300; i++) {
+                if (random.nextInt(10) == 0) {
+                    game.getHistory().stepBack();
+                } else {
+                    game.playMove(random.nextInt(9), random.nextInt(9));
+                }
+
+                BoardSnapshot snapshot = game.snapshot();
+                assertEquals(game.getPositionHash(), snapshot.getPositionHash());
+                for (int y = 0; y < 9; y++) {
+                    for (int x = 0; x < 9; x++) {
+                        assertEquals(game.getColorAt(x, y), snapshot.getColorAt(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    // helper methods
+
+    Game createGame(GameInterface.BoardType type) {
+        Game game = new Game();
+        game.newGame(BLACK, 9, 0, new JapaneseRuleset(), true, type);
+        return game;
+    }
+}
@@ -3,11 +3,16 @@ package pr_se.gogame.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.helper.Symmetry;
 import pr_se.gogame.model.helper.UndoableCommand;
 import pr_se.gogame.model.ruleset.JapaneseRuleset;
 import pr_se.gogame.model.ruleset.NewZealandRuleset;
 
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static pr_se.gogame.model.helper.StoneColor.BLACK;
@@ -164,6 +169,187 @@ class BoardTest {
         assertNull(board.getColorAt(0, 0));
     }
 
+    @Test
+    void removeStoneSplitsGroup() {
+        assertNotNull(board.setStone(0, 0, BLACK, false));
+        assertNotNull(board.setStone(1, 0, BLACK, false));
+        assertNotNull(board.setStone(2, 0, BLACK, false));
+        assertNotNull(board.setStone(0, 1, WHITE, false));
+        assertNotNull(board.setStone(1, 1, WHITE, false));
+        assertNotNull(board.setStone(3, 0, WHITE, false));
+
+        UndoableCommand c = board.removeStone(1, 0);
+        assertNull(board.getColorAt(1, 0));
+
+        // (0, 0) is now a separate group whose last liberty is (1, 0)
+        assertNotNull(board.setStone(1, 0, WHITE, false));
+        assertNull(board.getColorAt(0, 0));
+        assertEquals(BLACK, board.getColorAt(2, 0));
+
+        assertNotNull(c);
+    }
+
+    @Test
+    void randomGamesMatchBitBoard() {
+        Random random = new Random(42);
+        int size = 9;
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        board = new Board(game, size);
+        BitBoard bitBoard = new BitBoard(game, size);
+        Deque<UndoableCommand> commands = new ArrayDeque<>();
+
+        StoneColor color = BLACK;
+        for (int i = 0; i < 400; i++) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            assertArrayEquals(bitBoard.legalMoves(color), board.legalMoves(color));
+            long hashAfterMove = board.getPositionHashAfterMove(x, y, color);
+            assertEquals(bitBoard.getPositionHashAfterMove(x, y, color), hashAfterMove);
+            boolean legal = board.isLegal(x, y, color);
+            assertEquals(bitBoard.isLegal(x, y, color), legal);
+
+            UndoableCommand c = board.setStone(x, y, color, false);
+            UndoableCommand bc = bitBoard.setStone(x, y, color, false);
+            assertEquals(c == null, bc == null);
+            assertEquals(legal, c != null);
+            if (c != null) {
+                assertEquals(hashAfterMove, board.getPositionHash());
+                commands.push(c);
+                color = StoneColor.getOpposite(color);
+            }
+            assertSameBoard(bitBoard);
+        }
+
+        StoneColor[][] finalPosition = new StoneColor[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                finalPosition[x][y] = board.getColorAt(x, y);
+            }
+        }
+        long finalHash = board.getPositionHash();
+
+        commands.forEach(UndoableCommand::undo);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                assertNull(board.getColorAt(x, y));
+            }
+        }
+        assertEquals(0, board.getPositionHash());
+
+        commands.descendingIterator().forEachRemaining(UndoableCommand::execute);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                assertEquals(finalPosition[x][y], board.getColorAt(x, y));
+            }
+        }
+        assertEquals(finalHash, board.getPositionHash());
+    }
+
+    @Test
+    void isLegal() {
+        assertTrue(board.isLegal(0, 0, BLACK));
+        assertNotNull(board.setStone(1, 0, WHITE, false));
+        assertNotNull(board.setStone(0, 1, WHITE, false));
+
+        assertFalse(board.isLegal(1, 0, BLACK)); // occupied
+        assertFalse(board.isLegal(0, 0, BLACK)); // suicide
+        assertTrue(board.isLegal(0, 0, WHITE));
+        assertNull(board.getColorAt(0, 0));
+
+        long[] legalMoves = board.legalMoves(BLACK);
+        assertEquals(0, legalMoves[0] & 0b1L);
+        assertEquals(0, legalMoves[0] & 0b10L);
+        assertNotEquals(0, legalMoves[0] & 0b100L);
+        assertEquals(board.getSize() * board.getSize() - 3, Arrays.stream(legalMoves).map(Long::bitCount).sum());
+    }
+
+    @Test
+    void positionHashIndependentOfMoveOrder() {
+        assertEquals(0, board.getPositionHash());
+
+        board.setStone(3, 3, BLACK, false);
+        board.setStone(15, 15, WHITE, false);
+        board.setStone(3, 15, BLACK, false);
+        long hash = board.getPositionHash();
+        assertNotEquals(0, hash);
+
+        Board other = new Board(game, board.getSize());
+        other.setStone(3, 15, BLACK, false);
+        other.setStone(15, 15, WHITE, false);
+        other.setStone(3, 3, BLACK, false);
+        assertEquals(hash, other.getPositionHash());
+
+        other.removeStone(3, 3);
+        other.setStone(3, 3, WHITE, false);
+        assertNotEquals(hash, other.getPositionHash());
+    }
+
+    @Test
+    void positionHashAfterCapture() {
+        board.setStone(0, 1, BLACK, false);
+        long hash = board.getPositionHash();
+        board.setStone(0, 0, WHITE, false);
+        long beforeCapture = board.getPositionHash();
+        UndoableCommand capture = board.setStone(1, 0, BLACK, false);
+        UndoableCommand remove = board.removeStone(1, 0);
+        assertEquals(hash, board.getPositionHash()); // the captured stone no longer counts
+
+        // Undoing in reverse order restores the hashes exactly
+        remove.undo();
+        Board other = new Board(game, board.getSize());
+        other.setStone(0, 1, BLACK, false);
+        other.setStone(1, 0, BLACK, false);
+        assertEquals(other.getPositionHash(), board.getPositionHash());
+        capture.undo();
+        assertEquals(WHITE, board.getColorAt(0, 0));
+        assertEquals(beforeCapture, board.getPositionHash());
+    }
+
+    @Test
+    void symmetryHashes() {
+        board.setStone(3, 2, BLACK, false);
+        board.setStone(15, 16, WHITE, false);
+        board.setStone(0, 1, BLACK, false);
+        board.setStone(0, 0, WHITE, false);
+        UndoableCommand c = board.setStone(1, 0, BLACK, false); // captures the white stone in the corner
+        assertNull(board.getColorAt(0, 0));
+        assertEquals(board.getPositionHash(), board.getSymmetryHash(Symmetry.IDENTITY));
+        assertSymmetryHashesMatch();
+
+        c.undo();
+        assertEquals(WHITE, board.getColorAt(0, 0));
+        assertSymmetryHashesMatch();
+    }
+
+    void assertSymmetryHashesMatch() {
+        for (Symmetry s : Symmetry.values()) {
+            Board transformed = new Board(game, board.getSize());
+            for (int x = 0; x < board.getSize(); x++) {
+                for (int y = 0; y < board.getSize(); y++) {
+                    if (board.getColorAt(x, y) != null) {
+                        transformed.setStone(s.getX(x, y, board.getSize()), s.getY(x, y, board.getSize()), board.getColorAt(x, y), false);
+                    }
+                }
+            }
+            assertEquals(board.getSymmetryHash(s), transformed.getPositionHash(), s.toString());
+            assertEquals(board.getCanonicalPositionHash(), transformed.getCanonicalPositionHash(), s.toString());
+        }
+
+        Symmetry canonical = board.getCanonicalSymmetry();
+        for (Symmetry s : Symmetry.values()) {
+            assertTrue(board.getSymmetryHash(canonical) <= board.getSymmetryHash(s));
+        }
+    }
+
+    void assertSameBoard(BoardInterface other) {
+        for (int x = 0; x < board.getSize(); x++) {
+            for (int y = 0; y < board.getSize(); y++) {
+                assertEquals(other.getColorAt(x, y), board.getColorAt(x, y), "at (" + x + ", " + y + ")");
+            }
+        }
+        assertEquals(other.getPositionHash(), board.getPositionHash());
+    }
+
     @Test
     void getSize() {
         assertEquals(19, board.getSize());
@@ -11,14 +11,18 @@ import pr_se.gogame.model.helper.StoneColor;
 import pr_se.gogame.model.ruleset.JapaneseRuleset;
 import pr_se.gogame.model.ruleset.NewZealandRuleset;
 import pr_se.gogame.model.ruleset.Ruleset;
+import pr_se.gogame.view_controller.observer.BoardDiffEvent;
 import pr_se.gogame.view_controller.observer.DebugEvent;
 import pr_se.gogame.view_controller.observer.GameEvent;
 import pr_se.gogame.view_controller.observer.GameListener;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static pr_se.gogame.model.GameInterface.GameState.RUNNING;
@@ -68,6 +72,14 @@ class GameTest {
         assertThrows(NullPointerException.class, () -> game.playMove(0, 0, null));
     }
 
+    @Test
+    void isLegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> game.isLegal(-1, 0, BLACK));
+        assertThrows(IllegalArgumentException.class, () -> game.isLegal(0, maxCoord + 1, BLACK));
+        assertThrows(NullPointerException.class, () -> game.isLegal(0, 0, null));
+        assertThrows(NullPointerException.class, () -> game.legalMoves(null));
+    }
+
     @Test
     void placeHandicapPositionArguments() {
         game.newGame(BLACK, 19, 1, new NewZealandRuleset());
@@ -462,6 +474,69 @@ class GameTest {
         assertFalse(game.playMove(1, 1));
     }
 
+    @Test
+    void isLegalKo() {
+        game.newGame(BLACK, 19, 0, new JapaneseRuleset());
+
+        try {
+            game.getFileHandler().loadFile(new File(TESTFILE_FOLDER + "KoSituation.sgf"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+
+        assertTrue(game.isLegal(2, 1, BLACK));
+        assertFalse(game.isLegal(1, 1, BLACK)); // occupied
+        assertTrue(game.playMove(2, 1));
+
+        History.HistoryNode current = game.getHistory().getCurrentNode();
+        game.addListener(e -> fail("isLegal() must not fire any events"));
+
+        assertFalse(game.isLegal(1, 1, WHITE));
+        assertFalse(bitAt(game.legalMoves(WHITE), 1, 1));
+        assertTrue(bitAt(game.legalMoves(WHITE), 5, 5));
+        assertTrue(game.isLegal(1, 1, BLACK)); // Black filling the ko doesn't repeat anything
+        assertEquals(current, game.getHistory().getCurrentNode());
+        assertNull(game.getColorAt(1, 1));
+    }
+
+    @Test
+    void legalMovesMatchPlayMove() {
+        assertLegalMovesMatchPlayMove(new JapaneseRuleset());
+        assertLegalMovesMatchPlayMove(new NewZealandRuleset()); // permits suicide
+    }
+
+    void assertLegalMovesMatchPlayMove(Ruleset ruleset) {
+        Random random = new Random(7);
+        game.newGame(BLACK, 7, 0, ruleset);
+
+        for (int i = 0; i < 60; i++) {
+            long[] legal = game.legalMoves(game.getCurColor());
+
+            for (int x = 0; x < 7; x++) {
+                for (int y = 0; y < 7; y++) {
+                    boolean expected = bitAt(legal, x, y);
+                    assertEquals(expected, game.isLegal(x, y, game.getCurColor()));
+                    if (game.playMove(x, y)) {
+                        game.getHistory().stepBack();
+                        assertTrue(expected, "(" + x + ", " + y + ") was played, but deemed illegal");
+                    } else {
+                        assertFalse(expected, "(" + x + ", " + y + ") was rejected, but deemed legal");
+                    }
+                }
+            }
+
+            if (!game.playMove(random.nextInt(7), random.nextInt(7))) {
+                game.pass();
+            }
+        }
+
+        // Nothing is legal once the game is over
+        game.resign();
+        assertArrayEquals(new long[1], game.legalMoves(BLACK));
+        assertArrayEquals(new long[1], game.legalMoves(WHITE));
+    }
+
     @Test
     void handicapCtrButSetManually() {
         // Used by the SGFFileHandler
@@ -733,4 +808,95 @@ class GameTest {
         game.setSetupMode(true);
         assertThrows(IllegalStateException.class, () -> game.placeHandicapPosition(2, 2, true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void playComputerMove() {
+        assertThrows(NullPointerException.class, () -> game.playComputerMove(null));
+
+        game.playComputerMove(g -> new Position(3, 4));
+        assertEquals(BLACK, game.getColorAt(3, 4));
+        assertEquals(WHITE, game.getCurColor());
+
+        game.playComputerMove(g -> null);
+        assertEquals(PASS, game.getHistory().getCurrentNode().getSaveToken());
+        assertEquals(BLACK, game.getCurColor());
+
+        assertThrows(IllegalStateException.class, () -> game.playComputerMove(g -> new Position(3, 4)));
+        assertEquals(BLACK, game.getCurColor());
+
+        game.resign();
+        assertThrows(IllegalStateException.class, () -> game.playComputerMove(g -> new Position(5, 5)));
+    }
+
+    @Test
+    void endEventBatchWithoutBatch() {
+        assertThrows(IllegalStateException.class, () -> game.endEventBatch());
+    }
+
+    @Test
+    void eventBatchCollapsesStoneEvents() {
+        game.playMove(5, 5);
+        List<GameEvent> events = new ArrayList<>();
+        game.addListener(events::add);
+
+        game.beginEventBatch();
+        game.playMove(1, 0); // W
+        game.playMove(0, 0); // B, captured below
+        game.playMove(0, 1); // W captures (0, 0)
+        game.beginEventBatch();
+        game.getHistory().stepBack(); // (0, 1) and (0, 0) are restored ...
+        game.getHistory().stepForward(); // ... and changed back
+        game.endEventBatch();
+        assertTrue(events.isEmpty());
+        game.endEventBatch();
+
+        assertEquals(2, events.size());
+        assertInstanceOf(BoardDiffEvent.class, events.get(0));
+        assertEquals(UPDATE, events.get(1).getGameCommand());
+
+        // (0, 0) was empty before and after the batch, so only the two white stones are listed.
+        List<GameEvent> changes = ((BoardDiffEvent) events.get(0)).getChanges();
+        assertEquals(2, changes.size());
+        assertEquals(STONE_WAS_SET, changes.get(0).getGameCommand());
+        assertEquals(new Position(1, 0), new Position(changes.get(0).getX(), changes.get(0).getY()));
+        assertEquals(WHITE, changes.get(0).getColor());
+        assertEquals(new Position(0, 1), new Position(changes.get(1).getX(), changes.get(1).getY()));
+        assertEquals(4, changes.get(1).getMoveNumber());
+
+        // Going back lists the removal of both stones and the restored capture.
+        events.clear();
+        game.getHistory().goToMove(1);
+        changes = ((BoardDiffEvent) events.get(0)).getChanges();
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(e -> e.getGameCommand() == STONE_WAS_REMOVED));
+    }
+
+    @Test
+    void loadingFileIsBatched() throws Exception {
+        List<GameEvent> events = new ArrayList<>();
+        game.addListener(events::add);
+        game.getFileHandler().loadFile(new File(TESTFILE_FOLDER + "KoSituation.sgf"));
+
+        assertTrue(events.stream().noneMatch(e -> e.getGameCommand() == STONE_WAS_SET || e.getGameCommand() == STONE_WAS_REMOVED));
+        assertEquals(NEW_GAME, events.get(0).getGameCommand());
+        assertInstanceOf(BoardDiffEvent.class, events.get(1));
+
+        int stones = 0;
+        for (int y = 0; y < game.getSize(); y++) {
+            for (int x = 0; x < game.getSize(); x++) {
+                stones += game.getColorAt(x, y) != null ? 1 : 0;
+            }
+        }
+        assertEquals(stones, ((BoardDiffEvent) events.get(1)).getChanges().size());
+    }
+
+    // helper methods
+
+    /**
+     * Tests a bit of a legal-move bitmask of the current game
+     */
+    boolean bitAt(long[] bitmask, int x, int y) {
+        int point = y * game.getSize() + x;
+        return (bitmask[point / Long.SIZE] & (1L << (point % Long.SIZE))) != 0;
+    }
+}
@@ -5,9 +5,14 @@ import org.junit.jupiter.api.Test;
 import pr_se.gogame.model.helper.*;
 import pr_se.gogame.model.ruleset.JapaneseRuleset;
 
+import pr_se.gogame.view_controller.observer.GameEvent;
+
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static pr_se.gogame.model.History.HistoryNode.AbstractSaveToken.*;
@@ -15,6 +20,10 @@ import static pr_se.gogame.model.helper.StoneColor.BLACK;
 import static pr_se.gogame.model.helper.StoneColor.WHITE;
 
 class HistoryTest {
+    /**
+     * Length of the lines that the random-access tests jump around in
+     */
+    static final int LINE_LENGTH = 32;
 
     Game game;
 
@@ -151,6 +160,70 @@ class HistoryTest {
         assertEquals(WHITE, game.getColorAt(2, 2));
     }
 
+    @Test
+    void goToMoveArgs() {
+        assertThrows(IllegalArgumentException.class, () -> history.goToMove(-1));
+        assertThrows(IllegalArgumentException.class, () -> history.goToMove(1));
+        assertThrows(IllegalArgumentException.class, () -> history.getNode(1));
+    }
+
+    @Test
+    void goToMove() {
+        Random random = new Random(3);
+        final int moves = 167;
+        while (history.getLastIndex() < moves) {
+            game.playMove(random.nextInt(19), random.nextInt(19));
+        }
+
+        // Record the positions by stepping back one node at a time.
+        long[] hashes = new long[moves + 1];
+        for (int i = moves; i >= 0; i--) {
+            assertEquals(i, history.getCurrentIndex());
+            hashes[i] = game.getPositionHash();
+            history.stepBack();
+        }
+
+        List<GameEvent> events = new ArrayList<>();
+        game.addListener(events::add);
+        for (int index : new int[] {moves, 20, 20, 32, 0, moves - 1, 97, 150, 140}) {
+            events.clear();
+            history.goToMove(index);
+            assertEquals(index, history.getCurrentIndex());
+            assertSame(history.getNode(index), history.getCurrentNode());
+            assertEquals(hashes[index], game.getPositionHash());
+            assertTrue(events.stream().noneMatch(e -> e.getGameCommand() == GameCommand.STONE_WAS_SET || e.getGameCommand() == GameCommand.STONE_WAS_REMOVED));
+        }
+        assertEquals(1, events.stream().filter(e -> e.getGameCommand() == GameCommand.BOARD_DIFF).count());
+
+        // The repetition bookkeeping has to follow along, too.
+        history.goToMove(moves);
+        assertTrue(history.containsPosition(hashes[1]));
+        history.goToMove(1);
+        assertFalse(history.containsPosition(hashes[moves]));
+    }
+
+    @Test
+    void getNodeFollowsNewMoves() {
+        for (int i = 0; i < 2 * LINE_LENGTH; i++) {
+            game.playMove(i % 19, i / 19);
+        }
+
+        // Going back and playing a different move starts a new variation, which becomes the selected line.
+        history.goToMove(LINE_LENGTH - 1);
+        game.playMove(18, 18);
+        assertEquals(LINE_LENGTH, history.getLastIndex());
+        assertEquals(18, history.getNode(LINE_LENGTH).getX());
+        assertThrows(IllegalArgumentException.class, () -> history.getNode(LINE_LENGTH + 1));
+
+        game.playMove(17, 18);
+        history.goToMove(0);
+        assertTrue(history.isAtBeginning());
+        history.goToMove(LINE_LENGTH + 1);
+        assertTrue(history.isAtEnd());
+        assertEquals(BLACK, game.getColorAt(17, 18));
+        assertEquals(WHITE, game.getColorAt(18, 18));
+    }
+
     @Test
     void addNode() {
         assertTrue(history.isAtBeginning());
@@ -162,6 +235,37 @@ class HistoryTest {
         assertEquals(n, history.getCurrentNode());
     }
 
+    @Test
+    void positionIndex() {
+        assertTrue(history.containsPosition(0));
+        assertTrue(history.containsSituation(0, BLACK));
+        assertFalse(history.containsSituation(0, WHITE));
+
+        game.playMove(0, 0);
+        long hash = game.getPositionHash();
+        assertEquals(hash, history.getCurrentNode().getPositionHash());
+        assertTrue(history.containsPosition(hash));
+        assertTrue(history.containsSituation(hash, WHITE));
+        assertFalse(history.containsSituation(hash, BLACK));
+
+        history.stepBack();
+        assertFalse(history.containsPosition(hash));
+        history.stepForward();
+        assertTrue(history.containsPosition(hash));
+
+        game.pass();
+        assertTrue(history.containsSituation(hash, BLACK));
+
+        history.goToBeginning();
+        assertTrue(history.containsPosition(0));
+        assertFalse(history.containsPosition(hash));
+
+        game.playMove(1, 1);
+        history.stepBack();
+        history.stepForward();
+        assertFalse(history.containsPosition(hash)); // the discarded nodes no longer count
+    }
+
     @Test
     void getCurrentNode() {
         History.HistoryNode first = history.getCurrentNode();
@@ -308,6 +412,175 @@ class HistoryTest {
     }
 
     // History.HistoryNode
+    @Test
+    void goToNodeArgs() {
+        assertThrows(NullPointerException.class, () -> history.goToNode(null));
+        History.HistoryNode foreign = new History.HistoryNode(null, MOVE, BLACK, "", 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> history.goToNode(foreign));
+    }
+
+    @Test
+    void selectVariationArgs() {
+        assertThrows(IllegalArgumentException.class, () -> history.selectVariation(0));
+        game.playMove(0, 0);
+        history.stepBack();
+        assertThrows(IllegalArgumentException.class, () -> history.selectVariation(-1));
+        assertThrows(IllegalArgumentException.class, () -> history.selectVariation(1));
+    }
+
+    @Test
+    void addNodeStartsVariation() {
+        game.playMove(0, 0);
+        game.playMove(1, 1);
+        History.HistoryNode first = history.getCurrentNode();
+        history.stepBack();
+        game.playMove(2, 2);
+        History.HistoryNode second = history.getCurrentNode();
+
+        assertEquals(List.of(first, second), history.getNode(1).getChildren());
+        assertSame(history.getNode(1), first.getPrev());
+        assertTrue(first.getChildren().isEmpty());
+        assertEquals(2, history.getLastIndex());
+        assertTrue(history.isAtEnd());
+        assertSame(second, history.getNode(2));
+    }
+
+    @Test
+    void addNodeSelectsExistingMove() {
+        game.playMove(0, 0);
+        game.playMove(1, 1);
+        game.playMove(2, 2);
+        History.HistoryNode first = history.getNode(2);
+        history.goToMove(1);
+
+        // Playing the same move again redoes the existing HistoryNode, keeping the moves following it
+        assertTrue(game.playMove(1, 1));
+        assertSame(first, history.getCurrentNode());
+        assertEquals(List.of(first), history.getNode(1).getChildren());
+        assertEquals(2, history.getCurrentIndex());
+        assertEquals(3, history.getLastIndex());
+        assertEquals(WHITE, game.getColorAt(1, 1));
+        assertEquals(BLACK, game.getCurColor());
+        assertTrue(history.containsPosition(game.getPositionHash()));
+
+        history.stepForward();
+        assertEquals(BLACK, game.getColorAt(2, 2));
+
+        // Repeated play and undo doesn't grow the tree
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(game.playMove(4, 4));
+            history.stepBack();
+        }
+        assertEquals(1, history.getCurrentNode().getChildren().size());
+        assertNull(game.getColorAt(4, 4));
+        assertFalse(history.containsPosition(history.getCurrentNode().getNext().getPositionHash()));
+
+        // A pass by the other color is a different move
+        history.goToMove(2);
+        game.pass();
+        assertEquals(2, history.getNode(2).getChildren().size());
+    }
+
+    @Test
+    void goToNode() {
+        game.playMove(0, 0);
+        game.playMove(1, 1);
+        History.HistoryNode first = history.getCurrentNode();
+        history.stepBack();
+        game.playMove(2, 2);
+        game.playMove(3, 3);
+        History.HistoryNode second = history.getCurrentNode();
+
+        history.goToNode(first);
+        assertSame(first, history.getCurrentNode());
+        assertEquals(2, history.getCurrentIndex());
+        assertEquals(2, history.getLastIndex());
+        assertEquals(WHITE, game.getColorAt(1, 1));
+        assertNull(game.getColorAt(2, 2));
+        assertNull(game.getColorAt(3, 3));
+        assertEquals(BLACK, game.getCurColor());
+
+        // The selected line now leads to the first variation.
+        history.goToBeginning();
+        history.goToEnd();
+        assertSame(first, history.getCurrentNode());
+
+        history.goToNode(second);
+        assertSame(second, history.getCurrentNode());
+        assertEquals(3, history.getLastIndex());
+        assertNull(game.getColorAt(1, 1));
+        assertEquals(WHITE, game.getColorAt(2, 2));
+        assertEquals(BLACK, game.getColorAt(3, 3));
+
+        // Going to an earlier HistoryNode keeps the rest of the selected line.
+        history.goToNode(history.getNode(1));
+        assertEquals(1, history.getCurrentIndex());
+        assertEquals(3, history.getLastIndex());
+        assertNull(game.getColorAt(2, 2));
+    }
+
+    @Test
+    void goToNodeIsBatched() {
+        game.playMove(0, 0);
+        game.playMove(1, 1);
+        History.HistoryNode first = history.getCurrentNode();
+        history.stepBack();
+        game.playMove(2, 2);
+
+        List<GameEvent> events = new ArrayList<>();
+        game.addListener(events::add);
+        history.goToNode(first);
+
+        assertEquals(GameCommand.BOARD_DIFF, events.get(0).getGameCommand());
+        assertEquals(GameCommand.UPDATE, events.get(events.size() - 1).getGameCommand());
+        assertEquals(1, events.stream().filter(e -> e.getGameCommand() == GameCommand.BOARD_DIFF).count());
+    }
+
+    @Test
+    void selectVariation() {
+        game.playMove(0, 0);
+        game.playMove(1, 1);
+        History.HistoryNode first = history.getCurrentNode();
+        history.stepBack();
+        game.playMove(2, 2);
+        history.stepBack();
+
+        history.selectVariation(0);
+        assertSame(history.getNode(1), history.getCurrentNode());
+        assertEquals(BLACK, game.getColorAt(0, 0));
+        assertNull(game.getColorAt(1, 1));
+        assertSame(first, history.getNode(2));
+
+        history.stepForward();
+        assertSame(first, history.getCurrentNode());
+        assertEquals(WHITE, game.getColorAt(1, 1));
+    }
+
+    @Test
+    void getNodeFollowsSelectedVariation() {
+        Random random = new Random(5);
+        for(int i = 0; i < 3 * LINE_LENGTH; i++) {
+            game.playMove(random.nextInt(19), random.nextInt(19));
+        }
+        List<History.HistoryNode> mainLine = new ArrayList<>();
+        history.forEach(mainLine::add);
+        mainLine.remove(mainLine.size() - 1); // end of history
+        History.HistoryNode mainLeaf = history.getCurrentNode();
+
+        history.goToMove(LINE_LENGTH + 5);
+        for(int i = 0; i < LINE_LENGTH; i++) {
+            game.pass();
+        }
+        assertEquals(2 * LINE_LENGTH + 5, history.getLastIndex());
+        assertEquals(PASS, history.getNode(2 * LINE_LENGTH).getSaveToken());
+
+        history.goToNode(mainLeaf);
+        assertEquals(mainLine.size() - 1, history.getLastIndex());
+        for(int i = 0; i < mainLine.size(); i++) {
+            assertSame(mainLine.get(i), history.getNode(i));
+        }
+    }
+
     @Test
     void HistoryNodeConstructorArgs() {
         /*
@@ -0,0 +1,194 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.MarkShape;
+import pr_se.gogame.model.ruleset.ChineseRuleset;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+import pr_se.gogame.model.ruleset.UserDefinableRuleset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class BinaryFileHandlerTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    static final String[] VALID_FILES = {"KoSituation.sgf", "FalseAlarm.sgf", "noHA.sgf", "okHAWithoutStones.sgf", "onlyInfo.sgf"};
+
+    Game game;
+
+    BinaryFileHandler binaryFileHandler;
+
+    File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        game = new Game();
+        binaryFileHandler = new BinaryFileHandler(game);
+        file = Files.createTempFile("game", ".gob").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertTrue(file.delete());
+    }
+
+    // Argument-Checking
+    @Test
+    void binaryFileHandler() {
+        assertThrows(NullPointerException.class, () -> new BinaryFileHandler(null));
+    }
+
+    @Test
+    void saveFileArgs() {
+        assertThrows(NullPointerException.class, () -> binaryFileHandler.saveFile(null));
+    }
+
+    @Test
+    void loadFileArgs() {
+        assertThrows(NullPointerException.class, () -> binaryFileHandler.loadFile(null));
+        assertThrows(NoSuchFileException.class, () -> binaryFileHandler.loadFile(new File(TEST_FILE_FOLDER + "doesNotExist.gob")));
+    }
+
+    @Test
+    void roundTripOfSGFFiles() throws Exception {
+        for (String fileName : VALID_FILES) {
+            Game expected = new Game();
+            assertTrue(expected.getFileHandler().loadFile(new File(TEST_FILE_FOLDER + fileName)));
+            assertTrue(new BinaryFileHandler(expected).saveFile(file));
+
+            assertTrue(binaryFileHandler.loadFile(file));
+            assertGamesEqual(expected, game);
+            assertEquals(file, binaryFileHandler.getCurrentFile());
+        }
+    }
+
+    @Test
+    void roundTripOfVariationsAndAnnotations() throws Exception {
+        Game expected = new Game();
+        expected.newGame(WHITE, 13, 2, new ChineseRuleset());
+        expected.setComment("Ünïcödé 😀");
+        expected.mark(0, 0, MarkShape.CIRCLE);
+        expected.playMove(3, 3);
+        expected.mark(12, 12, MarkShape.TRIANGLE);
+        expected.mark(0, 12, MarkShape.SQUARE);
+        History.HistoryNode branch = expected.getHistory().getCurrentNode();
+        expected.playMove(9, 3);
+        expected.setComment("Main line");
+        expected.pass();
+        History.HistoryNode mainLine = expected.getHistory().getCurrentNode();
+
+        expected.getHistory().goToNode(branch);
+        expected.playMove(3, 9);
+        expected.setComment("Main line"); // Shares its entry in the string table
+        expected.getHistory().goToNode(branch);
+        expected.setSetupMode(true);
+        expected.placeSetupStone(6, 6, BLACK);
+        expected.placeSetupStone(7, 6, WHITE);
+        expected.setSetupMode(false);
+        expected.resign();
+        expected.getHistory().goToNode(mainLine);
+
+        assertTrue(new BinaryFileHandler(expected).saveFile(file));
+        assertTrue(binaryFileHandler.loadFile(file));
+
+        assertGamesEqual(expected, game);
+        assertInstanceOf(ChineseRuleset.class, game.getRuleset());
+        assertEquals(expected.getKomi(), game.getKomi());
+
+        // Saving the same game again results in the same record
+        assertArrayEquals(BinaryFileHandler.encode(expected), BinaryFileHandler.encode(game));
+    }
+
+    @Test
+    void unsupportedGames() {
+        game.newGame(BLACK, 9, 0, new UserDefinableRuleset());
+        assertThrows(IllegalStateException.class, () -> binaryFileHandler.saveFile(file));
+        assertNull(binaryFileHandler.getCurrentFile());
+    }
+
+    @Test
+    void invalidRecords() throws Exception {
+        Game source = new Game();
+        source.newGame(BLACK, 9, 0, new JapaneseRuleset());
+        source.playMove(4, 4);
+        source.setComment("Comment");
+        final byte[] record = BinaryFileHandler.encode(source);
+
+        // Wrong magic
+        byte[] invalid = record.clone();
+        invalid[0] = 'X';
+        assertLoadingFails(invalid);
+
+        // Unsupported version
+        invalid = record.clone();
+        invalid[BinaryFileHandler.MAGIC.length] = BinaryFileHandler.FORMAT_VERSION + 1;
+        assertLoadingFails(invalid);
+
+        // Invalid size
+        invalid = record.clone();
+        invalid[BinaryFileHandler.MAGIC.length + 1] = (byte) (Game.MAX_CUSTOM_BOARD_SIZE + 1);
+        assertLoadingFails(invalid);
+
+        // Truncated
+        for (int length : new int[] {0, 3, 9, record.length - 1}) {
+            assertLoadingFails(Arrays.copyOf(record, length));
+        }
+
+        // Trailing data
+        assertLoadingFails(Arrays.copyOf(record, record.length + 2));
+    }
+
+    @Test
+    void recordIsCompact() throws Exception {
+        game.newGame(BLACK, 19, 0, new JapaneseRuleset());
+        for (int i = 0; i < 50; i++) {
+            game.playMove(i % 19, i / 19 * 4);
+            game.playMove(i % 19, i / 19 * 4 + 2);
+        }
+
+        // 12 bytes of header, an empty string table and the length of the node stream, then two bytes per move
+        final byte[] record = BinaryFileHandler.encode(game);
+        assertEquals(12 + 1 + 2 + 2 * 100, record.length);
+
+        assertTrue(game.getFileHandler().saveFile(file));
+        assertTrue(record.length * 3 < file.length());
+    }
+
+    // helper methods
+
+    void assertLoadingFails(byte[] record) throws IOException {
+        Files.write(file.toPath(), record);
+        assertThrows(LoadingGameException.class, () -> binaryFileHandler.loadFile(file));
+    }
+
+    void assertGamesEqual(Game expected, Game actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getHandicap(), actual.getHandicap());
+        assertEquals(expected.getHistory(), actual.getHistory());
+        assertEquals(expected.getHistory().getCurrentIndex(), actual.getHistory().getCurrentIndex());
+        assertEquals(expected.getPositionHash(), actual.getPositionHash());
+        assertTreesEqual(expected.getHistory().iterator().next(), actual.getHistory().iterator().next());
+    }
+
+    void assertTreesEqual(History.HistoryNode expected, History.HistoryNode actual) {
+        assertEquals(expected, actual);
+        List<History.HistoryNode> expectedChildren = expected.getChildren();
+        List<History.HistoryNode> actualChildren = actual.getChildren();
+        assertEquals(expectedChildren.size(), actualChildren.size(), expected.toString());
+        for (int i = 0; i < expectedChildren.size(); i++) {
+            assertTreesEqual(expectedChildren.get(i), actualChildren.get(i));
+        }
+    }
+}
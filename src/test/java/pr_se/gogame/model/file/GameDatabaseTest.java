@@ -0,0 +1,196 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+
+class GameDatabaseTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    static final String[] VALID_FILES = {"KoSituation.sgf", "FalseAlarm.sgf", "noHA.sgf", "okHAWithoutStones.sgf", "onlyInfo.sgf"};
+
+    File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("games", ".gobd").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertTrue(file.delete());
+    }
+
+    // Argument-Checking
+    @Test
+    void constructorArgs() {
+        assertThrows(NullPointerException.class, () -> new GameDatabase(null));
+        assertThrows(NoSuchFileException.class, () -> new GameDatabase(new File(TEST_FILE_FOLDER + "doesNotExist.gobd")));
+        assertThrows(NullPointerException.class, () -> new GameDatabaseWriter(null));
+    }
+
+    @Test
+    void methodArgs() throws Exception {
+        try (GameDatabaseWriter writer = new GameDatabaseWriter(file)) {
+            assertThrows(NullPointerException.class, () -> writer.add(null));
+            writer.add(loadFile(VALID_FILES[0]));
+        }
+
+        try (GameDatabase database = new GameDatabase(file)) {
+            assertThrows(NullPointerException.class, () -> database.load(0, null));
+            assertThrows(IndexOutOfBoundsException.class, () -> database.getRecord(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> database.load(1, new Game()));
+        }
+    }
+
+    @Test
+    void gamesMatchSingleFiles() throws Exception {
+        List<Game> expected = new ArrayList<>();
+        try (GameDatabaseWriter writer = new GameDatabaseWriter(file)) {
+            for (String fileName : VALID_FILES) {
+                Game game = new Game();
+                assertTrue(game.getFileHandler().loadFile(new File(TEST_FILE_FOLDER + fileName)));
+                assertEquals(expected.size(), writer.add(game));
+                expected.add(game);
+            }
+            assertEquals(VALID_FILES.length, writer.getCount());
+        }
+
+        Game game = new Game();
+        try (GameDatabase database = new GameDatabase(file)) {
+            assertEquals(VALID_FILES.length, database.getCount());
+
+            // Games can be opened in any order
+            for (int id = database.getCount() - 1; id >= 0; id--) {
+                database.load(id, game);
+                assertEquals(expected.get(id).getSize(), game.getSize(), VALID_FILES[id]);
+                assertEquals(expected.get(id).getHandicap(), game.getHandicap(), VALID_FILES[id]);
+                assertEquals(expected.get(id).getHistory(), game.getHistory(), VALID_FILES[id]);
+                assertEquals(expected.get(id).getPositionHash(), game.getPositionHash(), VALID_FILES[id]);
+
+                ByteBuffer record = database.getRecord(id);
+                assertTrue(record.isReadOnly());
+                assertArrayEquals(BinaryFileHandler.encode(expected.get(id)), toArray(record));
+            }
+        }
+    }
+
+    @Test
+    void ingestsCollection() throws Exception {
+        StringBuilder collection = new StringBuilder();
+        for (String fileName : VALID_FILES) {
+            collection.append(Files.readString(Path.of(TEST_FILE_FOLDER, fileName)));
+        }
+
+        // Enough games to need several flushes of the output buffer
+        final int repetitions = 2 * GameDatabaseWriter.BUFFER_SIZE / BinaryFileHandler.encode(loadFile(VALID_FILES[0])).length;
+        try (GameDatabaseWriter writer = new GameDatabaseWriter(file)) {
+            for (int i = 0; i < repetitions; i++) {
+                try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader(collection.toString()))) {
+                    while (reader.hasNext()) {
+                        writer.add(reader.nextGame());
+                    }
+                }
+            }
+        }
+
+        Game game = new Game();
+        try (GameDatabase database = new GameDatabase(file)) {
+            assertEquals(repetitions * VALID_FILES.length, database.getCount());
+            for (int id = 0; id < database.getCount(); id += VALID_FILES.length) {
+                database.load(id, game);
+                assertEquals(loadFile(VALID_FILES[0]).getHistory(), game.getHistory());
+            }
+        }
+    }
+
+    @Test
+    void emptyDatabase() throws Exception {
+        new GameDatabaseWriter(file).close();
+
+        try (GameDatabase database = new GameDatabase(file)) {
+            assertEquals(0, database.getCount());
+            assertThrows(IndexOutOfBoundsException.class, () -> database.getRecord(0));
+        }
+    }
+
+    @Test
+    void closedDatabase() throws Exception {
+        new GameDatabaseWriter(file).close();
+
+        GameDatabase database = new GameDatabase(file);
+        database.close();
+        assertThrows(IllegalStateException.class, database::getCount);
+        assertThrows(IllegalStateException.class, () -> database.getRecord(0));
+    }
+
+    @Test
+    void invalidDatabases() throws Exception {
+        Game game = new Game();
+        game.newGame(BLACK, 9, 0, new JapaneseRuleset());
+        game.playMove(4, 4);
+        try (GameDatabaseWriter writer = new GameDatabaseWriter(file)) {
+            writer.add(game);
+            writer.add(game);
+        }
+        final byte[] database = Files.readAllBytes(file.toPath());
+
+        // Wrong magic
+        byte[] invalid = database.clone();
+        invalid[0] = 'X';
+        assertOpeningFails(invalid);
+
+        // Unsupported version
+        invalid = database.clone();
+        invalid[GameDatabase.MAGIC.length + 3]++;
+        assertOpeningFails(invalid);
+
+        // Truncated
+        assertOpeningFails(Arrays.copyOf(database, 7));
+        assertOpeningFails(Arrays.copyOf(database, database.length - 1));
+
+        // Corrupt index entry
+        invalid = database.clone();
+        invalid[database.length - Long.BYTES] = 1;
+        Files.write(file.toPath(), invalid);
+        try (GameDatabase corrupt = new GameDatabase(file)) {
+            assertThrows(LoadingGameException.class, () -> corrupt.getRecord(1));
+            assertThrows(LoadingGameException.class, () -> corrupt.load(0, new Game()));
+        }
+    }
+
+    // helper methods
+
+    void assertOpeningFails(byte[] database) throws IOException {
+        Files.write(file.toPath(), database);
+        assertThrows(LoadingGameException.class, () -> new GameDatabase(file));
+    }
+
+    Game loadFile(String fileName) throws IOException, LoadingGameException {
+        Game game = new Game();
+        assertTrue(game.getFileHandler().loadFile(new File(TEST_FILE_FOLDER + fileName)));
+        return game;
+    }
+
+    byte[] toArray(ByteBuffer buffer) {
+        byte[] ret = new byte[buffer.remaining()];
+        buffer.duplicate().get(ret);
+        return ret;
+    }
+}
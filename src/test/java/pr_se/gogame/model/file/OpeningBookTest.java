@@ -0,0 +1,281 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class OpeningBookTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("openings", ".gobo").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertTrue(file.delete());
+    }
+
+    // Argument-Checking
+    @Test
+    void constructorArgs() {
+        assertThrows(NullPointerException.class, () -> new OpeningBook(null));
+        assertThrows(NoSuchFileException.class, () -> new OpeningBook(new File(TEST_FILE_FOLDER + "doesNotExist.gobo")));
+        assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(10, 0));
+    }
+
+    @Test
+    void methodArgs() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        assertThrows(NullPointerException.class, () -> builder.add(null));
+        assertThrows(NullPointerException.class, () -> builder.addAll(null));
+        assertThrows(NullPointerException.class, () -> builder.write(null));
+
+        builder.write(file);
+        try (OpeningBook book = new OpeningBook(file)) {
+            assertThrows(NullPointerException.class, () -> book.getContinuations(null));
+            assertThrows(NullPointerException.class, () -> book.getGameCount(null));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new Continuation(-1, 0, BLACK, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Continuation(0, 0, BLACK, 1, 1, 1));
+        assertThrows(NullPointerException.class, () -> new Continuation(0, 0, null, 1, 0, 0));
+    }
+
+    @Test
+    void mergesSymmetricOpenings() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        // The same opening in all four corners, won by Black
+        builder.add(createGame(9, BLACK, 2, 2, 6, 6, 2, 6));
+        builder.add(createGame(9, BLACK, 6, 2, 2, 6, 6, 6));
+        builder.add(createGame(9, BLACK, 2, 6, 6, 2, 2, 2));
+        // A different second move, won by White
+        builder.add(createGame(9, WHITE, 6, 6, 4, 4));
+        builder.write(file);
+
+        try (OpeningBook book = new OpeningBook(file)) {
+            Game game = createGame(9, null);
+            assertEquals(4, book.getGameCount(game));
+
+            List<Continuation> continuations = book.getContinuations(game);
+            assertEquals(1, continuations.size());
+            Continuation first = continuations.get(0);
+            assertEquals(BLACK, first.getColor());
+            assertEquals(4, first.getCount());
+            assertEquals(3, first.getBlackWins());
+            assertEquals(1, first.getWhiteWins());
+            assertEquals(0.75, first.getWinRate());
+            assertTrue(Set.of(2, 6).contains(first.getX()) && Set.of(2, 6).contains(first.getY()));
+
+            // In a rotated orientation, the continuations are rotated as well
+            game.playMove(6, 2);
+            continuations = book.getContinuations(game);
+            assertEquals(List.of(new Continuation(2, 6, WHITE, 3, 3, 0), new Continuation(4, 4, WHITE, 1, 0, 1)), continuations);
+            assertEquals(0.0, continuations.get(0).getWinRate());
+
+            // Both remaining corners are equivalent, so either one may be suggested
+            game.playMove(2, 6);
+            continuations = book.getContinuations(game);
+            assertEquals(1, continuations.size());
+            assertEquals(3, continuations.get(0).getCount());
+            assertTrue(Set.of(2 * 9 + 2, 6 * 9 + 6).contains(continuations.get(0).getY() * 9 + continuations.get(0).getX()));
+        }
+    }
+
+    @Test
+    void continuationsLeadToBookPositions() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        builder.add(createGame(13, BLACK, 3, 3, 9, 9, 9, 3, 3, 9, 6, 6));
+        builder.add(createGame(13, null, 9, 3, 3, 9, 3, 3, 10, 10));
+        builder.add(createGame(13, BLACK, 3, 9, 9, 3, 2, 2));
+        builder.write(file);
+
+        try (OpeningBook book = new OpeningBook(file)) {
+            // Playing any continuation (in any orientation) reaches a position of the book with the continuation's count
+            Game game = createGame(13, null, 9, 9, 3, 3);
+            for (Continuation c : book.getContinuations(game)) {
+                assertTrue(game.playMove(c.getX(), c.getY(), c.getColor()));
+                assertEquals(c.getCount(), book.getGameCount(game), c.toString());
+                game.getHistory().stepBack();
+            }
+            assertEquals(2, book.getContinuations(game).size());
+
+            // Leaving the book
+            game.playMove(0, 0);
+            assertEquals(0, book.getGameCount(game));
+            assertEquals(List.of(), book.getContinuations(game));
+        }
+    }
+
+    @Test
+    void depthPassesAndHandicap() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2, 1);
+        builder.add(createGame(9, BLACK, 2, 2, 6, 6, 2, 6));
+
+        Game passed = createGame(9, null, 4, 4);
+        passed.pass();
+        passed.playMove(2, 2);
+        builder.add(passed);
+
+        Game handicap = new Game();
+        handicap.newGame(BLACK, 9, 2, new JapaneseRuleset(), false);
+        handicap.placeHandicapPosition(2, 2, true);
+        handicap.placeHandicapPosition(6, 6, true);
+        handicap.playMove(2, 6);
+        builder.add(handicap);
+        assertEquals(3, builder.getGameCount());
+        builder.write(file);
+
+        try (OpeningBook book = new OpeningBook(file)) {
+            Game game = createGame(9, null, 2, 2, 6, 6);
+            assertEquals(1, book.getGameCount(game));
+            assertEquals(List.of(), book.getContinuations(game));
+
+            game = createGame(9, null, 4, 4);
+            assertEquals(List.of(), book.getContinuations(game));
+            game.pass();
+            assertEquals(0, book.getGameCount(game));
+
+            // Handicap games have their own starting position, in which White moves first
+            game = new Game();
+            game.newGame(BLACK, 9, 2, new JapaneseRuleset(), false);
+            game.placeHandicapPosition(6, 6, true);
+            game.placeHandicapPosition(2, 2, true);
+            assertEquals(1, book.getGameCount(game));
+            assertEquals(1, book.getContinuations(game).size());
+            assertEquals(WHITE, book.getContinuations(game).get(0).getColor());
+            assertEquals(0, book.getGameCount(createGame(13, null)));
+        }
+    }
+
+    @Test
+    void rareContinuationsArePruned() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_MAX_DEPTH, 2);
+        builder.add(createGame(9, null, 2, 2, 6, 6, 4, 4));
+        builder.add(createGame(9, null, 2, 2, 6, 6, 2, 6));
+        builder.add(createGame(9, null, 2, 2, 6, 2));
+        builder.write(file);
+
+        try (OpeningBook book = new OpeningBook(file)) {
+            // The starting position, 2-2, and 6-6 were played at least twice
+            assertEquals(3, book.getNodeCount());
+            Game game = createGame(9, null, 2, 2);
+            assertEquals(3, book.getGameCount(game));
+            assertEquals(List.of(new Continuation(6, 6, WHITE, 2, 0, 0)), book.getContinuations(game));
+            assertTrue(Double.isNaN(book.getContinuations(game).get(0).getWinRate()));
+        }
+    }
+
+    @Test
+    void buildsFromSGFCollection() throws Exception {
+        String collection = "(;FF[4]GM[1]SZ[9]RE[W+R];B[cc];W[gg];B[cg])"
+            + "(;FF[4]GM[1]SZ[9]DT[2024-01-01]PB[Black]RE[B+2.5];B[cc])"
+            + "(;FF[4]GM[1]SZ[9];B[gc];W[cg])"
+            + Files.readString(new File(TEST_FILE_FOLDER + "invAE.sgf").toPath())
+            + ";B[aa]) (;FF[4]GM[1]SZ[9]XY[z];B[cc])";
+
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader(collection))) {
+            assertEquals(3, builder.addAll(reader));
+            assertFalse(reader.hasNext());
+        }
+        assertEquals(3, builder.getSkippedCount());
+        builder.write(file);
+
+        try (OpeningBook book = new OpeningBook(file)) {
+            // The results (RE) of the games count for the win rates
+            Continuation first = book.getContinuations(createGame(9, null)).get(0);
+            assertEquals(3, first.getCount());
+            assertEquals(1, first.getBlackWins());
+            assertEquals(1, first.getWhiteWins());
+
+            Game game = createGame(9, null, 6, 6);
+            assertEquals(3, book.getGameCount(game));
+            assertEquals(1, book.getContinuations(game).size());
+            assertEquals(2, book.getContinuations(game).get(0).getCount());
+            assertEquals(1, book.getContinuations(game).get(0).getWhiteWins());
+        }
+    }
+
+    @Test
+    void invalidBooks() throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        builder.add(createGame(9, null, 2, 2));
+        builder.write(file);
+        final byte[] book = Files.readAllBytes(file.toPath());
+
+        byte[] invalid = book.clone();
+        invalid[0] = 'X';
+        assertOpeningFails(invalid);
+
+        invalid = book.clone();
+        invalid[OpeningBook.MAGIC.length + 3]++;
+        assertOpeningFails(invalid);
+
+        assertOpeningFails(Arrays.copyOf(book, 7));
+        assertOpeningFails(Arrays.copyOf(book, book.length - 1));
+
+        // The first child of the root points beyond the last node
+        invalid = book.clone();
+        invalid[OpeningBook.HEADER_SIZE + OpeningBook.DIRECTORY_ENTRY_SIZE + 23] = 5;
+        Files.write(file.toPath(), invalid);
+        try (OpeningBook corrupt = new OpeningBook(file)) {
+            assertThrows(LoadingGameException.class, () -> corrupt.getContinuations(createGame(9, null)));
+        }
+
+        Files.write(file.toPath(), book);
+        OpeningBook closed = new OpeningBook(file);
+        closed.close();
+        assertThrows(IllegalStateException.class, closed::getNodeCount);
+        assertThrows(IllegalStateException.class, () -> closed.getContinuations(createGame(9, null)));
+    }
+
+    // helper methods
+
+    void assertOpeningFails(byte[] book) throws IOException {
+        Files.write(file.toPath(), book);
+        assertThrows(LoadingGameException.class, () -> new OpeningBook(file));
+    }
+
+    /**
+     * Creates a Game with the supplied moves, alternating from Black
+     * @param size the board size
+     * @param winner the player who wins by resignation after the moves, or null if the game continues
+     * @param moves the coordinates of the moves, x and y alternating
+     * @return the Game
+     */
+    Game createGame(int size, StoneColor winner, int... moves) {
+        Game game = new Game();
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        for (int i = 0; i < moves.length; i += 2) {
+            assertTrue(game.playMove(moves[i], moves[i + 1]));
+        }
+        if(winner != null) {
+            if(game.getCurColor() == winner) {
+                game.pass();
+            }
+            game.resign();
+        }
+        return game;
+    }
+}
@@ -0,0 +1,263 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+
+class PositionIndexTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    static final String[] VALID_FILES = {"KoSituation.sgf", "FalseAlarm.sgf", "noHA.sgf", "okHAWithoutStones.sgf", "onlyInfo.sgf"};
+
+    File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("positions", ".gobp").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertTrue(file.delete());
+    }
+
+    // Argument-Checking
+    @Test
+    void constructorArgs() {
+        assertThrows(NullPointerException.class, () -> new PositionIndex(null));
+        assertThrows(NoSuchFileException.class, () -> new PositionIndex(new File(TEST_FILE_FOLDER + "doesNotExist.gobp")));
+    }
+
+    @Test
+    void methodArgs() throws Exception {
+        PositionIndexBuilder builder = new PositionIndexBuilder();
+        assertThrows(NullPointerException.class, () -> builder.add(0, null));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(-1, createGame(9)));
+        assertThrows(NullPointerException.class, () -> builder.addAll(null));
+        assertThrows(NullPointerException.class, () -> builder.write(null));
+
+        builder.write(file);
+        try (PositionIndex index = new PositionIndex(file)) {
+            assertThrows(NullPointerException.class, () -> index.find(null));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new PositionMatch(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PositionMatch(0, -1));
+    }
+
+    @Test
+    void findsEveryPosition() throws Exception {
+        PositionIndexBuilder builder = new PositionIndexBuilder();
+        Game[] games = new Game[VALID_FILES.length];
+        for (int id = 0; id < games.length; id++) {
+            games[id] = new Game();
+            assertTrue(games[id].getFileHandler().loadFile(new File(TEST_FILE_FOLDER + VALID_FILES[id])));
+            builder.add(id, games[id]);
+        }
+        builder.write(file);
+
+        try (PositionIndex index = new PositionIndex(file)) {
+            for (int id = 0; id < games.length; id++) {
+                int moveNumber = 0;
+                for (History.HistoryNode node : games[id].getHistory()) {
+                    if(moveNumber > 0 && node.getSaveToken() != History.HistoryNode.AbstractSaveToken.END_OF_HISTORY) {
+                        assertTrue(index.find(games[id].getSize(), node.getPositionHash()).contains(new PositionMatch(id, moveNumber)), VALID_FILES[id] + " " + moveNumber);
+                    }
+                    moveNumber++;
+                }
+
+                // The current position of a Game is found as well
+                if(games[id].getHistory().getCurrentIndex() > 0) {
+                    assertTrue(index.find(games[id]).contains(new PositionMatch(id, games[id].getHistory().getCurrentIndex())), VALID_FILES[id]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void transpositionsAndVariations() throws Exception {
+        Game first = createGame(9);
+        first.playMove(2, 2);
+        first.playMove(6, 6);
+        first.playMove(2, 6);
+
+        // The same position with a different move order, reached in a variation
+        Game second = createGame(9);
+        second.playMove(4, 4);
+        History.HistoryNode branch = second.getHistory().getCurrentNode();
+        second.getHistory().stepBack();
+        second.playMove(2, 6);
+        second.playMove(6, 6);
+        second.playMove(2, 2);
+        second.getHistory().goToNode(branch);
+
+        // The same moves on another board size
+        Game third = createGame(13);
+        third.playMove(2, 2);
+        third.playMove(6, 6);
+        third.playMove(2, 6);
+
+        PositionIndexBuilder builder = new PositionIndexBuilder();
+        builder.add(7, first);
+        builder.add(42, second);
+        builder.add(8, third);
+        assertEquals(3 + 4 + 3, builder.getPositionCount());
+        builder.write(file);
+
+        try (PositionIndex index = new PositionIndex(file)) {
+            assertArrayEquals(new int[] {9, 13}, index.getSizes());
+            assertEquals(List.of(new PositionMatch(7, 3), new PositionMatch(42, 3)), index.find(first));
+            assertEquals(List.of(new PositionMatch(8, 3)), index.find(third));
+            assertEquals(List.of(new PositionMatch(42, 1)), index.find(second));
+
+            first.getHistory().goToMove(1);
+            assertEquals(List.of(new PositionMatch(7, 1)), index.find(first));
+
+            // Unknown positions and sizes
+            first.playMove(0, 0);
+            assertEquals(List.of(), index.find(first));
+            assertEquals(List.of(), index.find(19, first.getPositionHash()));
+        }
+    }
+
+    @Test
+    void symmetricIndex() throws Exception {
+        Game first = createGame(9);
+        first.playMove(2, 2);
+        first.playMove(6, 5);
+
+        // The same position, mirrored
+        Game second = createGame(9);
+        second.playMove(6, 2);
+        second.playMove(2, 5);
+
+        PositionIndexBuilder builder = new PositionIndexBuilder(true);
+        builder.add(0, first);
+        builder.add(1, second);
+        builder.write(file);
+
+        try (PositionIndex index = new PositionIndex(file)) {
+            assertTrue(index.isSymmetric());
+            assertEquals(List.of(new PositionMatch(0, 2), new PositionMatch(1, 2)), index.find(first));
+            assertEquals(index.find(first), index.find(second));
+        }
+
+        // An exact index tells them apart
+        builder = new PositionIndexBuilder();
+        builder.add(0, first);
+        builder.add(1, second);
+        builder.write(file);
+
+        try (PositionIndex index = new PositionIndex(file)) {
+            assertFalse(index.isSymmetric());
+            assertEquals(List.of(new PositionMatch(0, 2)), index.find(first));
+            assertEquals(List.of(new PositionMatch(1, 2)), index.find(second));
+        }
+    }
+
+    @Test
+    void buildsFromGameDatabase() throws Exception {
+        File databaseFile = Files.createTempFile("games", ".gobd").toFile();
+        try {
+            Game game = new Game();
+            try (GameDatabaseWriter writer = new GameDatabaseWriter(databaseFile)) {
+                for (String fileName : VALID_FILES) {
+                    assertTrue(game.getFileHandler().loadFile(new File(TEST_FILE_FOLDER + fileName)));
+                    writer.add(game);
+                }
+            }
+
+            PositionIndexBuilder builder = new PositionIndexBuilder();
+            try (GameDatabase database = new GameDatabase(databaseFile)) {
+                builder.addAll(database);
+            }
+            builder.write(file);
+
+            try (PositionIndex index = new PositionIndex(file)) {
+                // The last game loaded above is the last one in the database
+                game.getHistory().goToMove(Math.min(1, game.getHistory().getLastIndex()));
+                if(game.getHistory().getCurrentIndex() > 0) {
+                    assertTrue(index.find(game).contains(new PositionMatch(VALID_FILES.length - 1, 1)));
+                }
+
+                assertTrue(game.getFileHandler().loadFile(new File(TEST_FILE_FOLDER + VALID_FILES[0])));
+                assertTrue(index.find(game).contains(new PositionMatch(0, game.getHistory().getCurrentIndex())));
+            }
+        } finally {
+            assertTrue(databaseFile.delete());
+        }
+    }
+
+    @Test
+    void manyPositions() throws Exception {
+        // Enough positions to cause collisions in the hash table
+        PositionIndexBuilder builder = new PositionIndexBuilder();
+        Game game = createGame(19);
+        for (int i = 0; i < 100; i++) {
+            game.playMove(i % 19, i / 19 * 2);
+        }
+        for (int id = 0; id < 50; id++) {
+            builder.add(id, game);
+        }
+        builder.write(file);
+
+        try (PositionIndex index = new PositionIndex(file)) {
+            for (int moveNumber = 1; moveNumber <= 100; moveNumber++) {
+                game.getHistory().goToMove(moveNumber);
+                List<PositionMatch> matches = index.find(game);
+                assertEquals(50, matches.size());
+                assertEquals(new PositionMatch(49, moveNumber), matches.get(49));
+            }
+        }
+    }
+
+    @Test
+    void invalidIndexes() throws Exception {
+        PositionIndexBuilder builder = new PositionIndexBuilder();
+        builder.add(0, createGame(9));
+        builder.write(file);
+        final byte[] index = Files.readAllBytes(file.toPath());
+
+        byte[] invalid = index.clone();
+        invalid[0] = 'X';
+        assertOpeningFails(invalid);
+
+        invalid = index.clone();
+        invalid[PositionIndex.MAGIC.length + 3]++;
+        assertOpeningFails(invalid);
+
+        assertOpeningFails(Arrays.copyOf(index, 7));
+        assertOpeningFails(Arrays.copyOf(index, PositionIndex.HEADER_SIZE + 1));
+
+        Files.write(file.toPath(), index);
+        PositionIndex closed = new PositionIndex(file);
+        closed.close();
+        assertThrows(IllegalStateException.class, () -> closed.find(9, 0));
+    }
+
+    // helper methods
+
+    void assertOpeningFails(byte[] index) throws IOException {
+        Files.write(file.toPath(), index);
+        assertThrows(LoadingGameException.class, () -> new PositionIndex(file));
+    }
+
+    Game createGame(int size) {
+        Game game = new Game();
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        return game;
+    }
+}
@@ -0,0 +1,136 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+
+class SGFCollectionReaderTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    static final String[] VALID_FILES = {"KoSituation.sgf", "FalseAlarm.sgf", "noHA.sgf", "okHAWithoutStones.sgf", "onlyInfo.sgf", "variations.sgf"};
+
+    // Argument-Checking
+    @Test
+    void constructorArgs() {
+        assertThrows(NullPointerException.class, () -> new SGFCollectionReader((File) null));
+        assertThrows(NullPointerException.class, () -> new SGFCollectionReader((Reader) null));
+        assertThrows(NoSuchFileException.class, () -> new SGFCollectionReader(new File(TEST_FILE_FOLDER + "doesNotExist.sgf")));
+    }
+
+    @Test
+    void gamesMatchSingleFiles() throws Exception {
+        try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader(concatenate(VALID_FILES)))) {
+            for (String fileName : VALID_FILES) {
+                assertTrue(reader.hasNext(), fileName);
+                Game game = reader.nextGame();
+
+                Game expected = new Game();
+                assertTrue(expected.getFileHandler().loadFile(new File(TEST_FILE_FOLDER + fileName)));
+                assertEquals(expected.getSize(), game.getSize(), fileName);
+                assertEquals(expected.getHandicap(), game.getHandicap(), fileName);
+                assertEquals(expected.getHistory(), game.getHistory(), fileName);
+                assertEquals(expected.getPositionHash(), game.getPositionHash(), fileName);
+            }
+
+            assertFalse(reader.hasNext());
+            assertEquals(VALID_FILES.length, reader.getGameCount());
+            assertThrows(NoSuchElementException.class, reader::nextGame);
+        }
+    }
+
+    @Test
+    void replaysMatchSingleFiles() throws Exception {
+        SGFReplayer replayer = new SGFReplayer();
+        try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader(concatenate(VALID_FILES)))) {
+            for (String fileName : VALID_FILES) {
+                ReplayResult expected = replayer.replay(new File(TEST_FILE_FOLDER + fileName));
+                ReplayResult result = reader.nextReplay();
+                assertEquals(expected.getPositionHash(), result.getPositionHash(), fileName);
+                assertEquals(expected.getMoveCount(), result.getMoveCount(), fileName);
+            }
+
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void invalidGamesAreSkipped() throws Exception {
+        String collection = concatenate("invAE.sgf") + "(;FF[4]GM[1]SZ[9]XY[2024-01-01](;B[aa];W[bb])(;B[cc]))" + "(;FF[4]GM[1]SZ[9];B[ee])";
+
+        try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader(collection))) {
+            assertTrue(reader.hasNext());
+            assertThrows(LoadingGameException.class, reader::nextGame);
+            assertTrue(reader.hasNext());
+            assertThrows(IOException.class, reader::nextGame);
+            assertTrue(reader.hasNext());
+
+            Game game = reader.nextGame();
+            assertEquals(9, game.getSize());
+            assertEquals(BLACK, game.getColorAt(4, 4));
+            assertEquals(3, reader.getGameCount());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void strayTokensBetweenGames() throws Exception {
+        try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader("(;FF[4]GM[1]SZ[9]) ;"))) {
+            reader.nextGame();
+            assertThrows(LoadingGameException.class, reader::hasNext);
+            assertFalse(reader.hasNext());
+        }
+
+        // The reader resynchronizes at the next game tree after stray tokens and text
+        String collection = "(;FF[4]GM[1]SZ[9];B[aa]);[x]) (;FF[4]GM[1]SZ[9];B[bb]) stray text (;FF[4]GM[1]SZ[9];B[cc])";
+        try (SGFCollectionReader reader = new SGFCollectionReader(new StringReader(collection))) {
+            assertEquals(BLACK, reader.nextGame().getColorAt(0, 0));
+            assertThrows(LoadingGameException.class, reader::hasNext);
+            assertTrue(reader.hasNext());
+            assertEquals(BLACK, reader.nextGame().getColorAt(1, 1));
+            assertThrows(IOException.class, reader::hasNext);
+            assertTrue(reader.hasNext());
+            assertEquals(BLACK, reader.nextReplay().getBoard().getColorAt(2, 2));
+            assertFalse(reader.hasNext());
+            assertEquals(3, reader.getGameCount());
+        }
+    }
+
+    @Test
+    void readsFile() throws Exception {
+        Path tmp = Files.createTempFile("collection", ".sgf");
+        try {
+            Files.writeString(tmp, concatenate(VALID_FILES));
+            int count = 0;
+            try (SGFCollectionReader reader = new SGFCollectionReader(tmp.toFile())) {
+                while (reader.hasNext()) {
+                    assertNotNull(reader.nextGame());
+                    count++;
+                }
+            }
+            assertEquals(VALID_FILES.length, count);
+        } finally {
+            Files.delete(tmp);
+        }
+    }
+
+    // helper methods
+
+    String concatenate(String ... fileNames) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String fileName : fileNames) {
+            sb.append(Files.readString(Path.of(TEST_FILE_FOLDER, fileName))).append('\n');
+        }
+        return sb.toString();
+    }
+}
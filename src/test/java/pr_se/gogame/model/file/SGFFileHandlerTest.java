@@ -11,6 +11,7 @@ import pr_se.gogame.model.ruleset.JapaneseRuleset;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.NoSuchFileException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static pr_se.gogame.model.helper.StoneColor.BLACK;
@@ -306,6 +307,24 @@ class SGFFileHandlerTest {
         assertLoadingWorks();
     }
 
+    @Test
+    void gameInfoAndResult() throws Exception {
+        file = new File(TEST_FILE_FOLDER + "gameInfo.sgf");
+        assertTrue(sgfFileHandler.loadFile(file));
+
+        // Unsupported game info is skipped, but the result is kept
+        assertEquals(9, game.getSize());
+        assertEquals(2, game.getHandicap());
+        assertEquals(BLACK, game.getColorAt(2, 2));
+        assertEquals(WHITE, game.getColorAt(6, 2));
+        assertEquals(BLACK, game.getColorAt(2, 6));
+        assertEquals(WHITE, game.getGameResult().getWinner());
+
+        assertEquals(BLACK, SGFFileHandler.parseWinner("B+2.5"));
+        assertNull(SGFFileHandler.parseWinner("0"));
+        assertNull(SGFFileHandler.parseWinner("?"));
+    }
+
     @Test
     void noGameInfo() {
         invalidTest("noInfo.sgf");
@@ -381,10 +400,38 @@ class SGFFileHandlerTest {
     }
 
     @Test
-    void multipleBranchesLater() {
+    void invalidCoordinatesInVariation() {
         invalidTest("invalidMultipleBranches.sgf");
     }
 
+    @Test
+    void variations() {
+        game.playMove(3, 3);
+        game.playMove(15, 15);
+        game.setComment("Main line");
+        game.playMove(15, 3);
+        game.getHistory().stepBack();
+        game.playMove(3, 15);
+        game.mark(4, 4, MarkShape.TRIANGLE);
+        game.getHistory().goToBeginning();
+        game.setSetupMode(true);
+        game.placeSetupStone(9, 9, WHITE);
+        game.placeSetupStone(10, 10, WHITE);
+        game.setSetupMode(false);
+        game.playMove(2, 2, BLACK);
+
+        assertSavingWorks();
+        assertTrue(assertDoesNotThrow(() -> sgfFileHandler.loadFile(file)));
+
+        // After loading, the game is at the end of the main line.
+        History history = game.getHistory();
+        assertEquals(3, history.getLastIndex());
+        assertTrue(history.isAtEnd());
+        assertEquals(BLACK, game.getColorAt(15, 3));
+        assertNull(game.getColorAt(9, 9));
+        assertTreesEqual(oldHistory.iterator().next(), history.iterator().next());
+    }
+
     @Test
     void sizeTooSmall() {
         invalidTest("invSizeSmall.sgf");
@@ -432,6 +479,16 @@ class SGFFileHandlerTest {
         assertSavingAndLoadingWorks();
     }
 
+    void assertTreesEqual(History.HistoryNode expected, History.HistoryNode actual) {
+        assertEquals(expected, actual);
+        List<History.HistoryNode> expectedChildren = expected.getChildren();
+        List<History.HistoryNode> actualChildren = actual.getChildren();
+        assertEquals(expectedChildren.size(), actualChildren.size(), expected.toString());
+        for (int i = 0; i < expectedChildren.size(); i++) {
+            assertTreesEqual(expectedChildren.get(i), actualChildren.get(i));
+        }
+    }
+
     void assertSavingAndLoadingWorks() {
         assertSavingWorks();
         assertLoadingWorks();
@@ -0,0 +1,57 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class SGFIngestionServiceTest {
+    static final String TESTFILE_FOLDER = "./testFiles/";
+
+    @Test
+    void constructorArgs() {
+        assertThrows(IllegalArgumentException.class, () -> new SGFIngestionService(0));
+        SGFIngestionService service = new SGFIngestionService();
+        assertThrows(NullPointerException.class, () -> service.ingest((Path) null));
+        assertThrows(NullPointerException.class, () -> service.ingest((List<Path>) null));
+    }
+
+    @Test
+    void ingestFile() {
+        IngestionResult r = SGFIngestionService.ingestFile(Path.of(TESTFILE_FOLDER + "KoSituation.sgf"));
+        assertTrue(r.isValid());
+        assertNull(r.getError());
+        assertEquals(8, r.getMoveCount());
+        assertNotNull(r.getWinner());
+        assertEquals(r.getWinner() == BLACK, r.getScore(BLACK) > r.getScore(WHITE));
+
+        r = SGFIngestionService.ingestFile(Path.of(TESTFILE_FOLDER + "wrongGM.sgf"));
+        assertFalse(r.isValid());
+        assertNotNull(r.getError());
+        assertNull(r.getWinner());
+    }
+
+    @Test
+    void parallelMatchesSequentialInOrder() {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            for (String fileName : new String[] {"KoSituation.sgf", "FalseAlarm.sgf", "noHA.sgf", "wrongGM.sgf", "okHAWithoutStones.sgf"}) {
+                files.add(Path.of(TESTFILE_FOLDER + fileName));
+            }
+        }
+
+        List<IngestionResult> sequential = new SGFIngestionService(1).ingest(files);
+        List<IngestionResult> parallel = new SGFIngestionService(4).ingest(files);
+
+        assertEquals(files.size(), parallel.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(files.get(i), parallel.get(i).getFile());
+            assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class SGFReplayerTest {
+    SGFReplayer replayer;
+
+    static final String TESTFILE_FOLDER = "./testFiles/";
+
+    @BeforeEach
+    void setUp() {
+        replayer = new SGFReplayer();
+    }
+
+    @Test
+    void replayArguments() {
+        assertThrows(NullPointerException.class, () -> replayer.replay((File) null));
+        File file = new File(TESTFILE_FOLDER + "doesNotExist.sgf");
+        assertThrows(NoSuchFileException.class, () -> replayer.replay(file));
+    }
+
+    @Test
+    void replayMatchesLoadedGame() throws Exception {
+        for (String fileName : new String[] {"KoSituation.sgf", "FalseAlarm.sgf", "noHA.sgf", "okHAWithoutStones.sgf", "onlyInfo.sgf", "gameInfo.sgf", "variations.sgf"}) {
+            File file = new File(TESTFILE_FOLDER + fileName);
+            ReplayResult result = replayer.replay(file);
+
+            Game game = new Game();
+            assertTrue(game.getFileHandler().loadFile(file));
+
+            assertEquals(game.getSize(), result.getSize(), fileName);
+            assertEquals(game.getHandicap(), result.getHandicap(), fileName);
+            for (int x = 0; x < game.getSize(); x++) {
+                for (int y = 0; y < game.getSize(); y++) {
+                    assertEquals(game.getColorAt(x, y), result.getBoard().getColorAt(x, y), fileName);
+                }
+            }
+            assertEquals(game.getPositionHash(), result.getPositionHash(), fileName);
+        }
+    }
+
+    @Test
+    void followsMainLine() throws Exception {
+        ReplayResult result = replayer.replay(new File(TESTFILE_FOLDER + "variations.sgf"));
+        assertEquals(5, result.getMoveCount());
+        assertEquals(BLACK, result.getBoard().getColorAt(4, 4));
+        assertEquals(WHITE, result.getBoard().getColorAt(6, 2));
+        assertNull(result.getBoard().getColorAt(3, 3));
+
+        // Unclosed variations are invalid
+        assertThrows(LoadingGameException.class, () -> replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9]HA[0](;B[aa])(;B[bb]")));
+    }
+
+    @Test
+    void countsMovesAndCaptures() throws Exception {
+        ReplayResult result = replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9];B[ab];W[aa];B[ba];W[tt])"));
+
+        assertEquals(4, result.getMoveCount());
+        assertEquals(1, result.getCapturedStones(BLACK));
+        assertEquals(0, result.getCapturedStones(WHITE));
+        assertNull(result.getBoard().getColorAt(0, 0));
+        assertThrows(NullPointerException.class, () -> result.getCapturedStones(null));
+    }
+
+    @Test
+    void scoresFinalPosition() throws Exception {
+        // Black walls off the left column, White the right one; the middle is neutral
+        ReplayResult result = replayer.replay(new StringReader("(;FF[4]GM[1]SZ[5];B[ba];W[da];B[bb];W[db];B[bc];W[dc];B[bd];W[dd];B[be];W[de];B[aa];W[ea])"));
+
+        assertEquals(6, result.getStones(BLACK));
+        assertEquals(6, result.getStones(WHITE));
+        assertEquals(4, result.getTerritory(BLACK));
+        assertEquals(4, result.getTerritory(WHITE));
+        assertEquals(10, result.getAreaScore(BLACK));
+        assertEquals(4, result.getTerritoryScore(WHITE));
+
+        // The captured stone counts for territory scoring only
+        ReplayResult captured = replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9];B[ab];W[aa];B[ba];W[tt])"));
+        assertEquals(79, captured.getTerritory(BLACK));
+        assertEquals(80, captured.getTerritoryScore(BLACK));
+        assertEquals(81, captured.getAreaScore(BLACK));
+        assertEquals(0, captured.getAreaScore(WHITE));
+        assertThrows(NullPointerException.class, () -> captured.getTerritory(null));
+        assertThrows(NullPointerException.class, () -> captured.getStones(null));
+    }
+
+    @Test
+    void illegalMoves() {
+        // occupied
+        assertThrows(LoadingGameException.class, () -> replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9];B[aa];W[aa])")));
+        // suicide
+        assertThrows(LoadingGameException.class, () -> replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9];B[ba];W[ii];B[ab];W[aa])")));
+        // ko
+        assertThrows(LoadingGameException.class, () -> replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9];B[ab];W[bb];B[ba];W[ca];B[bc];W[cc];B[ii];W[db];B[cb];W[bb])")));
+        // out of bounds
+        assertThrows(LoadingGameException.class, () -> replayer.replay(new StringReader("(;FF[4]GM[1]SZ[9];B[jj])")));
+    }
+
+    @Test
+    void invalidFiles() {
+        for (String fileName : new String[] {"invAE.sgf", "invHAWithoutStones.sgf", "invHandicapLarge.sgf", "invHandicapSmall.sgf", "invMultipleBranchesEarlier.sgf", "invNotEOF.sgf", "invSizeLarge.sgf", "invSizeSmall.sgf", "invalidMultipleBranches.sgf", "invalidStrayLoneAttr.sgf", "noInfo.sgf", "noLPAR.sgf", "noSemic.sgf", "wrongGM.sgf", "wrongSGFVersion.sgf"}) {
+            File file = new File(TESTFILE_FOLDER + fileName);
+            assertThrows(LoadingGameException.class, () -> replayer.replay(file), fileName);
+        }
+    }
+
+    @Test
+    void findSGFFiles() throws Exception {
+        assertEquals(new File(TESTFILE_FOLDER).list((dir, name) -> name.endsWith(".sgf")).length, SGFBatchReplay.findSGFFiles(Path.of(TESTFILE_FOLDER)).size());
+    }
+}
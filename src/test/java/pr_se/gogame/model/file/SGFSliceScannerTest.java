@@ -0,0 +1,173 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.file.SGFToken.*;
+
+class SGFSliceScannerTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    SGFSliceScanner scanner;
+
+    // Argument-Checking
+    @Test
+    void sgfSliceScanner() {
+        assertThrows(NullPointerException.class, () -> new SGFSliceScanner((ByteBuffer) null));
+        assertThrows(NullPointerException.class, () -> new SGFSliceScanner((FileChannel) null));
+    }
+
+    @Test
+    void scanAllSGFTokens() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Arrays.stream(values()).filter(t -> t != EOF).forEach(t -> sb.append(t.getValue().endsWith("]") ? String.format(t.getValue(), "foo42bar") : t.getValue()));
+
+        scanner = createScanner(sb.toString());
+
+        for (SGFToken t : SGFToken.values()) {
+            assertEquals(t, scanner.next());
+            assertEquals(t, scanner.getToken());
+            if(t.getValue().endsWith("]")) {
+                assertEquals("foo42bar", scanner.getAttributeValue());
+                assertEquals(8, scanner.getAttributeLength());
+            } else {
+                assertEquals("", scanner.getAttributeValue());
+                assertEquals(0, scanner.getAttributeLength());
+            }
+        }
+        assertEquals(EOF, scanner.next());
+    }
+
+    @Test
+    void attributeSlices() throws IOException {
+        scanner = createScanner("(;SZ[19]\n;AB[dp][pd]B[]C[a\\]b\\\nc])");
+
+        assertEquals(LPAR, scanner.next());
+        assertEquals(SEMICOLON, scanner.next());
+        assertEquals(SZ, scanner.next());
+        assertEquals(19, scanner.getAttributeInt());
+        assertEquals(5, scanner.getAttributeOffset());
+        assertFalse(scanner.isAttributePoint());
+        assertThrows(IllegalStateException.class, () -> scanner.getAttributeX());
+
+        assertEquals(SEMICOLON, scanner.next());
+        assertEquals(2, scanner.getLine());
+        assertEquals(1, scanner.getCol());
+
+        assertEquals(AB, scanner.next());
+        assertTrue(scanner.isAttributePoint());
+        assertEquals(3, scanner.getAttributeX());
+        assertEquals(15, scanner.getAttributeY());
+        assertEquals('d', scanner.getAttributeByte(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> scanner.getAttributeByte(2));
+        assertThrows(NumberFormatException.class, () -> scanner.getAttributeInt());
+
+        assertEquals(LONE_ATTRIBUTE, scanner.next());
+        assertEquals(15, scanner.getAttributeX());
+        assertEquals(3, scanner.getAttributeY());
+
+        assertEquals(B, scanner.next());
+        assertEquals(0, scanner.getAttributeLength());
+        assertFalse(scanner.isAttributePoint());
+
+        // Escaped characters don't end the attribute, but are only resolved when decoding it
+        assertEquals(C, scanner.next());
+        assertEquals(7, scanner.getAttributeLength());
+        assertEquals("a]bc", scanner.getAttributeValue());
+        assertEquals(C, scanner.toScannedToken().getToken());
+
+        assertEquals(RPAR, scanner.next());
+        assertEquals(EOF, scanner.next());
+        assertEquals(EOF, scanner.next());
+    }
+
+    @Test
+    void attributeInt() throws IOException {
+        for (String s : new String[] {"0", "-7", "+3", "2147483647", "-2147483648"}) {
+            scanner = createScanner("HA[" + s + "]");
+            scanner.next();
+            assertEquals(Integer.parseInt(s), scanner.getAttributeInt(), s);
+        }
+
+        for (String s : new String[] {"", "-", "1.5", "2147483648", "x"}) {
+            scanner = createScanner("HA[" + s + "]");
+            scanner.next();
+            assertThrows(NumberFormatException.class, () -> scanner.getAttributeInt(), s);
+        }
+    }
+
+    @Test
+    void invalidInput() {
+        for (String s : new String[] {"X[]", "AX[]", "FF4", "C[unterminated"}) {
+            scanner = createScanner(s);
+            assertThrows(IOException.class, () -> scanner.next(), s);
+        }
+    }
+
+    @Test
+    void matchesSGFScanner() throws IOException {
+        for (File file : new File(TEST_FILE_FOLDER).listFiles((dir, name) -> name.endsWith(".sgf"))) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ); FileReader reader = new FileReader(file)) {
+                assertSameTokens(new SGFScanner(reader), new SGFSliceScanner(channel), file.getName());
+            }
+        }
+    }
+
+    @Test
+    void windowsOfMappedFile() throws IOException {
+        Path path = Path.of(TEST_FILE_FOLDER, "KoSituation.sgf");
+        for (int windowSize : new int[] {32, 33, 64}) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ); FileReader reader = new FileReader(path.toFile())) {
+                assertSameTokens(new SGFScanner(reader), new SGFSliceScanner(channel, windowSize), "window size " + windowSize);
+            }
+        }
+
+        Path tmp = Files.createTempFile("slice", ".sgf");
+        try {
+            Files.writeString(tmp, "(;C[This comment is longer than the mapped window])");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ)) {
+                scanner = new SGFSliceScanner(channel, 32);
+                assertEquals(LPAR, scanner.next());
+                assertEquals(SEMICOLON, scanner.next());
+                assertThrows(IOException.class, () -> scanner.next());
+            }
+        } finally {
+            Files.delete(tmp);
+        }
+    }
+
+    // helper methods
+
+    SGFSliceScanner createScanner(String input) {
+        return new SGFSliceScanner(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    void assertSameTokens(SGFScanner expected, SGFSliceScanner actual, String message) {
+        for (;;) {
+            ScannedToken t;
+            try {
+                t = expected.next();
+            } catch (IOException e) {
+                assertThrows(IOException.class, actual::next, message);
+                return;
+            }
+
+            assertEquals(t.getToken(), assertDoesNotThrow(actual::next, message), message);
+            assertEquals(t.getAttributeValue(), actual.getAttributeValue(), message);
+            if (t.getToken() == EOF) {
+                return;
+            }
+        }
+    }
+}
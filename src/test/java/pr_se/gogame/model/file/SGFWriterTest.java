@@ -0,0 +1,131 @@
+package pr_se.gogame.model.file;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.MarkShape;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+
+class SGFWriterTest {
+    static final String TEST_FILE_FOLDER = "./testFiles/";
+
+    // Argument-Checking
+    @Test
+    void constructorArgs() {
+        assertThrows(NullPointerException.class, () -> new SGFWriter((WritableByteChannel) null));
+        assertThrows(NullPointerException.class, () -> new SGFWriter((OutputStream) null));
+    }
+
+    @Test
+    void writeArgs() {
+        SGFWriter writer = new SGFWriter(new ByteArrayOutputStream());
+        assertThrows(NullPointerException.class, () -> writer.write(null));
+    }
+
+    @Test
+    void matchesSavedFile() throws Exception {
+        Game game = createGame();
+        File file = new File(TEST_FILE_FOLDER + "tmp.sgf");
+        assertTrue(game.getFileHandler().saveFile(file));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (SGFWriter writer = new SGFWriter(output)) {
+            writer.write(game);
+        }
+
+        assertArrayEquals(Files.readAllBytes(file.toPath()), output.toByteArray());
+    }
+
+    @Test
+    void writesCompressedCollection() throws Exception {
+        Game game = createGame();
+        // A comment longer than the buffer, so that it has to be flushed while writing
+        game.setComment("Ünïcödé 😀 ".repeat(SGFWriter.BUFFER_SIZE / 8));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (SGFWriter writer = new SGFWriter(new GZIPOutputStream(output))) {
+            for (int i = 0; i < 3; i++) {
+                writer.write(game);
+            }
+        }
+
+        try (SGFCollectionReader reader = new SGFCollectionReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < 3; i++) {
+                Game loaded = reader.nextGame();
+                assertEquals(game.getHistory(), loaded.getHistory());
+                assertEquals(game.getHistory().getCurrentNode().getComment(), loaded.getHistory().getCurrentNode().getComment());
+            }
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void endsOfGameAreNotWrittenAsVariations() throws Exception {
+        // Two scored ends of the game after the same move
+        Game game = new Game();
+        game.newGame(BLACK, 9, 0, new JapaneseRuleset());
+        game.playMove(2, 2);
+        game.playMove(6, 6);
+        game.scoreGame();
+        game.getHistory().stepBack();
+        game.scoreGame();
+        assertWritesValidGame(game, "(;FF[4]GM[1]SZ[9]HA[0];B[cc];W[gg])");
+
+        // A resignation next to a move, which then continues the sequence without parentheses
+        game.getHistory().stepBack();
+        game.resign();
+        game.getHistory().stepBack();
+        game.playMove(4, 4);
+        assertWritesValidGame(game, "(;FF[4]GM[1]SZ[9]HA[0];B[cc];W[gg];B[ee])");
+    }
+
+    // helper methods
+
+    /**
+     * Writes the supplied Game and checks that it is written as expected and can be loaded again
+     * @param game the Game to be written
+     * @param expected the expected SGF, without any whitespace
+     */
+    void assertWritesValidGame(Game game, String expected) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (SGFWriter writer = new SGFWriter(output)) {
+            writer.write(game);
+        }
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8).replaceAll("\\s", ""));
+
+        try (SGFCollectionReader reader = new SGFCollectionReader(new InputStreamReader(new ByteArrayInputStream(output.toByteArray()), StandardCharsets.UTF_8))) {
+            assertDoesNotThrow(reader::nextGame);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    Game createGame() {
+        Game game = new Game();
+        game.newGame(BLACK, 19, 2, new JapaneseRuleset());
+        game.playMove(3, 3);
+        game.setComment("Escaped \\ ] : characters");
+        game.playMove(15, 15);
+        game.mark(15, 15, MarkShape.TRIANGLE);
+        game.pass();
+        History.HistoryNode mainLine = game.getHistory().getCurrentNode();
+        game.getHistory().stepBack();
+        game.playMove(2, 16);
+        // Loading a file ends at the end of the main line, so the Game has to be there as well to be comparable
+        game.getHistory().goToNode(mainLine);
+        return game;
+    }
+}
@@ -0,0 +1,58 @@
+package pr_se.gogame.model.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryTest {
+    static final int SIZE = 9;
+
+    @Test
+    void transformsStayOnBoard() {
+        for (Symmetry s : Symmetry.values()) {
+            Set<Integer> points = new HashSet<>();
+            for (int x = 0; x < SIZE; x++) {
+                for (int y = 0; y < SIZE; y++) {
+                    int tx = s.getX(x, y, SIZE);
+                    int ty = s.getY(x, y, SIZE);
+                    assertTrue(tx >= 0 && tx < SIZE && ty >= 0 && ty < SIZE, s.toString());
+                    points.add(ty * SIZE + tx);
+                }
+            }
+            assertEquals(SIZE * SIZE, points.size(), s + " is no permutation");
+        }
+    }
+
+    @Test
+    void allSymmetriesAreDistinct() {
+        Set<String> images = new HashSet<>();
+        for (Symmetry s : Symmetry.values()) {
+            // The images of two points suffice to tell the symmetries apart
+            images.add(s.getX(1, 0, SIZE) + "," + s.getY(1, 0, SIZE) + ";" + s.getX(0, 2, SIZE) + "," + s.getY(0, 2, SIZE));
+        }
+        assertEquals(Symmetry.COUNT, images.size());
+    }
+
+    @Test
+    void inverse() {
+        for (Symmetry s : Symmetry.values()) {
+            Symmetry i = s.inverse();
+            assertEquals(s, i.inverse());
+            for (int x = 0; x < SIZE; x++) {
+                for (int y = 0; y < SIZE; y++) {
+                    int tx = s.getX(x, y, SIZE);
+                    int ty = s.getY(x, y, SIZE);
+                    assertEquals(x, i.getX(tx, ty, SIZE), s.toString());
+                    assertEquals(y, i.getY(tx, ty, SIZE), s.toString());
+                }
+            }
+        }
+
+        // Rotating clockwise moves the top left corner to the top right
+        assertEquals(2, Symmetry.ROTATE_90.getX(0, 0, 3));
+        assertEquals(0, Symmetry.ROTATE_90.getY(0, 0, 3));
+    }
+}
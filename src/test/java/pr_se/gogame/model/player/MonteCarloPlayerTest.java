@@ -0,0 +1,119 @@
+package pr_se.gogame.model.player;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.History;
+import pr_se.gogame.model.helper.Position;
+import pr_se.gogame.model.helper.StoneColor;
+import pr_se.gogame.model.ruleset.JapaneseRuleset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class MonteCarloPlayerTest {
+
+    // Argument-Checking
+    @Test
+    void constructorArgs() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloPlayer(0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloPlayer(-1, 42));
+        assertEquals(100, new MonteCarloPlayer(100).getPlayouts());
+    }
+
+    @Test
+    void methodArgs() {
+        MonteCarloPlayer player = new MonteCarloPlayer(10, 42);
+        assertThrows(NullPointerException.class, () -> player.selectMove(null));
+
+        Game game = createGame(9);
+        game.resign();
+        assertThrows(IllegalStateException.class, () -> player.selectMove(game));
+    }
+
+    // other tests
+    @Test
+    void selectingDoesNotChangeGame() {
+        Game game = createGame(9);
+        game.playMove(4, 4);
+        long hash = game.getPositionHash();
+        History.HistoryNode node = game.getHistory().getCurrentNode();
+
+        MonteCarloPlayer player = new MonteCarloPlayer(200, 42);
+        Position move = player.selectMove(game);
+        assertNotNull(move);
+        assertTrue(game.isLegal(move.getX(), move.getY(), WHITE));
+        assertEquals(hash, game.getPositionHash());
+        assertSame(node, game.getHistory().getCurrentNode());
+        assertTrue(player.getPlayoutsPerSecond() > 0);
+
+        // The same seed leads to the same move
+        assertEquals(move, new MonteCarloPlayer(200, 42).selectMove(game));
+    }
+
+    @Test
+    void capturesGroupInAtari() {
+        // White's group of six stones in the corner is in atari; if it escapes, Black can't overcome the komi
+        Game game = createGame(5);
+        play(game, WHITE, 0, 0, 1, 0, 2, 0, 0, 1, 1, 1, 2, 1);
+        play(game, BLACK, 3, 0, 3, 1, 0, 2, 1, 2, 3, 2);
+        game.pass();
+
+        assertEquals(BLACK, game.getCurColor());
+        assertEquals(new Position(2, 2), new MonteCarloPlayer(1000, 42).selectMove(game));
+    }
+
+    @Test
+    void passesWhenOnlyEyesRemain() {
+        // Black covers the whole board except for two eyes
+        Game game = createGame(5);
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 5; x++) {
+                if (!(x == 1 && y == 1) && !(x == 3 && y == 3)) {
+                    game.playMove(x, y, BLACK);
+                }
+            }
+        }
+        game.pass();
+
+        MonteCarloPlayer player = new MonteCarloPlayer(50, 42);
+        assertEquals(BLACK, game.getCurColor());
+        assertNull(player.selectMove(game));
+
+        // White has no legal move at all
+        game.playComputerMove(player);
+        assertEquals(WHITE, game.getCurColor());
+        assertNull(player.selectMove(game));
+    }
+
+    @Test
+    void selfPlay() {
+        Game game = createGame(9);
+        MonteCarloPlayer black = new MonteCarloPlayer(50, 1);
+        MonteCarloPlayer white = new MonteCarloPlayer(50, 2);
+
+        int passes = 0;
+        for (int moves = 0; passes < 2 && moves < 200; moves++) {
+            game.playComputerMove(game.getCurColor() == BLACK ? black : white);
+            passes = game.getHistory().getCurrentNode().getSaveToken() == History.HistoryNode.AbstractSaveToken.PASS ? passes + 1 : 0;
+        }
+        assertEquals(2, passes);
+
+        game.scoreGame();
+        assertNotNull(game.getGameResult().getWinner());
+    }
+
+    // helper methods
+
+    Game createGame(int size) {
+        Game game = new Game();
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        return game;
+    }
+
+    void play(Game game, StoneColor color, int... coordinates) {
+        for (int i = 0; i < coordinates.length; i += 2) {
+            assertTrue(game.playMove(coordinates[i], coordinates[i + 1], color));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package pr_se.gogame.model.player;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class PlayoutTest {
+    static final int SIZE = 5;
+
+    @Test
+    void simpleKo() {
+        BitBoard position = new BitBoard(SIZE);
+        place(position, BLACK, 1, 0, 0, 1, 1, 2);
+        place(position, WHITE, 2, 0, 3, 1, 2, 2, 1, 1);
+
+        Playout playout = new Playout(SIZE);
+        playout.reset(position);
+        assertTrue(playout.play(position.toPoint(2, 1), BLACK));
+        assertNull(playout.getBoard().getColorAt(1, 1));
+
+        // Retaking the ko immediately is forbidden, but allowed after another move
+        assertFalse(playout.play(position.toPoint(1, 1), WHITE));
+        assertTrue(playout.play(position.toPoint(4, 4), WHITE));
+        assertTrue(playout.play(position.toPoint(1, 1), WHITE));
+        assertNull(playout.getBoard().getColorAt(2, 1));
+
+        // Occupied points and suicides are rejected
+        assertFalse(playout.play(position.toPoint(1, 1), BLACK));
+        assertFalse(playout.play(position.toPoint(2, 1), BLACK));
+        assertEmptiesMatchBoard(playout);
+
+        // Resetting restores the position
+        playout.reset(position);
+        assertEquals(position.getPositionHash(), playout.getBoard().getPositionHash());
+        assertEmptiesMatchBoard(playout);
+    }
+
+    @Test
+    void eyes() {
+        BitBoard position = new BitBoard(SIZE);
+        place(position, BLACK, 1, 0, 0, 1, 2, 1, 1, 2);
+
+        Playout playout = new Playout(SIZE);
+        playout.reset(position);
+        assertTrue(playout.isEye(position.toPoint(1, 1), BLACK));
+        assertTrue(playout.isEye(position.toPoint(0, 0), BLACK));
+        assertFalse(playout.isEye(position.toPoint(1, 1), WHITE));
+        assertFalse(playout.isEye(position.toPoint(2, 2), BLACK));
+
+        // Two opposing diagonal neighbors make a false eye
+        assertTrue(playout.play(position.toPoint(2, 2), WHITE));
+        assertTrue(playout.isEye(position.toPoint(1, 1), BLACK));
+        assertTrue(playout.play(position.toPoint(0, 2), WHITE));
+        assertFalse(playout.isEye(position.toPoint(1, 1), BLACK));
+
+        // At the edge, a single opposing diagonal neighbor suffices
+        place(position, BLACK, 3, 0);
+        playout.reset(position);
+        assertTrue(playout.isEye(position.toPoint(2, 0), BLACK));
+        assertTrue(playout.play(position.toPoint(3, 1), WHITE));
+        assertFalse(playout.isEye(position.toPoint(2, 0), BLACK));
+    }
+
+    @Test
+    void randomGameEndsWithOnlyEyes() {
+        Playout playout = new Playout(SIZE);
+        playout.reset(new BitBoard(SIZE));
+        SplittableRandom random = new SplittableRandom(42);
+
+        int passes = 0;
+        int moves = 0;
+        for (boolean black = true; passes < 2; black = !black, moves++) {
+            passes = playout.playRandom(black ? BLACK : WHITE, random) == Playout.PASS ? passes + 1 : 0;
+            assertEmptiesMatchBoard(playout);
+            assertTrue(moves < 1000);
+        }
+
+        // Every remaining empty point is surrounded by one color, so the area score is exact
+        BitBoard board = playout.getBoard();
+        for (int i = 0; i < playout.getEmptyCount(); i++) {
+            int p = playout.getEmpty(i);
+            int x = board.getX(p);
+            int y = board.getY(p);
+            StoneColor owner = board.getColorAt(x > 0 ? x - 1 : x + 1, y);
+            assertNotNull(owner);
+            for (int[] n : new int[][] {{x - 1, y}, {x + 1, y}, {x, y - 1}, {x, y + 1}}) {
+                if (n[0] >= 0 && n[0] < SIZE && n[1] >= 0 && n[1] < SIZE) {
+                    assertEquals(owner, board.getColorAt(n[0], n[1]));
+                }
+            }
+        }
+        assertNotNull(playout.getWinner(0.5));
+    }
+
+    @Test
+    void winner() {
+        BitBoard position = new BitBoard(SIZE);
+        // Black owns the two left columns (10 points), White the rest (15 points), each with two eyes
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                if (!(x == 0 || x == SIZE - 1) || y % 2 == 0) {
+                    place(position, x < 2 ? BLACK : WHITE, x, y);
+                }
+            }
+        }
+        Playout playout = new Playout(SIZE);
+        playout.reset(position);
+        assertEquals(WHITE, playout.getWinner(0.5));
+        assertEquals(WHITE, playout.getWinner(-4.5));
+        assertEquals(BLACK, playout.getWinner(-5.5));
+    }
+
+    // helper methods
+
+    void place(BitBoard board, StoneColor color, int... coordinates) {
+        for (int i = 0; i < coordinates.length; i += 2) {
+            board.place(board.toPoint(coordinates[i], coordinates[i + 1]), color);
+        }
+    }
+
+    void assertEmptiesMatchBoard(Playout playout) {
+        BitBoard board = playout.getBoard();
+        int empty = 0;
+        for (int p = 0; p < SIZE * SIZE; p++) {
+            if (board.getColorAtPoint(p) == null) {
+                empty++;
+            }
+        }
+        assertEquals(empty, playout.getEmptyCount());
+        for (int i = 0; i < playout.getEmptyCount(); i++) {
+            assertNull(board.getColorAtPoint(playout.getEmpty(i)));
+        }
+    }
+}
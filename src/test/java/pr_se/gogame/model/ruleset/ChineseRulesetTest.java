@@ -0,0 +1,112 @@
+package pr_se.gogame.model.ruleset;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class ChineseRulesetTest {
+
+    @Test
+    void arguments() {
+        ChineseRuleset ruleset = new ChineseRuleset();
+        assertThrows(NullPointerException.class, () -> ruleset.scoreGame(null));
+        assertEquals(7.5, ruleset.getKomi());
+    }
+
+    @Test
+    void areaScoring() {
+        Game game = createWalls();
+        game.scoreGame();
+
+        GameResult result = game.getGameResult();
+        Map<GameResult.PointType, Number> black = result.getScoreComponents(BLACK);
+        Map<GameResult.PointType, Number> white = result.getScoreComponents(WHITE);
+
+        // The dead white stone at (1, 1) counts as Black's territory and not as a white stone.
+        assertEquals(9, black.get(GameResult.PointType.STONES_ON_BOARD));
+        assertEquals(36, black.get(GameResult.PointType.TERRITORY));
+        assertEquals(9, white.get(GameResult.PointType.STONES_ON_BOARD));
+        assertEquals(27, white.get(GameResult.PointType.TERRITORY));
+        assertFalse(black.containsKey(GameResult.PointType.DEAD_STONES));
+
+        assertEquals(45, result.getScore(BLACK));
+        assertEquals(36 + 7.5, result.getScore(WHITE));
+        assertEquals(BLACK, result.getWinner());
+    }
+
+    @Test
+    void capturesDontCount() {
+        Game game = createGame(9);
+        placeStones(game, WHITE, 1, 1);
+        placeStones(game, BLACK, 1, 0, 0, 1, 2, 1);
+        assertTrue(game.playMove(1, 2, BLACK));
+        assertNull(game.getColorAt(1, 1));
+        assertEquals(1, game.getGameResult().getScoreComponents(BLACK).get(GameResult.PointType.CAPTURED_STONES));
+
+        game.scoreGame();
+        GameResult result = game.getGameResult();
+        assertFalse(result.getScoreComponents(BLACK).containsKey(GameResult.PointType.CAPTURED_STONES));
+        assertEquals(81, result.getScore(BLACK));
+        assertEquals(7.5, result.getScore(WHITE));
+
+        // Undoing the scoring restores the prisoners, as the game may continue.
+        game.getHistory().stepBack();
+        assertEquals(1, result.getScoreComponents(BLACK).get(GameResult.PointType.CAPTURED_STONES));
+        assertFalse(result.getScoreComponents(BLACK).containsKey(GameResult.PointType.STONES_ON_BOARD));
+    }
+
+    @Test
+    void sameTerritoryAsScanner() {
+        Game game = createWalls();
+        game.playMove(7, 7, WHITE);
+        game.playMove(2, 6, BLACK);
+
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        lifeAndDeath.analyze(game);
+        TerritoryScanner scanner = new TerritoryScanner();
+        scanner.scan(game, lifeAndDeath);
+
+        game.scoreGame();
+        for (StoneColor c : StoneColor.values()) {
+            Map<GameResult.PointType, Number> components = game.getGameResult().getScoreComponents(c);
+            assertEquals(scanner.getStones(c), components.get(GameResult.PointType.STONES_ON_BOARD));
+            assertEquals(scanner.getTerritory(c), components.get(GameResult.PointType.TERRITORY));
+        }
+    }
+
+    // helper methods
+
+    Game createGame(int size) {
+        Game game = new Game();
+        game.newGame(BLACK, size, 0, new ChineseRuleset());
+        return game;
+    }
+
+    /**
+     * Creates a 9x9 game with a black wall on column 4 and a white wall on column 5, as well as a single white stone
+     * inside Black's area
+     */
+    Game createWalls() {
+        Game game = createGame(9);
+        for (int y = 0; y < 9; y++) {
+            placeStones(game, BLACK, 4, y);
+            placeStones(game, WHITE, 5, y);
+        }
+        placeStones(game, WHITE, 1, 1);
+        return game;
+    }
+
+    void placeStones(Game game, StoneColor color, int... coordinates) {
+        game.setSetupMode(true);
+        for (int i = 0; i < coordinates.length; i += 2) {
+            game.placeSetupStone(coordinates[i], coordinates[i + 1], color);
+        }
+        game.setSetupMode(false);
+    }
+}
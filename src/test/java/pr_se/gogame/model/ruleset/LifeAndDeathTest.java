@@ -0,0 +1,176 @@
+package pr_se.gogame.model.ruleset;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class LifeAndDeathTest {
+
+    @Test
+    void arguments() {
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        assertThrows(NullPointerException.class, () -> lifeAndDeath.analyze(null));
+        assertThrows(NullPointerException.class, () -> lifeAndDeath.isAnalyzed(null));
+        assertThrows(NullPointerException.class, () -> lifeAndDeath.getDeadStones(null));
+        assertThrows(IllegalStateException.class, () -> lifeAndDeath.toggle(0, 0));
+
+        lifeAndDeath.analyze(createGame(9));
+        assertThrows(IllegalArgumentException.class, () -> lifeAndDeath.isDead(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> lifeAndDeath.isDead(0, 9));
+        assertThrows(IllegalArgumentException.class, () -> lifeAndDeath.toggle(0, 0));
+    }
+
+    @Test
+    void unconditionallyAlive() {
+        Game game = createGame(9);
+        placeStones(game, BLACK, 1, 0, 3, 0, 0, 1, 1, 1, 2, 1, 3, 1);
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        lifeAndDeath.analyze(game);
+        assertTrue(lifeAndDeath.isAnalyzed(game));
+        assertTrue(lifeAndDeath.isUnconditionallyAlive(1, 0));
+        assertFalse(lifeAndDeath.isUnconditionallyAlive(0, 0));
+
+        // Without (3, 0) the second eye is open, and the group could still be captured.
+        game.getHistory().stepBack();
+        game.setSetupMode(true);
+        game.placeSetupStone(5, 5, WHITE);
+        game.setSetupMode(false);
+        assertFalse(lifeAndDeath.isAnalyzed(game));
+        lifeAndDeath.analyze(game);
+        assertFalse(lifeAndDeath.isUnconditionallyAlive(1, 0));
+    }
+
+    @Test
+    void deadStoneInTerritory() {
+        Game game = createWalls();
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        lifeAndDeath.analyze(game);
+
+        assertTrue(lifeAndDeath.isDead(1, 1));
+        assertFalse(lifeAndDeath.isDead(4, 0));
+        assertFalse(lifeAndDeath.isDead(5, 0));
+        assertFalse(lifeAndDeath.isDead(0, 0));
+        assertEquals(1, lifeAndDeath.getDeadStones(WHITE));
+        assertEquals(0, lifeAndDeath.getDeadStones(BLACK));
+
+        TerritoryScanner scanner = new TerritoryScanner();
+        scanner.scan(game, lifeAndDeath);
+        assertEquals(36, scanner.getTerritory(BLACK));
+        assertEquals(27, scanner.getTerritory(WHITE));
+
+        assertEquals(1, lifeAndDeath.toggle(1, 1).size());
+        assertFalse(lifeAndDeath.isDead(1, 1));
+        scanner.scan(game, lifeAndDeath);
+        assertEquals(0, scanner.getTerritory(BLACK));
+
+        game.playMove(8, 8, BLACK);
+        assertThrows(IllegalStateException.class, () -> scanner.scan(game, lifeAndDeath));
+    }
+
+    @Test
+    void scoreGameRemovesDeadStones() {
+        Game game = createWalls();
+        game.scoreGame();
+        assertEquals(36 + 1, game.getGameResult().getScore(BLACK));
+        assertEquals(27 + 6.5, game.getGameResult().getScore(WHITE));
+        assertEquals(1, game.getGameResult().getScoreComponents(BLACK).get(GameResult.PointType.DEAD_STONES));
+
+        // Toggling the dead stone before scoring makes the black area neutral.
+        game.getHistory().stepBack();
+        JapaneseRuleset ruleset = (JapaneseRuleset) game.getRuleset();
+        ruleset.getLifeAndDeath().analyze(game);
+        ruleset.getLifeAndDeath().toggle(1, 1);
+        game.scoreGame();
+        assertEquals(0, game.getGameResult().getScore(BLACK));
+    }
+
+    @Test
+    void openPositionHasNoDeadStones() {
+        Game game = createGame(19);
+        placeStones(game, BLACK, 3, 3, 15, 15);
+        placeStones(game, WHITE, 3, 15, 15, 3);
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        lifeAndDeath.analyze(game);
+        assertEquals(0, lifeAndDeath.getDeadStones(BLACK));
+        assertEquals(0, lifeAndDeath.getDeadStones(WHITE));
+    }
+
+    @Test
+    void estimatorToggling() {
+        Game game = createWalls();
+        ScoreEstimator estimator = new ScoreEstimator(game);
+        assertEquals(0, estimator.getTerritory(BLACK));
+
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        lifeAndDeath.analyze(game);
+        estimator.setLifeAndDeath(lifeAndDeath);
+        assertEquals(36, estimator.getTerritory(BLACK));
+        assertEquals(37, estimator.getScore(BLACK));
+        assertEquals(BLACK, estimator.getOwner(1, 1));
+
+        estimator.toggleDeadStones(1, 1);
+        assertEquals(0, estimator.getTerritory(BLACK));
+        assertEquals(0, estimator.getScore(BLACK));
+        estimator.toggleDeadStones(1, 1);
+        assertEquals(36, estimator.getTerritory(BLACK));
+
+        // A move changes the position, so the analysis no longer applies.
+        game.playMove(8, 8, BLACK);
+        assertEquals(0, estimator.getTerritory(BLACK));
+        assertThrows(IllegalStateException.class, () -> estimator.toggleDeadStones(1, 1));
+        assertThrows(IllegalStateException.class, () -> estimator.setLifeAndDeath(lifeAndDeath));
+    }
+
+    @Test
+    void boundedTimeOnLargestBoard() {
+        Random random = new Random(11);
+        Game game = createGame(Game.MAX_CUSTOM_BOARD_SIZE);
+        for (int i = 0; i < 2000; i++) {
+            game.playMove(random.nextInt(Game.MAX_CUSTOM_BOARD_SIZE), random.nextInt(Game.MAX_CUSTOM_BOARD_SIZE));
+        }
+
+        LifeAndDeath lifeAndDeath = new LifeAndDeath();
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 100; i++) {
+                lifeAndDeath.analyze(game);
+            }
+        });
+    }
+
+    // helper methods
+
+    Game createGame(int size) {
+        Game game = new Game();
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        return game;
+    }
+
+    /**
+     * Creates a 9x9 game with a black wall on column 4 and a white wall on column 5, as well as a single white stone
+     * inside Black's area
+     */
+    Game createWalls() {
+        Game game = createGame(9);
+        for (int y = 0; y < 9; y++) {
+            placeStones(game, BLACK, 4, y);
+            placeStones(game, WHITE, 5, y);
+        }
+        placeStones(game, WHITE, 1, 1);
+        return game;
+    }
+
+    void placeStones(Game game, StoneColor color, int... coordinates) {
+        game.setSetupMode(true);
+        for (int i = 0; i < coordinates.length; i += 2) {
+            game.placeSetupStone(coordinates[i], coordinates[i + 1], color);
+        }
+        game.setSetupMode(false);
+    }
+}
@@ -0,0 +1,116 @@
+package pr_se.gogame.model.ruleset;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.GameInterface;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class ScoreEstimatorTest {
+
+    @Test
+    void arguments() {
+        assertThrows(NullPointerException.class, () -> new ScoreEstimator(null));
+
+        ScoreEstimator estimator = new ScoreEstimator(new Game());
+        assertThrows(NullPointerException.class, () -> estimator.gameCommand(null));
+        assertThrows(NullPointerException.class, () -> estimator.getTerritory(null));
+        assertThrows(NullPointerException.class, () -> estimator.getArea(null));
+        assertThrows(NullPointerException.class, () -> estimator.getScore(null));
+        assertThrows(IllegalArgumentException.class, () -> estimator.getOwner(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> estimator.getOwner(0, 19));
+    }
+
+    @Test
+    void matchesScannerDuringRandomGames() {
+        Random random = new Random(10);
+        Game game = new Game();
+        ScoreEstimator estimator = new ScoreEstimator(game);
+        TerritoryScanner scanner = new TerritoryScanner();
+
+        for (int i = 0; i < 6; i++) {
+            final int size = i % 2 == 0 ? 7 : 9;
+            final GameInterface.BoardType boardType = i % 3 == 0 ? GameInterface.BoardType.BITBOARD : GameInterface.BoardType.STANDARD;
+            game.newGame(BLACK, size, i % 3 == 1 ? 2 : 0, new JapaneseRuleset(), true, boardType);
+            assertMatches(game, estimator, scanner);
+
+            for (int move = 0; move < size * size * 2; move++) {
+                if (game.playMove(random.nextInt(size), random.nextInt(size))) {
+                    assertMatches(game, estimator, scanner);
+                }
+                if (random.nextInt(10) == 0) {
+                    game.getHistory().stepBack();
+                    assertMatches(game, estimator, scanner);
+                }
+            }
+
+            game.getHistory().goToBeginning();
+            assertMatches(game, estimator, scanner);
+            game.getHistory().goToEnd();
+            assertMatches(game, estimator, scanner);
+        }
+    }
+
+    @Test
+    void setupStonesAndScore() {
+        Game game = new Game();
+        game.newGame(BLACK, 9, 0, new JapaneseRuleset());
+        ScoreEstimator estimator = new ScoreEstimator(game);
+        assertEquals(81, estimator.getTerritory(BLACK));
+        assertEquals(81, estimator.getTerritory(WHITE));
+
+        game.setSetupMode(true);
+        for (int i = 0; i < 9; i++) {
+            game.placeSetupStone(4, i, BLACK);
+        }
+        game.setSetupMode(false);
+        assertEquals(72, estimator.getTerritory(BLACK));
+        assertEquals(0, estimator.getTerritory(WHITE));
+        assertEquals(81, estimator.getArea(BLACK));
+        assertEquals(BLACK, estimator.getOwner(0, 0));
+        assertNull(estimator.getOwner(4, 4));
+
+        game.setSetupMode(true);
+        game.placeSetupStone(0, 0, WHITE);
+        game.setSetupMode(false);
+        assertEquals(36, estimator.getTerritory(BLACK));
+        assertEquals(0, estimator.getTerritory(WHITE));
+        assertNull(estimator.getOwner(1, 1));
+        assertEquals(1, estimator.getArea(WHITE));
+
+        game.getHistory().stepBack();
+        assertEquals(72, estimator.getTerritory(BLACK));
+
+        assertTrue(game.playMove(0, 0));
+        game.scoreGame();
+        assertEquals(game.getGameResult().getScore(BLACK), estimator.getScore(BLACK));
+        assertEquals(game.getGameResult().getScore(WHITE), estimator.getScore(WHITE));
+
+        estimator.dispose();
+        game.getHistory().goToBeginning();
+        assertEquals(71, estimator.getTerritory(BLACK));
+    }
+
+    // helper methods
+
+    void assertMatches(Game game, ScoreEstimator estimator, TerritoryScanner scanner) {
+        scanner.scan(game);
+        assertEquals(scanner.getTerritory(BLACK), estimator.getTerritory(BLACK));
+        assertEquals(scanner.getTerritory(WHITE), estimator.getTerritory(WHITE));
+
+        int stones = 0;
+        for (int x = 0; x < game.getSize(); x++) {
+            for (int y = 0; y < game.getSize(); y++) {
+                assertEquals(scanner.getOwner(x, y), estimator.getOwner(x, y));
+                if (game.getColorAt(x, y) != null) {
+                    stones++;
+                }
+            }
+        }
+        assertEquals(stones, estimator.getArea(BLACK) - estimator.getTerritory(BLACK) + estimator.getArea(WHITE) - estimator.getTerritory(WHITE));
+    }
+}
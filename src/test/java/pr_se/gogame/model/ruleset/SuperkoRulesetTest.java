@@ -0,0 +1,115 @@
+package pr_se.gogame.model.ruleset;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.StoneGroup;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class SuperkoRulesetTest {
+
+    @Test
+    void positionalSuperkoPreventsKoRecapture() {
+        Game game = playKoSituation(new PositionalSuperkoRuleset());
+
+        assertTrue(game.playMove(2, 1));
+        assertNull(game.getColorAt(1, 1));
+        assertFalse(game.playMove(1, 1));
+        assertEquals(WHITE, game.getCurColor());
+
+        game.getHistory().stepBack();
+        assertEquals(WHITE, game.getColorAt(1, 1));
+        assertEquals(BLACK, game.getCurColor());
+    }
+
+    @Test
+    void situationalSuperkoPreventsKoRecapture() {
+        Game game = playKoSituation(new SituationalSuperkoRuleset());
+
+        assertTrue(game.playMove(2, 1));
+        assertFalse(game.playMove(1, 1));
+    }
+
+    @Test
+    void repetitionsFollowHistory() {
+        Game game = playKoSituation(new PositionalSuperkoRuleset());
+
+        assertTrue(game.playMove(2, 1));
+        assertTrue(game.playMove(5, 5));
+        assertTrue(game.playMove(6, 6));
+        assertTrue(game.playMove(1, 1)); // the stones at (5, 5) and (6, 6) make this a new position
+
+        game.getHistory().stepBack();
+        game.getHistory().stepBack();
+        game.getHistory().stepBack();
+        game.getHistory().stepForward();
+        game.getHistory().stepBack();
+        game.getHistory().stepBack();
+        assertEquals(BLACK, game.getCurColor());
+        assertEquals(WHITE, game.getColorAt(1, 1));
+
+        assertTrue(game.playMove(2, 1)); // the undone capture no longer counts as an earlier position
+        assertFalse(game.playMove(1, 1));
+    }
+
+    @Test
+    void positionalSuperkoPreventsSingleStoneSuicide() {
+        Game game = playSuicideSituation(new PositionalSuperkoRuleset() {
+            @Override
+            public boolean getSuicide(StoneGroup existingGroup, StoneGroup addedStone) {
+                return true;
+            }
+        });
+
+        assertFalse(game.playMove(0, 0)); // the board would look exactly as before
+        assertEquals(BLACK, game.getCurColor());
+    }
+
+    @Test
+    void situationalSuperkoAllowsSingleStoneSuicide() {
+        Game game = playSuicideSituation(new SituationalSuperkoRuleset() {
+            @Override
+            public boolean getSuicide(StoneGroup existingGroup, StoneGroup addedStone) {
+                return true;
+            }
+        });
+
+        assertTrue(game.playMove(0, 0)); // the same position, but now it's White's turn
+        assertNull(game.getColorAt(0, 0));
+        assertEquals(WHITE, game.getCurColor());
+    }
+
+    // helper methods
+
+    /**
+     * Creates a ko in the upper left corner, which Black can start by playing at (2, 1)
+     */
+    Game playKoSituation(Ruleset ruleset) {
+        Game game = new Game();
+        game.newGame(BLACK, 9, 0, ruleset);
+        assertTrue(game.playMove(0, 1));
+        assertTrue(game.playMove(1, 1));
+        assertTrue(game.playMove(1, 0));
+        assertTrue(game.playMove(2, 0));
+        assertTrue(game.playMove(1, 2));
+        assertTrue(game.playMove(2, 2));
+        assertTrue(game.playMove(8, 8));
+        assertTrue(game.playMove(3, 1));
+        return game;
+    }
+
+    /**
+     * Surrounds the upper left corner with White stones, so that a Black stone there would commit suicide
+     */
+    Game playSuicideSituation(Ruleset ruleset) {
+        Game game = new Game();
+        game.newGame(BLACK, 9, 0, ruleset);
+        assertTrue(game.playMove(8, 8));
+        assertTrue(game.playMove(1, 0));
+        assertTrue(game.playMove(7, 8));
+        assertTrue(game.playMove(0, 1));
+        return game;
+    }
+}
@@ -0,0 +1,137 @@
+package pr_se.gogame.model.ruleset;
+
+import org.junit.jupiter.api.Test;
+import pr_se.gogame.model.BitBoard;
+import pr_se.gogame.model.BoardInterface;
+import pr_se.gogame.model.Game;
+import pr_se.gogame.model.helper.StoneColor;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pr_se.gogame.model.helper.StoneColor.BLACK;
+import static pr_se.gogame.model.helper.StoneColor.WHITE;
+
+class TerritoryScannerTest {
+
+    @Test
+    void arguments() {
+        TerritoryScanner scanner = new TerritoryScanner();
+        assertThrows(NullPointerException.class, () -> scanner.scan((Game) null));
+        assertThrows(NullPointerException.class, () -> scanner.scan((BoardInterface) null));
+        assertThrows(NullPointerException.class, () -> scanner.getTerritory(null));
+
+        scanner.scan(createGame(9));
+        assertThrows(IllegalArgumentException.class, () -> scanner.getOwner(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> scanner.getOwner(0, 9));
+    }
+
+    @Test
+    void emptyBoard() {
+        // A single empty region spanning the largest board must not overflow the stack.
+        Game game = createGame(Game.MAX_CUSTOM_BOARD_SIZE);
+        TerritoryScanner scanner = new TerritoryScanner();
+        scanner.scan(game);
+
+        final int points = Game.MAX_CUSTOM_BOARD_SIZE * Game.MAX_CUSTOM_BOARD_SIZE;
+        assertEquals(points, scanner.getTerritory(BLACK));
+        assertEquals(points, scanner.getTerritory(WHITE));
+        assertNull(scanner.getOwner(12, 12));
+    }
+
+    @Test
+    void regions() {
+        Game game = createGame(9);
+        game.setSetupMode(true);
+        for (int i = 0; i < 9; i++) {
+            game.placeSetupStone(3, i, BLACK);
+            game.placeSetupStone(5, i, WHITE);
+        }
+        game.placeSetupStone(4, 4, BLACK);
+        game.setSetupMode(false);
+
+        TerritoryScanner scanner = new TerritoryScanner();
+        scanner.scan(game);
+
+        assertEquals(27, scanner.getTerritory(BLACK));
+        assertEquals(27, scanner.getTerritory(WHITE));
+        assertEquals(BLACK, scanner.getOwner(0, 0));
+        assertEquals(WHITE, scanner.getOwner(8, 8));
+        assertNull(scanner.getOwner(4, 0)); // bordered by both colors
+        assertNull(scanner.getOwner(4, 8)); // bordered by both colors
+        assertNull(scanner.getOwner(3, 3)); // occupied
+    }
+
+    @Test
+    void matchesReferenceOnRandomPositions() {
+        Random random = new Random(9);
+        TerritoryScanner scanner = new TerritoryScanner();
+
+        for (int i = 0; i < 50; i++) {
+            final int size = i % 2 == 0 ? 9 : 13; // switching sizes forces the buffers to be reallocated
+            Game game = createGame(size);
+            game.setSetupMode(true);
+            for (int j = 0; j < size * 2; j++) {
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                if (game.getColorAt(x, y) == null) {
+                    game.placeSetupStone(x, y, random.nextBoolean() ? BLACK : WHITE);
+                }
+            }
+            game.setSetupMode(false);
+
+            scanner.scan(game);
+            assertEquals(referenceTerritory(game, BLACK), scanner.getTerritory(BLACK));
+            assertEquals(referenceTerritory(game, WHITE), scanner.getTerritory(WHITE));
+
+            // A headless board with the same position yields the same result
+            BitBoard board = new BitBoard(size);
+            for (int p = 0; p < size * size; p++) {
+                if (game.getColorAt(p % size, p / size) != null) {
+                    board.place(p, game.getColorAt(p % size, p / size));
+                }
+            }
+            int stonesBlack = scanner.getStones(BLACK);
+            scanner.scan(board);
+            assertEquals(referenceTerritory(game, BLACK), scanner.getTerritory(BLACK));
+            assertEquals(referenceTerritory(game, WHITE), scanner.getTerritory(WHITE));
+            assertEquals(stonesBlack, scanner.getStones(BLACK));
+        }
+    }
+
+    // helper methods
+
+    Game createGame(int size) {
+        Game game = new Game();
+        game.newGame(BLACK, size, 0, new JapaneseRuleset());
+        return game;
+    }
+
+    /**
+     * Straightforward reference implementation: For each empty point, searches its region for stones of the opposite
+     * color.
+     */
+    int referenceTerritory(Game game, StoneColor color) {
+        int ret = 0;
+        for (int x = 0; x < game.getSize(); x++) {
+            for (int y = 0; y < game.getSize(); y++) {
+                if (game.getColorAt(x, y) == null && !bordersColor(game, x, y, StoneColor.getOpposite(color), new boolean[game.getSize()][game.getSize()])) {
+                    ret++;
+                }
+            }
+        }
+        return ret;
+    }
+
+    boolean bordersColor(Game game, int x, int y, StoneColor color, boolean[][] visited) {
+        if (x < 0 || y < 0 || x >= game.getSize() || y >= game.getSize() || visited[x][y]) {
+            return false;
+        }
+        visited[x][y] = true;
+        if (game.getColorAt(x, y) != null) {
+            return game.getColorAt(x, y) == color;
+        }
+        return bordersColor(game, x + 1, y, color, visited) || bordersColor(game, x - 1, y, color, visited)
+            || bordersColor(game, x, y + 1, color, visited) || bordersColor(game, x, y - 1, color, visited);
+    }
+}